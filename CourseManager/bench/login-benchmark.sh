@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+#
+# Benchmark przepustowosci logowania (weryfikacja hasla bcrypt w puli password-hash).
+#
+# Rejestruje uzytkownika testowego, a nastepnie wysyla LOGINS zapytan POST /api/auth/login
+# z CONCURRENCY rownoleglymi klientami. Wypisuje:
+#   - liczbe logowan na sekunde oraz na rdzen (nproc na maszynie z aplikacja),
+#   - liczbe odpowiedzi 503 (odrzuconych przy pelnej kolejce puli),
+#   - metryki puli z /api/auth/hashing/stats.
+#
+# Uzycie:
+#   ./bench/login-benchmark.sh [BASE_URL] [LOGINS] [CONCURRENCY] [RDZENIE]
+#
+# Koszt bcrypt i rozmiar puli ustawia sie przy starcie aplikacji, np.
+#   --auth.bcrypt.strength=12 --auth.hash.threads=4 --auth.hash.queue-capacity=64
+
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+LOGINS="${2:-500}"
+CONCURRENCY="${3:-32}"
+CORES="${4:-$(nproc)}"
+
+EMAIL="bench-$(date +%s)@example.com"
+PASSWORD="benchmark-password"
+
+curl -s -o /dev/null -H "Content-Type: application/json" \
+    -d "{\"firstname\":\"Bench\",\"surname\":\"User\",\"age\":30,\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}" \
+    "${BASE_URL}/api/users/register"
+
+BODY="{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}"
+
+start=$(date +%s%N)
+codes=$(seq "$LOGINS" | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -w '%{http_code}\n' -H "Content-Type: application/json" -d "$BODY" "${BASE_URL}/api/auth/login")
+end=$(date +%s%N)
+
+elapsed_ms=$(( (end - start) / 1000000 ))
+ok=$(grep -c '^200$' <<< "$codes" || true)
+rejected=$(grep -c '^503$' <<< "$codes" || true)
+
+echo "== Logowanie (${LOGINS} zapytan, ${CONCURRENCY} klientow, ${CORES} rdzeni) =="
+awk -v ok="$ok" -v ms="$elapsed_ms" -v cores="$CORES" -v rejected="$rejected" 'BEGIN {
+    rate = ok / (ms / 1000.0)
+    printf "udane=%d odrzucone(503)=%d czas=%dms\n", ok, rejected, ms
+    printf "logowan/s=%.1f logowan/s/rdzen=%.1f\n", rate, rate / cores
+}'
+
+echo
+echo "== Pula haszowania =="
+curl -s "${BASE_URL}/api/auth/hashing/stats"
+echo
@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+#
+# Benchmark rozmiaru odpowiedzi i czasu ladowania strony.
+#
+# Porownuje:
+#   1. bajty przeslane dla duzych list (bez kompresji / gzip / br),
+#   2. czas pobrania zestawu zapytan wysylanych przez SPA przy ladowaniu strony
+#      po HTTP/1.1 oraz po HTTP/2 (h2c, jedno polaczenie z multipleksowaniem).
+#
+# Endpointy wymagaja tokenu sesji - skrypt loguje sie jako EMAIL/PASSWORD (domyslnie organizator
+# z danych przykladowych) i wysyla naglowek Authorization: Bearer ... w kazdym zapytaniu.
+#
+# Uzycie:
+#   ./bench/payload-benchmark.sh [BASE_URL] [POWTORZENIA] [EMAIL] [PASSWORD]
+#
+# Aby uzyskac wynik "przed", wystarczy uruchomic aplikacje z
+#   --server.compression.enabled=false --server.http2.enabled=false
+# i porownac wynik z uruchomieniem na domyslnej konfiguracji.
+
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+RUNS="${2:-20}"
+EMAIL="${3:-user1@example.com}"
+PASSWORD="${4:-password123}"
+
+TOKEN=$(curl -sf -H "Content-Type: application/json" \
+    -d "{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}" \
+    "${BASE_URL}/api/auth/login" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+    echo "Logowanie jako ${EMAIL} nie powiodlo sie" >&2
+    exit 1
+fi
+AUTH=(-H "Authorization: Bearer ${TOKEN}")
+
+# Endpointy zwracajace pelne tabele
+LIST_ENDPOINTS=(/api/events /api/users /api/classrooms /api/tags)
+
+# Zapytania wysylane rownolegle przy ladowaniu stron (HomePage, panele organizatora i admina)
+PAGE_LOAD=(/api/events /api/tags /api/classrooms /api/users /api/events/filtered)
+
+echo "== Rozmiar odpowiedzi (bajty na lacze) =="
+printf "%-24s %12s %12s %12s\n" "endpoint" "identity" "gzip" "br"
+for path in "${LIST_ENDPOINTS[@]}"; do
+    sizes=()
+    for enc in identity gzip br; do
+        sizes+=("$(curl -s -o /dev/null "${AUTH[@]}" -H "Accept-Encoding: ${enc}" -w '%{size_download}' "${BASE_URL}${path}")")
+    done
+    printf "%-24s %12s %12s %12s\n" "$path" "${sizes[@]}"
+done
+
+# Zwraca czas (ms) pobrania wszystkich zapytan PAGE_LOAD rownolegle
+page_load_ms() {
+    local args=("$@") urls=()
+    for path in "${PAGE_LOAD[@]}"; do
+        urls+=("${BASE_URL}${path}" -o /dev/null)
+    done
+    local start end
+    start=$(date +%s%N)
+    curl -s --parallel --parallel-immediate "${AUTH[@]}" -H "Accept-Encoding: gzip" "${args[@]}" "${urls[@]}"
+    end=$(date +%s%N)
+    echo $(( (end - start) / 1000000 ))
+}
+
+# Wypisuje medianę oraz p95 z listy wartosci
+percentiles() {
+    sort -n | awk '{ v[NR] = $1 } END { printf "p50=%dms p95=%dms\n", v[int(NR * 0.5) + (NR % 2)], v[int(NR * 0.95 + 0.5)] }'
+}
+
+echo
+echo "== Ladowanie strony (${#PAGE_LOAD[@]} zapytan rownolegle, ${RUNS} powtorzen) =="
+printf "%-10s " "HTTP/1.1"
+for _ in $(seq "$RUNS"); do page_load_ms --http1.1; done | percentiles
+printf "%-10s " "HTTP/2"
+for _ in $(seq "$RUNS"); do page_load_ms --http2-prior-knowledge; done | percentiles
@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+#
+# Czas od uruchomienia JVM do pierwszej poprawnej odpowiedzi HTTP.
+#
+# Tryby:
+#   jar  - zwykly bootJar (build/libs), bez AOT i CDS ("przed"),
+#   fast - rozpakowany jar z build/fast-start z AOT (-Dspring.aot.enabled=true)
+#          i archiwum CDS application.jsa ("po"; wymaga wczesniejszego gradle fastStart).
+# Kazdy przebieg uruchamia aplikacje, odpytuje URL (domyslnie /api/health - bez tokenu)
+# co 20 ms az do odpowiedzi 200,
+# zapisuje czas i zatrzymuje aplikacje. Port aplikacji musi byc wolny.
+#
+# Uzycie:
+#   ./bench/startup-benchmark.sh [jar|fast] [RUNS] [URL] [PROFILE]
+#
+# Porownanie na tym samym profilu (domyslnie prod - bez springdoc i logowania SQL):
+#   gradle bootJar fastStart
+#   ./bench/startup-benchmark.sh jar 5 && ./bench/startup-benchmark.sh fast 5
+
+set -euo pipefail
+
+MODE="${1:-jar}"
+RUNS="${2:-5}"
+URL="${3:-http://localhost:8080/api/health}"
+PROFILE="${4:-prod}"
+JAVA="${JAVA:-java}"
+JAR_NAME="CourseManager-0.0.1-SNAPSHOT.jar"
+
+cd "$(dirname "$0")/.."
+
+case "$MODE" in
+    jar)
+        WORKDIR="build/libs"
+        JVM_ARGS=()
+        ;;
+    fast)
+        WORKDIR="build/fast-start"
+        JVM_ARGS=(-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true)
+        ;;
+    *)
+        echo "Nieznany tryb: $MODE (jar|fast)" >&2
+        exit 1
+        ;;
+esac
+
+total=0
+for run in $(seq "$RUNS"); do
+    start=$(date +%s%N)
+    (cd "$WORKDIR" && exec "$JAVA" "${JVM_ARGS[@]}" -jar "$JAR_NAME" --spring.profiles.active="$PROFILE") \
+        > "build/startup-${MODE}.log" 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)" = "200" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Aplikacja zakonczyla sie przed pierwsza odpowiedzia, zob. build/startup-${MODE}.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    ms=$(( (end - start) / 1000000 ))
+    total=$(( total + ms ))
+    echo "przebieg=${run} start_do_pierwszej_odpowiedzi=${ms}ms"
+done
+
+echo "== ${MODE}: srednio $(( total / RUNS ))ms z ${RUNS} przebiegow =="
@@ -7,6 +7,7 @@ function OrganizerEventList({ visible, organizerId }) {
     const [addEventVisible, setAddEventVisible] = useState(false);
     const [editingEventId, setEditingEventId] = useState(null);
     const [events, setEvents] = useState([]);
+    const [tagNames, setTagNames] = useState({});
     const [error, setError] = useState(null);
 
     const [newEvent, setNewEvent] = useState({
@@ -22,13 +23,23 @@ function OrganizerEventList({ visible, organizerId }) {
         tags: "",
     });
 
+    // Jedno zapytanie zwraca eventy organizatora razem z tagami, do których się odwołują
+    const fetchDashboard = () =>
+        axios.get(`/api/dashboard/${organizerId}`).then((res) => {
+            setEvents(res.data.organizedEvents);
+            setTagNames(
+                res.data.tags.reduce((acc, tag) => {
+                    acc[tag.id] = tag.name;
+                    return acc;
+                }, {})
+            );
+        });
+
     useEffect(() => {
         if (!visible || !organizerId) return;
 
-        axios
-            .get(`/api/events/organizers/${organizerId}/events`)
-            .then((res) => {
-                setEvents(res.data);
+        fetchDashboard()
+            .then(() => {
                 setError(null);
             })
             .catch((err) => {
@@ -130,10 +141,9 @@ function OrganizerEventList({ visible, organizerId }) {
         request
             .then(() => {
                 alert(editingEventId ? "Zaktualizowano wydarzenie!" : "Utworzono wydarzenie!");
-                return axios.get(`/api/events/organizers/${organizerId}/events`);
+                return fetchDashboard();
             })
-            .then((res) => {
-                setEvents(res.data);
+            .then(() => {
                 setAddEventVisible(false);
                 resetEventForm();
                 setEditingEventId(null);
@@ -245,7 +255,7 @@ function OrganizerEventList({ visible, organizerId }) {
                                     <strong>Sala:</strong> {evt.classroomName}
                                 </p>
                                 <p>
-                                    <strong>Tagi:</strong> {evt.tagIds?.join(", ") || "Brak"}
+                                    <strong>Tagi:</strong> {evt.tagIds?.map((id) => tagNames[id] || id).join(", ") || "Brak"}
                                 </p>
                                 <button onClick={() => prepareEventForEdit(evt)}>Edytuj</button>
                                 <button onClick={() => handleDeleteEvent(evt.id)}>Usuń</button>
@@ -22,6 +22,12 @@ function TagsList({ visible }) {
     // Lista tagów pobrana z backendu
     const [tags, setTags] = useState([]);
 
+    // Statystyki użycia tagów (id -> { eventCount, participantCount })
+    const [usage, setUsage] = useState({});
+
+    // Tagi powiązane z rozwiniętym tagiem
+    const [related, setRelated] = useState({ tagId: null, tags: [] });
+
     // Stany obsługujące edycję tagu
     const [editingTagId, setEditingTagId] = useState(null);
     const [editingTagData, setEditingTagData] = useState({
@@ -43,6 +49,34 @@ function TagsList({ visible }) {
                 console.error("Błąd podczas pobierania tagów:", err);
                 alert("Nie udało się pobrać listy tagów. Spróbuj ponownie.");
             });
+        axios
+            .get("/api/tags/stats")
+            .then((res) => {
+                const byId = {};
+                res.data.forEach((stat) => {
+                    byId[stat.id] = stat;
+                });
+                setUsage(byId);
+            })
+            .catch((err) => {
+                console.error("Błąd podczas pobierania statystyk tagów:", err);
+            });
+    };
+
+    // Rozwiń / zwiń listę tagów powiązanych
+    const toggleRelated = (tagId) => {
+        if (related.tagId === tagId) {
+            setRelated({ tagId: null, tags: [] });
+            return;
+        }
+        axios
+            .get(`/api/tags/${tagId}/related`)
+            .then((res) => {
+                setRelated({ tagId, tags: res.data });
+            })
+            .catch((err) => {
+                console.error("Błąd podczas pobierania powiązanych tagów:", err);
+            });
     };
 
     // Załaduj tagi przy pierwszym renderze
@@ -182,7 +216,16 @@ function TagsList({ visible }) {
     if (selectedFilters.alphabetical) {
         displayedTags.sort((a, b) => a.name.localeCompare(b.name));
     }
-    // Sortowanie "byUsage" – tutaj brak implementacji, można dodać logikę
+    // Sortowanie według liczby wydarzeń (a potem uczestników) z tagiem
+    if (selectedFilters.byUsage) {
+        const eventCount = (tag) => usage[tag.id]?.eventCount ?? 0;
+        const participantCount = (tag) => usage[tag.id]?.participantCount ?? 0;
+        displayedTags.sort(
+            (a, b) =>
+                eventCount(b) - eventCount(a) ||
+                participantCount(b) - participantCount(a)
+        );
+    }
 
     return (
         <div className="edit-tags-subsite">
@@ -314,7 +357,25 @@ function TagsList({ visible }) {
                                     <div key={tag.id} className="singleTag">
                                         <div className="viewMode">
                                             <h2>{tag.name}</h2>
+                                            <p>
+                                                Events: {usage[tag.id]?.eventCount ?? 0}, participants:{" "}
+                                                {usage[tag.id]?.participantCount ?? 0}
+                                            </p>
+                                            {related.tagId === tag.id && (
+                                                <p>
+                                                    Related:{" "}
+                                                    {related.tags
+                                                        .map((rel) => `${rel.name} (${rel.coOccurrences})`)
+                                                        .join(", ") || "None"}
+                                                </p>
+                                            )}
                                             <div className="tagActions">
+                                                <button
+                                                    onClick={() => toggleRelated(tag.id)}
+                                                    className="editButton"
+                                                >
+                                                    {related.tagId === tag.id ? "Hide Related" : "Related"}
+                                                </button>
                                                 <button
                                                     onClick={() => startEditing(tag)}
                                                     className="editButton"
@@ -39,6 +39,10 @@ function UsersList({ visible }) {
     });
     const [isUpdating, setIsUpdating] = useState(false);
 
+    // Import użytkowników z pliku CSV
+    const [isImporting, setIsImporting] = useState(false);
+    const [importResult, setImportResult] = useState(null);
+
     // --- POBRANIE LISTY UŻYTKOWNIKÓW (GET) ---
     const fetchUsers = () => {
         setLoading(true);
@@ -82,8 +86,13 @@ function UsersList({ visible }) {
                 age: parseInt(newUserData.age, 10) || 0,
                 email: newUserData.email,
                 password: newUserData.password,
-                isOrganizer: !!newUserData.isOrganizer,
             })
+            // Rejestracja tworzy uczestnika - rolę organizatora nadaje osobno organizator
+            .then((response) =>
+                newUserData.isOrganizer
+                    ? axios.put(`/api/users/${response.data.id}`, { isOrganizer: true })
+                    : response
+            )
             .then((response) => {
                 alert("Użytkownik został pomyślnie dodany!");
                 // Dodajemy użytkownika do listy
@@ -106,6 +115,46 @@ function UsersList({ visible }) {
             });
     };
 
+    // --- IMPORT UŻYTKOWNIKÓW Z PLIKU CSV (POST) ---
+    const handleImportFile = (e) => {
+        const file = e.target.files[0];
+        e.target.value = "";
+        if (!file) return;
+
+        setIsImporting(true);
+        setImportResult(null);
+        axios
+            .post("/api/users/import", file, { headers: { "Content-Type": "text/csv" } })
+            .then((res) => {
+                setImportResult(res.data);
+                fetchUsers();
+            })
+            .catch((err) => {
+                console.error("Błąd podczas importu użytkowników:", err);
+                alert("Nie udało się zaimportować pliku. Sprawdź nagłówek (firstname,surname,age,email,password,isOrganizer).");
+            })
+            .finally(() => setIsImporting(false));
+    };
+
+    // --- EKSPORT UŻYTKOWNIKÓW DO PLIKU CSV (GET) ---
+    // Pobranie przez axios (z tokenem sesji) zamiast zwykłego linku
+    const handleExport = () => {
+        axios
+            .get("/api/users/export", { responseType: "blob" })
+            .then((res) => {
+                const url = URL.createObjectURL(res.data);
+                const link = document.createElement("a");
+                link.href = url;
+                link.download = "users.csv";
+                link.click();
+                URL.revokeObjectURL(url);
+            })
+            .catch((err) => {
+                console.error("Błąd podczas eksportu użytkowników:", err);
+                alert("Nie udało się wyeksportować użytkowników.");
+            });
+    };
+
     // --- USUWANIE UŻYTKOWNIKA (DELETE) ---
     const handleDeleteUser = (userId) => {
         if (!window.confirm("Czy na pewno chcesz usunąć tego użytkownika?")) return;
@@ -131,9 +180,8 @@ function UsersList({ visible }) {
             surname: user.surname || "",
             age: user.age || "",
             email: user.email || "",
-            // Zakładamy, że serwer zwraca `user.password`,
-            // co w rzeczywistości rzadko się zdarza.
-            password: user.password || "",
+            // Serwer nie zwraca hasła - puste pole oznacza brak zmiany hasła
+            password: "",
             // Uwaga: w roboczym froncie jest `isOrganizer`, więc trzymamy się tej nazwy:
             isOrganizer: user.isOrganizer ?? false,
         });
@@ -290,6 +338,34 @@ function UsersList({ visible }) {
                 {!isAdding ? (
                     <div style={{ marginBottom: "1rem" }}>
                         <button onClick={() => setIsAdding(true)}>Add User</button>
+                        <label className="users-subsite__import">
+                            {isImporting ? "Importing..." : "Import CSV"}
+                            <input
+                                type="file"
+                                accept=".csv,text/csv"
+                                onChange={handleImportFile}
+                                disabled={isImporting}
+                                hidden
+                            />
+                        </label>
+                        <button type="button" onClick={handleExport}>Export CSV</button>
+                        {importResult && (
+                            <div className="users-subsite__import-result">
+                                <p>
+                                    Zaimportowano: {importResult.imported}, błędy: {importResult.failed}
+                                </p>
+                                {importResult.errors.length > 0 && (
+                                    <ul>
+                                        {importResult.errors.map((error) => (
+                                            <li key={error.line}>
+                                                Linia {error.line}
+                                                {error.email ? ` (${error.email})` : ""}: {error.message}
+                                            </li>
+                                        ))}
+                                    </ul>
+                                )}
+                            </div>
+                        )}
                     </div>
                 ) : (
                     <form className="addUserForm" onSubmit={handleAddUserSubmit}>
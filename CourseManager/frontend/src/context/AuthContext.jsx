@@ -1,34 +1,95 @@
 // src/context/AuthContext.jsx
 import React, { createContext, useState, useEffect } from 'react';
+import axios from 'axios';
 import Cookies from 'js-cookie';
 
 export const AuthContext = createContext();
 
+// Token sesji dołączany do każdego zapytania axios (nagłówek Authorization)
+const setAuthorizationHeader = (token) => {
+    if (token) {
+        axios.defaults.headers.common.Authorization = `Bearer ${token}`;
+    } else {
+        delete axios.defaults.headers.common.Authorization;
+    }
+};
+
+// Użytkownik zapisany w ciasteczku; nagłówek ustawiany jest od razu, zanim komponenty wyślą pierwsze zapytania
+const loadStoredUser = () => {
+    const storedUser = Cookies.get('user');
+    if (!storedUser) {
+        console.log('No user found in cookies.');
+        return null;
+    }
+    const parsedUser = JSON.parse(storedUser);
+    setAuthorizationHeader(parsedUser.token);
+    console.log('User loaded from cookies:', parsedUser.email);
+    return parsedUser;
+};
+
 export const AuthProvider = ({ children }) => {
-    const [user, setUser] = useState(null);
+    const [user, setUser] = useState(loadStoredUser);
 
     useEffect(() => {
-        const storedUser = Cookies.get('user');
-        if (storedUser) {
-            setUser(JSON.parse(storedUser));
-            console.log('User loaded from cookies:', JSON.parse(storedUser));
-        } else {
-            console.log('No user found in cookies.');
-        }
+        // Wygasły lub unieważniony token (401) - czyścimy sesję, użytkownik loguje się ponownie
+        const interceptor = axios.interceptors.response.use(
+            (response) => response,
+            (error) => {
+                if (error.response?.status === 401) {
+                    setAuthorizationHeader(null);
+                    setUser(null);
+                    Cookies.remove('user');
+                }
+                return Promise.reject(error);
+            }
+        );
+        return () => axios.interceptors.response.eject(interceptor);
     }, []);
 
     const login = (userData) => {
+        setAuthorizationHeader(userData.token);
         setUser(userData);
-        Cookies.set('user', JSON.stringify(userData), { expires: 7, secure: true, sameSite: 'Strict' });
+        // Ciasteczko wygasa razem z tokenem
+        const expires = userData.expiresAt ? new Date(userData.expiresAt) : 7;
+        Cookies.set('user', JSON.stringify(userData), { expires, secure: true, sameSite: 'Strict' });
+    };
+
+    // Logowanie hasłem (POST /api/auth/login); przy sukcesie zapisuje użytkownika i token
+    const authenticate = async (email, password) => {
+        const response = await fetch('/api/auth/login', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify({ email, password }),
+        });
+        if (response.ok) {
+            const data = await response.json();
+            login({
+                id: data.userId,
+                firstname: data.firstname,
+                surname: data.surname,
+                email: data.email,
+                isOrganizer: data.isOrganizer,
+                token: data.token,
+                expiresAt: data.expiresAt,
+            });
+        }
+        return response;
     };
 
     const logout = () => {
+        if (user?.token) {
+            // Unieważnia token po stronie serwera; błąd nie blokuje wylogowania
+            axios.post('/api/auth/logout').catch((error) => console.error('Error during logout:', error));
+        }
+        setAuthorizationHeader(null);
         setUser(null);
         Cookies.remove('user');
     };
 
     return (
-        <AuthContext.Provider value={{ user, login, logout }}>
+        <AuthContext.Provider value={{ user, login, authenticate, logout }}>
             {children}
         </AuthContext.Provider>
     );
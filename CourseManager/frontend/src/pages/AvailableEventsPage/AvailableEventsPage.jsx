@@ -1,4 +1,5 @@
 import { useState, useEffect, useContext } from "react";
+import axios from "axios";
 import "./AvailableEventsPage.css";
 import CourseCard_2 from "../../components/CourseCard_2/CourseCard_2.jsx";
 import { AuthContext } from "../../context/AuthContext";
@@ -12,8 +13,8 @@ function AvailableEventsPage() {
     useEffect(() => {
         // Pobranie listy wydarzeń i tagów z backendu
         Promise.all([
-            fetch("/api/events").then((res) => res.json()),
-            fetch("/api/tags").then((res) => res.json()),
+            axios.get("/api/events").then((res) => res.data),
+            axios.get("/api/tags").then((res) => res.data),
         ])
             .then(([eventsData, tagsData]) => {
                 setEvents(eventsData);
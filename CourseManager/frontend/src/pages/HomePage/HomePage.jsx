@@ -1,4 +1,5 @@
 import { useState, useEffect } from "react";
+import axios from "axios";
 import "./HomePage.css";
 import CourseCard from "../../components/CourseCard/CourseCard.jsx";
 
@@ -10,8 +11,8 @@ function HomePage() {
     useEffect(() => {
         // Pobranie listy wydarzeń i tagów z backendu
         Promise.all([
-            fetch("/api/events").then((res) => res.json()),
-            fetch("/api/tags").then((res) => res.json()),
+            axios.get("/api/events").then((res) => res.data),
+            axios.get("/api/tags").then((res) => res.data),
         ])
             .then(([eventsData, tagsData]) => {
                 // Bierzemy tylko pierwsze 3 wydarzenia
@@ -9,7 +9,7 @@ const LoginPage = () => {
         password: '',
     });
     const navigate = useNavigate();
-    const { login } = useContext(AuthContext);
+    const { authenticate } = useContext(AuthContext);
 
     const handleChange = (e) => {
         const { name, value } = e.target;
@@ -23,24 +23,14 @@ const LoginPage = () => {
         e.preventDefault();
 
         try {
-            const response = await fetch(`/api/users/email/${formData.email}`, {
-                method: 'GET',
-                headers: {
-                    'Content-Type': 'application/json',
-                },
-            });
+            const response = await authenticate(formData.email, formData.password);
 
             if (response.ok) {
-                const user = await response.json();
-
-                if (user.password === formData.password) {
-                    login(user);
-                    alert('Logged in successfully!');
-                    console.log('Logged in user:', user);
-                    navigate('/');
-                } else {
-                    alert('Invalid email or password.');
-                }
+                alert('Logged in successfully!');
+                console.log('Logged in user:', formData.email);
+                navigate('/');
+            } else if (response.status === 503) {
+                alert('Server is busy. Please try again in a moment.');
             } else {
                 alert('Invalid email or password.');
             }
@@ -1,4 +1,5 @@
 import React, { useContext, useEffect, useState } from "react";
+import axios from "axios";
 import "./MyEventsPage.css";
 import { AuthContext } from "../../context/AuthContext";
 
@@ -15,18 +16,12 @@ function MyEventsPage() {
             try {
                 // Pobieranie przeszłych wydarzeń
                 const [pastRes, futureRes] = await Promise.all([
-                    fetch(`/api/participants/${user.id}/past`),
-                    fetch(`/api/participants/${user.id}/future`),
+                    axios.get(`/api/events/participants/${user.id}/past`),
+                    axios.get(`/api/events/participants/${user.id}/future`),
                 ]);
 
-                if (!pastRes.ok || !futureRes.ok) {
-                    throw new Error("Nie udało się załadować danych wydarzeń.");
-                }
-
-                const [pastEvents, futureEvents] = await Promise.all([
-                    pastRes.json(),
-                    futureRes.json(),
-                ]);
+                const pastEvents = pastRes.data;
+                const futureEvents = futureRes.data;
 
                 setPastEventIds(pastEvents.map((event) => event.id));
                 setFutureEventIds(futureEvents.map((event) => event.id));
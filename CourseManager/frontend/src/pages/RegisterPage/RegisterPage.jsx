@@ -10,10 +10,9 @@ const RegisterPage = () => {
         age: '',
         email: '',
         password: '',
-        isOrganizer: false,
     });
     const navigate = useNavigate();
-    const { login } = useContext(AuthContext);
+    const { authenticate } = useContext(AuthContext);
 
     const handleChange = (e) => {
         const { name, value, type, checked } = e.target;
@@ -39,9 +38,9 @@ const RegisterPage = () => {
                 const result = await response.json();
                 alert('User registered successfully!');
                 console.log('Registered user:', result);
-                navigate('/login');
-                login(result);
-                navigate('/');
+                // Rejestracja nie zwraca tokenu - logujemy nowego użytkownika jego hasłem
+                const loginResponse = await authenticate(formData.email, formData.password);
+                navigate(loginResponse.ok ? '/' : '/login');
             } else {
                 const errorMessage = await response.text();
                 alert(`Error: ${errorMessage}`);
@@ -123,18 +122,6 @@ const RegisterPage = () => {
                             required
                         />
                     </div>
-                    <div className="form-group">
-                        <label htmlFor="isOrganizer">
-                            <input
-                                type="checkbox"
-                                id="isOrganizer"
-                                name="isOrganizer"
-                                checked={formData.isOrganizer}
-                                onChange={handleChange}
-                            />
-                            {' '}Organizer
-                        </label>
-                    </div>
                     <button type="submit" className="btn-submit">
                         Register
                     </button>
@@ -1,8 +1,47 @@
 import { defineConfig } from 'vite';
 import react from '@vitejs/plugin-react';
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs';
+import { join } from 'node:path';
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib';
+
+// Zbudowany frontend trafia do zasobów statycznych Spring Boota
+const OUT_DIR = '../src/main/resources/static';
+
+// Pliki mniejsze niż próg nie są kompresowane (tak jak server.compression.min-response-size)
+const COMPRESSION_THRESHOLD = 1024;
+const COMPRESSIBLE = /\.(js|css|html|svg|json)$/;
+
+// Tworzy obok zbudowanych plików wersje .gz oraz .br,
+// które Spring serwuje dzięki spring.web.resources.chain.compressed=true
+function precompress() {
+    const walk = (dir) => readdirSync(dir).flatMap((name) => {
+        const path = join(dir, name);
+        return statSync(path).isDirectory() ? walk(path) : [path];
+    });
+
+    return {
+        name: 'precompress',
+        apply: 'build',
+        closeBundle() {
+            for (const file of walk(OUT_DIR)) {
+                if (!COMPRESSIBLE.test(file)) continue;
+                const content = readFileSync(file);
+                if (content.length < COMPRESSION_THRESHOLD) continue;
+                writeFileSync(`${file}.gz`, gzipSync(content, { level: 9 }));
+                writeFileSync(`${file}.br`, brotliCompressSync(content, {
+                    params: { [constants.BROTLI_PARAM_QUALITY]: 11 },
+                }));
+            }
+        },
+    };
+}
 
 export default defineConfig({
-  plugins: [react()],
+  plugins: [react(), precompress()],
+  build: {
+    outDir: OUT_DIR,
+    emptyOutDir: true,
+  },
   server: {
     proxy: {
       '/api': {
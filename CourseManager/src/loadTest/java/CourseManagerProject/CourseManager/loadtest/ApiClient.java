@@ -0,0 +1,141 @@
+package CourseManagerProject.CourseManager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Klient REST API mierzący czas każdego żądania.
+ * <p>Wyniki grupowane są według nazwy punktu końcowego (np. {@code GET /api/events/filtered}),
+ * a nie pełnego adresu, więc żądania z różnymi parametrami trafiają do jednej statystyki.
+ * Pomiary zapisywane są tylko po wywołaniu {@link #startRecording()} (po rozgrzewce).
+ * Po {@link #login} każde żądanie zawiera nagłówek {@code Authorization: Bearer ...}.</p>
+ */
+class ApiClient {
+
+    /**
+     * Odpowiedź serwera.
+     *
+     * @param status HTTP status lub -1 przy błędzie połączenia.
+     * @param body   Treść odpowiedzi (pusta przy błędzie połączenia).
+     */
+    record Response(int status, String body) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile String token;
+
+    /**
+     * @param baseUrl Adres aplikacji, np. {@code http://localhost:8080}.
+     * @param timeout Limit czasu pojedynczego żądania.
+     */
+    ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Loguje się ({@code POST /api/auth/login}) i dołącza otrzymany token do kolejnych żądań.
+     *
+     * @param email    Adres email użytkownika.
+     * @param password Hasło użytkownika.
+     * @throws IOException           jeśli odpowiedź nie zawiera tokenu.
+     * @throws IllegalStateException jeśli logowanie się nie powiodło.
+     */
+    void login(String email, String password) throws IOException {
+        ObjectNode credentials = OBJECT_MAPPER.createObjectNode().put("email", email).put("password", password);
+        Response response = post("POST /api/auth/login", "/api/auth/login", credentials.toString());
+        if (!response.ok()) {
+            throw new IllegalStateException("Logowanie " + email + " nie powiodło się: HTTP " + response.status());
+        }
+        token = OBJECT_MAPPER.readTree(response.body()).path("token").asText();
+    }
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    /**
+     * Zwraca statystyki punktów końcowych posortowane według nazwy.
+     *
+     * @return Mapa nazwa punktu końcowego → statystyki.
+     */
+    Map<String, EndpointStats> stats() {
+        return new TreeMap<>(stats);
+    }
+
+    Response get(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    Response delete(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).DELETE());
+    }
+
+    Response post(String endpoint, String path, String json) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).POST(body(json)).header("Content-Type", "application/json"));
+    }
+
+    Response put(String endpoint, String path, String json) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).PUT(body(json)).header("Content-Type", "application/json"));
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder builder) {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.timeout(timeout).build();
+        long started = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            response = new Response(httpResponse.statusCode(), httpResponse.body());
+        } catch (IOException e) {
+            response = new Response(-1, "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, "");
+        }
+        if (recording) {
+            stats.computeIfAbsent(endpoint, key -> new EndpointStats())
+                    .record(response.status(), (System.nanoTime() - started) / 1_000);
+        }
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json);
+    }
+}
@@ -0,0 +1,246 @@
+package CourseManagerProject.CourseManager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark rywalizacji o jedno wydarzenie: {@code loadtest.editors} organizatorów edytuje je
+ * równolegle (odczyt wersji i {@code PUT} z tą wersją), a {@code loadtest.enrollers} studentów
+ * w tym czasie zapisuje się i wypisuje.
+ *
+ * <p>Raport zawiera czasy odpowiedzi, liczbę zatwierdzonych edycji i konfliktów 409 (edytor po
+ * konflikcie odczytuje wydarzenie ponownie). Zapisy zmieniają liczniki miejsc bez zmiany wersji,
+ * więc nie mogą dostać 409 - proces kończy się kodem 1, jeśli tak się stanie albo wystąpią błędy 5xx.
+ *
+ * <p>Uruchomienie: {@code gradle contentionBenchmark} przeciwko aplikacji z danymi z profilu
+ * {@code loadtest}; parametry {@code loadtest.base-url}, {@code loadtest.editors} (domyślnie 8),
+ * {@code loadtest.enrollers} (64), {@code loadtest.warmup} (PT3S), {@code loadtest.duration} (PT20S)
+ * i {@code loadtest.seed}.
+ */
+public class ContentionBenchmark {
+
+    private static final Pattern CREATED_ID = Pattern.compile("ID: (\\d+)");
+    private static final String EDIT = "PUT /api/events/{id}/update";
+    private static final String READ = "GET /api/events/organizers/{id}/events";
+    private static final String JOIN = "POST /api/events/{id}/participants/{userId}";
+    private static final String LEAVE = "DELETE /api/events/{id}/participants/{userId}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApiClient api;
+    private final List<Integer> studentIds = new ArrayList<>();
+    private final LongAdder editsCommitted = new LongAdder();
+    private final LongAdder editConflicts = new LongAdder();
+    private final LongAdder enrollConflicts = new LongAdder();
+    private volatile boolean recording;
+    private int organizerId;
+    private int classroomId;
+    private int tagId;
+    private int eventId;
+
+    ContentionBenchmark(ApiClient api) {
+        this.api = api;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = property("base-url", "http://localhost:8080");
+        int editors = Integer.parseInt(property("editors", "8"));
+        int enrollers = Integer.parseInt(property("enrollers", "64"));
+        Duration warmup = Duration.parse(property("warmup", "PT3S"));
+        Duration duration = Duration.parse(property("duration", "PT20S"));
+        long seed = Long.parseLong(property("seed", "42"));
+
+        ApiClient api = new ApiClient(baseUrl, Duration.ofSeconds(10));
+        api.login(property("email", "user1@example.com"), property("password", "password123"));
+        ContentionBenchmark benchmark = new ContentionBenchmark(api);
+        benchmark.setUp();
+        System.out.printf(Locale.ROOT, "target=%s event=%d editors=%d enrollers=%d duration=%s%n",
+                baseUrl, benchmark.eventId, editors, enrollers, duration);
+        boolean failed;
+        try {
+            long measuredNanos = benchmark.run(api, editors, enrollers, warmup, duration, seed);
+            ObjectNode report = LoadTestRunner.report(api.stats(), measuredNanos);
+            LoadTestRunner.print(report);
+            double seconds = measuredNanos / 1e9;
+            long committed = benchmark.editsCommitted.sum();
+            long conflicts = benchmark.editConflicts.sum();
+            System.out.printf(Locale.ROOT, "edits committed=%d (%.1f/s) conflicts=%d (%.1f%% of attempts) enroll conflicts=%d%n",
+                    committed, committed / seconds, conflicts,
+                    committed + conflicts == 0 ? 0.0 : 100.0 * conflicts / (committed + conflicts),
+                    benchmark.enrollConflicts.sum());
+
+            long errors = 0;
+            for (EndpointStats stats : api.stats().values()) {
+                errors += stats.errors();
+            }
+            failed = benchmark.enrollConflicts.sum() > 0 || errors > 0;
+            if (failed) {
+                System.out.println("REGRESJA: zapisy z konfliktem wersji lub błędy serwera (" + errors + ")");
+            }
+        } finally {
+            benchmark.tearDown();
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    /**
+     * Tworzy wydarzenie w odległej przyszłości z miejscem dla wszystkich studentów.
+     *
+     * @throws IllegalStateException jeśli baza nie zawiera danych testowych.
+     */
+    void setUp() {
+        Integer organizer = null;
+        for (JsonNode user : fetch("/api/users")) {
+            if (user.path("isOrganizer").asBoolean()) {
+                organizer = organizer == null ? user.path("id").asInt() : organizer;
+            } else {
+                studentIds.add(user.path("id").asInt());
+            }
+        }
+        JsonNode classrooms = fetch("/api/classrooms");
+        JsonNode tags = fetch("/api/tags");
+        if (organizer == null || studentIds.isEmpty() || classrooms.isEmpty() || tags.isEmpty()) {
+            throw new IllegalStateException("Brak danych testowych - uruchom aplikację z profilem loadtest");
+        }
+        organizerId = organizer;
+        classroomId = classrooms.get(0).path("id").asInt();
+        tagId = tags.get(0).path("id").asInt();
+
+        // Losowa godzina za kilka lat - bez kolizji z danymi i poprzednimi uruchomieniami
+        LocalDateTime start = LocalDate.now().plusYears(5).atStartOfDay()
+                .plusMinutes(15L * new Random().nextInt(100_000));
+        ObjectNode event = eventBody(start, "Benchmark rywalizacji", null);
+        ApiClient.Response created = api.post("POST /api/events/create", "/api/events/create", event.toString());
+        Matcher matcher = CREATED_ID.matcher(created.body());
+        if (!created.ok() || !matcher.find()) {
+            throw new IllegalStateException("Nie utworzono wydarzenia: " + created.status() + " " + created.body());
+        }
+        eventId = Integer.parseInt(matcher.group(1));
+    }
+
+    void tearDown() {
+        if (eventId != 0) {
+            api.delete("DELETE /api/events/{id}/delete", "/api/events/" + eventId + "/delete");
+        }
+    }
+
+    private long run(ApiClient api, int editors, int enrollers, Duration warmup, Duration duration, long seed)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < editors; i++) {
+                Random random = new Random(seed + i);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        edit(random);
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < enrollers; i++) {
+                Random random = new Random(seed + editors + i);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        enroll(random);
+                    }
+                    return null;
+                });
+            }
+            Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+            recording = true;
+            api.startRecording();
+            Thread.sleep(Math.max(0, (deadline - System.nanoTime()) / 1_000_000));
+            api.stopRecording();
+            recording = false;
+        }
+        return deadline - measureFrom;
+    }
+
+    /**
+     * Odczyt-modyfikacja-zapis: edycja z wersją odczytaną chwilę wcześniej.
+     */
+    private void edit(Random random) {
+        JsonNode current = null;
+        ApiClient.Response response = api.get(READ, "/api/events/organizers/" + organizerId + "/events");
+        if (response.ok()) {
+            for (JsonNode event : parse(response.body())) {
+                if (event.path("id").asInt() == eventId) {
+                    current = event;
+                }
+            }
+        }
+        if (current == null) {
+            return;
+        }
+        ObjectNode body = eventBody(LocalDateTime.parse(current.path("startDatetime").asText()),
+                "Edycja " + random.nextInt(1_000_000), current.path("version").asLong());
+        ApiClient.Response edited = api.put(EDIT, "/api/events/" + eventId + "/update", body.toString());
+        if (recording && edited.ok()) {
+            editsCommitted.increment();
+        } else if (recording && edited.status() == 409) {
+            editConflicts.increment();
+        }
+    }
+
+    private void enroll(Random random) {
+        int userId = studentIds.get(random.nextInt(studentIds.size()));
+        String path = "/api/events/" + eventId + "/participants/" + userId;
+        ApiClient.Response joined = api.post(JOIN, path, null);
+        ApiClient.Response left = api.delete(LEAVE, path);
+        if (recording && (joined.status() == 409 || left.status() == 409)) {
+            enrollConflicts.increment();
+        }
+    }
+
+    private ObjectNode eventBody(LocalDateTime start, String info, Long version) {
+        ObjectNode event = objectMapper.createObjectNode()
+                .put("name", "Benchmark rywalizacji")
+                .put("startDatetime", start.toString())
+                .put("endDatetime", start.plusMinutes(10).toString())
+                .put("maxParticipants", studentIds.size())
+                .put("minAge", 0)
+                .put("info", info)
+                .put("organizerId", organizerId)
+                .put("classroomId", classroomId);
+        event.putArray("tagIds").add(tagId);
+        if (version != null) {
+            event.put("version", version);
+        }
+        return event;
+    }
+
+    private JsonNode fetch(String path) {
+        ApiClient.Response response = api.get("GET " + path, path);
+        if (!response.ok()) {
+            throw new IllegalStateException("GET " + path + " zwrócił status " + response.status());
+        }
+        return parse(response.body());
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Niepoprawna odpowiedź JSON", e);
+        }
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
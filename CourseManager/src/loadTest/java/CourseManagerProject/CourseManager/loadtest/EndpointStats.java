@@ -0,0 +1,53 @@
+package CourseManagerProject.CourseManager.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wyniki pomiaru jednego punktu końcowego (metoda + wzorzec ścieżki).
+ * <p>Odpowiedzi 2xx liczone są jako poprawne, 4xx jako odrzucone przez logikę aplikacji
+ * (np. brak miejsc, kolizja sali), a 5xx, 429 i błędy połączenia jako błędy.</p>
+ */
+class EndpointStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Zapisuje wynik jednego żądania.
+     *
+     * @param status HTTP status odpowiedzi lub -1 przy błędzie połączenia.
+     * @param micros Czas odpowiedzi w mikrosekundach.
+     */
+    void record(int status, long micros) {
+        latency.record(micros);
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status >= 400 && status < 500 && status != 429) {
+            rejected.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long total() {
+        return ok() + rejected() + errors();
+    }
+}
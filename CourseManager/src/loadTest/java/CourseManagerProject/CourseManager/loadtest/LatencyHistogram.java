@@ -0,0 +1,79 @@
+package CourseManagerProject.CourseManager.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram czasów odpowiedzi w mikrosekundach o stałej względnej dokładności (poniżej 1%).
+ * <p>Wartości dzielone są na przedziały potęg dwójki, a każdy przedział na 128 kubełków,
+ * więc histogram zajmuje kilkadziesiąt KB niezależnie od liczby pomiarów. Zapis jest
+ * bezblokadowy i może być wykonywany równolegle z wielu wątków.</p>
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int LEVELS = 64 - SUB_BITS + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LEVELS * SUB_BUCKETS);
+
+    /**
+     * Zapisuje jeden pomiar.
+     *
+     * @param micros Czas odpowiedzi w mikrosekundach.
+     */
+    void record(long micros) {
+        counts.incrementAndGet(index(Math.max(0, micros)));
+    }
+
+    /**
+     * Zwraca liczbę zapisanych pomiarów.
+     *
+     * @return Liczba pomiarów.
+     */
+    long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Zwraca przybliżony percentyl czasu odpowiedzi.
+     *
+     * @param percentile Percentyl z przedziału (0, 100].
+     * @return Czas w mikrosekundach (środek kubełka) lub 0, jeśli brak pomiarów.
+     */
+    long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(counts.length() - 1);
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long midpoint(int index) {
+        int shift = index / SUB_BUCKETS;
+        long mantissa = index % SUB_BUCKETS;
+        if (shift == 0) {
+            return mantissa;
+        }
+        return (mantissa << shift) + (1L << (shift - 1));
+    }
+}
@@ -0,0 +1,255 @@
+package CourseManagerProject.CourseManager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test obciążeniowy REST API uruchamiany przeciwko lokalnie działającej aplikacji
+ * z danymi z profilu {@code loadtest}.
+ *
+ * <p>Każdy wirtualny użytkownik (osobny wątek wirtualny) w pętli losuje scenariusz z mieszanki
+ * {@code loadtest.mix}: przeglądanie wydarzeń, sprawdzanie własnych wydarzeń przez studenta,
+ * praca organizatora i zapisy. Co {@code loadtest.spike-every} przez {@code loadtest.spike-length}
+ * waga zapisów rośnie {@code loadtest.spike-factor} razy, a zapisy trafiają na kilka popularnych
+ * wydarzeń. Po rozgrzewce mierzony jest czas każdego żądania; raport zawiera przepustowość
+ * i percentyle czasu odpowiedzi dla każdego punktu końcowego.
+ *
+ * <p>Uruchomienie: {@code gradle loadTest}, parametry jako {@code -Dloadtest.<nazwa>=<wartość>}.
+ * Raport zapisywany jest w {@code loadtest.report}; jeśli podano {@code loadtest.baseline}
+ * (raport z wcześniejszego uruchomienia), proces kończy się kodem 1, gdy p95 punktu końcowego
+ * wzrośnie lub przepustowość spadnie o więcej niż {@code loadtest.tolerance}, albo udział
+ * błędów przekroczy {@code loadtest.max-error-rate}.
+ */
+public class LoadTestRunner {
+
+    /**
+     * Parametry testu.
+     */
+    record Config(String baseUrl, int users, Duration warmup, Duration duration, Duration requestTimeout,
+                  long thinkMillis, Map<Workload.Scenario, Integer> mix, int hotEvents, Duration spikeEvery,
+                  Duration spikeLength, int spikeFactor, long seed, Path report, Path baseline,
+                  double tolerance, double maxErrorRate, String email, String password) {
+
+        static Config fromSystemProperties() {
+            String baseline = property("baseline", "");
+            return new Config(
+                    property("base-url", "http://localhost:8080"),
+                    Integer.parseInt(property("users", "200")),
+                    Duration.parse(property("warmup", "PT10S")),
+                    Duration.parse(property("duration", "PT60S")),
+                    Duration.parse(property("request-timeout", "PT10S")),
+                    Long.parseLong(property("think-ms", "0")),
+                    parseMix(property("mix", "browse=50,student=30,organizer=5,enroll=15")),
+                    Integer.parseInt(property("hot-events", "5")),
+                    Duration.parse(property("spike-every", "PT20S")),
+                    Duration.parse(property("spike-length", "PT5S")),
+                    Integer.parseInt(property("spike-factor", "10")),
+                    Long.parseLong(property("seed", "42")),
+                    Path.of(property("report", "build/loadtest/report.json")),
+                    baseline.isBlank() ? null : Path.of(baseline),
+                    Double.parseDouble(property("tolerance", "0.2")),
+                    Double.parseDouble(property("max-error-rate", "0.01")),
+                    property("email", "user1@example.com"),
+                    property("password", "password123"));
+        }
+
+        private static String property(String name, String defaultValue) {
+            return System.getProperty("loadtest." + name, defaultValue);
+        }
+
+        private static Map<Workload.Scenario, Integer> parseMix(String value) {
+            Map<Workload.Scenario, Integer> mix = new EnumMap<>(Workload.Scenario.class);
+            for (String entry : value.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Niepoprawny wpis loadtest.mix: " + entry);
+                }
+                mix.put(Workload.Scenario.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+            }
+            return mix;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        ApiClient api = new ApiClient(config.baseUrl(), config.requestTimeout());
+        api.login(config.email(), config.password());
+        Workload workload = new Workload(api);
+        workload.load(config.hotEvents());
+        System.out.printf(Locale.ROOT, "target=%s users=%d warmup=%s duration=%s mix=%s%n%s%n", config.baseUrl(),
+                config.users(), config.warmup(), config.duration(), config.mix(), workload.describe());
+
+        long measuredNanos = run(config, api, workload);
+        Map<String, EndpointStats> stats = api.stats();
+        ObjectNode report = report(stats, measuredNanos);
+        print(report);
+
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        OBJECT_MAPPER.writeValue(config.report().toFile(), report);
+        System.out.println("report=" + config.report().toAbsolutePath());
+
+        List<String> failures = check(config, report);
+        failures.forEach(failure -> System.out.println("REGRESJA: " + failure));
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Uruchamia wirtualnych użytkowników na czas rozgrzewki i pomiaru.
+     *
+     * @return Czas trwania pomiaru w nanosekundach.
+     */
+    private static long run(Config config, ApiClient api, Workload workload) throws InterruptedException {
+        long started = System.nanoTime();
+        long measureFrom = started + config.warmup().toNanos();
+        long deadline = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < config.users(); user++) {
+                Random random = new Random(config.seed() + user);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        boolean spiking = isSpiking(config, System.nanoTime() - measureFrom);
+                        workload.run(pick(config, random, spiking), random, spiking);
+                        if (config.thinkMillis() > 0) {
+                            Thread.sleep(config.thinkMillis());
+                        }
+                    }
+                    return null;
+                });
+            }
+            Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+            api.startRecording();
+            Thread.sleep(Math.max(0, (deadline - System.nanoTime()) / 1_000_000));
+            api.stopRecording();
+        }
+        return deadline - measureFrom;
+    }
+
+    /**
+     * Skoki zapisów zaczynają się co {@code spike-every} od początku pomiaru (także w czasie rozgrzewki).
+     */
+    private static boolean isSpiking(Config config, long sinceMeasureStart) {
+        long period = config.spikeEvery().toNanos();
+        if (period <= 0 || config.spikeLength().isZero()) {
+            return false;
+        }
+        return Math.floorMod(sinceMeasureStart, period) < config.spikeLength().toNanos();
+    }
+
+    private static Workload.Scenario pick(Config config, Random random, boolean spiking) {
+        int total = 0;
+        for (Map.Entry<Workload.Scenario, Integer> entry : config.mix().entrySet()) {
+            total += weight(config, entry, spiking);
+        }
+        int roll = random.nextInt(Math.max(1, total));
+        for (Map.Entry<Workload.Scenario, Integer> entry : config.mix().entrySet()) {
+            roll -= weight(config, entry, spiking);
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Workload.Scenario.BROWSE;
+    }
+
+    private static int weight(Config config, Map.Entry<Workload.Scenario, Integer> entry, boolean spiking) {
+        return spiking && entry.getKey() == Workload.Scenario.ENROLL
+                ? entry.getValue() * config.spikeFactor()
+                : entry.getValue();
+    }
+
+    static ObjectNode report(Map<String, EndpointStats> stats, long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        ObjectNode report = OBJECT_MAPPER.createObjectNode();
+        report.put("durationSeconds", seconds);
+        ObjectNode endpoints = report.putObject("endpoints");
+        stats.forEach((endpoint, endpointStats) -> {
+            LatencyHistogram latency = endpointStats.latency();
+            endpoints.putObject(endpoint)
+                    .put("requests", endpointStats.total())
+                    .put("throughput", endpointStats.total() / seconds)
+                    .put("ok", endpointStats.ok())
+                    .put("rejected", endpointStats.rejected())
+                    .put("errors", endpointStats.errors())
+                    .put("p50Ms", latency.percentile(50) / 1000.0)
+                    .put("p95Ms", latency.percentile(95) / 1000.0)
+                    .put("p99Ms", latency.percentile(99) / 1000.0)
+                    .put("maxMs", latency.percentile(100) / 1000.0);
+        });
+        return report;
+    }
+
+    static void print(ObjectNode report) {
+        System.out.printf(Locale.ROOT, "%-48s %9s %9s %8s %8s %7s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "ok", "rejected", "errors", "p50 ms", "p95 ms", "p99 ms");
+        report.path("endpoints").fields().forEachRemaining(entry -> {
+            JsonNode e = entry.getValue();
+            System.out.printf(Locale.ROOT, "%-48s %9d %9.1f %8d %8d %7d %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    e.path("requests").asLong(), e.path("throughput").asDouble(), e.path("ok").asLong(),
+                    e.path("rejected").asLong(), e.path("errors").asLong(), e.path("p50Ms").asDouble(),
+                    e.path("p95Ms").asDouble(), e.path("p99Ms").asDouble());
+        });
+    }
+
+    /**
+     * Porównuje raport z limitem błędów i raportem bazowym.
+     *
+     * @return Lista opisów regresji (pusta, jeśli test przeszedł).
+     */
+    private static List<String> check(Config config, ObjectNode report) throws IOException {
+        List<String> failures = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (JsonNode endpoint : report.path("endpoints")) {
+            requests += endpoint.path("requests").asLong();
+            errors += endpoint.path("errors").asLong();
+        }
+        if (requests == 0) {
+            failures.add("brak zmierzonych żądań");
+        } else if ((double) errors / requests > config.maxErrorRate()) {
+            failures.add(String.format(Locale.ROOT, "udział błędów %.4f > %.4f",
+                    (double) errors / requests, config.maxErrorRate()));
+        }
+        if (config.baseline() == null) {
+            return failures;
+        }
+
+        JsonNode baseline = OBJECT_MAPPER.readTree(config.baseline().toFile()).path("endpoints");
+        baseline.fields().forEachRemaining(entry -> {
+            JsonNode current = report.path("endpoints").path(entry.getKey());
+            if (current.isMissingNode()) {
+                failures.add(entry.getKey() + ": brak pomiarów");
+                return;
+            }
+            double basePercentile = entry.getValue().path("p95Ms").asDouble();
+            double percentile = current.path("p95Ms").asDouble();
+            if (percentile > basePercentile * (1 + config.tolerance())) {
+                failures.add(String.format(Locale.ROOT, "%s: p95 %.2f ms > %.2f ms (bazowo)",
+                        entry.getKey(), percentile, basePercentile));
+            }
+            double baseThroughput = entry.getValue().path("throughput").asDouble();
+            double throughput = current.path("throughput").asDouble();
+            if (throughput < baseThroughput * (1 - config.tolerance())) {
+                failures.add(String.format(Locale.ROOT, "%s: przepustowość %.1f req/s < %.1f req/s (bazowo)",
+                        entry.getKey(), throughput, baseThroughput));
+            }
+        });
+        return failures;
+    }
+}
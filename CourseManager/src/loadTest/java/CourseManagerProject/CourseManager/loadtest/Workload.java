@@ -0,0 +1,178 @@
+package CourseManagerProject.CourseManager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scenariusze użytkowników odtwarzane w teście obciążeniowym.
+ * <p>Identyfikatory użytkowników, organizatorów, sal i wydarzeń pobierane są raz z API przed
+ * testem, więc scenariusze działają na danych z profilu {@code loadtest} niezależnie od ich rozmiaru.</p>
+ */
+class Workload {
+
+    /**
+     * Rodzaj sesji użytkownika.
+     */
+    enum Scenario {
+        /** Przeglądanie listy wydarzeń z filtrami. */
+        BROWSE,
+        /** Student sprawdza swoje przeszłe i przyszłe wydarzenia. */
+        STUDENT,
+        /** Organizator przegląda swoje wydarzenia, tworzy, edytuje i usuwa wydarzenie. */
+        ORGANIZER,
+        /** Zapis na wydarzenie i wypisanie (w czasie skoku - na kilka popularnych wydarzeń). */
+        ENROLL
+    }
+
+    private static final Pattern CREATED_ID = Pattern.compile("ID: (\\d+)");
+
+    private final ApiClient api;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Integer> studentIds = new ArrayList<>();
+    private final List<Integer> organizerIds = new ArrayList<>();
+    private final List<Integer> classroomIds = new ArrayList<>();
+    private final List<Integer> tagIds = new ArrayList<>();
+    private final List<Integer> futureEventIds = new ArrayList<>();
+    private final List<Integer> hotEventIds = new ArrayList<>();
+    private final AtomicLong slots = new AtomicLong();
+    private final LocalDateTime firstSlot = LocalDate.now().plusYears(3).atTime(8, 0);
+
+    Workload(ApiClient api) {
+        this.api = api;
+    }
+
+    /**
+     * Pobiera identyfikatory danych testowych i wybiera popularne wydarzenia.
+     *
+     * @param hotEvents Liczba popularnych wydarzeń, na które trafiają zapisy w czasie skoku.
+     * @throws IllegalStateException jeśli aplikacja nie odpowiada lub baza nie zawiera danych.
+     */
+    void load(int hotEvents) {
+        for (JsonNode user : fetch("/api/users")) {
+            (user.path("isOrganizer").asBoolean() ? organizerIds : studentIds).add(user.path("id").asInt());
+        }
+        for (JsonNode classroom : fetch("/api/classrooms")) {
+            classroomIds.add(classroom.path("id").asInt());
+        }
+        for (JsonNode tag : fetch("/api/tags")) {
+            tagIds.add(tag.path("id").asInt());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (JsonNode event : fetch("/api/events")) {
+            if (LocalDateTime.parse(event.path("startDatetime").asText()).isAfter(now)) {
+                futureEventIds.add(event.path("id").asInt());
+            }
+        }
+        if (studentIds.isEmpty() || organizerIds.isEmpty() || classroomIds.isEmpty() || tagIds.isEmpty()
+                || futureEventIds.isEmpty()) {
+            throw new IllegalStateException("Brak danych testowych - uruchom aplikację z profilem loadtest");
+        }
+        hotEventIds.addAll(futureEventIds.subList(0, Math.min(Math.max(1, hotEvents), futureEventIds.size())));
+    }
+
+    String describe() {
+        return String.format("students=%d organizers=%d classrooms=%d futureEvents=%d hotEvents=%s",
+                studentIds.size(), organizerIds.size(), classroomIds.size(), futureEventIds.size(), hotEventIds);
+    }
+
+    /**
+     * Wykonuje jedną sesję użytkownika.
+     *
+     * @param scenario Rodzaj sesji.
+     * @param random   Generator liczb losowych wątku.
+     * @param spiking  Czy trwa skok zapisów.
+     */
+    void run(Scenario scenario, Random random, boolean spiking) {
+        switch (scenario) {
+            case BROWSE -> browse(random);
+            case STUDENT -> student(random);
+            case ORGANIZER -> organizer(random);
+            case ENROLL -> enroll(random, spiking);
+        }
+    }
+
+    private void browse(Random random) {
+        String query = switch (random.nextInt(5)) {
+            case 0 -> "";
+            case 1 -> "?tagId=" + pick(random, tagIds);
+            case 2 -> "?classroomId=" + pick(random, classroomIds);
+            case 3 -> "?organizerId=" + pick(random, organizerIds);
+            default -> "?excludeFull=true&tagId=" + pick(random, tagIds);
+        };
+        api.get("GET /api/events/filtered", "/api/events/filtered" + query);
+    }
+
+    private void student(Random random) {
+        int userId = pick(random, studentIds);
+        api.get("GET /api/events/participants/{id}/past", "/api/events/participants/" + userId + "/past");
+        api.get("GET /api/events/participants/{id}/future", "/api/events/participants/" + userId + "/future");
+    }
+
+    private void organizer(Random random) {
+        int organizerId = pick(random, organizerIds);
+        api.get("GET /api/events/organizers/{id}/events", "/api/events/organizers/" + organizerId + "/events");
+
+        // Każde utworzone wydarzenie dostaje własny blok godzinowy w odległej przyszłości, więc nie koliduje z innymi
+        long slot = slots.getAndIncrement();
+        int classroomId = classroomIds.get((int) (slot % classroomIds.size()));
+        LocalDateTime start = firstSlot.plusHours(slot / classroomIds.size());
+        ObjectNode event = objectMapper.createObjectNode()
+                .put("name", "Load test " + slot)
+                .put("startDatetime", start.toString())
+                .put("endDatetime", start.plusMinutes(45).toString())
+                .put("maxParticipants", 20)
+                .put("minAge", 0)
+                .put("info", "Wydarzenie testu obciążeniowego")
+                .put("organizerId", organizerId)
+                .put("classroomId", classroomId);
+        event.putArray("tagIds").add(pick(random, tagIds));
+        ApiClient.Response created = api.post("POST /api/events/create", "/api/events/create", event.toString());
+        Matcher matcher = CREATED_ID.matcher(created.body());
+        if (!created.ok() || !matcher.find()) {
+            return;
+        }
+        String eventId = matcher.group(1);
+        event.put("info", "Zaktualizowane wydarzenie testu obciążeniowego").put("maxParticipants", 30);
+        api.put("PUT /api/events/{id}/update", "/api/events/" + eventId + "/update", event.toString());
+        // Usunięcie utrzymuje stały rozmiar danych między uruchomieniami
+        api.delete("DELETE /api/events/{id}/delete", "/api/events/" + eventId + "/delete");
+    }
+
+    private void enroll(Random random, boolean spiking) {
+        int eventId = pick(random, spiking ? hotEventIds : futureEventIds);
+        int userId = pick(random, studentIds);
+        String path = "/api/events/" + eventId + "/participants/" + userId;
+        ApiClient.Response joined = api.post("POST /api/events/{id}/participants/{userId}", path, null);
+        if (joined.ok()) {
+            api.delete("DELETE /api/events/{id}/participants/{userId}", path);
+        }
+    }
+
+    private JsonNode fetch(String path) {
+        ApiClient.Response response = api.get("GET " + path, path);
+        if (!response.ok()) {
+            throw new IllegalStateException("GET " + path + " zwrócił status " + response.status());
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int pick(Random random, List<Integer> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
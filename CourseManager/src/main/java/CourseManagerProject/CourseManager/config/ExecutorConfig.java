@@ -0,0 +1,38 @@
+package CourseManagerProject.CourseManager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Klasa konfiguracyjna udostępniająca pule wątków używane przez serwisy
+ * do równoległego wykonywania zadań poza wątkiem obsługującym żądanie HTTP.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Executor oparty na wątkach wirtualnych, używany do równoległego pobierania
+     * sekcji panelu użytkownika. Zapytania blokujące na JDBC nie zajmują wątków platformowych.
+     *
+     * @return {@link ExecutorService} tworzący nowy wątek wirtualny dla każdego zadania.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Executor oparty na wątkach wirtualnych, w którym wykonywane są transakcje kończące
+     * operacje asynchroniczne (np. zapis użytkownika po haszowaniu hasła). Dzięki niemu
+     * zapytania do bazy nie zajmują wątków puli haszującej.
+     *
+     * @return {@link ExecutorService} tworzący nowy wątek wirtualny dla każdego zadania.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService databaseExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
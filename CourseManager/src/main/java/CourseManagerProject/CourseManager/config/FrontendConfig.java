@@ -0,0 +1,71 @@
+package CourseManagerProject.CourseManager.config;
+
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.io.IOException;
+
+/**
+ * Konfiguracja serwowania zbudowanego frontendu (React SPA).
+ * <p>Zasoby statyczne obsługuje wzorzec {@code /**}. Ścieżki routingu po stronie klienta
+ * (np. {@code /my-events} lub {@code /events/12/edit}) nie istnieją jako pliki, dlatego zamiast nich
+ * zwracany jest {@code index.html}. Wyjątkiem są ścieżki {@code /api/**} (nieznany endpoint
+ * to 404, a nie strona frontendu) i brakujące pliki - ścieżki, których ostatni segment ma
+ * rozszerzenie. Wersje {@code .br} / {@code .gz} wybierane są jak w standardowej konfiguracji
+ * Springa ({@code spring.web.resources.chain.compressed}).</p>
+ */
+@Configuration
+public class FrontendConfig implements WebMvcConfigurer {
+
+    private static final String INDEX = "index.html";
+
+    private final WebProperties.Resources resources;
+
+    /**
+     * Konstruktor przyjmujący ustawienia zasobów statycznych ({@code spring.web.resources.*}).
+     *
+     * @param webProperties Ustawienia warstwy webowej Spring Boota.
+     */
+    public FrontendConfig(WebProperties webProperties) {
+        this.resources = webProperties.getResources();
+    }
+
+    @Override
+    public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
+        // Zastępuje domyślne mapowanie "/**" Spring Boota (te same lokalizacje i ustawienia łańcucha)
+        ResourceChainRegistration chain = registry.addResourceHandler("/**")
+                .addResourceLocations(resources.getStaticLocations())
+                .resourceChain(resources.getChain().isCache());
+        if (resources.getChain().isCompressed()) {
+            chain.addResolver(new EncodedResourceResolver());
+        }
+        chain.addResolver(new SpaResourceResolver());
+    }
+
+    /**
+     * Rozwiązuje ścieżkę do pliku, a ścieżkę SPA bez pliku - do {@code index.html}.
+     */
+    private static final class SpaResourceResolver extends PathResourceResolver {
+
+        @Override
+        protected Resource getResource(@NonNull String resourcePath, @NonNull Resource location) throws IOException {
+            Resource resource = super.getResource(resourcePath, location);
+            if (resource != null || !isClientRoute(resourcePath)) {
+                return resource;
+            }
+            return super.getResource(INDEX, location);
+        }
+
+        private static boolean isClientRoute(String path) {
+            String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+            return !path.equals("api") && !path.startsWith("api/") && !lastSegment.contains(".");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package CourseManagerProject.CourseManager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Klasa konfiguracyjna haszowania haseł.
+ * <p>Haszowanie bcrypt zajmuje procesor na dziesiątki milisekund, dlatego wykonywane jest
+ * w osobnej puli wątków o stałym rozmiarze i ograniczonej kolejce - wątki obsługujące
+ * żądania HTTP nie są blokowane, a przy przeciążeniu nowe zadania są odrzucane zamiast
+ * zwiększać opóźnienie wszystkich logowań.</p>
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Koder haseł bcrypt.
+     *
+     * @param strength Koszt bcrypt (log2 liczby rund), {@code auth.bcrypt.strength}.
+     * @return {@link PasswordEncoder} używany przy rejestracji, zmianie hasła i logowaniu.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Pula wątków haszujących hasła.
+     *
+     * @param threads       Liczba wątków, {@code auth.hash.threads} (0 - liczba rdzeni).
+     * @param queueCapacity Maksymalna liczba zadań oczekujących, {@code auth.hash.queue-capacity}.
+     * @return {@link ThreadPoolExecutor} odrzucający zadania po zapełnieniu kolejki.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(@Value("${auth.hash.threads:0}") int threads,
+                                                   @Value("${auth.hash.queue-capacity:256}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadFactory threadFactory = Thread.ofPlatform().name("password-hash-", 0).daemon().factory();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
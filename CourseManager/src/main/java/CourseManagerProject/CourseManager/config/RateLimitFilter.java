@@ -0,0 +1,50 @@
+package CourseManagerProject.CourseManager.config;
+
+import CourseManagerProject.CourseManager.service.RateLimiterService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtr ograniczający liczbę żądań klienta według reguł {@link RateLimitProperties}.
+ * <p>Działa po {@link TokenAuthenticationFilter}: uwierzytelnione żądania limitowane są
+ * per użytkownik, pozostałe per adres IP. Żądanie ponad limit otrzymuje odpowiedź 429
+ * z nagłówkiem {@code Retry-After} (w sekundach) i nie dociera do kontrolera.</p>
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiterService rateLimiterService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitNanos = rateLimiterService.tryAcquire(path, request.getMethod(), clientKey(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        return TokenAuthenticationFilter.claims(request)
+                .map(claims -> "user:" + claims.sub())
+                .orElseGet(() -> "ip:" + request.getRemoteAddr());
+    }
+}
@@ -0,0 +1,61 @@
+package CourseManagerProject.CourseManager.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Konfiguracja limitów żądań ({@code rate-limit.*}).
+ * <p>Każda reguła dotyczy wzorca ścieżki mapowania kontrolera (składnia {@code PathPattern},
+ * np. {@code /api/events/{id}/participants/**}) i opcjonalnie metody HTTP. Żądanie podlega
+ * pierwszej pasującej regule; limit liczony jest osobno dla każdego użytkownika
+ * (lub adresu IP, jeśli żądanie nie zawiera tokenu).</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Czy limity są włączone.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Co ile milisekund usuwane są pełne (nieużywane) kubełki.
+     */
+    private long cleanupIntervalMs = 60_000;
+
+    /**
+     * Reguły w kolejności dopasowania (domyślne reguły zdefiniowane są w {@code application.properties}).
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Reguła limitu dla wzorca ścieżki.
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * Wzorzec ścieżki.
+         */
+        private String pattern;
+
+        /**
+         * Metoda HTTP (puste - wszystkie metody).
+         */
+        private String method;
+
+        /**
+         * Pojemność kubełka - maksymalna seria żądań.
+         */
+        private int capacity = 100;
+
+        /**
+         * Liczba żądań na sekundę w długim okresie.
+         */
+        private double refillPerSecond = 50;
+    }
+}
@@ -3,6 +3,7 @@ package CourseManagerProject.CourseManager.config;
 import CourseManagerProject.CourseManager.model.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,9 +11,10 @@ import java.util.List;
 /**
  * Klasa konfiguracyjna odpowiedzialna za tworzenie przykładowych danych (beanów) aplikacji.
  * <p>Beany z tej klasy mogą służyć jako wstępne dane testowe załadowane do aplikacji
- * zaraz po jej uruchomieniu, ułatwiając testowanie funkcjonalności.</p>
+ * zaraz po jej uruchomieniu, ułatwiając testowanie funkcjonalności. Tworzone tylko z profilem {@code dev}.</p>
  */
 @Configuration
+@Profile("dev")
 public class SampleDataConfig {
 
     /**
@@ -249,7 +251,7 @@ public class SampleDataConfig {
                 createEvent(
                         "Zabijanie Strzyg",
                         LocalDateTime.of(2025, 8, 11, 8, 30),
-                        LocalDateTime.of(2024, 8, 11, 15, 30), // data końcowa wstecz, zgodnie z oryg. kodem
+                        LocalDateTime.of(2025, 8, 11, 10, 30), // przed innym kursem w tej sali
                         50,
                         18,
                         "Kategoria A",
@@ -261,12 +263,12 @@ public class SampleDataConfig {
                 createEvent(
                         "Jak być miłym w polityce",
                         LocalDateTime.of(2025, 12, 11, 13, 30),
-                        LocalDateTime.of(2024, 12, 11, 15, 30), // data końcowa wstecz
+                        LocalDateTime.of(2025, 12, 11, 15, 30),
                         50,
                         18,
                         "otwarte serce",
                         sampleUsers.get(7),
-                        sampleClassrooms.get(2),
+                        sampleClassrooms.get(1), // sala 2.41 jest wtedy zajęta
                         List.of(sampleTags.get(2)),
                         List.of(sampleUsers.get(12), sampleUsers.get(13), sampleUsers.get(10), sampleUsers.get(14), sampleUsers.get(11))
                 )
@@ -0,0 +1,13 @@
+package CourseManagerProject.CourseManager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Klasa konfiguracyjna włączająca zadania cykliczne ({@code @Scheduled}),
+ * np. wysyłkę wiadomości ze skrzynki nadawczej.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
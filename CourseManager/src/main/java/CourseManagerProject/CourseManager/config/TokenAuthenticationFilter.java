@@ -0,0 +1,130 @@
+package CourseManagerProject.CourseManager.config;
+
+import CourseManagerProject.CourseManager.service.TokenService;
+import CourseManagerProject.CourseManager.util.TokenCodec;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Filtr uwierzytelniający żądania na podstawie tokenu z nagłówka {@code Authorization: Bearer ...}.
+ * <p>Poprawny token zapisywany jest w atrybucie żądania {@link #CLAIMS_ATTRIBUTE}; token niepoprawny,
+ * wygasły lub unieważniony kończy żądanie odpowiedzią 401. Gdy {@code auth.token.required=true}
+ * (domyślnie), żądania do {@code /api/**} bez tokenu (poza logowaniem, rejestracją, kanałami ICS
+ * i {@code /api/health})
+ * także otrzymują 401.</p>
+ *
+ * <p>Kontrolery sprawdzają uprawnienia metodami {@link #requireUserOrOrganizer} i {@link #requireOrganizer}:
+ * zapisy na wydarzenia oraz edycję i usunięcie konta wykonuje sam użytkownik lub organizator, a zmiany
+ * wydarzeń, sal, tagów, okien rejestracji, roli organizatora, import i eksport użytkowników oraz odczyt
+ * dziennika audytu - tylko organizator. Kanały ICS nie wymagają tokenu sesji: kanał użytkownika
+ * chroni podpisany token w adresie ({@code IcsController}).</p>
+ */
+@Component
+@Order(1)
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Nazwa atrybutu żądania z danymi tokenu ({@link TokenCodec.Claims}).
+     */
+    public static final String CLAIMS_ATTRIBUTE = TokenAuthenticationFilter.class.getName() + ".claims";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<String> PUBLIC_PATHS = List.of("/api/auth/login", "/api/users/register", "/api/ics/", "/api/health");
+
+    private final TokenService tokenService;
+    private final boolean required;
+
+    /**
+     * Konstruktor wstrzykujący serwis tokenów.
+     *
+     * @param tokenService Serwis weryfikujący tokeny.
+     * @param required     Czy token jest wymagany dla {@code /api/**} (domyślnie tak).
+     */
+    public TokenAuthenticationFilter(TokenService tokenService,
+                                     @Value("${auth.token.required:true}") boolean required) {
+        this.tokenService = tokenService;
+        this.required = required;
+    }
+
+    /**
+     * Zwraca dane tokenu uwierzytelnionego żądania.
+     *
+     * @param request Bieżące żądanie.
+     * @return Dane tokenu lub {@link Optional#empty()}, jeśli żądanie nie zawiera tokenu.
+     */
+    public static Optional<TokenCodec.Claims> claims(HttpServletRequest request) {
+        return Optional.ofNullable((TokenCodec.Claims) request.getAttribute(CLAIMS_ATTRIBUTE));
+    }
+
+    /**
+     * Sprawdza, czy żądanie wykonuje podany użytkownik lub organizator.
+     *
+     * @param request Bieżące żądanie.
+     * @param userId  ID użytkownika, którego dotyczy operacja.
+     * @return Dane tokenu.
+     * @throws ResponseStatusException 401, jeśli żądanie nie zawiera tokenu, lub 403, jeśli token
+     *         należy do innego użytkownika, który nie jest organizatorem.
+     */
+    public static TokenCodec.Claims requireUserOrOrganizer(HttpServletRequest request, Integer userId) {
+        TokenCodec.Claims claims = requireClaims(request);
+        if (!claims.org() && !claims.sub().equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Operation allowed only for the user or an organizer");
+        }
+        return claims;
+    }
+
+    /**
+     * Sprawdza, czy żądanie wykonuje organizator.
+     *
+     * @param request Bieżące żądanie.
+     * @return Dane tokenu.
+     * @throws ResponseStatusException 401, jeśli żądanie nie zawiera tokenu, lub 403, jeśli token
+     *         nie należy do organizatora.
+     */
+    public static TokenCodec.Claims requireOrganizer(HttpServletRequest request) {
+        TokenCodec.Claims claims = requireClaims(request);
+        if (!claims.org()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Operation allowed only for organizers");
+        }
+        return claims;
+    }
+
+    private static TokenCodec.Claims requireClaims(HttpServletRequest request) {
+        return claims(request).orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            Optional<TokenCodec.Claims> claims = tokenService.authenticate(header.substring(BEARER_PREFIX.length()));
+            if (claims.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            request.setAttribute(CLAIMS_ATTRIBUTE, claims.get());
+        } else if (required && requiresToken(request.getRequestURI())) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static boolean requiresToken(String path) {
+        return path.startsWith("/api/") && PUBLIC_PATHS.stream().noneMatch(path::startsWith);
+    }
+}
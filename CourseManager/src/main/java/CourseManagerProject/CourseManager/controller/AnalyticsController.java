@@ -0,0 +1,77 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.dto.ClassroomUtilizationDTO;
+import CourseManagerProject.CourseManager.dto.OrganizerAnalyticsDTO;
+import CourseManagerProject.CourseManager.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Kontroler REST udostępniający raporty wykorzystania wydarzeń i sal.
+ * <p>Przedział raportu podawany jest parametrami {@code from} (włącznie) i {@code to} (wyłącznie)
+ * w formacie {@code yyyy-MM-dd}; domyślnie obejmuje 90 dni przed i po dniu bieżącym.</p>
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final int DEFAULT_WINDOW_DAYS = 90;
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Pobiera raport organizatora: zapełnienie wydarzeń i godziny zajęć w kolejnych tygodniach.
+     *
+     * @param id   ID organizatora.
+     * @param from Początek przedziału (opcjonalny).
+     * @param to   Koniec przedziału (opcjonalny).
+     * @return Obiekt {@link OrganizerAnalyticsDTO} lub status 400 dla niepoprawnego przedziału.
+     */
+    @GetMapping("/organizers/{id}")
+    public ResponseEntity<OrganizerAnalyticsDTO> getOrganizerReport(
+            @PathVariable Integer id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(analyticsService.getOrganizerReport(id, fromOrDefault(from), toOrDefault(to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Pobiera wykorzystanie wszystkich sal w przedziale.
+     *
+     * @param from Początek przedziału (opcjonalny).
+     * @param to   Koniec przedziału (opcjonalny).
+     * @return Lista obiektów {@link ClassroomUtilizationDTO} lub status 400 dla niepoprawnego przedziału.
+     */
+    @GetMapping("/classrooms")
+    public ResponseEntity<List<ClassroomUtilizationDTO>> getClassroomReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(analyticsService.getClassroomReport(fromOrDefault(from), toOrDefault(to)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static LocalDate fromOrDefault(LocalDate from) {
+        return from != null ? from : LocalDate.now().minusDays(DEFAULT_WINDOW_DAYS);
+    }
+
+    private static LocalDate toOrDefault(LocalDate to) {
+        return to != null ? to : LocalDate.now().plusDays(DEFAULT_WINDOW_DAYS);
+    }
+}
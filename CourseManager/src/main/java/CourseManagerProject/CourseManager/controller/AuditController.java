@@ -0,0 +1,68 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.dto.AuditStatsDTO;
+import CourseManagerProject.CourseManager.model.AuditLog;
+import CourseManagerProject.CourseManager.repository.AuditLogRepository;
+import CourseManagerProject.CourseManager.service.AuditLogWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Kontroler REST udostępniający dziennik audytu oraz jego metryki.
+ */
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+
+    /**
+     * Pobiera 100 najnowszych wpisów dziennika audytu.
+     *
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Lista obiektów {@link AuditLog}.
+     */
+    @GetMapping
+    public ResponseEntity<List<AuditLog>> getRecent(HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        return ResponseEntity.ok(auditLogRepository.findTop100ByOrderByIdDesc());
+    }
+
+    /**
+     * Pobiera historię zmian wskazanego obiektu.
+     *
+     * @param entityType Typ encji (np. "Event").
+     * @param entityId   ID encji.
+     * @param request    Bieżące żądanie (token organizatora).
+     * @return Lista obiektów {@link AuditLog}, od najnowszych.
+     */
+    @GetMapping("/{entityType}/{entityId}")
+    public ResponseEntity<List<AuditLog>> getHistory(@PathVariable String entityType, @PathVariable Integer entityId,
+                                                     HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        return ResponseEntity.ok(auditLogRepository.findByEntityTypeAndEntityIdOrderByIdDesc(entityType, entityId));
+    }
+
+    /**
+     * Pobiera metryki dziennika: liczbę opublikowanych, zapisanych i odrzuconych wpisów
+     * oraz opóźnienie zapisu.
+     *
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Obiekt {@link AuditStatsDTO}.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<AuditStatsDTO> getStats(HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        return ResponseEntity.ok(auditLogWriter.getStats());
+    }
+}
@@ -1,4 +1,98 @@
 package CourseManagerProject.CourseManager.controller;
 
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.dto.HashingStatsDTO;
+import CourseManagerProject.CourseManager.dto.LoginRequest;
+import CourseManagerProject.CourseManager.dto.LoginResponseDTO;
+import CourseManagerProject.CourseManager.service.AuthService;
+import CourseManagerProject.CourseManager.service.PasswordHashingService;
+import CourseManagerProject.CourseManager.util.TokenCodec;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kontroler REST obsługujący logowanie i wylogowanie użytkowników.
+ * <p>Token zwrócony przy logowaniu przesyłany jest w nagłówku {@code Authorization: Bearer ...}
+ * i weryfikowany przez {@link TokenAuthenticationFilter} bez odwołań do bazy.</p>
+ */
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
 public class AuthController {
+
+    private final AuthService authService;
+    private final PasswordHashingService passwordHashingService;
+
+    /**
+     * Loguje użytkownika. Odpowiedź wysyłana jest asynchronicznie, po weryfikacji hasła.
+     *
+     * @param request Obiekt {@link LoginRequest} z adresem email i hasłem.
+     * @return Odpowiedź HTTP z obiektem {@link LoginResponseDTO}, 401 przy błędnych danych
+     *         lub 503, jeśli pula haszowania jest przeciążona.
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@Validated @RequestBody LoginRequest request) {
+        return authService.login(request).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Unieważnia token z bieżącego żądania.
+     *
+     * @param request Bieżące żądanie.
+     * @return Odpowiedź HTTP 204 lub 401, jeśli żądanie nie zawiera tokenu.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        return TokenAuthenticationFilter.claims(request)
+                .map(claims -> {
+                    authService.logout(claims);
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    /**
+     * Zwraca dane tokenu z bieżącego żądania (ID użytkownika, rola, czas wygaśnięcia).
+     *
+     * @param request Bieżące żądanie.
+     * @return Odpowiedź HTTP z obiektem {@link TokenCodec.Claims} lub 401, jeśli żądanie nie zawiera tokenu.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<TokenCodec.Claims> me(HttpServletRequest request) {
+        return TokenAuthenticationFilter.claims(request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    /**
+     * Pobiera metryki puli haszowania haseł.
+     *
+     * @return Obiekt {@link HashingStatsDTO}.
+     */
+    @GetMapping("/hashing/stats")
+    public ResponseEntity<HashingStatsDTO> getHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    /**
+     * Zwraca 401 (Unauthorized) dla niepoprawnych danych logowania.
+     *
+     * @param e Wyjątek z informacją o błędzie.
+     * @return Odpowiedź HTTP 401.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleInvalidCredentials(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
 }
@@ -1,13 +1,23 @@
 package CourseManagerProject.CourseManager.controller;
 
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
 import CourseManagerProject.CourseManager.dto.ClassroomDTO;
+import CourseManagerProject.CourseManager.dto.ClassroomHeatmapDTO;
 import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.service.ClassroomOccupancyService;
 import CourseManagerProject.CourseManager.service.ClassroomService;
+import CourseManagerProject.CourseManager.util.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,15 +31,19 @@ import java.util.List;
 public class ClassroomController {
 
     private final ClassroomService classroomService;
+    private final ClassroomOccupancyService classroomOccupancyService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Tworzy nową salę lekcyjną na podstawie danych z DTO.
      *
      * @param dto Obiekt {@link ClassroomDTO} zawierający dane sali.
+     * @param request Bieżące żądanie (token organizatora).
      * @return Obiekt {@link Classroom} zapisany w bazie danych.
      */
     @PostMapping
-    public ResponseEntity<Classroom> createClassroom(@Validated @RequestBody ClassroomDTO dto) {
+    public ResponseEntity<Classroom> createClassroom(@Validated @RequestBody ClassroomDTO dto, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         Classroom classroom = classroomService.addClassroom(dto);
         return ResponseEntity.ok(classroom);
     }
@@ -42,32 +56,79 @@ public class ClassroomController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<Classroom> getClassroom(@PathVariable Integer id) {
-        Classroom classroom = classroomService.getClassroomById(id);
+        Classroom classroom = classroomService.findClassroom(id);
         return ResponseEntity.ok(classroom);
     }
 
+    /**
+     * Pobiera mapę zajętości sali (dzień tygodnia × godzina) w przedziale dat.
+     * <p>Domyślny przedział obejmuje 90 dni przed i po dniu bieżącym.</p>
+     *
+     * @param id   Unikalny identyfikator sali.
+     * @param from Początek przedziału (opcjonalny, włącznie).
+     * @param to   Koniec przedziału (opcjonalny, wyłącznie).
+     * @return Obiekt {@link ClassroomHeatmapDTO} lub status 400, jeśli sala nie istnieje albo przedział jest niepoprawny.
+     */
+    @GetMapping("/{id}/heatmap")
+    public ResponseEntity<ClassroomHeatmapDTO> getHeatmap(
+            @PathVariable Integer id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(classroomOccupancyService.getHeatmap(id,
+                    from != null ? from : LocalDate.now().minusDays(90),
+                    to != null ? to : LocalDate.now().plusDays(90)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Aktualizuje istniejącą salę lekcyjną.
      *
      * @param id  Unikalny identyfikator sali.
      * @param dto Obiekt {@link ClassroomDTO} z nowymi danymi do aktualizacji.
+     * @param request Bieżące żądanie (token organizatora).
      * @return Zaktualizowany obiekt {@link Classroom}.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Classroom> updateClassroom(@PathVariable Integer id,
-                                                     @Validated @RequestBody ClassroomDTO dto) {
+                                                     @Validated @RequestBody ClassroomDTO dto,
+                                                     HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         Classroom updated = classroomService.updateClassroom(id, dto);
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Zmienia wybrane pola sali lekcyjnej (JSON Merge Patch, RFC 7396).
+     *
+     * @param id   Unikalny identyfikator sali lekcyjnej.
+     * @param body Zmienione pola (pola nieobecne pozostają bez zmian).
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Zaktualizowany obiekt {@link Classroom} lub 400, jeśli zmiana jest niepoprawna.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Classroom> patchClassroom(@PathVariable Integer id, @RequestBody JsonNode body,
+                                                    HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        try {
+            return ResponseEntity.ok(classroomService.patchClassroom(id, MergePatch.parse(body, ClassroomDTO.class, objectMapper)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Usuwa salę lekcyjną o podanym ID z bazy danych.
      *
      * @param id Unikalny identyfikator sali.
+     * @param request Bieżące żądanie (token organizatora).
      * @return Komunikat potwierdzający usunięcie sali.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteClassroom(@PathVariable Integer id) {
+    public ResponseEntity<String> deleteClassroom(@PathVariable Integer id, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         classroomService.deleteClassroom(id);
         return ResponseEntity.ok("Classroom deleted");
     }
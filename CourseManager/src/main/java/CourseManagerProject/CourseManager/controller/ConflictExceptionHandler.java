@@ -0,0 +1,30 @@
+package CourseManagerProject.CourseManager.controller;
+
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Obsługa konfliktów blokowania optymistycznego.
+ * <p>Zapis encji zmienionej w międzyczasie przez inne żądanie (lub edycja z nieaktualną wersją
+ * przysłaną przez klienta) zamieniany jest na odpowiedź 409 - klient powinien odczytać
+ * wydarzenie, salę lub tag ponownie i powtórzyć zmianę.</p>
+ */
+@RestControllerAdvice
+public class ConflictExceptionHandler {
+
+    /**
+     * Zwraca 409 (Conflict) dla konfliktu wersji encji.
+     *
+     * @param e Wyjątek konfliktu wersji.
+     * @return Odpowiedź HTTP 409 z komunikatem.
+     */
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<String> handleConflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("The resource was modified by another request. Reload it and try again.");
+    }
+}
@@ -0,0 +1,45 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.dto.DashboardDTO;
+import CourseManagerProject.CourseManager.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Kontroler REST udostępniający zbiorczy panel użytkownika.
+ * <p>Jedno zapytanie zwraca wydarzenia użytkownika wraz z salami, tagami
+ * i organizatorami, do których się odwołują.</p>
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Pobiera panel użytkownika o podanym ID.
+     * <p>Czas pobierania poszczególnych sekcji zwracany jest w nagłówku {@code Server-Timing}
+     * (np. {@code organized;dur=1.250, tags;dur=0.410}).</p>
+     *
+     * @param userId ID użytkownika.
+     * @return Obiekt {@link DashboardDTO}.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<DashboardDTO> getDashboard(@PathVariable Integer userId) {
+        DashboardDTO dashboard = dashboardService.getDashboard(userId);
+        String serverTiming = dashboard.getSectionTimings().entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "%s;dur=%.3f", entry.getKey(), entry.getValue() / 1000.0))
+                .collect(Collectors.joining(", "));
+        return ResponseEntity.ok()
+                .header("Server-Timing", serverTiming)
+                .body(dashboard);
+    }
+}
@@ -0,0 +1,140 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.dto.EnrollmentDTO;
+import CourseManagerProject.CourseManager.dto.RegistrationWindowDTO;
+import CourseManagerProject.CourseManager.model.WaitlistEntry;
+import CourseManagerProject.CourseManager.service.EnrollmentService;
+import CourseManagerProject.CourseManager.service.RegistrationWindowService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Kontroler REST obsługujący zapisy na wydarzenia i listę oczekujących.
+ */
+@RestController
+@RequestMapping("/api/events/{eventId}")
+@RequiredArgsConstructor
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+    private final RegistrationWindowService registrationWindowService;
+
+    /**
+     * Zapisuje użytkownika na wydarzenie; przy braku miejsc dopisuje go do listy oczekujących.
+     *
+     * <p>Gdy okno rejestracji wydarzenia jest otwarte, zgłoszenie trafia do kolejki,
+     * a odpowiedź wysyłana jest asynchronicznie po zapisie partii.</p>
+     *
+     * <p>Zapisać można siebie; organizator może zapisać dowolnego użytkownika.</p>
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @param request Bieżące żądanie (token sesji).
+     * @return Odpowiedź HTTP z obiektem {@link EnrollmentDTO}, 400 (Bad Request) przy błędzie,
+     *         401/403 bez uprawnień lub 503 (Service Unavailable), gdy kolejka okna rejestracji jest pełna.
+     */
+    @PostMapping("/participants/{userId}")
+    public CompletableFuture<ResponseEntity<EnrollmentDTO>> join(@PathVariable Integer eventId, @PathVariable Integer userId,
+                                                                 HttpServletRequest request) {
+        TokenAuthenticationFilter.requireUserOrOrganizer(request, userId);
+        CompletableFuture<EnrollmentDTO> result = registrationWindowService.submit(eventId, userId)
+                .orElseGet(() -> {
+                    try {
+                        return CompletableFuture.completedFuture(enrollmentService.join(eventId, userId));
+                    } catch (IllegalArgumentException e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                });
+        return result
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    if (e.getCause() instanceof IllegalArgumentException) {
+                        return ResponseEntity.badRequest().body(null);
+                    }
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                });
+    }
+
+    /**
+     * Wypisuje użytkownika z wydarzenia lub z listy oczekujących.
+     * <p>Wypisać można siebie; organizator może wypisać dowolnego użytkownika.</p>
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @param request Bieżące żądanie (token sesji).
+     * @return Odpowiedź HTTP z obiektem {@link EnrollmentDTO}, 400 (Bad Request) przy błędzie
+     *         lub 401/403 bez uprawnień.
+     */
+    @DeleteMapping("/participants/{userId}")
+    public ResponseEntity<EnrollmentDTO> leave(@PathVariable Integer eventId, @PathVariable Integer userId,
+                                               HttpServletRequest request) {
+        TokenAuthenticationFilter.requireUserOrOrganizer(request, userId);
+        try {
+            return ResponseEntity.ok(enrollmentService.leave(eventId, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Pobiera listę oczekujących wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Lista obiektów {@link WaitlistEntry} w kolejności FIFO.
+     */
+    @GetMapping("/waitlist")
+    public ResponseEntity<List<WaitlistEntry>> getWaitlist(@PathVariable Integer eventId) {
+        return ResponseEntity.ok(enrollmentService.getWaitlist(eventId));
+    }
+
+    /**
+     * Otwiera okno rejestracji wydarzenia: zapisy są kolejkowane i zapisywane partiami (tylko organizator).
+     *
+     * @param eventId ID wydarzenia.
+     * @param request Bieżące żądanie (token sesji).
+     * @return Odpowiedź HTTP z obiektem {@link RegistrationWindowDTO}, 400 (Bad Request),
+     *         jeśli wydarzenie nie istnieje, lub 401/403 bez uprawnień.
+     */
+    @PostMapping("/registration-window")
+    public ResponseEntity<RegistrationWindowDTO> openRegistrationWindow(@PathVariable Integer eventId,
+                                                                        HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        try {
+            return ResponseEntity.ok(registrationWindowService.open(eventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Zamyka okno rejestracji wydarzenia (tylko organizator).
+     *
+     * @param eventId ID wydarzenia.
+     * @param request Bieżące żądanie (token sesji).
+     * @return Odpowiedź HTTP z obiektem {@link RegistrationWindowDTO} lub 401/403 bez uprawnień.
+     */
+    @DeleteMapping("/registration-window")
+    public ResponseEntity<RegistrationWindowDTO> closeRegistrationWindow(@PathVariable Integer eventId,
+                                                                         HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        return ResponseEntity.ok(registrationWindowService.close(eventId));
+    }
+
+    /**
+     * Pobiera stan okna rejestracji wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Odpowiedź HTTP z obiektem {@link RegistrationWindowDTO}.
+     */
+    @GetMapping("/registration-window")
+    public ResponseEntity<RegistrationWindowDTO> getRegistrationWindow(@PathVariable Integer eventId) {
+        return ResponseEntity.ok(registrationWindowService.getStatus(eventId));
+    }
+}
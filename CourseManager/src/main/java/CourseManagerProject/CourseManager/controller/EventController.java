@@ -1,9 +1,15 @@
 package CourseManagerProject.CourseManager.controller;
 
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
 import CourseManagerProject.CourseManager.dto.EventDTO;
 import CourseManagerProject.CourseManager.model.Event;
 import CourseManagerProject.CourseManager.service.EventService;
+import CourseManagerProject.CourseManager.util.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -18,41 +24,70 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, ObjectMapper objectMapper) {
         this.eventService = eventService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Tworzy nowe wydarzenie na podstawie danych DTO.
      *
      * @param eventRequest Obiekt {@link EventDTO} z danymi kursu.
+     * @param request      Bieżące żądanie (token organizatora).
      * @return Komunikat zawierający ID utworzonego wydarzenia.
      */
     @PostMapping("/create")
-    public ResponseEntity<String> createEvent(@Validated @RequestBody EventDTO eventRequest) {
+    public ResponseEntity<String> createEvent(@Validated @RequestBody EventDTO eventRequest, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         Event createdEvent = eventService.createEvent(eventRequest);
         return ResponseEntity.ok("Event created with ID: " + createdEvent.getId());
     }
 
     /**
-     * Aktualizuje istniejące wydarzenie na podstawie danych DTO.
+     * Aktualizuje istniejące wydarzenie na podstawie danych DTO (tylko organizator).
      */
     @PutMapping("/{eventId}/update")
     public ResponseEntity<String> updateEvent(
             @PathVariable Integer eventId,
-            @Validated @RequestBody EventDTO eventRequest
+            @Validated @RequestBody EventDTO eventRequest,
+            HttpServletRequest request
     ) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         eventService.updateEvent(eventId, eventRequest);
         return ResponseEntity.ok("Event with ID " + eventId + " has been updated successfully.");
     }
 
     /**
-     * Usuwa wydarzenie o podanym ID.
+     * Zmienia wybrane pola wydarzenia (JSON Merge Patch, RFC 7396).
+     * <p>Zapisywane są tylko pola obecne w treści; dostępność sali sprawdzana jest
+     * wyłącznie przy zmianie terminu lub sali.</p>
+     *
+     * @param eventId ID wydarzenia.
+     * @param body    Zmienione pola wydarzenia (np. {@code {"info": "...", "version": 3}}).
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Komunikat o powodzeniu lub 400 z opisem błędu.
+     */
+    @PatchMapping(value = "/{eventId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<String> patchEvent(@PathVariable Integer eventId, @RequestBody JsonNode body,
+                                             HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        try {
+            eventService.patchEvent(eventId, MergePatch.parse(body, EventDTO.class, objectMapper));
+            return ResponseEntity.ok("Event with ID " + eventId + " has been updated successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Usuwa wydarzenie o podanym ID (tylko organizator).
      */
     @DeleteMapping("/{eventId}/delete")
-    public ResponseEntity<String> deleteEvent(@PathVariable Integer eventId) {
+    public ResponseEntity<String> deleteEvent(@PathVariable Integer eventId, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         eventService.deleteEvent(eventId);
         return ResponseEntity.ok("Event with ID " + eventId + " has been deleted successfully.");
     }
@@ -65,10 +100,7 @@ public class EventController {
      */
     @GetMapping("/organizers/{organizerId}/events")
     public ResponseEntity<List<EventDTO>> getOrganizedEvents(@PathVariable Integer organizerId) {
-        List<Event> events = eventService.getOrganizedEvents(organizerId);
-        List<EventDTO> eventDTOs = events.stream()
-                .map(eventService::mapToDTO)
-                .toList();
+        List<EventDTO> eventDTOs = eventService.getOrganizedEvents(organizerId);
         return ResponseEntity.ok(eventDTOs);
     }
 
@@ -80,10 +112,7 @@ public class EventController {
      */
     @GetMapping("/participants/{participantId}/past")
     public ResponseEntity<List<EventDTO>> getPastParticipatingEvents(@PathVariable Integer participantId) {
-        List<Event> pastEvents = eventService.getPastParticipatingEvents(participantId);
-        List<EventDTO> eventDTOs = pastEvents.stream()
-                .map(eventService::mapToDTO)
-                .toList();
+        List<EventDTO> eventDTOs = eventService.getPastParticipatingEvents(participantId);
         return ResponseEntity.ok(eventDTOs);
     }
 
@@ -95,10 +124,7 @@ public class EventController {
      */
     @GetMapping("/participants/{participantId}/future")
     public ResponseEntity<List<EventDTO>> getFutureParticipatingEvents(@PathVariable Integer participantId) {
-        List<Event> futureEvents = eventService.getFutureParticipatingEvents(participantId);
-        List<EventDTO> eventDTOs = futureEvents.stream()
-                .map(eventService::mapToDTO)
-                .toList();
+        List<EventDTO> eventDTOs = eventService.getFutureParticipatingEvents(participantId);
         return ResponseEntity.ok(eventDTOs);
     }
 
@@ -119,10 +145,7 @@ public class EventController {
             @RequestParam(required = false) Integer tagId,
             @RequestParam(defaultValue = "false") boolean excludeFull
     ) {
-        List<Event> filteredEvents = eventService.searchEvents(organizerId, classroomId, tagId, excludeFull);
-        List<EventDTO> eventDTOs = filteredEvents.stream()
-                .map(eventService::mapToDTO)
-                .toList();
+        List<EventDTO> eventDTOs = eventService.searchEvents(organizerId, classroomId, tagId, excludeFull);
         return ResponseEntity.ok(eventDTOs);
     }
 
@@ -133,10 +156,7 @@ public class EventController {
      */
     @GetMapping
     public ResponseEntity<List<EventDTO>> getAllEvents() {
-        List<Event> allEvents = eventService.findAllEvents();
-        List<EventDTO> eventDTOs = allEvents.stream()
-                .map(eventService::mapToDTO)
-                .toList();
+        List<EventDTO> eventDTOs = eventService.findAllEvents();
         return ResponseEntity.ok(eventDTOs);
     }
 }
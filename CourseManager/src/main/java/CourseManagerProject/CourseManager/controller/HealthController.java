@@ -0,0 +1,25 @@
+package CourseManagerProject.CourseManager.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Kontroler REST sprawdzający, czy aplikacja przyjmuje żądania.
+ * <p>Endpoint nie wymaga tokenu - służy skryptom i narzędziom czekającym na start aplikacji.</p>
+ */
+@RestController
+@RequestMapping("/api/health")
+public class HealthController {
+
+    /**
+     * Zwraca stan aplikacji.
+     *
+     * @return Odpowiedź HTTP 200 z treścią {@code UP}.
+     */
+    @GetMapping
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("UP");
+    }
+}
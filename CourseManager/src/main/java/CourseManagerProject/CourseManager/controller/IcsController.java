@@ -0,0 +1,100 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.service.IcsService;
+import CourseManagerProject.CourseManager.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Kontroler REST udostępniający kanały iCalendar do subskrypcji w aplikacjach kalendarza.
+ * <p>Odpowiedzi zawierają nagłówek {@code ETag}; zapytanie z pasującym {@code If-None-Match}
+ * otrzymuje odpowiedź 304 bez treści.</p>
+ *
+ * <p>Aplikacje kalendarza nie wysyłają tokenu sesji, dlatego kanał użytkownika wymaga parametru
+ * {@code token} - podpisu identyfikatora użytkownika ({@link TokenService#feedToken}). Adres kanału
+ * z tokenem zwraca {@code GET /api/ics/users/{id}/url} (sam użytkownik lub organizator).</p>
+ */
+@RestController
+@RequestMapping("/api/ics")
+@RequiredArgsConstructor
+public class IcsController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final IcsService icsService;
+    private final TokenService tokenService;
+
+    /**
+     * Pobiera kanał ICS z wydarzeniami, które użytkownik organizuje lub w których uczestniczy.
+     *
+     * @param id      ID użytkownika.
+     * @param token   Token kanału ({@link #getUserFeedUrl}).
+     * @param request Bieżące zapytanie (obsługa {@code If-None-Match}).
+     * @return Kanał ICS, 304 jeśli klient ma aktualną wersję, 403 przy braku lub niepoprawnym tokenie
+     *         albo 404 jeśli użytkownik nie istnieje.
+     */
+    @GetMapping("/users/{id}.ics")
+    public ResponseEntity<StreamingResponseBody> getUserFeed(@PathVariable Integer id,
+                                                             @RequestParam(required = false) String token,
+                                                             WebRequest request) {
+        if (!tokenService.isValidFeedToken(id, token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return respond(icsService.userFeed(id), request);
+    }
+
+    /**
+     * Zwraca adres subskrypcji kanału ICS użytkownika (z podpisanym tokenem).
+     *
+     * @param id      ID użytkownika.
+     * @param request Bieżące żądanie (token tego użytkownika lub organizatora).
+     * @return Ścieżka kanału, np. {@code /api/ics/users/7.ics?token=...}.
+     */
+    @GetMapping("/users/{id}/url")
+    public ResponseEntity<String> getUserFeedUrl(@PathVariable Integer id, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireUserOrOrganizer(request, id);
+        return ResponseEntity.ok("/api/ics/users/" + id + ".ics?token=" + tokenService.feedToken(id));
+    }
+
+    /**
+     * Pobiera kanał ICS z wydarzeniami odbywającymi się w sali.
+     *
+     * @param id      ID sali.
+     * @param request Bieżące zapytanie (obsługa {@code If-None-Match}).
+     * @return Kanał ICS, 304 jeśli klient ma aktualną wersję, lub 404 jeśli sala nie istnieje.
+     */
+    @GetMapping("/classrooms/{id}.ics")
+    public ResponseEntity<StreamingResponseBody> getClassroomFeed(@PathVariable Integer id, WebRequest request) {
+        return respond(icsService.classroomFeed(id), request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> respond(Optional<IcsService.Feed> feed, WebRequest request) {
+        if (feed.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        IcsService.Feed found = feed.get();
+        if (request.checkNotModified(found.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(found.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(found.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(found.body());
+    }
+}
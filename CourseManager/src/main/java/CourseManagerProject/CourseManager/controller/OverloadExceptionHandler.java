@@ -0,0 +1,31 @@
+package CourseManagerProject.CourseManager.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Obsługa przeciążenia ograniczonych pul wątków (np. puli haszowania haseł).
+ * <p>Zadanie odrzucone przez pełną kolejkę zamieniane jest na odpowiedź 503
+ * z nagłówkiem {@code Retry-After}, zamiast błędu 500.</p>
+ */
+@RestControllerAdvice
+public class OverloadExceptionHandler {
+
+    /**
+     * Zwraca 503 (Service Unavailable) dla zadania odrzuconego przez pulę wątków.
+     *
+     * @param e Wyjątek odrzucenia zadania.
+     * @return Odpowiedź HTTP 503 z nagłówkiem {@code Retry-After: 1}.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.dto.RateLimitStatsDTO;
+import CourseManagerProject.CourseManager.service.RateLimiterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Kontroler REST udostępniający metryki limitów żądań.
+ */
+@RestController
+@RequestMapping("/api/rate-limit")
+@RequiredArgsConstructor
+public class RateLimitController {
+
+    private final RateLimiterService rateLimiterService;
+
+    /**
+     * Pobiera liczbę przyjętych i odrzuconych (429) żądań dla każdej reguły.
+     *
+     * @return Lista obiektów {@link RateLimitStatsDTO}.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<RateLimitStatsDTO>> getStats() {
+        return ResponseEntity.ok(rateLimiterService.getStats());
+    }
+}
@@ -0,0 +1,37 @@
+package CourseManagerProject.CourseManager.controller;
+
+import CourseManagerProject.CourseManager.dto.EventDTO;
+import CourseManagerProject.CourseManager.service.RecommendationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Kontroler REST udostępniający rekomendacje wydarzeń.
+ */
+@RestController
+@RequestMapping("/api/events/recommended")
+@RequiredArgsConstructor
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    /**
+     * Pobiera rekomendowane nadchodzące wydarzenia użytkownika (odczyt z pamięci podręcznej).
+     *
+     * @param userId ID użytkownika.
+     * @return Odpowiedź HTTP z listą obiektów {@link EventDTO} lub 404 (Not Found),
+     *         jeśli lista dla użytkownika nie jest (jeszcze) dostępna.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<List<EventDTO>> getRecommended(@PathVariable Integer userId) {
+        return recommendationService.getRecommendations(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
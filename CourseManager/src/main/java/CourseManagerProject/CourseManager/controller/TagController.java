@@ -1,9 +1,18 @@
 package CourseManagerProject.CourseManager.controller;
 
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.dto.RelatedTagDTO;
 import CourseManagerProject.CourseManager.dto.TagDTO;
+import CourseManagerProject.CourseManager.dto.TagStatsDTO;
 import CourseManagerProject.CourseManager.model.Tag;
 import CourseManagerProject.CourseManager.service.TagService;
+import CourseManagerProject.CourseManager.service.TagStatsService;
+import CourseManagerProject.CourseManager.util.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -20,15 +29,19 @@ import java.util.List;
 public class TagController {
 
     private final TagService tagService;
+    private final TagStatsService tagStatsService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Tworzy nowy tag na podstawie informacji zawartych w obiekcie {@link TagDTO}.
      *
      * @param dto Obiekt DTO zawierający dane nowego tagu, poddane walidacji (@Validated).
+     * @param request Bieżące żądanie (token organizatora).
      * @return Odpowiedź HTTP zawierająca utworzony obiekt {@link Tag}.
      */
     @PostMapping
-    public ResponseEntity<Tag> createTag(@Validated @RequestBody TagDTO dto) {
+    public ResponseEntity<Tag> createTag(@Validated @RequestBody TagDTO dto, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         Tag tag = tagService.addTag(dto);
         return ResponseEntity.ok(tag);
     }
@@ -50,24 +63,47 @@ public class TagController {
      *
      * @param id  Unikalny identyfikator tagu.
      * @param dto Obiekt DTO z nowymi danymi do aktualizacji.
+     * @param request Bieżące żądanie (token organizatora).
      * @return Odpowiedź HTTP zawierająca zaktualizowany obiekt {@link Tag}.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Tag> updateTag(@PathVariable Integer id,
-                                         @Validated @RequestBody TagDTO dto) {
+                                         @Validated @RequestBody TagDTO dto,
+                                         HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         Tag updated = tagService.updateTag(id, dto);
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Zmienia wybrane pola tagu (JSON Merge Patch, RFC 7396).
+     *
+     * @param id   Unikalny identyfikator tagu.
+     * @param body Zmienione pola (pola nieobecne pozostają bez zmian).
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Zaktualizowany obiekt {@link Tag} lub 400, jeśli zmiana jest niepoprawna.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Tag> patchTag(@PathVariable Integer id, @RequestBody JsonNode body, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        try {
+            return ResponseEntity.ok(tagService.patchTag(id, MergePatch.parse(body, TagDTO.class, objectMapper)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Usuwa tag o podanym identyfikatorze.
      *
      * @param id Unikalny identyfikator tagu do usunięcia.
+     * @param request Bieżące żądanie (token organizatora).
      * @return Odpowiedź HTTP z komunikatem o powodzeniu (status 200),
      * lub informacją o błędzie (status 400 lub 404), w zależności od implementacji serwisu.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteTag(@PathVariable Integer id) {
+    public ResponseEntity<String> deleteTag(@PathVariable Integer id, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
         tagService.deleteTag(id);
         return ResponseEntity.ok("Tag deleted");
     }
@@ -82,4 +118,27 @@ public class TagController {
         List<Tag> tags = tagService.getAllTags();
         return ResponseEntity.ok(tags);
     }
+
+    /**
+     * Pobiera statystyki użycia tagów (liczba wydarzeń i uczestników), od najczęściej używanych.
+     *
+     * @return Odpowiedź HTTP zawierająca listę obiektów {@link TagStatsDTO}.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<TagStatsDTO>> getTagStats() {
+        return ResponseEntity.ok(tagStatsService.getStats());
+    }
+
+    /**
+     * Pobiera tagi najczęściej występujące w tych samych wydarzeniach co podany tag.
+     *
+     * @param id    ID tagu.
+     * @param limit Maksymalna liczba wyników (domyślnie 10).
+     * @return Odpowiedź HTTP zawierająca listę obiektów {@link RelatedTagDTO}.
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedTagDTO>> getRelatedTags(@PathVariable Integer id,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(tagStatsService.getRelated(id, limit));
+    }
 }
@@ -1,15 +1,30 @@
 package CourseManagerProject.CourseManager.controller;
 
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.dto.UserImportResultDTO;
 import CourseManagerProject.CourseManager.dto.UserRegistrationDTO;
 import CourseManagerProject.CourseManager.dto.UserUpdateDTO;
 import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.service.UserCsvService;
 import CourseManagerProject.CourseManager.service.UserService;
+import CourseManagerProject.CourseManager.util.MergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Kontroler REST zarządzający operacjami na encjach {@link User}.
@@ -21,15 +36,21 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final UserCsvService userCsvService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Konstruktor przyjmujący serwis {@link UserService}, odpowiedzialny
      * za logikę biznesową związaną z użytkownikami.
      *
-     * @param service Obiekt serwisu {@link UserService}.
+     * @param service        Obiekt serwisu {@link UserService}.
+     * @param userCsvService Serwis importu i eksportu użytkowników w formacie CSV.
+     * @param objectMapper   Mapper JSON aplikacji (odczyt zmian {@code PATCH}).
      */
-    public UserController(UserService service) {
+    public UserController(UserService service, UserCsvService userCsvService, ObjectMapper objectMapper) {
         this.userService = service;
+        this.userCsvService = userCsvService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -60,13 +81,63 @@ public class UserController {
     /**
      * Rejestruje nowego użytkownika w systemie.
      *
+     * <p>Odpowiedź wysyłana jest asynchronicznie, po zahaszowaniu hasła.</p>
+     *
      * @param dto Obiekt {@link UserRegistrationDTO} zawierający dane do rejestracji.
-     * @return Odpowiedź HTTP z utworzonym obiektem {@link User}.
+     * @return Odpowiedź HTTP z utworzonym obiektem {@link User}
+     *         lub status 400 (Bad Request), jeśli email jest już zajęty.
      */
     @PostMapping("/register")
-    public ResponseEntity<User> registerUser(@Validated @RequestBody UserRegistrationDTO dto) {
-        User user = userService.registerUser(dto);
-        return ResponseEntity.ok(user);
+    public CompletableFuture<ResponseEntity<User>> registerUser(@Validated @RequestBody UserRegistrationDTO dto) {
+        CompletableFuture<User> registered;
+        try {
+            registered = userService.registerUser(dto);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return registered
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    if (e.getCause() instanceof IllegalArgumentException) {
+                        return ResponseEntity.badRequest().body(null);
+                    }
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                });
+    }
+
+    /**
+     * Importuje użytkowników z pliku CSV przesłanego w treści żądania.
+     * <p>Plik musi mieć nagłówek z kolumnami {@code firstname,surname,age,email,password,isOrganizer}.
+     * Błędne wiersze i zajęte adresy email są pomijane i zwracane w wyniku.</p>
+     *
+     * @param body Treść pliku CSV (UTF-8).
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Obiekt {@link UserImportResultDTO} lub status 400, jeśli plik jest pusty albo brakuje kolumn.
+     * @throws IOException w przypadku błędu odczytu treści żądania.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<UserImportResultDTO> importUsers(InputStream body, HttpServletRequest request) throws IOException {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        try {
+            return ResponseEntity.ok(userCsvService.importUsers(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Eksportuje wszystkich użytkowników (bez haseł) do pliku CSV.
+     *
+     * @param request Bieżące żądanie (token organizatora).
+     * @return Odpowiedź HTTP z plikiem {@code users.csv} zapisywanym strumieniowo.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(HttpServletRequest request) {
+        TokenAuthenticationFilter.requireOrganizer(request);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .body(userCsvService::exportUsers);
     }
 
     /**
@@ -74,17 +145,52 @@ public class UserController {
      *
      * @param id         ID użytkownika do aktualizacji.
      * @param userUpdateDTO Obiekt {@link UserUpdateDTO} z nowymi danymi.
+     * @param request       Bieżące żądanie (token tego użytkownika lub organizatora; zmiana
+     *                      {@code isOrganizer} wymaga tokenu organizatora).
      * @return Odpowiedź HTTP z zaktualizowanym obiektem {@link User}
      *         lub status 400 (Bad Request), jeśli operacja się nie powiodła.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Integer id, @RequestBody UserUpdateDTO userUpdateDTO) {
+    public CompletableFuture<ResponseEntity<User>> updateUser(@PathVariable Integer id, @RequestBody UserUpdateDTO userUpdateDTO,
+                                                              HttpServletRequest request) {
+        TokenAuthenticationFilter.requireUserOrOrganizer(request, id);
+        if (userUpdateDTO.getIsOrganizer() != null) {
+            TokenAuthenticationFilter.requireOrganizer(request);
+        }
+        return toResponse(userService.updateUser(id, userUpdateDTO));
+    }
+
+    /**
+     * Zmienia wybrane pola użytkownika (JSON Merge Patch, RFC 7396).
+     * <p>Pola nieobecne w treści pozostają bez zmian; wartość {@code null} jest błędem.</p>
+     *
+     * @param id   ID użytkownika do aktualizacji.
+     * @param body Zmienione pola użytkownika.
+     * @param request Bieżące żądanie (token tego użytkownika lub organizatora).
+     * @return Zaktualizowany obiekt {@link User} lub 400 (Bad Request), jeśli zmiana jest niepoprawna.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public CompletableFuture<ResponseEntity<User>> patchUser(@PathVariable Integer id, @RequestBody JsonNode body,
+                                                             HttpServletRequest request) {
+        TokenAuthenticationFilter.requireUserOrOrganizer(request, id);
+        CompletableFuture<User> result;
         try {
-            User updatedUser = userService.updateUser(id, userUpdateDTO);
-            return ResponseEntity.ok(updatedUser);
+            result = userService.patchUser(id, MergePatch.parse(body, UserUpdateDTO.class, objectMapper));
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(null);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(null));
         }
+        return toResponse(result);
+    }
+
+    private static CompletableFuture<ResponseEntity<User>> toResponse(CompletableFuture<User> result) {
+        return result
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    if (e.getCause() instanceof IllegalArgumentException) {
+                        return ResponseEntity.badRequest().body(null);
+                    }
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+                });
     }
 
 
@@ -93,11 +199,13 @@ public class UserController {
      * Usuwa użytkownika o podanym ID.
      *
      * @param id ID użytkownika do usunięcia.
+     * @param request Bieżące żądanie (token tego użytkownika lub organizatora).
      * @return Odpowiedź HTTP z kodem 204 (No Content), jeśli operacja się powiodła;
      *         lub 400 (Bad Request), jeśli wystąpił błąd.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Integer id) {
+    public ResponseEntity<Void> deleteUser(@PathVariable Integer id, HttpServletRequest request) {
+        TokenAuthenticationFilter.requireUserOrOrganizer(request, id);
         try {
             userService.deleteUser(id);
             return ResponseEntity.noContent().build();
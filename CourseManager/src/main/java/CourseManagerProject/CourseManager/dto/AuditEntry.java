@@ -0,0 +1,21 @@
+package CourseManagerProject.CourseManager.dto;
+
+import java.time.Instant;
+
+/**
+ * Niemodyfikowalny komunikat o zmianie danych, publikowany do bufora audytu.
+ *
+ * @param createdAt  Moment wykonania zmiany.
+ * @param actor      Autor zmiany.
+ * @param action     Rodzaj operacji (CREATE, UPDATE, DELETE).
+ * @param entityType Typ zmienionej encji.
+ * @param entityId   ID zmienionej encji.
+ * @param details    Krótki opis zmiany.
+ */
+public record AuditEntry(Instant createdAt,
+                         String actor,
+                         String action,
+                         String entityType,
+                         Integer entityId,
+                         String details) {
+}
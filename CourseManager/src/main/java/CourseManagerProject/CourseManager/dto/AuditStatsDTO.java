@@ -0,0 +1,25 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO z metrykami dziennika audytu: stanem bufora, opóźnieniem zapisu i liczbą utraconych wpisów.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditStatsDTO {
+    private String overflowPolicy;
+    private int bufferCapacity;
+    private long published;
+    private long dropped;
+    private long written;
+    private long failed;
+    private int pending; // Wpisy oczekujące w buforze (opóźnienie w liczbie wpisów)
+    private long lagMillis; // Wiek najstarszego wpisu w ostatnio zapisanej paczce
+    private int lastBatchSize;
+}
@@ -44,4 +44,10 @@ public class ClassroomDTO {
      */
     @NotBlank
     private String classroomName;
+
+    /**
+     * Wersja sali odczytana przez klienta (opcjonalna). Jeśli sala zmieniła się
+     * w międzyczasie, aktualizacja kończy się odpowiedzią 409.
+     */
+    private Long version;
 }
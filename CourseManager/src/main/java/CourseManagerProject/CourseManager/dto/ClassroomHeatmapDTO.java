@@ -0,0 +1,23 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO mapy zajętości sali: dzień tygodnia × godzina w wybranym przedziale.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassroomHeatmapDTO {
+    private Integer classroomId;
+    private LocalDate from;
+    private LocalDate to; // Koniec przedziału (wyłącznie)
+    private long[][] minutes; // [dzień tygodnia 0 = poniedziałek][godzina 0-23], suma zajętych minut
+    private double[][] occupancy; // minutes / (liczba takich dni tygodnia w przedziale * 60)
+}
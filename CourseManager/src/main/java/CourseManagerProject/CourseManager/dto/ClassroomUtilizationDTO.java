@@ -0,0 +1,23 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO z wykorzystaniem sali w przedziale czasu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassroomUtilizationDTO {
+    private Integer classroomId;
+    private String classroomName;
+    private Integer capacity;
+    private int eventCount;
+    private double bookedHours;
+    private double utilization; // bookedHours / godziny otwarcia w przedziale
+    private double seatFillRate; // Uczestnicy / miejsca w sali, średnio na wydarzenie
+}
@@ -0,0 +1,21 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO sali w panelu użytkownika ({@link DashboardDTO}) - tylko pola potrzebne do wyświetlenia wydarzeń.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardClassroomDTO {
+    private Integer id;
+    private String classroomName;
+    private String location;
+    private Integer capacity;
+    private int eventCount; // Liczba wydarzeń panelu w tej sali
+}
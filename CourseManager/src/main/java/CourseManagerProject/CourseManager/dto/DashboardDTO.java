@@ -0,0 +1,35 @@
+package CourseManagerProject.CourseManager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO (Data Transfer Object) zbiorczego panelu użytkownika.
+ * <p>Zawiera wydarzenia użytkownika (organizowane i przyszłe, w których uczestniczy)
+ * oraz tylko te sale, tagi i organizatorów, do których odwołują się te wydarzenia - jako płaskie
+ * DTO, bez encji i ich relacji. Zastępuje kilka osobnych zapytań frontendu jednym.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardDTO {
+    private List<EventDTO> organizedEvents;
+    private List<EventDTO> participatingEvents;
+    private List<DashboardClassroomDTO> classrooms;
+    private List<DashboardTagDTO> tags;
+    private Map<Integer, String> organizers; // ID organizatora -> imię i nazwisko
+
+    /**
+     * Czas pobierania poszczególnych sekcji w mikrosekundach.
+     * Nie jest serializowany - kontroler przekazuje go w nagłówku {@code Server-Timing}.
+     */
+    @JsonIgnore
+    private Map<String, Long> sectionTimings;
+}
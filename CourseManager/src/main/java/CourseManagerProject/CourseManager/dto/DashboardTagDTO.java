@@ -0,0 +1,19 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO tagu w panelu użytkownika ({@link DashboardDTO}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardTagDTO {
+    private Integer id;
+    private String name;
+    private int eventCount; // Liczba wydarzeń panelu z tym tagiem
+}
@@ -0,0 +1,34 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO z wynikiem zapisu na wydarzenie lub wypisania z niego.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EnrollmentDTO {
+
+    /**
+     * Wynik operacji.
+     */
+    public enum Status {
+        ENROLLED,
+        WAITLISTED,
+        ALREADY_ENROLLED,
+        ALREADY_WAITLISTED,
+        LEFT,
+        LEFT_WAITLIST
+    }
+
+    private Integer eventId;
+    private Integer userId;
+    private Status status;
+    private Long waitlistPosition; // Miejsce w kolejce (dla WAITLISTED / ALREADY_WAITLISTED)
+    private Integer promotedUserId; // Użytkownik przeniesiony z listy oczekujących po wypisaniu
+}
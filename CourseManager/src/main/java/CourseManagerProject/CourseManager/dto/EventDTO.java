@@ -29,4 +29,5 @@ public class EventDTO {
     private Integer classroomId;
     private String classroomName; // Dodatkowe pole na nazwę sali
     private List<Integer> tagIds; // Lista ID tagów przypisanych do wydarzenia
+    private Long version; // Wersja odczytana przez klienta - przy edycji zmiana w międzyczasie daje 409 (opcjonalne)
 }
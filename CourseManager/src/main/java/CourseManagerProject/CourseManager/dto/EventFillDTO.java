@@ -0,0 +1,24 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO z zapełnieniem pojedynczego wydarzenia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventFillDTO {
+    private Integer eventId;
+    private String name;
+    private LocalDateTime startDatetime;
+    private int participants;
+    private int maxParticipants;
+    private double fillRate; // participants / maxParticipants
+}
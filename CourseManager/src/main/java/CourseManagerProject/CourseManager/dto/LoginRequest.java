@@ -0,0 +1,31 @@
+package CourseManagerProject.CourseManager.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO z danymi logowania użytkownika.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginRequest {
+
+    /**
+     * Adres email użytkownika.
+     */
+    @NotBlank
+    @Email
+    private String email;
+
+    /**
+     * Hasło użytkownika.
+     */
+    @NotBlank
+    private String password;
+}
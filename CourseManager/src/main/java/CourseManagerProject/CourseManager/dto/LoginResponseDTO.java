@@ -0,0 +1,26 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO zwracane po poprawnym zalogowaniu - podstawowe dane zalogowanego użytkownika
+ * oraz token sesji przesyłany w nagłówku {@code Authorization: Bearer ...}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginResponseDTO {
+    private Integer userId;
+    private String firstname;
+    private String surname;
+    private String email;
+    private Boolean isOrganizer;
+    private String token;
+    private Instant expiresAt;
+}
@@ -0,0 +1,29 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO z raportem wykorzystania wydarzeń organizatora w przedziale czasu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrganizerAnalyticsDTO {
+    private Integer organizerId;
+    private LocalDate from;
+    private LocalDate to; // Koniec przedziału (wyłącznie)
+    private int eventCount;
+    private long participants;
+    private long capacity; // Suma limitów uczestników
+    private double fillRate; // participants / capacity
+    private double totalHours;
+    private List<EventFillDTO> events;
+    private List<WeeklyHoursDTO> hoursPerWeek;
+}
@@ -0,0 +1,23 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO z metrykami jednej reguły limitu żądań.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitStatsDTO {
+    private String pattern;
+    private String method;
+    private int capacity;
+    private double refillPerSecond;
+    private long allowed;
+    private long throttled; // Żądania odrzucone odpowiedzią 429
+    private int activeBuckets; // Liczba użytkowników / adresów z niepełnym kubełkiem
+}
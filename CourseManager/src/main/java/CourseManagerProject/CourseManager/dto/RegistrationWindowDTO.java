@@ -0,0 +1,24 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO ze stanem okna rejestracji wydarzenia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegistrationWindowDTO {
+    private Integer eventId;
+    private boolean open;
+    private int queued; // Zgłoszenia oczekujące w kolejce
+    private int queueCapacity;
+    private long processed;
+    private long rejected; // Zgłoszenia odrzucone przy pełnej kolejce
+    private long batches;
+    private int lastBatchSize;
+}
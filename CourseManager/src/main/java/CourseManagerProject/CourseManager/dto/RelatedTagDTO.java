@@ -0,0 +1,19 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO tagu powiązanego - występującego w tych samych wydarzeniach co tag wyjściowy.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatedTagDTO {
+    private Integer id;
+    private String name;
+    private int coOccurrences; // Liczba wydarzeń z oboma tagami
+}
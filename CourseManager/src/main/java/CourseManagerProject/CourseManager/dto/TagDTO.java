@@ -23,4 +23,10 @@ public class TagDTO {
      */
     @NotBlank
     private String name;
+
+    /**
+     * Wersja tagu odczytana przez klienta (opcjonalna). Jeśli tag zmienił się
+     * w międzyczasie, aktualizacja kończy się odpowiedzią 409.
+     */
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO ze statystykami użycia tagu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagStatsDTO {
+    private Integer id;
+    private String name;
+    private int eventCount; // Liczba wydarzeń z tagiem
+    private int participantCount; // Łączna liczba uczestników tych wydarzeń
+}
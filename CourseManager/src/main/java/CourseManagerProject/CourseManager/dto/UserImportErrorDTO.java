@@ -0,0 +1,19 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO błędu jednego wiersza importu użytkowników.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportErrorDTO {
+    private long line; // Numer linii pliku CSV (od 1)
+    private String email;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO wyniku importu użytkowników z pliku CSV.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportResultDTO {
+    private int imported;
+    private int failed;
+    private List<UserImportErrorDTO> errors; // Pierwsze błędy (do users.import.max-reported-errors)
+}
@@ -9,8 +9,9 @@ import lombok.NoArgsConstructor;
 /**
  * DTO (Data Transfer Object) służący do rejestracji nowego użytkownika
  * w systemie {@link CourseManagerProject.CourseManager.model.User}.
- * <p>Zawiera podstawowe dane takie jak imię, nazwisko, wiek, email,
- * hasło oraz flagę wskazującą, czy użytkownik jest organizatorem.</p>
+ * <p>Zawiera podstawowe dane takie jak imię, nazwisko, wiek, email i hasło.
+ * Rejestracja zawsze tworzy uczestnika - rolę organizatora nadaje organizator
+ * ({@code PUT /api/users/{id}}).</p>
  */
 @Data
 @NoArgsConstructor
@@ -51,10 +52,4 @@ public class UserRegistrationDTO {
     @NotBlank
     @Size(min = 8)
     private String password;
-
-    /**
-     * Określa, czy użytkownik jest organizatorem (true) czy uczestnikiem (false).
-     */
-    @NotNull
-    private Boolean isOrganizer;
 }
@@ -0,0 +1,20 @@
+package CourseManagerProject.CourseManager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO z liczbą godzin zajęć w tygodniu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WeeklyHoursDTO {
+    private LocalDate weekStart; // Poniedziałek
+    private double hours;
+}
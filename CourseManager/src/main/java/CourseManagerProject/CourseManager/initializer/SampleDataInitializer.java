@@ -10,6 +10,8 @@ import CourseManagerProject.CourseManager.repository.TagRepository;
 import CourseManagerProject.CourseManager.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -18,9 +20,10 @@ import java.util.List;
  * Klasa odpowiedzialna za inicjalizację przykładowych danych w bazie
  * zaraz po uruchomieniu aplikacji (poprzez {@link CommandLineRunner}).
  * <p>Usuwa istniejące rekordy, a następnie zapisuje przykładowych
- * użytkowników, sale oraz tagi do bazy.</p>
+ * użytkowników, sale oraz tagi do bazy. Działa wyłącznie z profilem {@code dev}.</p>
  */
 @Component
+@Profile("dev")
 public class SampleDataInitializer implements CommandLineRunner {
 
     private final List<User> sampleUsers;
@@ -32,6 +35,8 @@ public class SampleDataInitializer implements CommandLineRunner {
     private final ClassroomRepository classroomRepository;
     private final TagRepository tagRepository;
     private final EventRepository eventRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SeedSupport seedSupport;
 
     /**
      * Konstruktor przyjmujący listy przykładowych obiektów i repozytoria,
@@ -43,6 +48,8 @@ public class SampleDataInitializer implements CommandLineRunner {
      * @param userRepository   Repozytorium użytkowników.
      * @param classroomRepository Repozytorium sal.
      * @param tagRepository    Repozytorium tagów.
+     * @param passwordEncoder  Koder haseł przykładowych użytkowników.
+     * @param seedSupport      Czyszczenie bazy i odtworzenie struktur pochodnych po zapisaniu danych.
      */
     @Autowired
     public SampleDataInitializer(
@@ -53,7 +60,9 @@ public class SampleDataInitializer implements CommandLineRunner {
             UserRepository userRepository,
             ClassroomRepository classroomRepository,
             TagRepository tagRepository,
-            EventRepository eventRepository) {
+            EventRepository eventRepository,
+            PasswordEncoder passwordEncoder,
+            SeedSupport seedSupport) {
         this.sampleUsers = sampleUsers;
         this.sampleClassrooms = sampleClassrooms;
         this.sampleTags = sampleTags;
@@ -62,6 +71,8 @@ public class SampleDataInitializer implements CommandLineRunner {
         this.classroomRepository = classroomRepository;
         this.tagRepository = tagRepository;
         this.eventRepository = eventRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.seedSupport = seedSupport;
     }
 
     /**
@@ -73,11 +84,8 @@ public class SampleDataInitializer implements CommandLineRunner {
      */
     @Override
     public void run(String... args) {
-        // Usuwanie istniejących danych
-        userRepository.deleteAll();
-        classroomRepository.deleteAll();
-        tagRepository.deleteAll();
-        eventRepository.deleteAll();
+        // Usuwanie istniejących danych (TRUNCATE ... CASCADE zamiast usuwania encji pojedynczo)
+        seedSupport.truncateAll();
 
         System.out.println("Baza danych została wyczyszczona.");
 
@@ -85,7 +93,8 @@ public class SampleDataInitializer implements CommandLineRunner {
         classroomRepository.saveAll(sampleClassrooms);
         System.out.println("Zapisano sale lekcyjne do bazy danych.");
 
-        // Zapisanie użytkowników
+        // Zapisanie użytkowników (z zahaszowanymi hasłami)
+        sampleUsers.forEach(user -> user.setPassword(passwordEncoder.encode(user.getPassword())));
         userRepository.saveAll(sampleUsers);
         System.out.println("Zapisano użytkowników do bazy danych.");
 
@@ -96,5 +105,9 @@ public class SampleDataInitializer implements CommandLineRunner {
         // Zapisanie wydarzeń
         eventRepository.saveAll(sampleEvents);
         System.out.println("Zapisano wydarzenia do bazy danych.");
+
+        // Dane zapisano z pominięciem serwisów - przeliczenie miejsc i odbudowanie modelu odczytu wydarzeń
+        seedSupport.rebuildDerived();
+        System.out.println("Odbudowano model odczytu wydarzeń.");
     }
 }
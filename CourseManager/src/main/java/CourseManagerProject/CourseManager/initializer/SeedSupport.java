@@ -0,0 +1,57 @@
+package CourseManagerProject.CourseManager.initializer;
+
+import CourseManagerProject.CourseManager.service.ClassroomOccupancyService;
+import CourseManagerProject.CourseManager.service.EnrollmentService;
+import CourseManagerProject.CourseManager.service.EventViewService;
+import CourseManagerProject.CourseManager.service.RecommendationService;
+import CourseManagerProject.CourseManager.service.TagStatsService;
+import CourseManagerProject.CourseManager.service.UserEmailCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operacje wspólne dla inicjalizatorów danych: szybkie czyszczenie bazy i odtworzenie
+ * struktur pochodnych po zapisie danych z pominięciem serwisów.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeedSupport {
+
+    /**
+     * Tabele danych i tabele pochodne czyszczone przed zasianiem bazy. Dziennik audytu,
+     * skrzynka nadawcza i unieważnione tokeny zostają.
+     */
+    private static final String TRUNCATE_SQL = "TRUNCATE TABLE event_waitlist, event_participant, event_tag, " +
+            "events, users, classrooms, tags, event_view, tag_stats, tag_pair_stats, classroom_occupancy " +
+            "RESTART IDENTITY CASCADE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnrollmentService enrollmentService;
+    private final EventViewService eventViewService;
+    private final RecommendationService recommendationService;
+    private final TagStatsService tagStatsService;
+    private final ClassroomOccupancyService classroomOccupancyService;
+    private final UserEmailCache userEmailCache;
+
+    /**
+     * Czyści dane jednym poleceniem {@code TRUNCATE ... CASCADE} - bez wczytywania encji
+     * i usuwania ich pojedynczo, więc czas nie zależy od ilości danych.
+     */
+    public void truncateAll() {
+        jdbcTemplate.execute(TRUNCATE_SQL);
+    }
+
+    /**
+     * Przelicza liczniki miejsc i odtwarza model odczytu wydarzeń, rekomendacje, statystyki tagów,
+     * zajętość sal i pamięć adresów email.
+     */
+    public void rebuildDerived() {
+        enrollmentService.recountSeats();
+        eventViewService.rebuild();
+        recommendationService.rebuildAll();
+        tagStatsService.rebuild();
+        classroomOccupancyService.rebuild();
+        userEmailCache.reload();
+    }
+}
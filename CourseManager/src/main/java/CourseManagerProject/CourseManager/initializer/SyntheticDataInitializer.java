@@ -0,0 +1,197 @@
+package CourseManagerProject.CourseManager.initializer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator syntetycznych danych do testów obciążeniowych (profil {@code loadtest}).
+ * <p>Czyści bazę i zapisuje zadaną liczbę sal, tagów, użytkowników i wydarzeń wraz z uczestnikami.
+ * Sale, tagi i użytkownicy powstają po stronie bazy jednym {@code INSERT ... SELECT FROM generate_series},
+ * a wydarzenia i powiązania zapisywane są wsadowo, więc zasianie kilkudziesięciu tysięcy wierszy trwa
+ * sekundy. Wszyscy użytkownicy mają hasło {@code seed.synthetic.password} (hashowane raz), a adresy
+ * {@code user<N>@example.com}; co {@code seed.synthetic.organizer-every}-ty użytkownik jest organizatorem.
+ * Dane są powtarzalne dla tego samego {@code seed.synthetic.random-seed}.</p>
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class SyntheticDataInitializer implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int[] SLOT_HOURS = {8, 11, 14, 17};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final SeedSupport seedSupport;
+    private final int users;
+    private final int classrooms;
+    private final int tags;
+    private final int events;
+    private final int participantsPerEvent;
+    private final int organizerEvery;
+    private final long randomSeed;
+    private final String password;
+
+    /**
+     * Konstruktor wstrzykujący zależności i rozmiary generowanych danych.
+     *
+     * @param jdbcTemplate         Szablon JDBC do zapisu wsadowego.
+     * @param passwordEncoder      Koder hasła wspólnego dla wszystkich użytkowników.
+     * @param seedSupport          Czyszczenie bazy i odtworzenie struktur pochodnych.
+     * @param users                Liczba użytkowników.
+     * @param classrooms           Liczba sal.
+     * @param tags                 Liczba tagów.
+     * @param events               Liczba wydarzeń.
+     * @param participantsPerEvent Średnia liczba uczestników wydarzenia.
+     * @param organizerEvery       Co który użytkownik jest organizatorem.
+     * @param randomSeed           Ziarno generatora liczb losowych.
+     * @param password             Hasło wszystkich użytkowników.
+     */
+    public SyntheticDataInitializer(JdbcTemplate jdbcTemplate,
+                                    PasswordEncoder passwordEncoder,
+                                    SeedSupport seedSupport,
+                                    @Value("${seed.synthetic.users:10000}") int users,
+                                    @Value("${seed.synthetic.classrooms:50}") int classrooms,
+                                    @Value("${seed.synthetic.tags:40}") int tags,
+                                    @Value("${seed.synthetic.events:2000}") int events,
+                                    @Value("${seed.synthetic.participants-per-event:15}") int participantsPerEvent,
+                                    @Value("${seed.synthetic.organizer-every:20}") int organizerEvery,
+                                    @Value("${seed.synthetic.random-seed:42}") long randomSeed,
+                                    @Value("${seed.synthetic.password:password123}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.seedSupport = seedSupport;
+        this.users = Math.max(1, users);
+        this.classrooms = Math.max(1, classrooms);
+        this.tags = Math.max(1, tags);
+        this.events = Math.max(0, events);
+        this.participantsPerEvent = Math.max(0, participantsPerEvent);
+        this.organizerEvery = Math.max(1, organizerEvery);
+        this.randomSeed = randomSeed;
+        this.password = password;
+    }
+
+    /**
+     * Czyści bazę i zapisuje dane syntetyczne.
+     *
+     * @param args Argumenty wiersza poleceń (niewykorzystane).
+     */
+    @Override
+    public void run(String... args) {
+        long started = System.nanoTime();
+        seedSupport.truncateAll();
+
+        jdbcTemplate.update("INSERT INTO classrooms (capacity, location, info, classroom_name) " +
+                "SELECT 20 + (g % 5) * 10, 'Budynek ' || (g % 10 + 1), 'Sala syntetyczna', 'S-' || g " +
+                "FROM generate_series(1, ?) g", classrooms);
+        jdbcTemplate.update("INSERT INTO tags (name) SELECT 'tag-' || g FROM generate_series(1, ?) g", tags);
+        // Użytkownik 1 jest zawsze organizatorem, więc wydarzenia mają organizatora także dla małych N
+        jdbcTemplate.update("INSERT INTO users (firstname, surname, age, email, password, is_organizer) " +
+                        "SELECT 'User' || g, 'Synthetic' || g, 16 + g % 50, 'user' || g || '@example.com', ?, " +
+                        "(g - 1) % ? = 0 FROM generate_series(1, ?) g",
+                passwordEncoder.encode(password), organizerEvery, users);
+
+        List<int[]> classroomRows = jdbcTemplate.query("SELECT id, capacity FROM classrooms ORDER BY id",
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)});
+        List<Integer> tagIds = jdbcTemplate.queryForList("SELECT id FROM tags ORDER BY id", Integer.class);
+        List<int[]> userRows = jdbcTemplate.query("SELECT id, age FROM users ORDER BY id",
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)});
+        List<Integer> organizerIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE is_organizer ORDER BY id", Integer.class);
+
+        Random random = new Random(randomSeed);
+        List<Integer> eventIds = insertEvents(random, classroomRows, organizerIds);
+        insertEventTags(random, eventIds, tagIds);
+        insertParticipants(random, userRows);
+
+        seedSupport.rebuildDerived();
+        log.info("Zasiano dane syntetyczne: {} użytkowników, {} sal, {} tagów, {} wydarzeń w {} ms",
+                users, classrooms, tags, eventIds.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Rozkłada wydarzenia po salach w stałych blokach godzinowych (bez kolizji w sali),
+     * od 30 dni przed dniem bieżącym.
+     */
+    private List<Integer> insertEvents(Random random, List<int[]> classroomRows, List<Integer> organizerIds) {
+        LocalDateTime firstDay = LocalDate.now().minusDays(30).atStartOfDay();
+        List<Object[]> rows = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            int[] classroom = classroomRows.get(i % classroomRows.size());
+            int slot = i / classroomRows.size();
+            LocalDateTime start = firstDay.plusDays(slot / SLOT_HOURS.length)
+                    .withHour(SLOT_HOURS[slot % SLOT_HOURS.length]);
+            LocalDateTime end = start.plusMinutes(60 + 30L * random.nextInt(4));
+            int maxParticipants = Math.max(1, Math.min(classroom[1], participantsPerEvent + random.nextInt(classroom[1])));
+            rows.add(new Object[]{"Wydarzenie " + (i + 1), Timestamp.valueOf(start), Timestamp.valueOf(end),
+                    maxParticipants, random.nextInt(4) == 0 ? 18 : 0, "Wydarzenie syntetyczne",
+                    organizerIds.get(random.nextInt(organizerIds.size())), classroom[0]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (name, start_datetime, end_datetime, max_participants, min_age, " +
+                "info, organizer_id, classroom_id, seats_taken, waitlist_tail) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0)",
+                rows, BATCH_SIZE, (ps, row) -> {
+                    for (int column = 0; column < row.length; column++) {
+                        ps.setObject(column + 1, row[column]);
+                    }
+                });
+        return jdbcTemplate.queryForList("SELECT id FROM events ORDER BY id", Integer.class);
+    }
+
+    private void insertEventTags(Random random, List<Integer> eventIds, List<Integer> tagIds) {
+        List<int[]> rows = new ArrayList<>();
+        for (Integer eventId : eventIds) {
+            int count = 1 + random.nextInt(Math.min(3, tagIds.size()));
+            int first = random.nextInt(tagIds.size());
+            for (int k = 0; k < count; k++) {
+                rows.add(new int[]{eventId, tagIds.get((first + k) % tagIds.size())});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event_tag (event_id, tag_id) VALUES (?, ?)", rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setInt(1, row[0]);
+                    ps.setInt(2, row[1]);
+                });
+    }
+
+    /**
+     * Zapisuje uczestników w granicach limitu wydarzenia i minimalnego wieku
+     * (kolejni użytkownicy od losowego przesunięcia, bez powtórzeń w wydarzeniu).
+     */
+    private void insertParticipants(Random random, List<int[]> userRows) {
+        if (participantsPerEvent == 0) {
+            return;
+        }
+        List<int[]> limits = jdbcTemplate.query("SELECT id, max_participants, min_age FROM events ORDER BY id",
+                (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)});
+        List<int[]> rows = new ArrayList<>();
+        for (int[] event : limits) {
+            int wanted = Math.min(event[1], Math.min(userRows.size(), random.nextInt(2 * participantsPerEvent + 1)));
+            int offset = random.nextInt(userRows.size());
+            int added = 0;
+            for (int k = 0; k < userRows.size() && added < wanted; k++) {
+                int[] user = userRows.get((offset + k) % userRows.size());
+                if (user[1] >= event[2]) {
+                    rows.add(new int[]{event[0], user[0]});
+                    added++;
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event_participant (event_id, user_id) VALUES (?, ?)", rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setInt(1, row[0]);
+                    ps.setInt(2, row[1]);
+                });
+    }
+}
@@ -0,0 +1,74 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Wpis dziennika audytu - pojedyncza zmiana danych w systemie.
+ *
+ * <p>Encja {@code AuditLog} opisuje, kto ({@code actor}), kiedy ({@code createdAt}) i jaką operację
+ * ({@code action}) wykonał na którym obiekcie ({@code entityType}, {@code entityId}).
+ * Wiersze zapisywane są paczkami przez {@code AuditLogWriter} poza wątkiem obsługującym żądanie.
+ *
+ * <p>Adnotacje JPA:
+ * <ul>
+ *     <li>{@code @Table(name = "audit_log")} - określa nazwę tabeli i indeks po obiekcie zmiany.</li>
+ *     <li>{@code @Id} oraz {@code @GeneratedValue} - definiują klucz główny i strategię jego generowania.</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AuditLog {
+
+    /**
+     * Unikalny identyfikator wpisu.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    /**
+     * Moment wykonania zmiany.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Autor zmiany (np. adres klienta lub identyfikator użytkownika).
+     */
+    @Column(length = 100)
+    private String actor;
+
+    /**
+     * Rodzaj operacji: CREATE, UPDATE lub DELETE.
+     */
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    /**
+     * Typ zmienionej encji (np. "Event").
+     */
+    @Column(nullable = false, length = 50)
+    private String entityType;
+
+    /**
+     * ID zmienionej encji.
+     */
+    private Integer entityId;
+
+    /**
+     * Krótki opis zmiany.
+     */
+    @Column(length = 500)
+    private String details;
+}
@@ -8,6 +8,9 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -41,6 +44,10 @@ import java.util.Set;
  *     <li>{@code @Column(unique = true)} - zapewnia unikalność kolumny {@code classroomName} w tabeli.</li>
  *     <li>{@code @OneToMany(mappedBy = "classroom", cascade = CascadeType.ALL, orphanRemoval = true)} -
  *         definiuje relację jeden-do-wielu z encją {@code Event}, gdzie sala jest przypisana do wielu wydarzeń.</li>
+ *     <li>{@code @DynamicUpdate} - {@code UPDATE} obejmuje tylko zmienione kolumny.</li>
+ *     <li>{@code @SQLRestriction} - pomija wiersze miękko usunięte (kolumna {@code deleted_at}),
+ *         które później usuwa z bazy {@code SoftDeleteCompactor}.</li>
+ *     <li>{@code @Version} - blokowanie optymistyczne równoległych edycji sali.</li>
  * </ul>
  *
  * <p>Przykładowe zastosowanie klasy {@code Classroom} w kontekście aplikacji:
@@ -62,6 +69,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "classrooms")
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -77,6 +86,12 @@ public class Classroom {
     @EqualsAndHashCode.Include
     private Integer id;
 
+    /**
+     * Wersja sali (blokowanie optymistyczne).
+     */
+    @Version
+    private Long version;
+
     /**
      * Pojemność sali. Musi być co najmniej 1.
      */
@@ -110,6 +125,7 @@ public class Classroom {
     @Builder.Default
     @ToString.Exclude
     @OneToMany(mappedBy = "classroom", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OptimisticLock(excluded = true)
     @JsonBackReference // Pomija serializację w odwrotnej relacji z Event
     private Set<Event> events = new HashSet<>();
 }
@@ -0,0 +1,63 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Zajętość sali w jednej godzinie zegarowej danego dnia (w minutach).
+ *
+ * <p>Tabela {@code classroom_occupancy} jest agregatem wydarzeń utrzymywanym przyrostowo przez
+ * {@code ClassroomOccupancyService} w tej samej transakcji, co zmiana wydarzenia. Wiersze
+ * z zerową zajętością są usuwane.
+ */
+@Entity
+@Table(name = "classroom_occupancy")
+@IdClass(ClassroomOccupancy.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassroomOccupancy {
+
+    /**
+     * ID sali.
+     */
+    @Id
+    @Column(name = "classroom_id")
+    private Integer classroomId;
+
+    /**
+     * Dzień.
+     */
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    /**
+     * Godzina dnia (0-23).
+     */
+    @Id
+    @Column(name = "hour_of_day")
+    private Integer hourOfDay;
+
+    /**
+     * Liczba zajętych minut w tej godzinie (0-60).
+     */
+    @Column(nullable = false)
+    private Integer minutes;
+
+    /**
+     * Złożony klucz główny wiersza.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer classroomId;
+        private LocalDate day;
+        private Integer hourOfDay;
+    }
+}
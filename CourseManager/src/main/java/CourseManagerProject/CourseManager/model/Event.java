@@ -8,6 +8,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -45,6 +49,11 @@ import java.util.Set;
  *     <li>{@code @Id} oraz {@code @GeneratedValue} - definiują klucz główny i strategię jego generowania.</li>
  *     <li>{@code @ManyToOne} - definiuje relację wiele-do-jednego z encjami {@code User} i {@code Classroom}.</li>
  *     <li>{@code @ManyToMany} - definiuje relacje wiele-do-wielu z encjami {@code User} (uczestnicy) i {@code Tag}.</li>
+ *     <li>{@code @DynamicUpdate} - {@code UPDATE} obejmuje tylko zmienione kolumny.</li>
+ *     <li>{@code @SQLRestriction} - pomija wiersze miękko usunięte (kolumna {@code deleted_at}),
+ *         które później usuwa z bazy {@code SoftDeleteCompactor}.</li>
+ *     <li>{@code @Version} - blokowanie optymistyczne: zapis encji zmienionej w międzyczasie przez inną
+ *         transakcję kończy się błędem zamiast nadpisania zmian.</li>
  * </ul>
  *
  * <p>Przykładowe zastosowanie klasy {@code Event} w kontekście aplikacji:
@@ -74,6 +83,8 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "events")
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -89,6 +100,14 @@ public class Event {
     @EqualsAndHashCode.Include
     private Integer id;
 
+    /**
+     * Wersja wydarzenia (blokowanie optymistyczne). Zapisy i wypisy uczestników nie zmieniają
+     * wersji - liczniki miejsc zmieniane są zapytaniami {@code UPDATE}, a lista uczestników
+     * jest wyłączona z kontroli wersji, więc nie kolidują z edycją wydarzenia.
+     */
+    @Version
+    private Long version;
+
     /**
      * Nazwa wydarzenia. Musi być niepusta i nie może przekraczać 100 znaków.
      */
@@ -127,6 +146,24 @@ public class Event {
      */
     private String info;
 
+    /**
+     * Liczba zajętych miejsc. Licznik zmieniany jest wyłącznie warunkowymi zapytaniami
+     * {@code UPDATE} przy zapisie i wypisaniu uczestnika - nigdy przez zapis encji,
+     * aby edycja wydarzenia nie nadpisała równoległych zapisów.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer seatsTaken = 0;
+
+    /**
+     * Ostatnia pozycja przydzielona na liście oczekujących (zmieniana tak jak {@link #seatsTaken}).
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer waitlistTail = 0;
+
     /**
      * Użytkownik (organizer) odpowiedzialny za organizację wydarzenia.
      */
@@ -149,6 +186,7 @@ public class Event {
     @Builder.Default
     @ToString.Exclude
     @ManyToMany
+    @OptimisticLock(excluded = true)
     @JoinTable(
             name = "event_participant",
             joinColumns = @JoinColumn(name = "event_id"),
@@ -0,0 +1,89 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Zdenormalizowany model odczytu wydarzenia (tabela {@code event_view}).
+ *
+ * <p>Encja {@code EventView} przechowuje w jednym wierszu wszystkie dane potrzebne do wyświetlenia
+ * wydarzenia na liście: nazwę organizatora, nazwę sali, tablicę ID tagów oraz liczbę uczestników.
+ * Dzięki temu listy wydarzeń nie wymagają złączeń z tabelami {@code users}, {@code classrooms},
+ * {@code event_tag} ani {@code event_participant}.
+ *
+ * <p>Wiersze są aktualizowane przyrostowo przez {@code EventViewService} przy każdej zmianie
+ * encji {@code Event}, {@code User}, {@code Classroom} lub {@code Tag}.
+ *
+ * <p>Adnotacje JPA:
+ * <ul>
+ *     <li>{@code @Table(name = "event_view")} - określa nazwę tabeli oraz indeksy pod filtry list.</li>
+ *     <li>{@code @Id} - kluczem głównym jest ID wydarzenia (bez generowania).</li>
+ *     <li>{@code @JdbcTypeCode(SqlTypes.ARRAY)} - przechowuje ID tagów jako tablicę {@code integer[]}.</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "event_view", indexes = {
+        @Index(name = "idx_event_view_start", columnList = "start_datetime"),
+        @Index(name = "idx_event_view_organizer", columnList = "organizer_id, start_datetime"),
+        @Index(name = "idx_event_view_classroom", columnList = "classroom_id, start_datetime")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class EventView {
+
+    /**
+     * ID wydarzenia, którego dotyczy wiersz.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    private Integer eventId;
+
+    private String name;
+
+    private LocalDateTime startDatetime;
+
+    private LocalDateTime endDatetime;
+
+    private Integer maxParticipants;
+
+    private Integer minAge;
+
+    private String info;
+
+    private Integer organizerId;
+
+    /**
+     * Imię i nazwisko organizatora.
+     */
+    private String organizerName;
+
+    private Integer classroomId;
+
+    /**
+     * Nazwa sali.
+     */
+    private String classroomName;
+
+    /**
+     * ID tagów przypisanych do wydarzenia.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Integer[] tagIds;
+
+    /**
+     * Liczba zapisanych uczestników.
+     */
+    private Integer participantCount;
+
+    /**
+     * Wersja wydarzenia w chwili odświeżenia wiersza (oczekiwana wersja przy edycji).
+     */
+    private Long eventVersion;
+}
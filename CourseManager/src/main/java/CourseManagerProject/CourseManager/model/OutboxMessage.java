@@ -0,0 +1,88 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Wiadomość transakcyjnej skrzynki nadawczej (wzorzec "transactional outbox").
+ *
+ * <p>Encja {@code OutboxMessage} zapisywana jest w tej samej transakcji co zmiana encji
+ * {@code Event}, dzięki czemu powiadomienie o zmianie istnieje wtedy i tylko wtedy,
+ * gdy zmiana została zatwierdzona. Wiadomości odbiera paczkami {@code OutboxDispatcher}
+ * i po przekazaniu do odbiorcy usuwa je z tabeli; wiadomości odrzucane przez odbiorcę
+ * zbyt wiele razy zostają w tabeli z ustawionym {@code deadAt}.
+ *
+ * <p>Adnotacje JPA:
+ * <ul>
+ *     <li>{@code @Table(name = "outbox")} - określa nazwę tabeli w bazie danych.</li>
+ *     <li>{@code @Id} oraz {@code @GeneratedValue} - klucz główny wyznacza kolejność wysyłki.</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OutboxMessage {
+
+    /**
+     * Unikalny identyfikator wiadomości.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    /**
+     * Moment zapisania wiadomości.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Typ obiektu, którego dotyczy zmiana (np. "Event").
+     */
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    /**
+     * ID obiektu, którego dotyczy zmiana.
+     */
+    @Column(nullable = false)
+    private Integer aggregateId;
+
+    /**
+     * Rodzaj zmiany (np. EVENT_CREATED).
+     */
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    /**
+     * Treść wiadomości w formacie JSON.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Liczba nieudanych prób wysyłki.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * Moment przeniesienia wiadomości do stanu "martwych" po wyczerpaniu prób wysyłki
+     * ({@code null} - wiadomość czeka na wysyłkę).
+     */
+    private Instant deadAt;
+
+    /**
+     * Treść ostatniego błędu wysyłki.
+     */
+    @Column(length = 500)
+    private String lastError;
+}
@@ -0,0 +1,51 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Unieważniony token sesji (wylogowanie przed upływem ważności tokenu).
+ *
+ * <p>Tokeny są bezstanowe, więc jedyną informacją przechowywaną w bazie są identyfikatory
+ * tokenów unieważnionych przed czasem. {@code TokenService} wczytuje je okresowo do pamięci;
+ * wiersze tokenów, które i tak wygasły, są usuwane.
+ *
+ * <p>Adnotacje JPA:
+ * <ul>
+ *     <li>{@code @Table(name = "revoked_token")} - określa nazwę tabeli oraz indeks po dacie wygaśnięcia.</li>
+ *     <li>{@code @Id} - kluczem głównym jest identyfikator tokenu ({@code jti}).</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class RevokedToken {
+
+    /**
+     * Identyfikator tokenu.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(length = 64)
+    private String jti;
+
+    /**
+     * Moment wygaśnięcia tokenu - po nim wiersz można usunąć.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Moment unieważnienia.
+     */
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -35,6 +37,8 @@ import java.util.Set;
  *     <li>{@code @Id} oraz {@code @GeneratedValue} - definiują klucz główny i strategię jego generowania.</li>
  *     <li>{@code @Column(unique = true)} - zapewnia unikalność kolumny {@code name} w tabeli.</li>
  *     <li>{@code @ManyToMany(mappedBy = "tags")} - definiuje relację wiele-do-wielu z encją {@code Event}, gdzie tag jest przypisany do wielu wydarzeń.</li>
+ *     <li>{@code @DynamicUpdate} - {@code UPDATE} obejmuje tylko zmienione kolumny.</li>
+ *     <li>{@code @Version} - blokowanie optymistyczne równoległych edycji tagu.</li>
  * </ul>
  *
  * <p>Przykładowe zastosowanie klasy {@code Tag} w kontekście aplikacji:
@@ -53,6 +57,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "tags")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -68,6 +73,12 @@ public class Tag {
     @EqualsAndHashCode.Include
     private Integer id;
 
+    /**
+     * Wersja tagu (blokowanie optymistyczne).
+     */
+    @Version
+    private Long version;
+
     /**
      * Nazwa tagu. Musi być unikalna i nie może być pusta.
      */
@@ -83,6 +94,7 @@ public class Tag {
     @Builder.Default
     @ToString.Exclude
     @ManyToMany(mappedBy = "tags")
+    @OptimisticLock(excluded = true)
     @JsonBackReference // Pomija serializację w odwrotnej relacji z Event
     private Set<Event> events = new HashSet<>();
 }
@@ -0,0 +1,60 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Zapisany stan licznika współwystępowania dwóch tagów (liczba wydarzeń z oboma tagami).
+ *
+ * <p>Para zapisywana jest raz, z {@code tagA < tagB}. Tabela {@code tag_pair_stats}
+ * uzupełniana jest okresowo przez {@code TagStatsService}, tak jak {@link TagStat}.
+ */
+@Entity
+@Table(name = "tag_pair_stats")
+@IdClass(TagPairStat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagPairStat {
+
+    /**
+     * ID tagu o mniejszym identyfikatorze.
+     */
+    @Id
+    @Column(name = "tag_a")
+    private Integer tagA;
+
+    /**
+     * ID tagu o większym identyfikatorze.
+     */
+    @Id
+    @Column(name = "tag_b")
+    private Integer tagB;
+
+    /**
+     * Liczba wydarzeń z oboma tagami.
+     */
+    @Column(nullable = false)
+    private Integer eventCount;
+
+    /**
+     * Moment zapisu stanu.
+     */
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Złożony klucz główny pary.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer tagA;
+        private Integer tagB;
+    }
+}
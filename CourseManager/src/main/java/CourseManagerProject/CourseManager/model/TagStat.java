@@ -0,0 +1,48 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Zapisany stan liczników użycia tagu.
+ *
+ * <p>Liczniki utrzymywane są w pamięci przez {@code TagStatsService}, a wiersze tabeli
+ * {@code tag_stats} okresowo przeliczane w SQL z {@code event_tag} i {@code events} (tylko tagi
+ * zmienione od poprzedniego zapisu). Tabela służy raportom SQL i kontroli rozbieżności -
+ * endpointy statystyk czytają z pamięci.
+ */
+@Entity
+@Table(name = "tag_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagStat {
+
+    /**
+     * ID tagu.
+     */
+    @Id
+    @Column(name = "tag_id")
+    private Integer tagId;
+
+    /**
+     * Liczba wydarzeń z tym tagiem.
+     */
+    @Column(nullable = false)
+    private Integer eventCount;
+
+    /**
+     * Łączna liczba uczestników wydarzeń z tym tagiem.
+     */
+    @Column(nullable = false)
+    private Integer participantCount;
+
+    /**
+     * Moment zapisu stanu.
+     */
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
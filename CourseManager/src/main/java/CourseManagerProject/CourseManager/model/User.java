@@ -2,9 +2,12 @@ package CourseManagerProject.CourseManager.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -43,11 +46,16 @@ import java.util.Set;
  *         definiuje relację jeden-do-wielu z encją {@code Event}, gdzie użytkownik jest organizatorem.</li>
  *     <li>{@code @ManyToMany(mappedBy = "participants")} - definiuje relację wiele-do-wielu z encją {@code Event},
  *         gdzie użytkownik jest uczestnikiem.</li>
+ *     <li>{@code @DynamicUpdate} - {@code UPDATE} obejmuje tylko zmienione kolumny.</li>
+ *     <li>{@code @SQLRestriction} - pomija wiersze miękko usunięte (kolumna {@code deleted_at}),
+ *         które później usuwa z bazy {@code SoftDeleteCompactor}.</li>
  * </ul>
  *
  */
 @Entity
 @Table(name = "users") // Unikamy nazwy "User" jako nazwy tabeli, ponieważ jest to słowo kluczowe w niektórych bazach danych
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -94,8 +102,9 @@ public class User {
 
     /**
      * Hasło użytkownika. Minimalna długość to 8 znaków.
-     * <p>Hasła powinny być przechowywane w postaci zaszyfrowanej.
+     * <p>Przechowywany jest hash bcrypt; pole nie jest zwracane w odpowiedziach JSON.
      */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @NotBlank(message = "Hasło nie może być puste")
     @Size(min = 8, max = 255, message = "Hasło musi mieć od 8 do 255 znaków")
     private String password;
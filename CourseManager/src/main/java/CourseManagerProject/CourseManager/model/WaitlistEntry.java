@@ -0,0 +1,69 @@
+package CourseManagerProject.CourseManager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Wpis listy oczekujących na miejsce w pełnym wydarzeniu.
+ *
+ * <p>Kluczem jest para {@code (event_id, position)}: pozycje przydzielane są rosnąco z licznika
+ * {@code Event.waitlistTail}, więc kolejność FIFO wynika bezpośrednio z klucza głównego,
+ * a pobranie pierwszego oczekującego to odczyt pierwszego wiersza indeksu. Po zwolnieniu miejsca
+ * {@code EnrollmentService} przenosi pierwszego oczekującego do {@code event_participant}.
+ *
+ * <p>Adnotacje JPA:
+ * <ul>
+ *     <li>{@code @Table(name = "event_waitlist")} - określa nazwę tabeli oraz unikalność pary (wydarzenie, użytkownik).</li>
+ *     <li>{@code @IdClass} - złożony klucz główny {@link Key}.</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "event_waitlist", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_waitlist_user", columnNames = {"event_id", "user_id"})
+})
+@IdClass(WaitlistEntry.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    /**
+     * ID wydarzenia.
+     */
+    @Id
+    @Column(name = "event_id")
+    private Integer eventId;
+
+    /**
+     * Pozycja na liście (rosnąca w obrębie wydarzenia, z lukami po wypisanych).
+     */
+    @Id
+    private Integer position;
+
+    /**
+     * ID oczekującego użytkownika.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    /**
+     * Moment dopisania do listy.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Złożony klucz główny wpisu.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer eventId;
+        private Integer position;
+    }
+}
@@ -0,0 +1,31 @@
+package CourseManagerProject.CourseManager.repository;
+
+import CourseManagerProject.CourseManager.model.AuditLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repozytorium Spring Data JPA dla encji {@link AuditLog}.
+ * <p>Służy wyłącznie do odczytu historii - zapis odbywa się paczkami przez {@code AuditLogWriter}.</p>
+ */
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+
+    /**
+     * Zwraca historię zmian wskazanego obiektu, od najnowszych.
+     *
+     * @param entityType Typ encji (np. "Event").
+     * @param entityId   ID encji.
+     * @return Lista wpisów {@link AuditLog}.
+     */
+    List<AuditLog> findByEntityTypeAndEntityIdOrderByIdDesc(String entityType, Integer entityId);
+
+    /**
+     * Zwraca 100 najnowszych wpisów dziennika.
+     *
+     * @return Lista wpisów {@link AuditLog}.
+     */
+    List<AuditLog> findTop100ByOrderByIdDesc();
+}
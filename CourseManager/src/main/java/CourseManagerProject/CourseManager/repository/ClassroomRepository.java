@@ -2,6 +2,9 @@ package CourseManagerProject.CourseManager.repository;
 
 import CourseManagerProject.CourseManager.model.Classroom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -21,4 +24,18 @@ public interface ClassroomRepository extends JpaRepository<Classroom, Integer> {
      *         jeśli istnieje w bazie danych; w przeciwnym razie {@link Optional#empty()}.
      */
     Optional<Classroom> findByClassroomName(String classroomName);
+
+    /**
+     * Oznacza salę jako usuniętą (miękkie usunięcie), jeśli ma wersję odczytaną przez wywołującego.
+     * Zwiększa wersję, więc równoległa edycja sali kończy się konfliktem.
+     *
+     * @param id      ID sali.
+     * @param version Odczytana wersja sali.
+     * @return 1, jeśli sala została oznaczona; 0, jeśli nie istnieje, była już usunięta
+     * lub zmieniła się od odczytu.
+     */
+    @Modifying
+    @Query(value = "UPDATE classrooms SET deleted_at = now(), version = version + 1 " +
+            "WHERE id = :id AND version = :version AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Integer id, @Param("version") Long version);
 }
@@ -1,12 +1,19 @@
 package CourseManagerProject.CourseManager.repository;
 
 import CourseManagerProject.CourseManager.model.Event;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repozytorium Spring Data JPA do operacji CRUD na encjach {@link Event}.
@@ -59,15 +66,19 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     /**
      * Sprawdza, czy sala o podanym ID jest wolna w zadanym zakresie czasu
      * (od start do end). Zwraca listę kursów, które kolidują z tym czasem.
+     * <p>Warunek przecięcia przedziałów zapisany jest tak, by korzystał z indeksu GiST ograniczenia
+     * {@code events_classroom_no_overlap} (obejmującego tylko wydarzenia, które nie zostały usunięte).</p>
      *
      * @param classroomId ID sali.
-     * @param end         Data i czas końca.
      * @param start       Data i czas początku.
+     * @param end         Data i czas końca.
      * @return Lista encji {@link Event} kolidujących z podanym przedziałem czasu.
      */
-    List<Event> findByClassroomIdAndStartDatetimeBeforeAndEndDatetimeAfter(Integer classroomId,
-                                                                           LocalDateTime end,
-                                                                           LocalDateTime start);
+    @Query(value = "SELECT * FROM events WHERE classroom_id = :classroomId AND deleted_at IS NULL " +
+            "AND tsrange(start_datetime, end_datetime) && tsrange(:start, :end)", nativeQuery = true)
+    List<Event> findOverlapping(@Param("classroomId") Integer classroomId,
+                                @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end);
 
     /**
      * Wyszukuje wydarzenia dostępne według określonych filtrów, takich jak:
@@ -91,4 +102,173 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
                                     @Param("classroomId") Integer classroomId,
                                     @Param("tagId") Integer tagId,
                                     @Param("excludeFull") boolean excludeFull);
+
+    /**
+     * Strumieniuje wydarzenia, które użytkownik organizuje lub w których uczestniczy,
+     * razem z organizatorem i salą. Wiersze pobierane są kursorem po 200 sztuk.
+     * <p>Wymaga aktywnej transakcji; strumień należy zamknąć po użyciu.</p>
+     *
+     * @param userId ID użytkownika.
+     * @return Strumień encji {@link Event} posortowanych według daty rozpoczęcia.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer JOIN FETCH e.classroom " +
+            "WHERE e.organizer.id = :userId OR EXISTS (SELECT p FROM e.participants p WHERE p.id = :userId) " +
+            "ORDER BY e.startDatetime")
+    Stream<Event> streamByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Strumieniuje wydarzenia odbywające się w sali, razem z organizatorem i salą.
+     * <p>Wymaga aktywnej transakcji; strumień należy zamknąć po użyciu.</p>
+     *
+     * @param classroomId ID sali.
+     * @return Strumień encji {@link Event} posortowanych według daty rozpoczęcia.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer JOIN FETCH e.classroom " +
+            "WHERE e.classroom.id = :classroomId ORDER BY e.startDatetime")
+    Stream<Event> streamByClassroomId(@Param("classroomId") Integer classroomId);
+
+    /**
+     * Zajmuje jedno miejsce w wydarzeniu, jeśli limit uczestników nie został osiągnięty.
+     * Warunek i zmiana licznika wykonywane są jednym zapytaniem, więc równoległe zapisy
+     * nie przekroczą limitu.
+     *
+     * @param eventId ID wydarzenia.
+     * @return 1, jeśli miejsce zostało zajęte; 0, jeśli wydarzenie jest pełne lub nie istnieje.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET seats_taken = seats_taken + 1 " +
+            "WHERE id = :eventId AND seats_taken < max_participants", nativeQuery = true)
+    int tryReserveSeat(@Param("eventId") Integer eventId);
+
+    /**
+     * Zwalnia jedno miejsce w wydarzeniu.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Liczba zmienionych wierszy.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET seats_taken = seats_taken - 1 WHERE id = :eventId AND seats_taken > 0",
+            nativeQuery = true)
+    int releaseSeat(@Param("eventId") Integer eventId);
+
+    /**
+     * Zwraca bieżącą liczbę zajętych miejsc (z pominięciem stanu encji w kontekście utrwalania).
+     *
+     * @param eventId ID wydarzenia.
+     * @return Liczba zajętych miejsc.
+     */
+    @Query(value = "SELECT seats_taken FROM events WHERE id = :eventId", nativeQuery = true)
+    Integer findSeatsTaken(@Param("eventId") Integer eventId);
+
+    /**
+     * Blokuje wiersz wydarzenia do końca transakcji i zwraca liczbę zajętych miejsc.
+     * <p>Zapisy ({@link #tryReserveSeat(Integer)}) czekają na zwolnienie blokady, więc zmiana
+     * limitu uczestników widzi ostateczną liczbę miejsc.</p>
+     *
+     * @param eventId ID wydarzenia.
+     * @return Liczba zajętych miejsc.
+     */
+    @Query(value = "SELECT seats_taken FROM events WHERE id = :eventId FOR UPDATE", nativeQuery = true)
+    Integer lockSeatsTaken(@Param("eventId") Integer eventId);
+
+    /**
+     * Sprawdza, czy użytkownik jest uczestnikiem wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return {@code true}, jeśli użytkownik jest zapisany.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM event_participant WHERE event_id = :eventId AND user_id = :userId)",
+            nativeQuery = true)
+    boolean isParticipant(@Param("eventId") Integer eventId, @Param("userId") Integer userId);
+
+    /**
+     * Dodaje uczestnika wydarzenia (po zajęciu miejsca przez {@link #tryReserveSeat(Integer)}).
+     * <p>Jeśli użytkownik jest już uczestnikiem (np. równoległy zapis), nic się nie zmienia.</p>
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return Liczba dodanych wierszy (0, jeśli użytkownik był już zapisany).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO event_participant (event_id, user_id) VALUES (:eventId, :userId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int addParticipant(@Param("eventId") Integer eventId, @Param("userId") Integer userId);
+
+    /**
+     * Usuwa uczestnika wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return 1, jeśli użytkownik był zapisany; 0 w przeciwnym razie.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM event_participant WHERE event_id = :eventId AND user_id = :userId", nativeQuery = true)
+    int removeParticipant(@Param("eventId") Integer eventId, @Param("userId") Integer userId);
+
+    /**
+     * Przelicza liczniki zajętych miejsc na podstawie tabeli {@code event_participant}
+     * (np. po załadowaniu danych z pominięciem serwisów).
+     */
+    @Modifying
+    @Query(value = "UPDATE events e SET seats_taken = " +
+            "(SELECT count(*) FROM event_participant p WHERE p.event_id = e.id)", nativeQuery = true)
+    void recountSeats();
+
+    /**
+     * Oznacza wydarzenie jako usunięte (miękkie usunięcie), jeśli ma wersję odczytaną przez wywołującego.
+     * Zwiększa wersję, więc równoległa edycja wydarzenia kończy się konfliktem.
+     *
+     * @param eventId ID wydarzenia.
+     * @param version Odczytana wersja wydarzenia.
+     * @return 1, jeśli wydarzenie zostało oznaczone; 0, jeśli nie istnieje, było już usunięte
+     * lub zmieniło się od odczytu.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET deleted_at = now(), version = version + 1 " +
+            "WHERE id = :eventId AND version = :version AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("eventId") Integer eventId, @Param("version") Long version);
+
+    /**
+     * Zwraca ID nieusuniętych wydarzeń organizatora (bez wczytywania encji).
+     *
+     * @param organizerId ID organizatora.
+     * @return Lista ID wydarzeń.
+     */
+    @Query(value = "SELECT id FROM events WHERE organizer_id = :organizerId AND deleted_at IS NULL", nativeQuery = true)
+    List<Integer> findActiveIdsByOrganizerId(@Param("organizerId") Integer organizerId);
+
+    /**
+     * Zwraca ID uczestników nieusuniętych wydarzeń organizatora (bez powtórzeń).
+     *
+     * @param organizerId ID organizatora.
+     * @return Lista ID uczestników.
+     */
+    @Query(value = "SELECT DISTINCT p.user_id FROM event_participant p JOIN events e ON e.id = p.event_id " +
+            "WHERE e.organizer_id = :organizerId AND e.deleted_at IS NULL", nativeQuery = true)
+    List<Integer> findParticipantIdsByOrganizerId(@Param("organizerId") Integer organizerId);
+
+    /**
+     * Oznacza jako usunięte wszystkie wydarzenia organizatora - jednym zapytaniem, bez wczytywania encji.
+     *
+     * @param organizerId ID organizatora.
+     * @return Liczba oznaczonych wydarzeń.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET deleted_at = now(), version = version + 1 " +
+            "WHERE organizer_id = :organizerId AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteByOrganizerId(@Param("organizerId") Integer organizerId);
+
+    /**
+     * Oznacza jako usunięte wszystkie wydarzenia sali - jednym zapytaniem, bez wczytywania encji.
+     *
+     * @param classroomId ID sali.
+     * @return Liczba oznaczonych wydarzeń.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET deleted_at = now(), version = version + 1 " +
+            "WHERE classroom_id = :classroomId AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteByClassroomId(@Param("classroomId") Integer classroomId);
 }
@@ -0,0 +1,157 @@
+package CourseManagerProject.CourseManager.repository;
+
+import CourseManagerProject.CourseManager.model.EventView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repozytorium Spring Data JPA dla modelu odczytu {@link EventView}.
+ * <p>Zawiera zapytania list wydarzeń czytające wyłącznie z tabeli {@code event_view}
+ * oraz zbiorcze aktualizacje wykonywane przy zmianie powiązanych encji.</p>
+ */
+@Repository
+public interface EventViewRepository extends JpaRepository<EventView, Integer> {
+
+    /**
+     * Zwraca wszystkie wydarzenia posortowane według daty rozpoczęcia.
+     *
+     * @return Lista obiektów {@link EventView}.
+     */
+    List<EventView> findAllByOrderByStartDatetimeAsc();
+
+    /**
+     * Zwraca wydarzenia organizowane przez użytkownika o podanym ID.
+     *
+     * @param organizerId ID organizatora.
+     * @return Lista obiektów {@link EventView}.
+     */
+    List<EventView> findByOrganizerIdOrderByStartDatetimeAsc(Integer organizerId);
+
+    /**
+     * Zwraca wydarzenia rozpoczynające się po podanym momencie.
+     *
+     * @param now Aktualny czas.
+     * @return Lista obiektów {@link EventView}.
+     */
+    List<EventView> findByStartDatetimeAfter(LocalDateTime now);
+
+    /**
+     * Zwraca przeszłe wydarzenia (endDatetime < now), w których uczestniczy użytkownik.
+     *
+     * @param participantId ID uczestnika.
+     * @param now           Aktualny czas.
+     * @return Lista obiektów {@link EventView} z przeszłości.
+     */
+    @Query(value = "SELECT v.* FROM event_view v " +
+            "JOIN event_participant ep ON ep.event_id = v.event_id " +
+            "WHERE ep.user_id = :participantId AND v.end_datetime < :now " +
+            "ORDER BY v.start_datetime", nativeQuery = true)
+    List<EventView> findPastByParticipantId(@Param("participantId") Integer participantId,
+                                            @Param("now") LocalDateTime now);
+
+    /**
+     * Zwraca przyszłe wydarzenia (startDatetime > now), w których uczestniczy użytkownik.
+     *
+     * @param participantId ID uczestnika.
+     * @param now           Aktualny czas.
+     * @return Lista obiektów {@link EventView} z przyszłości.
+     */
+    @Query(value = "SELECT v.* FROM event_view v " +
+            "JOIN event_participant ep ON ep.event_id = v.event_id " +
+            "WHERE ep.user_id = :participantId AND v.start_datetime > :now " +
+            "ORDER BY v.start_datetime", nativeQuery = true)
+    List<EventView> findFutureByParticipantId(@Param("participantId") Integer participantId,
+                                              @Param("now") LocalDateTime now);
+
+    /**
+     * Wyszukuje dostępne wydarzenia według filtrów. Odpowiednik
+     * {@link EventRepository#findAvailableEvents}, ale bez złączeń - liczba uczestników
+     * i ID tagów są przechowywane bezpośrednio w wierszu.
+     *
+     * @param now         Aktualny czas.
+     * @param organizerId (opcjonalne) ID organizatora.
+     * @param classroomId (opcjonalne) ID sali.
+     * @param tagId       (opcjonalne) ID tagu.
+     * @param excludeFull Czy wykluczać wydarzenia pełne.
+     * @return Lista obiektów {@link EventView} spełniających kryteria.
+     */
+    @Query(value = "SELECT * FROM event_view v " +
+            "WHERE v.start_datetime >= :now " +
+            "AND (CAST(:organizerId AS integer) IS NULL OR v.organizer_id = :organizerId) " +
+            "AND (CAST(:classroomId AS integer) IS NULL OR v.classroom_id = :classroomId) " +
+            "AND (CAST(:tagId AS integer) IS NULL OR v.tag_ids @> ARRAY[CAST(:tagId AS integer)]) " +
+            "AND (:excludeFull = false OR v.participant_count < v.max_participants) " +
+            "ORDER BY v.start_datetime", nativeQuery = true)
+    List<EventView> findAvailable(@Param("now") LocalDateTime now,
+                                  @Param("organizerId") Integer organizerId,
+                                  @Param("classroomId") Integer classroomId,
+                                  @Param("tagId") Integer tagId,
+                                  @Param("excludeFull") boolean excludeFull);
+
+    /**
+     * Aktualizuje nazwę organizatora we wszystkich jego wydarzeniach.
+     *
+     * @param organizerId   ID organizatora.
+     * @param organizerName Nowe imię i nazwisko.
+     */
+    @Modifying
+    @Query("UPDATE EventView v SET v.organizerName = :organizerName WHERE v.organizerId = :organizerId")
+    void updateOrganizerName(@Param("organizerId") Integer organizerId,
+                             @Param("organizerName") String organizerName);
+
+    /**
+     * Aktualizuje nazwę sali we wszystkich wydarzeniach, które się w niej odbywają.
+     *
+     * @param classroomId   ID sali.
+     * @param classroomName Nowa nazwa sali.
+     */
+    @Modifying
+    @Query("UPDATE EventView v SET v.classroomName = :classroomName WHERE v.classroomId = :classroomId")
+    void updateClassroomName(@Param("classroomId") Integer classroomId,
+                             @Param("classroomName") String classroomName);
+
+    /**
+     * Usuwa ID tagu z tablic tagów wszystkich wydarzeń.
+     *
+     * @param tagId ID usuwanego tagu.
+     */
+    @Modifying
+    @Query(value = "UPDATE event_view SET tag_ids = array_remove(tag_ids, :tagId) " +
+            "WHERE tag_ids @> ARRAY[CAST(:tagId AS integer)]", nativeQuery = true)
+    void removeTag(@Param("tagId") Integer tagId);
+
+    /**
+     * Ustawia liczbę uczestników wydarzenia.
+     *
+     * @param eventId          ID wydarzenia.
+     * @param participantCount Aktualna liczba uczestników.
+     */
+    @Modifying
+    @Query("UPDATE EventView v SET v.participantCount = :participantCount WHERE v.eventId = :eventId")
+    void updateParticipantCount(@Param("eventId") Integer eventId,
+                                @Param("participantCount") Integer participantCount);
+
+    /**
+     * Usuwa wiersze wszystkich wydarzeń organizatora (np. po usunięciu użytkownika).
+     *
+     * @param organizerId ID organizatora.
+     */
+    @Modifying
+    @Query("DELETE FROM EventView v WHERE v.organizerId = :organizerId")
+    void deleteByOrganizerId(@Param("organizerId") Integer organizerId);
+
+    /**
+     * Usuwa wiersze wszystkich wydarzeń w sali (np. po usunięciu sali).
+     *
+     * @param classroomId ID sali.
+     */
+    @Modifying
+    @Query("DELETE FROM EventView v WHERE v.classroomId = :classroomId")
+    void deleteByClassroomId(@Param("classroomId") Integer classroomId);
+}
@@ -0,0 +1,45 @@
+package CourseManagerProject.CourseManager.repository;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repozytorium Spring Data JPA dla encji {@link OutboxMessage}.
+ * <p>Udostępnia pobieranie paczki wiadomości z blokadą {@code FOR UPDATE SKIP LOCKED},
+ * dzięki której kilka instancji aplikacji może równolegle opróżniać skrzynkę
+ * bez wysyłania tej samej wiadomości dwa razy.</p>
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Pobiera i blokuje do końca transakcji najstarsze wiadomości oczekujące na wysyłkę,
+     * pomijając wiersze zablokowane przez inne instancje oraz wiadomości "martwe".
+     *
+     * @param batchSize Maksymalna liczba wiadomości.
+     * @return Lista zablokowanych obiektów {@link OutboxMessage}.
+     */
+    @Query(value = "SELECT * FROM outbox WHERE dead_at IS NULL ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("batchSize") int batchSize);
+
+    /**
+     * Zapisuje nieudaną próbę wysyłki wiadomości; po osiągnięciu {@code maxAttempts} prób
+     * przenosi ją do stanu "martwych", w którym dispatcher jej już nie pobiera.
+     *
+     * @param id          ID wiadomości.
+     * @param error       Treść błędu (przycinana do 500 znaków).
+     * @param maxAttempts Maksymalna liczba prób wysyłki.
+     * @return Liczba zmienionych wierszy.
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox SET attempts = attempts + 1, last_error = left(:error, 500), " +
+            "dead_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END WHERE id = :id", nativeQuery = true)
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+}
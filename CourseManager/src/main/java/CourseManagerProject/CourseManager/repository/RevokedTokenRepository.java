@@ -0,0 +1,36 @@
+package CourseManagerProject.CourseManager.repository;
+
+import CourseManagerProject.CourseManager.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repozytorium Spring Data JPA dla encji {@link RevokedToken}.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Zwraca unieważnione tokeny, które jeszcze nie wygasły.
+     *
+     * @param now Aktualny czas.
+     * @return Lista obiektów {@link RevokedToken}.
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Usuwa wiersze tokenów, które wygasły.
+     *
+     * @param now Aktualny czas.
+     * @return Liczba usuniętych wierszy.
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -3,6 +3,9 @@ package CourseManagerProject.CourseManager.repository;
 import CourseManagerProject.CourseManager.model.Event;
 import CourseManagerProject.CourseManager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,12 +20,24 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     /**
-     * Wyszukuje użytkownika na podstawie adresu email.
+     * Wyszukuje użytkownika na podstawie adresu email (bez rozróżniania wielkości liter).
+     * <p>Warunek {@code lower(email) = lower(:email)} korzysta z unikalnego indeksu
+     * {@code users_email_lower_key}.</p>
      *
      * @param email Adres email (np. "jan@example.com").
      * @return Obiekt {@link User} opakowany w {@link Optional}, jeśli istnieje; w przeciwnym razie pusty optional.
      */
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
+
+    /**
+     * Zwraca ID użytkownika o podanym adresie email (bez rozróżniania wielkości liter).
+     *
+     * @param email Adres email.
+     * @return ID użytkownika opakowane w {@link Optional}.
+     */
+    @Query("SELECT u.id FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<Integer> findIdByEmail(@Param("email") String email);
 
     /**
      * Zwraca listę użytkowników w zależności od tego, czy są organizatorami.
@@ -31,4 +46,14 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @return Lista obiektów {@link User}.
      */
     List<User> findByIsOrganizer(boolean bool);
+
+    /**
+     * Oznacza użytkownika jako usuniętego (miękkie usunięcie).
+     *
+     * @param id ID użytkownika.
+     * @return 1, jeśli użytkownik został oznaczony; 0, jeśli nie istnieje lub był już usunięty.
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET deleted_at = now() WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("id") Integer id);
 }
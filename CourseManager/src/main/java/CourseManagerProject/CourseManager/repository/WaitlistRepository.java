@@ -0,0 +1,73 @@
+package CourseManagerProject.CourseManager.repository;
+
+import CourseManagerProject.CourseManager.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repozytorium Spring Data JPA dla listy oczekujących ({@link WaitlistEntry}).
+ */
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, WaitlistEntry.Key> {
+
+    /**
+     * Zwraca listę oczekujących wydarzenia w kolejności FIFO.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Lista obiektów {@link WaitlistEntry}.
+     */
+    List<WaitlistEntry> findByEventIdOrderByPositionAsc(Integer eventId);
+
+    /**
+     * Zwraca wpis użytkownika na liście oczekujących wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return {@link Optional} z wpisem, jeśli użytkownik oczekuje.
+     */
+    Optional<WaitlistEntry> findByEventIdAndUserId(Integer eventId, Integer userId);
+
+    /**
+     * Zwraca liczbę oczekujących przed podaną pozycją (włącznie) - miejsce w kolejce.
+     *
+     * @param eventId  ID wydarzenia.
+     * @param position Pozycja wpisu.
+     * @return Miejsce w kolejce (od 1).
+     */
+    long countByEventIdAndPositionLessThanEqual(Integer eventId, Integer position);
+
+    /**
+     * Usuwa użytkownika z listy oczekujących wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return Liczba usuniętych wierszy.
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.eventId = :eventId AND w.userId = :userId")
+    int deleteByEventIdAndUserId(@Param("eventId") Integer eventId, @Param("userId") Integer userId);
+
+    /**
+     * Usuwa listę oczekujących wydarzenia (np. po jego usunięciu).
+     *
+     * @param eventId ID wydarzenia.
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.eventId = :eventId")
+    void deleteByEventId(@Param("eventId") Integer eventId);
+
+    /**
+     * Usuwa wpisy użytkownika ze wszystkich list oczekujących (np. po usunięciu konta).
+     *
+     * @param userId ID użytkownika.
+     */
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.userId = :userId")
+    void deleteByUserId(@Param("userId") Integer userId);
+}
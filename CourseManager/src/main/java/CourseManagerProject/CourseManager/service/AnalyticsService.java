@@ -0,0 +1,386 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.ClassroomUtilizationDTO;
+import CourseManagerProject.CourseManager.dto.EventFillDTO;
+import CourseManagerProject.CourseManager.dto.OrganizerAnalyticsDTO;
+import CourseManagerProject.CourseManager.dto.WeeklyHoursDTO;
+import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.repository.ClassroomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Serwis raportów wykorzystania: zapełnienie wydarzeń i godziny zajęć organizatora
+ * oraz wykorzystanie sal.
+ * <p>Wiersze wydarzeń z przedziału odczytywane są jednym zapytaniem z {@code event_view}
+ * do tablic prymitywów, a następnie agregowane równolegle (strumień równoległy na puli
+ * fork-join) do akumulatorów opartych na tablicach {@code long[]}. Gotowe raporty trzymane są
+ * w pamięci przez {@code analytics.cache-ttl} dla danego przedziału; równoczesne żądania
+ * tego samego raportu czekają na jedno obliczenie.</p>
+ */
+@Service
+public class AnalyticsService {
+
+    private static final long MINUTES_PER_WEEK = 7 * 24 * 60;
+    private static final int MAX_WINDOW_DAYS = 366;
+
+    private record Key(String scope, Integer id, LocalDate from, LocalDate to) {
+    }
+
+    private record Cached(long expiresAtNanos, CompletableFuture<Object> report) {
+    }
+
+    /**
+     * Wiersze wydarzeń zapisane kolumnowo (bez obiektu na wiersz).
+     */
+    private static final class EventRows {
+        private int size;
+        private int[] eventIds = new int[256];
+        private int[] classroomIds = new int[256];
+        private int[] participants = new int[256];
+        private int[] maxParticipants = new int[256];
+        private long[] startMinutes = new long[256];
+        private long[] endMinutes = new long[256];
+        private final List<String> names = new ArrayList<>();
+
+        private void add(int eventId, int classroomId, int participantCount, int limit,
+                         LocalDateTime start, LocalDateTime end, String name) {
+            if (size == eventIds.length) {
+                int capacity = size * 2;
+                eventIds = Arrays.copyOf(eventIds, capacity);
+                classroomIds = Arrays.copyOf(classroomIds, capacity);
+                participants = Arrays.copyOf(participants, capacity);
+                maxParticipants = Arrays.copyOf(maxParticipants, capacity);
+                startMinutes = Arrays.copyOf(startMinutes, capacity);
+                endMinutes = Arrays.copyOf(endMinutes, capacity);
+            }
+            eventIds[size] = eventId;
+            classroomIds[size] = classroomId;
+            participants[size] = participantCount;
+            maxParticipants[size] = limit;
+            startMinutes[size] = epochMinute(start);
+            endMinutes[size] = epochMinute(end);
+            // Nazwa dodawana zawsze - indeksy list i tablic muszą się zgadzać
+            names.add(name == null ? "" : name);
+            size++;
+        }
+    }
+
+    /**
+     * Akumulator raportu organizatora: sumy i minuty zajęć w kolejnych tygodniach przedziału.
+     */
+    private static final class OrganizerTotals {
+        private final long windowStart;
+        private final long windowEnd;
+        private final long firstMonday;
+        private final long[] weekMinutes;
+        private long participants;
+        private long capacity;
+        private long minutes;
+
+        private OrganizerTotals(long windowStart, long windowEnd, long firstMonday, int weeks) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.firstMonday = firstMonday;
+            this.weekMinutes = new long[weeks];
+        }
+
+        private void add(EventRows rows, int i) {
+            participants += rows.participants[i];
+            capacity += rows.maxParticipants[i];
+            long start = Math.max(rows.startMinutes[i], windowStart);
+            long end = Math.min(rows.endMinutes[i], windowEnd);
+            // Zajęcia przechodzące przez granicę tygodnia dzielone są między tygodnie
+            while (start < end) {
+                int week = (int) ((start - firstMonday) / MINUTES_PER_WEEK);
+                long segmentEnd = Math.min(end, firstMonday + (week + 1) * MINUTES_PER_WEEK);
+                weekMinutes[week] += segmentEnd - start;
+                minutes += segmentEnd - start;
+                start = segmentEnd;
+            }
+        }
+
+        private void merge(OrganizerTotals other) {
+            participants += other.participants;
+            capacity += other.capacity;
+            minutes += other.minutes;
+            for (int week = 0; week < weekMinutes.length; week++) {
+                weekMinutes[week] += other.weekMinutes[week];
+            }
+        }
+    }
+
+    /**
+     * Akumulator raportu sal: liczniki w tablicach indeksowanych gęstym indeksem sali.
+     */
+    private static final class ClassroomTotals {
+        private final long windowStart;
+        private final long windowEnd;
+        private final Map<Integer, Integer> index;
+        private final int[] capacities;
+        private final int[] events;
+        private final long[] minutes;
+        private final double[] seatFill;
+
+        private ClassroomTotals(long windowStart, long windowEnd, Map<Integer, Integer> index, int[] capacities) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.index = index;
+            this.capacities = capacities;
+            this.events = new int[capacities.length];
+            this.minutes = new long[capacities.length];
+            this.seatFill = new double[capacities.length];
+        }
+
+        private void add(EventRows rows, int i) {
+            Integer room = index.get(rows.classroomIds[i]);
+            if (room == null) {
+                return;
+            }
+            events[room]++;
+            minutes[room] += Math.max(0, Math.min(rows.endMinutes[i], windowEnd) - Math.max(rows.startMinutes[i], windowStart));
+            if (capacities[room] > 0) {
+                seatFill[room] += Math.min(1.0, (double) rows.participants[i] / capacities[room]);
+            }
+        }
+
+        private void merge(ClassroomTotals other) {
+            for (int room = 0; room < events.length; room++) {
+                events[room] += other.events[room];
+                minutes[room] += other.minutes[room];
+                seatFill[room] += other.seatFill[room];
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClassroomRepository classroomRepository;
+    private final long cacheTtlNanos;
+    private final int maxCachedReports;
+    private final int openHoursPerDay;
+
+    private final Map<Key, Cached> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor wstrzykujący źródła danych i parametry raportów.
+     *
+     * @param jdbcTemplate        Szablon JDBC do odczytu wierszy wydarzeń.
+     * @param classroomRepository Repozytorium sal.
+     * @param cacheTtl            Czas przechowywania gotowego raportu.
+     * @param maxCachedReports    Maksymalna liczba raportów w pamięci.
+     * @param openHoursPerDay     Liczba godzin dziennie, w których sala jest dostępna.
+     */
+    public AnalyticsService(JdbcTemplate jdbcTemplate,
+                            ClassroomRepository classroomRepository,
+                            @Value("${analytics.cache-ttl:PT5M}") Duration cacheTtl,
+                            @Value("${analytics.max-cached-reports:1000}") int maxCachedReports,
+                            @Value("${analytics.open-hours-per-day:12}") int openHoursPerDay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.classroomRepository = classroomRepository;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.maxCachedReports = maxCachedReports;
+        this.openHoursPerDay = openHoursPerDay;
+    }
+
+    /**
+     * Zwraca raport organizatora: zapełnienie każdego wydarzenia i godziny zajęć w tygodniach.
+     *
+     * @param organizerId ID organizatora.
+     * @param from        Początek przedziału (włącznie).
+     * @param to          Koniec przedziału (wyłącznie).
+     * @return Obiekt {@link OrganizerAnalyticsDTO}.
+     * @throws IllegalArgumentException jeśli przedział jest pusty lub dłuższy niż rok.
+     */
+    public OrganizerAnalyticsDTO getOrganizerReport(Integer organizerId, LocalDate from, LocalDate to) {
+        validateWindow(from, to);
+        return cached(new Key("organizer", organizerId, from, to), () -> buildOrganizerReport(organizerId, from, to));
+    }
+
+    /**
+     * Zwraca wykorzystanie wszystkich sal w przedziale.
+     *
+     * @param from Początek przedziału (włącznie).
+     * @param to   Koniec przedziału (wyłącznie).
+     * @return Lista obiektów {@link ClassroomUtilizationDTO}, od najbardziej wykorzystanej sali.
+     * @throws IllegalArgumentException jeśli przedział jest pusty lub dłuższy niż rok.
+     */
+    public List<ClassroomUtilizationDTO> getClassroomReport(LocalDate from, LocalDate to) {
+        validateWindow(from, to);
+        return cached(new Key("classrooms", null, from, to), () -> buildClassroomReport(from, to));
+    }
+
+    private OrganizerAnalyticsDTO buildOrganizerReport(Integer organizerId, LocalDate from, LocalDate to) {
+        EventRows rows = new EventRows();
+        jdbcTemplate.query("SELECT event_id, classroom_id, participant_count, max_participants, " +
+                        "start_datetime, end_datetime, name FROM event_view " +
+                        "WHERE organizer_id = ? AND start_datetime < ? AND end_datetime > ? ORDER BY start_datetime",
+                rs -> {
+                    rows.add(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4),
+                            rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime(), rs.getString(7));
+                },
+                organizerId, Timestamp.valueOf(to.atStartOfDay()), Timestamp.valueOf(from.atStartOfDay()));
+
+        LocalDate firstMonday = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int weeks = (int) ((ChronoUnit.DAYS.between(firstMonday, to) + 6) / 7);
+        long windowStart = epochMinute(from.atStartOfDay());
+        long windowEnd = epochMinute(to.atStartOfDay());
+        long mondayMinute = epochMinute(firstMonday.atStartOfDay());
+
+        OrganizerTotals totals = IntStream.range(0, rows.size).parallel().collect(
+                () -> new OrganizerTotals(windowStart, windowEnd, mondayMinute, weeks),
+                (acc, i) -> acc.add(rows, i),
+                OrganizerTotals::merge);
+
+        List<EventFillDTO> events = new ArrayList<>(rows.size);
+        for (int i = 0; i < rows.size; i++) {
+            events.add(EventFillDTO.builder()
+                    .eventId(rows.eventIds[i])
+                    .name(rows.names.get(i))
+                    .startDatetime(fromEpochMinute(rows.startMinutes[i]))
+                    .participants(rows.participants[i])
+                    .maxParticipants(rows.maxParticipants[i])
+                    .fillRate(ratio(rows.participants[i], rows.maxParticipants[i]))
+                    .build());
+        }
+        List<WeeklyHoursDTO> hoursPerWeek = new ArrayList<>(weeks);
+        for (int week = 0; week < weeks; week++) {
+            hoursPerWeek.add(new WeeklyHoursDTO(firstMonday.plusWeeks(week), totals.weekMinutes[week] / 60.0));
+        }
+
+        return OrganizerAnalyticsDTO.builder()
+                .organizerId(organizerId)
+                .from(from)
+                .to(to)
+                .eventCount(rows.size)
+                .participants(totals.participants)
+                .capacity(totals.capacity)
+                .fillRate(ratio(totals.participants, totals.capacity))
+                .totalHours(totals.minutes / 60.0)
+                .events(events)
+                .hoursPerWeek(hoursPerWeek)
+                .build();
+    }
+
+    private List<ClassroomUtilizationDTO> buildClassroomReport(LocalDate from, LocalDate to) {
+        List<Classroom> classrooms = classroomRepository.findAll();
+        Map<Integer, Integer> index = new HashMap<>();
+        int[] capacities = new int[classrooms.size()];
+        for (int room = 0; room < classrooms.size(); room++) {
+            index.put(classrooms.get(room).getId(), room);
+            Integer capacity = classrooms.get(room).getCapacity();
+            capacities[room] = capacity == null ? 0 : capacity;
+        }
+
+        EventRows rows = new EventRows();
+        jdbcTemplate.query("SELECT event_id, classroom_id, participant_count, max_participants, " +
+                        "start_datetime, end_datetime FROM event_view WHERE start_datetime < ? AND end_datetime > ?",
+                rs -> {
+                    rows.add(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4),
+                            rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime(), null);
+                },
+                Timestamp.valueOf(to.atStartOfDay()), Timestamp.valueOf(from.atStartOfDay()));
+
+        long windowStart = epochMinute(from.atStartOfDay());
+        long windowEnd = epochMinute(to.atStartOfDay());
+        ClassroomTotals totals = IntStream.range(0, rows.size).parallel().collect(
+                () -> new ClassroomTotals(windowStart, windowEnd, index, capacities),
+                (acc, i) -> acc.add(rows, i),
+                ClassroomTotals::merge);
+
+        double openHours = (double) ChronoUnit.DAYS.between(from, to) * openHoursPerDay;
+        List<ClassroomUtilizationDTO> report = new ArrayList<>(classrooms.size());
+        for (int room = 0; room < classrooms.size(); room++) {
+            double bookedHours = totals.minutes[room] / 60.0;
+            report.add(ClassroomUtilizationDTO.builder()
+                    .classroomId(classrooms.get(room).getId())
+                    .classroomName(classrooms.get(room).getClassroomName())
+                    .capacity(classrooms.get(room).getCapacity())
+                    .eventCount(totals.events[room])
+                    .bookedHours(bookedHours)
+                    .utilization(openHours > 0 ? bookedHours / openHours : 0)
+                    .seatFillRate(totals.events[room] > 0 ? totals.seatFill[room] / totals.events[room] : 0)
+                    .build());
+        }
+        report.sort(Comparator.comparingDouble(ClassroomUtilizationDTO::getUtilization).reversed());
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Key key, Supplier<T> builder) {
+        long now = System.nanoTime();
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        Cached entry = cache.compute(key, (k, current) ->
+                current != null && current.expiresAtNanos() - now > 0 && !current.report().isCompletedExceptionally()
+                        ? current
+                        : new Cached(now + cacheTtlNanos, created));
+        if (entry.report() == created) {
+            evictIfFull(now);
+            try {
+                created.complete(builder.get());
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                cache.remove(key, entry);
+            }
+        }
+        try {
+            return (T) entry.report().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evictIfFull(long now) {
+        if (cache.size() <= maxCachedReports) {
+            return;
+        }
+        cache.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+        var keys = cache.keySet().iterator();
+        while (cache.size() > maxCachedReports && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static void validateWindow(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days <= 0 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Report window must be between 1 and " + MAX_WINDOW_DAYS + " days");
+        }
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole > 0 ? (double) part / whole : 0;
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime fromEpochMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
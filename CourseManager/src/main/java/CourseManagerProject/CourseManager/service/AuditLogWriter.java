@@ -0,0 +1,146 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.AuditEntry;
+import CourseManagerProject.CourseManager.dto.AuditStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wątek tła zapisujący wpisy dziennika audytu do tabeli {@code audit_log}.
+ * <p>Opróżnia bufor {@link AuditService} paczkami (co najwyżej {@code audit.batch-size} wpisów)
+ * i zapisuje je jednym wsadowym {@code INSERT}. Gdy bufor jest pusty, czeka
+ * {@code audit.flush-interval-ms}. Przy zatrzymaniu aplikacji zapisuje pozostałe wpisy.</p>
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_log (created_at, actor, action, entity_type, entity_id, details) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final AuditService auditService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lagMillis;
+    private volatile int lastBatchSize;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Konstruktor wstrzykujący bufor audytu i parametry zapisu.
+     *
+     * @param auditService    Serwis z buforem wpisów.
+     * @param jdbcTemplate    Szablon JDBC do zapisu wsadowego.
+     * @param batchSize       Maksymalna liczba wpisów w jednym zapisie.
+     * @param flushIntervalMs Czas oczekiwania przy pustym buforze (ms).
+     */
+    public AuditLogWriter(AuditService auditService,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${audit.batch-size:256}") int batchSize,
+                          @Value("${audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.auditService = auditService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (flushBatch(batch) == 0) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        // Zapis wpisów pozostałych w buforze przy zamykaniu aplikacji
+        while (flushBatch(batch) > 0) {
+            // kontynuujemy do opróżnienia bufora
+        }
+    }
+
+    private int flushBatch(List<AuditEntry> batch) {
+        batch.clear();
+        int count = auditService.drainTo(batch::add, batchSize);
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setTimestamp(1, Timestamp.from(entry.createdAt()));
+                ps.setString(2, entry.actor());
+                ps.setString(3, entry.action());
+                ps.setString(4, entry.entityType());
+                if (entry.entityId() != null) {
+                    ps.setInt(5, entry.entityId());
+                } else {
+                    ps.setNull(5, Types.INTEGER);
+                }
+                ps.setString(6, entry.details());
+            });
+            written.addAndGet(count);
+            lagMillis = System.currentTimeMillis() - batch.get(0).createdAt().toEpochMilli();
+            lastBatchSize = count;
+        } catch (RuntimeException e) {
+            failed.addAndGet(count);
+            log.error("Nie udało się zapisać {} wpisów dziennika audytu", count, e);
+        }
+        return count;
+    }
+
+    /**
+     * Zwraca metryki dziennika audytu.
+     *
+     * @return Obiekt {@link AuditStatsDTO}.
+     */
+    public AuditStatsDTO getStats() {
+        return AuditStatsDTO.builder()
+                .overflowPolicy(auditService.getOverflowPolicy().name())
+                .bufferCapacity(auditService.getBufferCapacity())
+                .published(auditService.getPublished())
+                .dropped(auditService.getDropped())
+                .written(written.get())
+                .failed(failed.get())
+                .pending(auditService.getPending())
+                .lagMillis(lagMillis)
+                .lastBatchSize(lastBatchSize)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.config.TokenAuthenticationFilter;
+import CourseManagerProject.CourseManager.dto.AuditEntry;
+import CourseManagerProject.CourseManager.util.AfterCommit;
+import CourseManagerProject.CourseManager.util.RingBuffer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Serwis publikujący wpisy dziennika audytu.
+ * <p>Serwisy domenowe wywołują {@link #record} po każdej zmianie danych. Wpis trafia do
+ * ograniczonego bufora cyklicznego bez blokad ({@link RingBuffer}), skąd paczkami zapisuje go
+ * {@link AuditLogWriter}. Publikacja nigdy nie czeka - przy pełnym buforze wpis jest odrzucany
+ * zgodnie z {@link OverflowPolicy}. Jeśli trwa transakcja, wpis publikowany jest dopiero po jej
+ * zatwierdzeniu, więc wycofane zmiany nie trafiają do dziennika.</p>
+ */
+@Service
+public class AuditService {
+
+    /**
+     * Zachowanie przy pełnym buforze.
+     */
+    public enum OverflowPolicy {
+        /** Odrzuca nowy wpis. */
+        DROP_NEWEST,
+        /** Usuwa najstarszy oczekujący wpis, aby zrobić miejsce na nowy. */
+        DROP_OLDEST
+    }
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    private final RingBuffer<AuditEntry> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Konstruktor tworzący bufor audytu.
+     *
+     * @param bufferSize     Pojemność bufora (zaokrąglana w górę do potęgi dwójki).
+     * @param overflowPolicy Zachowanie przy pełnym buforze.
+     */
+    public AuditService(@Value("${audit.buffer-size:8192}") int bufferSize,
+                        @Value("${audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy) {
+        this.buffer = new RingBuffer<>(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Rejestruje zmianę danych w dzienniku audytu.
+     *
+     * @param action     Rodzaj operacji ({@link #CREATE}, {@link #UPDATE}, {@link #DELETE}).
+     * @param entityType Typ zmienionej encji (np. "Event").
+     * @param entityId   ID zmienionej encji.
+     * @param details    Krótki opis zmiany.
+     */
+    public void record(String action, String entityType, Integer entityId, String details) {
+        AuditEntry entry = new AuditEntry(Instant.now(), currentActor(), action, entityType, entityId, details);
+        AfterCommit.run(() -> publish(entry));
+    }
+
+    private void publish(AuditEntry entry) {
+        if (!buffer.offer(entry)) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST || !dropOldestAndOffer(entry)) {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        published.incrementAndGet();
+    }
+
+    private boolean dropOldestAndOffer(AuditEntry entry) {
+        if (buffer.poll() != null) {
+            dropped.incrementAndGet();
+        }
+        return buffer.offer(entry);
+    }
+
+    /**
+     * Przekazuje oczekujące wpisy do zapisu.
+     *
+     * @param sink     Odbiorca wpisów.
+     * @param maxItems Maksymalna liczba wpisów.
+     * @return Liczba przekazanych wpisów.
+     */
+    int drainTo(Consumer<AuditEntry> sink, int maxItems) {
+        return buffer.drainTo(sink, maxItems);
+    }
+
+    OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    int getBufferCapacity() {
+        return buffer.capacity();
+    }
+
+    int getPending() {
+        return buffer.size();
+    }
+
+    long getPublished() {
+        return published.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Ustala autora zmiany na podstawie bieżącego żądania HTTP: użytkownik z tokenu
+     * ({@code user:<id>}), a bez tokenu - adres IP klienta.
+     */
+    private static String currentActor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return TokenAuthenticationFilter.claims(request)
+                    .map(claims -> "user:" + claims.sub())
+                    .orElseGet(request::getRemoteAddr);
+        }
+        return "system";
+    }
+}
@@ -0,0 +1,67 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.LoginRequest;
+import CourseManagerProject.CourseManager.dto.LoginResponseDTO;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.UserRepository;
+import CourseManagerProject.CourseManager.util.TokenCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serwis logowania użytkowników.
+ * <p>Weryfikacja hasła wykonywana jest w puli {@link PasswordHashingService}, więc wątek
+ * żądania zajęty jest tylko na czas pobrania użytkownika z bazy.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenService tokenService;
+
+    /**
+     * Loguje użytkownika na podstawie adresu email i hasła.
+     *
+     * @param request Dane logowania.
+     * @return Future z danymi zalogowanego użytkownika i tokenem sesji; kończy się wyjątkiem
+     *         {@link IllegalArgumentException}, jeśli dane logowania są niepoprawne.
+     */
+    public CompletableFuture<LoginResponseDTO> login(LoginRequest request) {
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        // Dla nieistniejącego konta porównanie z hashem zastępczym trwa tyle samo co dla istniejącego
+        return passwordHashingService.matches(request.getPassword(), user == null ? null : user.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new IllegalArgumentException("Invalid email or password");
+                    }
+                    return mapToDTO(user);
+                });
+    }
+
+    /**
+     * Unieważnia token sesji (wylogowanie).
+     *
+     * @param claims Dane tokenu z bieżącego żądania.
+     */
+    public void logout(TokenCodec.Claims claims) {
+        tokenService.revoke(claims);
+    }
+
+    private LoginResponseDTO mapToDTO(User user) {
+        TokenCodec.Claims claims = tokenService.issue(user);
+        return LoginResponseDTO.builder()
+                .userId(user.getId())
+                .firstname(user.getFirstname())
+                .surname(user.getSurname())
+                .email(user.getEmail())
+                .isOrganizer(user.getIsOrganizer())
+                .token(tokenService.encode(claims))
+                .expiresAt(Instant.ofEpochSecond(claims.exp()))
+                .build();
+    }
+}
@@ -0,0 +1,314 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.util.AfterCommit;
+import CourseManagerProject.CourseManager.util.InvalidationPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Unieważnianie pamięci podręcznych wszystkich węzłów aplikacji przez PostgreSQL {@code LISTEN/NOTIFY}.
+ *
+ * <p>Pamięci podręczne rejestrują się pod przestrzenią nazw ({@link #register}). Zmiana danych
+ * wywołuje {@link #invalidateAfterCommit} - po zatwierdzeniu transakcji klucze unieważniane są
+ * lokalnie i trafiają do kolejki, którą wątek tła co {@code cache.invalidation.flush-interval-ms}
+ * wysyła zbiorczo jako {@code pg_notify} (klucze powtórzone w tym czasie wysyłane są raz). Ten sam
+ * wątek na osobnym połączeniu (poza pulą) nasłuchuje powiadomień pozostałych węzłów i unieważnia
+ * wskazane klucze. Po zerwaniu połączenia powiadomienia mogły przepaść, więc po ponownym połączeniu
+ * wszystkie pamięci podręczne są czyszczone w całości.</p>
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    /**
+     * Pamięć podręczna unieważniana przez magistralę.
+     */
+    public interface Listener {
+
+        /**
+         * Unieważnia podane klucze.
+         *
+         * @param keys Klucze w przestrzeni nazw pamięci podręcznej.
+         */
+        void invalidate(Collection<String> keys);
+
+        /**
+         * Unieważnia wszystkie wpisy.
+         */
+        void invalidateAll();
+    }
+
+    private static final String ALL = "*";
+    private static final char SEPARATOR = ':';
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final String channel;
+    private final long flushIntervalMs;
+    private final long reconnectDelayMs;
+    private final int maxPending;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Listener> listeners = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private volatile boolean overflowed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Konstruktor wstrzykujący parametry połączenia i magistrali.
+     *
+     * @param dataSourceProperties Parametry połączenia z bazą (osobne połączenie nasłuchujące).
+     * @param enabled              Czy rozsyłać i odbierać powiadomienia (wyłączone: tylko unieważnianie lokalne).
+     * @param channel              Nazwa kanału {@code LISTEN/NOTIFY}.
+     * @param flushIntervalMs      Odstęp między wysyłkami kolejki i sprawdzeniami powiadomień (ms).
+     * @param reconnectDelayMs     Odstęp między próbami ponownego połączenia (ms).
+     * @param maxPending           Limit kluczy w kolejce; po jego przekroczeniu wysyłane jest unieważnienie wszystkiego.
+     * @throws IllegalArgumentException jeśli nazwa kanału nie jest prostym identyfikatorem SQL.
+     */
+    public CacheInvalidationBus(DataSourceProperties dataSourceProperties,
+                                @Value("${cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${cache.invalidation.channel:cache_invalidation}") String channel,
+                                @Value("${cache.invalidation.flush-interval-ms:20}") long flushIntervalMs,
+                                @Value("${cache.invalidation.reconnect-delay-ms:1000}") long reconnectDelayMs,
+                                @Value("${cache.invalidation.max-pending:10000}") int maxPending) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.reconnectDelayMs = Math.max(1, reconnectDelayMs);
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Rejestruje pamięć podręczną pod przestrzenią nazw.
+     *
+     * @param namespace Przestrzeń nazw (bez znaku {@code :}).
+     * @param listener  Pamięć podręczna.
+     */
+    public void register(String namespace, Listener listener) {
+        listeners.put(namespace, listener);
+    }
+
+    /**
+     * Po zatwierdzeniu bieżącej transakcji (lub od razu, jeśli jej nie ma) unieważnia klucze
+     * lokalnie i rozsyła je do pozostałych węzłów.
+     *
+     * @param namespace Przestrzeń nazw pamięci podręcznej.
+     * @param keys      Klucze do unieważnienia.
+     */
+    public void invalidateAfterCommit(String namespace, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> snapshot = List.copyOf(keys);
+        AfterCommit.run(() -> {
+            Listener listener = listeners.get(namespace);
+            if (listener != null) {
+                listener.invalidate(snapshot);
+            }
+            snapshot.forEach(key -> enqueue(namespace + SEPARATOR + key));
+        });
+    }
+
+    /**
+     * Po zatwierdzeniu bieżącej transakcji unieważnia całą pamięć podręczną lokalnie
+     * i na pozostałych węzłach.
+     *
+     * @param namespace Przestrzeń nazw pamięci podręcznej.
+     */
+    public void invalidateAllAfterCommit(String namespace) {
+        AfterCommit.run(() -> {
+            Listener listener = listeners.get(namespace);
+            if (listener != null) {
+                listener.invalidateAll();
+            }
+            enqueue(namespace + SEPARATOR + ALL);
+        });
+    }
+
+    private void enqueue(String key) {
+        if (!enabled) {
+            return;
+        }
+        if (pendingSize.get() >= maxPending) {
+            overflowed = true;
+            return;
+        }
+        pending.add(key);
+        pendingSize.incrementAndGet();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("cache-invalidation").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnect) {
+                    log.info("Ponownie połączono z kanałem {} - czyszczenie wszystkich pamięci podręcznych", channel);
+                    listeners.values().forEach(Listener::invalidateAll);
+                }
+                reconnect = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) flushIntervalMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            try {
+                                receive(notification.getParameter());
+                            } catch (RuntimeException e) {
+                                log.warn("Nie przetworzono powiadomienia kanału {}: {}", channel, e.getMessage());
+                            }
+                        }
+                    }
+                    flush(connection);
+                }
+                // Przy zatrzymaniu wysyłamy to, co zostało w kolejce
+                flush(connection);
+            } catch (SQLException e) {
+                log.warn("Błąd połączenia kanału unieważnień {}: {}", channel, e.getMessage());
+                sleep(reconnectDelayMs);
+            }
+        }
+    }
+
+    /**
+     * Wysyła klucze z kolejki (bez powtórzeń) jako jedno lub kilka powiadomień; po przepełnieniu
+     * kolejki wysyła unieważnienie wszystkich pamięci podręcznych.
+     */
+    private void flush(Connection connection) throws SQLException {
+        if (pendingSize.get() == 0 && !overflowed) {
+            return;
+        }
+        boolean all = overflowed;
+        overflowed = false;
+        Set<String> keys = new LinkedHashSet<>();
+        String key;
+        while ((key = pending.poll()) != null) {
+            pendingSize.decrementAndGet();
+            keys.add(key);
+        }
+        if (all) {
+            keys = Set.of(ALL);
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : InvalidationPayload.encode(nodeId, keys, MAX_PAYLOAD_BYTES)) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            // Klucze wracają do kolejki i zostaną wysłane po ponownym połączeniu
+            if (all) {
+                overflowed = true;
+            } else {
+                keys.forEach(this::enqueue);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Unieważnia klucze z powiadomienia innego węzła (własne powiadomienia są pomijane).
+     */
+    private void receive(String payload) {
+        InvalidationPayload.decode(payload)
+                .filter(message -> !nodeId.equals(message.nodeId()))
+                .ifPresent(message -> {
+                    Map<String, List<String>> byNamespace = new HashMap<>();
+                    for (String key : message.keys()) {
+                        if (ALL.equals(key)) {
+                            listeners.values().forEach(Listener::invalidateAll);
+                            return;
+                        }
+                        int separator = key.indexOf(SEPARATOR);
+                        if (separator > 0) {
+                            byNamespace.computeIfAbsent(key.substring(0, separator), namespace -> new ArrayList<>())
+                                    .add(key.substring(separator + 1));
+                        }
+                    }
+                    byNamespace.forEach(this::apply);
+                });
+    }
+
+    private void apply(String namespace, List<String> keys) {
+        Listener listener = listeners.get(namespace);
+        if (listener == null) {
+            return;
+        }
+        if (keys.contains(ALL)) {
+            listener.invalidateAll();
+        } else {
+            listener.invalidate(keys);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.ClassroomHeatmapDTO;
+import CourseManagerProject.CourseManager.model.ClassroomOccupancy;
+import CourseManagerProject.CourseManager.model.Event;
+import CourseManagerProject.CourseManager.repository.ClassroomRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serwis utrzymujący agregat zajętości sal ({@link ClassroomOccupancy}) i udostępniający mapę
+ * zajętości dzień tygodnia × godzina.
+ * <p>Każda zmiana wydarzenia zamieniana jest na różnicę minut w godzinach zegarowych, którą
+ * zapisuje jedno wsadowe {@code INSERT ... ON CONFLICT} w transakcji zmiany. Odczyt mapy
+ * sumuje co najwyżej 24 wiersze na dzień przedziału, niezależnie od liczby wydarzeń w sali.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ClassroomOccupancyService {
+
+    private static final int MAX_WINDOW_DAYS = 366;
+
+    /**
+     * Rezerwacja sali przez wydarzenie.
+     *
+     * @param classroomId ID sali.
+     * @param start       Początek wydarzenia.
+     * @param end         Koniec wydarzenia.
+     */
+    public record Booking(Integer classroomId, LocalDateTime start, LocalDateTime end) {
+
+        /**
+         * Tworzy rezerwację na podstawie bieżącego stanu wydarzenia.
+         *
+         * @param event Encja {@link Event}.
+         * @return Rezerwacja sali przez wydarzenie.
+         */
+        public static Booking of(Event event) {
+            return new Booking(event.getClassroom().getId(), event.getStartDatetime(), event.getEndDatetime());
+        }
+    }
+
+    private record Slot(int classroomId, LocalDate day, int hour) implements Comparable<Slot> {
+        @Override
+        public int compareTo(Slot other) {
+            int result = Integer.compare(classroomId, other.classroomId);
+            if (result == 0) {
+                result = day.compareTo(other.day);
+            }
+            return result != 0 ? result : Integer.compare(hour, other.hour);
+        }
+    }
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO classroom_occupancy (classroom_id, day, hour_of_day, minutes) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (classroom_id, day, hour_of_day) " +
+            "DO UPDATE SET minutes = classroom_occupancy.minutes + EXCLUDED.minutes";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClassroomRepository classroomRepository;
+
+    /**
+     * Zastępuje rezerwację {@code removed} rezerwacją {@code added} w agregacie zajętości.
+     * <p>Zapisywane są tylko godziny, w których zajętość faktycznie się zmienia; wiersze są
+     * blokowane w stałej kolejności, więc równoległe zmiany nie zakleszczają się.</p>
+     *
+     * @param removed Poprzednia rezerwacja lub {@code null} dla nowego wydarzenia.
+     * @param added   Nowa rezerwacja lub {@code null} dla usuwanego wydarzenia.
+     */
+    @Transactional
+    public void apply(Booking removed, Booking added) {
+        Map<Slot, Integer> delta = new TreeMap<>();
+        if (removed != null) {
+            accumulate(delta, removed, -1);
+        }
+        if (added != null) {
+            accumulate(delta, added, 1);
+        }
+        delta.values().removeIf(minutes -> minutes == 0);
+        if (delta.isEmpty()) {
+            return;
+        }
+        write(delta);
+        if (removed != null) {
+            jdbcTemplate.update("DELETE FROM classroom_occupancy WHERE classroom_id = ? AND minutes <= 0",
+                    removed.classroomId());
+        }
+    }
+
+    /**
+     * Odejmuje z agregatu wydarzenia organizatora, które zostaną usunięte razem z nim.
+     * <p>Należy wywołać przed usunięciem użytkownika.</p>
+     *
+     * @param organizerId ID organizatora.
+     */
+    @Transactional
+    public void organizerRemoving(Integer organizerId) {
+        List<Booking> bookings = jdbcTemplate.query(
+                "SELECT classroom_id, start_datetime, end_datetime FROM events WHERE organizer_id = ? AND deleted_at IS NULL",
+                (rs, rowNum) -> new Booking(rs.getInt(1),
+                        rs.getTimestamp(2).toLocalDateTime(), rs.getTimestamp(3).toLocalDateTime()),
+                organizerId);
+        Map<Slot, Integer> delta = new TreeMap<>();
+        bookings.forEach(booking -> accumulate(delta, booking, -1));
+        if (!delta.isEmpty()) {
+            write(delta);
+            jdbcTemplate.update("DELETE FROM classroom_occupancy WHERE minutes <= 0");
+        }
+    }
+
+    /**
+     * Usuwa zajętość sali usuniętej razem z jej wydarzeniami.
+     *
+     * @param classroomId ID sali.
+     */
+    @Transactional
+    public void classroomRemoved(Integer classroomId) {
+        jdbcTemplate.update("DELETE FROM classroom_occupancy WHERE classroom_id = ?", classroomId);
+    }
+
+    /**
+     * Odtwarza cały agregat z tabeli wydarzeń (np. po zapisie danych z pominięciem serwisów).
+     */
+    @Transactional
+    public void rebuild() {
+        Map<Slot, Integer> occupancy = new TreeMap<>();
+        jdbcTemplate.query("SELECT classroom_id, start_datetime, end_datetime FROM events WHERE deleted_at IS NULL",
+                rs -> {
+                    accumulate(occupancy, new Booking(rs.getInt(1),
+                            rs.getTimestamp(2).toLocalDateTime(), rs.getTimestamp(3).toLocalDateTime()), 1);
+                });
+        jdbcTemplate.update("DELETE FROM classroom_occupancy");
+        if (!occupancy.isEmpty()) {
+            write(occupancy);
+        }
+    }
+
+    /**
+     * Zwraca mapę zajętości sali: sumę zajętych minut w każdej godzinie każdego dnia tygodnia.
+     *
+     * @param classroomId ID sali.
+     * @param from        Początek przedziału (włącznie).
+     * @param to          Koniec przedziału (wyłącznie).
+     * @return Obiekt {@link ClassroomHeatmapDTO}.
+     * @throws IllegalArgumentException jeśli sala nie istnieje lub przedział jest pusty albo dłuższy niż rok.
+     */
+    public ClassroomHeatmapDTO getHeatmap(Integer classroomId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days <= 0 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Heatmap window must be between 1 and " + MAX_WINDOW_DAYS + " days");
+        }
+        if (!classroomRepository.existsById(classroomId)) {
+            throw new IllegalArgumentException("Classroom not found");
+        }
+
+        long[][] minutes = new long[7][24];
+        jdbcTemplate.query("SELECT EXTRACT(ISODOW FROM day)::int, hour_of_day, SUM(minutes) FROM classroom_occupancy " +
+                        "WHERE classroom_id = ? AND day >= ? AND day < ? GROUP BY 1, 2",
+                rs -> {
+                    minutes[rs.getInt(1) - 1][rs.getInt(2)] = rs.getLong(3);
+                },
+                classroomId, Date.valueOf(from), Date.valueOf(to));
+
+        // Liczba wystąpień każdego dnia tygodnia w przedziale
+        int[] weekdays = new int[7];
+        for (int day = 0; day < days; day++) {
+            weekdays[from.plusDays(day).getDayOfWeek().getValue() - 1]++;
+        }
+        double[][] occupancy = new double[7][24];
+        for (int weekday = 0; weekday < 7; weekday++) {
+            for (int hour = 0; hour < 24; hour++) {
+                occupancy[weekday][hour] = weekdays[weekday] > 0 ? minutes[weekday][hour] / (weekdays[weekday] * 60.0) : 0;
+            }
+        }
+
+        return ClassroomHeatmapDTO.builder()
+                .classroomId(classroomId)
+                .from(from)
+                .to(to)
+                .minutes(minutes)
+                .occupancy(occupancy)
+                .build();
+    }
+
+    private void write(Map<Slot, Integer> delta) {
+        List<Object[]> rows = new ArrayList<>(delta.size());
+        delta.forEach((slot, minutes) -> rows.add(new Object[]{
+                slot.classroomId(), Date.valueOf(slot.day()), slot.hour(), minutes}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    /**
+     * Rozkłada rezerwację na godziny zegarowe i dodaje zajęte minuty (ze znakiem) do mapy.
+     */
+    private static void accumulate(Map<Slot, Integer> target, Booking booking, int sign) {
+        if (booking.start() == null || booking.end() == null) {
+            return;
+        }
+        LocalDateTime cursor = booking.start();
+        while (cursor.isBefore(booking.end())) {
+            LocalDateTime hourEnd = cursor.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            LocalDateTime segmentEnd = hourEnd.isBefore(booking.end()) ? hourEnd : booking.end();
+            int minutes = (int) ChronoUnit.MINUTES.between(cursor, segmentEnd);
+            if (minutes > 0) {
+                target.merge(new Slot(booking.classroomId(), cursor.toLocalDate(), cursor.getHour()),
+                        sign * minutes, Integer::sum);
+            }
+            cursor = segmentEnd;
+        }
+    }
+}
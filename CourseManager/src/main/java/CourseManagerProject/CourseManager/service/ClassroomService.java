@@ -3,20 +3,109 @@ package CourseManagerProject.CourseManager.service;
 import CourseManagerProject.CourseManager.dto.ClassroomDTO;
 import CourseManagerProject.CourseManager.model.Classroom;
 import CourseManagerProject.CourseManager.repository.ClassroomRepository;
-import lombok.RequiredArgsConstructor;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.util.MergePatch;
+import CourseManagerProject.CourseManager.util.NearCache;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Serwis odpowiedzialny za logikę biznesową związaną z salami (encja {@link Classroom}).
  * <p>Oferuje operacje tworzenia, aktualizacji, pobierania oraz usuwania sal.</p>
+ * <p>Odczyty dla API ({@link #findClassroom}, {@link #getAllClassrooms}) obsługuje lokalna pamięć
+ * podręczna kopii sal, unieważniana po każdej zmianie sali na wszystkich węzłach
+ * ({@link CacheInvalidationBus}).</p>
  */
 @Service
-@RequiredArgsConstructor
 public class ClassroomService {
 
+    /**
+     * Przestrzeń nazw sal w {@link CacheInvalidationBus}.
+     */
+    public static final String CACHE = "classroom";
+
+    /**
+     * Pola sali, które można zmieniać ({@link #patchClassroom}); {@code version} to wersja odczytana przez klienta.
+     */
+    public static final Set<String> PATCH_FIELDS = Set.of("capacity", "location", "info", "classroomName", "version");
+
+    private static final String ALL_KEY = "all";
+
     private final ClassroomRepository classroomRepository;
+    private final EventRepository eventRepository;
+    private final EventViewService eventViewService;
+    private final AuditService auditService;
+    private final IcsService icsService;
+    private final RecommendationService recommendationService;
+    private final TagStatsService tagStatsService;
+    private final ClassroomOccupancyService classroomOccupancyService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final OptimisticLocking optimisticLocking;
+    private final NearCache<Integer, Classroom> classrooms;
+    private final NearCache<String, List<Classroom>> classroomLists;
+
+    /**
+     * Konstruktor wstrzykujący zależności i parametry pamięci podręcznej.
+     *
+     * @param classroomRepository       Repozytorium sal.
+     * @param eventRepository           Repozytorium wydarzeń (miękkie usunięcie wydarzeń sali).
+     * @param eventViewService          Model odczytu wydarzeń.
+     * @param auditService              Dziennik audytu.
+     * @param icsService                Kanały ICS.
+     * @param recommendationService     Rekomendacje wydarzeń.
+     * @param tagStatsService           Statystyki tagów.
+     * @param classroomOccupancyService Agregat zajętości sal.
+     * @param cacheInvalidationBus      Unieważnianie pamięci podręcznych na wszystkich węzłach.
+     * @param optimisticLocking         Powtarzanie usunięcia po konflikcie wersji.
+     * @param cacheMaxSize              Maksymalna liczba sal w pamięci podręcznej.
+     * @param cacheTtl                  Czas życia wpisu pamięci podręcznej.
+     */
+    public ClassroomService(ClassroomRepository classroomRepository,
+                            EventRepository eventRepository,
+                            EventViewService eventViewService,
+                            AuditService auditService,
+                            IcsService icsService,
+                            RecommendationService recommendationService,
+                            TagStatsService tagStatsService,
+                            ClassroomOccupancyService classroomOccupancyService,
+                            CacheInvalidationBus cacheInvalidationBus,
+                            OptimisticLocking optimisticLocking,
+                            @Value("${cache.classrooms.max-size:10000}") int cacheMaxSize,
+                            @Value("${cache.classrooms.ttl:PT10M}") Duration cacheTtl) {
+        this.classroomRepository = classroomRepository;
+        this.eventRepository = eventRepository;
+        this.eventViewService = eventViewService;
+        this.auditService = auditService;
+        this.icsService = icsService;
+        this.recommendationService = recommendationService;
+        this.tagStatsService = tagStatsService;
+        this.classroomOccupancyService = classroomOccupancyService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.optimisticLocking = optimisticLocking;
+        this.classrooms = new NearCache<>(cacheMaxSize, cacheTtl);
+        this.classroomLists = new NearCache<>(1, cacheTtl);
+        cacheInvalidationBus.register(CACHE, new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(Collection<String> keys) {
+                keys.forEach(key -> classrooms.invalidate(Integer.valueOf(key)));
+                classroomLists.invalidateAll();
+            }
+
+            @Override
+            public void invalidateAll() {
+                classrooms.invalidateAll();
+                classroomLists.invalidateAll();
+            }
+        });
+    }
 
     /**
      * Pobiera encję {@link Classroom} z bazy danych na podstawie jej ID.
@@ -30,6 +119,23 @@ public class ClassroomService {
                 .orElseThrow(() -> new IllegalArgumentException("Classroom not found"));
     }
 
+    /**
+     * Pobiera salę do odczytu przez API - z pamięci podręcznej (kopia odłączona od kontekstu utrwalania).
+     *
+     * @param id Unikalny identyfikator sali.
+     * @return Kopia encji {@link Classroom}.
+     * @throws IllegalArgumentException jeśli sala o podanym ID nie istnieje.
+     */
+    public Classroom findClassroom(Integer id) {
+        Classroom classroom = classrooms.get(id, key -> classroomRepository.findById(key)
+                .map(ClassroomService::copyOf)
+                .orElse(null));
+        if (classroom == null) {
+            throw new IllegalArgumentException("Classroom not found");
+        }
+        return classroom;
+    }
+
     /**
      * Tworzy nową salę na podstawie obiektu DTO i zapisuje ją w bazie danych.
      *
@@ -44,43 +150,148 @@ public class ClassroomService {
                 .classroomName(dto.getClassroomName())
                 .build();
 
-        return classroomRepository.save(classroom);
+        Classroom saved = classroomRepository.save(classroom);
+        cacheInvalidationBus.invalidateAfterCommit(CACHE, List.of(saved.getId().toString()));
+        auditService.record(AuditService.CREATE, "Classroom", saved.getId(), saved.getClassroomName());
+        return saved;
     }
 
     /**
-     * Aktualizuje istniejącą salę na podstawie obiektu DTO.
+     * Aktualizuje istniejącą salę na podstawie obiektu DTO (wszystkie pola).
      *
      * @param id  ID istniejącej sali.
      * @param dto DTO {@link ClassroomDTO} z nowymi danymi.
      * @return Zaktualizowana encja {@link Classroom}.
      * @throws IllegalArgumentException jeśli sala o podanym ID nie istnieje.
+     * @throws org.springframework.dao.OptimisticLockingFailureException jeśli sala zmieniła się od odczytu
+     *                                  (wersja w DTO) lub równolegle z tą edycją.
      */
+    @Transactional
     public Classroom updateClassroom(Integer id, ClassroomDTO dto) {
+        return patchClassroom(id, MergePatch.of(dto, PATCH_FIELDS));
+    }
+
+    /**
+     * Zmienia wybrane pola sali (JSON Merge Patch). Zapisywane są tylko zmienione kolumny,
+     * a model odczytu, kanały ICS i rekomendacje przeliczane są tylko po zmianie pól, których używają.
+     *
+     * @param id    ID istniejącej sali.
+     * @param patch Zmienione pola ({@link #PATCH_FIELDS}).
+     * @return Zaktualizowana encja {@link Classroom}.
+     * @throws IllegalArgumentException jeśli sala nie istnieje, pole jest nieznane lub ma niepoprawną wartość.
+     * @throws org.springframework.dao.OptimisticLockingFailureException jeśli sala zmieniła się od odczytu
+     *                                  (pole {@code version}) lub równolegle z tą edycją.
+     */
+    @Transactional
+    public Classroom patchClassroom(Integer id, MergePatch<ClassroomDTO> patch) {
+        patch.checkFields(PATCH_FIELDS);
         Classroom existing = getClassroomById(id);
-        existing.setCapacity(dto.getCapacity());
-        existing.setLocation(dto.getLocation());
-        existing.setInfo(dto.getInfo());
-        existing.setClassroomName(dto.getClassroomName());
-        return classroomRepository.save(existing);
+        OptimisticLocking.checkVersion(Classroom.class, id, existing.getVersion(), patch.values().getVersion());
+
+        boolean capacityChanged = false;
+        if (patch.has("capacity")) {
+            Integer capacity = patch.required("capacity", ClassroomDTO::getCapacity);
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be at least 1");
+            }
+            capacityChanged = !capacity.equals(existing.getCapacity());
+            existing.setCapacity(capacity);
+        }
+        boolean locationChanged = false;
+        if (patch.has("location")) {
+            String location = requiredText(patch.required("location", ClassroomDTO::getLocation), "Location");
+            locationChanged = !location.equals(existing.getLocation());
+            existing.setLocation(location);
+        }
+        boolean infoChanged = false;
+        if (patch.has("info")) {
+            infoChanged = !Objects.equals(patch.values().getInfo(), existing.getInfo());
+            existing.setInfo(patch.values().getInfo());
+        }
+        boolean nameChanged = false;
+        if (patch.has("classroomName")) {
+            String name = requiredText(patch.required("classroomName", ClassroomDTO::getClassroomName), "Classroom name");
+            nameChanged = !name.equals(existing.getClassroomName());
+            existing.setClassroomName(name);
+        }
+        if (!capacityChanged && !locationChanged && !infoChanged && !nameChanged) {
+            return existing;
+        }
+
+        Classroom saved = classroomRepository.save(existing);
+        cacheInvalidationBus.invalidateAfterCommit(CACHE, List.of(id.toString()));
+        if (nameChanged) {
+            eventViewService.classroomChanged(saved);
+        }
+        if (nameChanged || locationChanged) {
+            icsService.invalidateAllAfterCommit();
+        }
+        if (capacityChanged) {
+            recommendationService.rebuildAll();
+        }
+        auditService.record(AuditService.UPDATE, "Classroom", id, saved.getClassroomName());
+        return saved;
+    }
+
+    private static String requiredText(String value, String label) {
+        if (value.isBlank() || value.length() > 100) {
+            throw new IllegalArgumentException(label + " must be 1-100 characters");
+        }
+        return value;
     }
 
     /**
-     * Usuwa salę o podanym ID z bazy danych.
+     * Usuwa salę o podanym ID razem z jej wydarzeniami (miękkie usunięcie).
+     * <p>Sala i wydarzenia oznaczane są jako usunięte dwoma zapytaniami niezależnie od liczby
+     * wydarzeń; wiersze usuwa z bazy {@link SoftDeleteCompactor}. Sala oznaczana jest tylko w wersji
+     * odczytanej na początku próby; po konflikcie wersji usunięcie jest powtarzane.</p>
      *
      * @param id ID sali do usunięcia.
      * @throws IllegalArgumentException jeśli sala o podanym ID nie istnieje.
      */
     public void deleteClassroom(Integer id) {
+        optimisticLocking.retry(() -> removeClassroom(id));
+    }
+
+    private void removeClassroom(Integer id) {
         Classroom existing = getClassroomById(id);
-        classroomRepository.delete(existing);
+        // Wydarzenia sali oznaczane są jednym zapytaniem - bez wczytywania i kaskadowego usuwania
+        eventRepository.softDeleteByClassroomId(id);
+        if (classroomRepository.softDelete(id, existing.getVersion()) == 0) {
+            // Salę zmieniono lub usunięto po odczycie - kolejna próba wczyta ją ponownie
+            throw new ObjectOptimisticLockingFailureException(Classroom.class, id);
+        }
+        cacheInvalidationBus.invalidateAfterCommit(CACHE, List.of(id.toString()));
+        eventViewService.classroomRemoved(id);
+        classroomOccupancyService.classroomRemoved(id);
+        icsService.invalidateAllAfterCommit();
+        recommendationService.rebuildAll();
+        tagStatsService.requestRebuild();
+        auditService.record(AuditService.DELETE, "Classroom", id, existing.getClassroomName());
     }
 
     /**
-     * Pobiera listę wszystkich sal w bazie danych.
+     * Pobiera listę wszystkich sal w bazie danych (z pamięci podręcznej).
      *
-     * @return Lista encji {@link Classroom}.
+     * @return Lista kopii encji {@link Classroom}.
      */
     public List<Classroom> getAllClassrooms() {
-        return classroomRepository.findAll();
+        return classroomLists.get(ALL_KEY, key -> classroomRepository.findAll().stream()
+                .map(ClassroomService::copyOf)
+                .toList());
+    }
+
+    /**
+     * Kopia sali bez kolekcji wydarzeń - bezpieczna do współdzielenia między żądaniami.
+     */
+    private static Classroom copyOf(Classroom classroom) {
+        return Classroom.builder()
+                .id(classroom.getId())
+                .version(classroom.getVersion())
+                .capacity(classroom.getCapacity())
+                .location(classroom.getLocation())
+                .info(classroom.getInfo())
+                .classroomName(classroom.getClassroomName())
+                .build();
     }
 }
@@ -0,0 +1,164 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.DashboardClassroomDTO;
+import CourseManagerProject.CourseManager.dto.DashboardDTO;
+import CourseManagerProject.CourseManager.dto.DashboardTagDTO;
+import CourseManagerProject.CourseManager.dto.EventDTO;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.ClassroomRepository;
+import CourseManagerProject.CourseManager.repository.TagRepository;
+import CourseManagerProject.CourseManager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serwis budujący zbiorczy panel użytkownika ({@link DashboardDTO}).
+ * <p>Wydarzenia użytkownika pobierane są równolegle, a następnie - również równolegle -
+ * pobierane są wyłącznie te sale, tagi i organizatorzy, do których odwołują się te wydarzenia.
+ * Każda sekcja wykonywana jest na osobnym wątku wirtualnym, a jej czas jest mierzony.</p>
+ */
+@Service
+public class DashboardService {
+
+    private final ClassroomRepository classroomRepository;
+    private final TagRepository tagRepository;
+    private final UserRepository userRepository;
+    private final EventViewService eventViewService;
+    private final ExecutorService executor;
+
+    /**
+     * Konstruktor wstrzykujący repozytoria oraz executor do równoległego pobierania sekcji.
+     *
+     * @param classroomRepository Repozytorium sal.
+     * @param tagRepository       Repozytorium tagów.
+     * @param userRepository      Repozytorium użytkowników.
+     * @param eventViewService    Serwis modelu odczytu wydarzeń.
+     * @param executor            Executor wykonujący poszczególne sekcje.
+     */
+    @Autowired
+    public DashboardService(ClassroomRepository classroomRepository,
+                            TagRepository tagRepository,
+                            UserRepository userRepository,
+                            EventViewService eventViewService,
+                            @Qualifier("dashboardExecutor") ExecutorService executor) {
+        this.classroomRepository = classroomRepository;
+        this.tagRepository = tagRepository;
+        this.userRepository = userRepository;
+        this.eventViewService = eventViewService;
+        this.executor = executor;
+    }
+
+    /**
+     * Buduje panel użytkownika o podanym ID.
+     *
+     * @param userId ID użytkownika.
+     * @return Obiekt {@link DashboardDTO} z wydarzeniami oraz powiązanymi salami, tagami i organizatorami.
+     * @throws IllegalArgumentException jeśli użytkownik o podanym ID nie istnieje.
+     */
+    public DashboardDTO getDashboard(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        CompletableFuture<List<EventDTO>> organized = section("organized", timings, () ->
+                eventViewService.findOrganized(userId));
+        CompletableFuture<List<EventDTO>> participating = section("participating", timings, () ->
+                eventViewService.findFutureParticipating(userId));
+
+        List<EventDTO> organizedEvents = join(organized);
+        List<EventDTO> participatingEvents = join(participating);
+        List<EventDTO> allEvents = Stream.concat(organizedEvents.stream(), participatingEvents.stream()).toList();
+
+        Map<Integer, Long> eventsByClassroom = countIds(allEvents.stream().map(EventDTO::getClassroomId));
+        Map<Integer, Long> eventsByTag = countIds(allEvents.stream().flatMap(event -> event.getTagIds().stream()));
+        Set<Integer> organizerIds = collectIds(allEvents.stream().map(EventDTO::getOrganizerId));
+
+        CompletableFuture<List<DashboardClassroomDTO>> classrooms = section("classrooms", timings, () ->
+                classroomRepository.findAllById(eventsByClassroom.keySet()).stream()
+                        .map(classroom -> DashboardClassroomDTO.builder()
+                                .id(classroom.getId())
+                                .classroomName(classroom.getClassroomName())
+                                .location(classroom.getLocation())
+                                .capacity(classroom.getCapacity())
+                                .eventCount(eventsByClassroom.get(classroom.getId()).intValue())
+                                .build())
+                        .toList());
+        CompletableFuture<List<DashboardTagDTO>> tags = section("tags", timings, () ->
+                tagRepository.findAllById(eventsByTag.keySet()).stream()
+                        .map(tag -> DashboardTagDTO.builder()
+                                .id(tag.getId())
+                                .name(tag.getName())
+                                .eventCount(eventsByTag.get(tag.getId()).intValue())
+                                .build())
+                        .toList());
+        CompletableFuture<Map<Integer, String>> organizers = section("organizers", timings, () ->
+                userRepository.findAllById(organizerIds).stream()
+                        .collect(Collectors.toMap(User::getId,
+                                user -> user.getFirstname() + " " + user.getSurname(),
+                                (a, b) -> a,
+                                LinkedHashMap::new)));
+
+        return DashboardDTO.builder()
+                .organizedEvents(organizedEvents)
+                .participatingEvents(participatingEvents)
+                .classrooms(join(classrooms))
+                .tags(join(tags))
+                .organizers(join(organizers))
+                .sectionTimings(timings)
+                .build();
+    }
+
+    /**
+     * Uruchamia sekcję panelu na executorze i zapisuje czas jej wykonania (w mikrosekundach).
+     */
+    private <T> CompletableFuture<T> section(String name, Map<String, Long> timings, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                timings.put(name, (System.nanoTime() - start) / 1_000);
+            }
+        }, executor);
+    }
+
+    /**
+     * Czeka na wynik sekcji, przepuszczając dalej oryginalny wyjątek zamiast {@link CompletionException}.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Set<Integer> collectIds(Stream<Integer> ids) {
+        return ids.collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    // Liczba wystąpień każdego ID (klucze posortowane)
+    private static Map<Integer, Long> countIds(Stream<Integer> ids) {
+        return ids.filter(Objects::nonNull).collect(Collectors.groupingBy(id -> id, TreeMap::new, Collectors.counting()));
+    }
+}
@@ -0,0 +1,425 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.EnrollmentDTO;
+import CourseManagerProject.CourseManager.model.Event;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.model.WaitlistEntry;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.repository.UserRepository;
+import CourseManagerProject.CourseManager.repository.WaitlistRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serwis zapisów na wydarzenia z listą oczekujących.
+ * <p>Miejsca liczone są w kolumnie {@code events.seats_taken} zmienianej warunkowymi zapytaniami
+ * {@code UPDATE}, więc limit uczestników jest zachowany bez blokowania wydarzenia na czas
+ * całej operacji. Gdy wydarzenie jest pełne, użytkownik trafia na listę oczekujących (FIFO);
+ * po wypisaniu uczestnika pierwszy oczekujący jest awansowany jednym zapytaniem
+ * ({@link #promoteWaitlisted(Integer, int)}). Zapytania zwracające wiersze ({@code RETURNING})
+ * wykonywane są przez {@link JdbcTemplate} w transakcji wywołującej metody.</p>
+ * <p>W trybie okna rejestracji ({@link RegistrationWindowService}) zapisy na jedno wydarzenie
+ * przetwarzane są partiami przez {@link #joinBatch(Integer, List)}: jedno zapytanie przydziela
+ * miejsca całej partii, a uczestnicy i oczekujący dopisywani są wielowierszowymi {@code INSERT}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentService {
+
+    /**
+     * Przenosi pierwszego oczekującego do uczestników, jeśli jest wolne miejsce. Jedno zapytanie:
+     * wybiera pierwszy wpis ({@code SKIP LOCKED} - równoległe awanse biorą kolejne wpisy zamiast czekać),
+     * warunkowo zajmuje miejsce, usuwa wpis z listy i dodaje uczestnika. Zwraca ID użytkownika
+     * i informację, czy został dodany - jeśli był już uczestnikiem, zajęte miejsce trzeba zwolnić.
+     */
+    private static final String PROMOTE_HEAD = "WITH head AS (" +
+            "  SELECT event_id, position, user_id FROM event_waitlist WHERE event_id = ? " +
+            "  ORDER BY position LIMIT 1 FOR UPDATE SKIP LOCKED), " +
+            "seat AS (" +
+            "  UPDATE events e SET seats_taken = e.seats_taken + 1 FROM head " +
+            "  WHERE e.id = head.event_id AND e.seats_taken < e.max_participants " +
+            "  RETURNING head.event_id, head.position, head.user_id), " +
+            "promoted AS (" +
+            "  DELETE FROM event_waitlist w USING seat " +
+            "  WHERE w.event_id = seat.event_id AND w.position = seat.position " +
+            "  RETURNING w.event_id, w.user_id), " +
+            "inserted AS (" +
+            "  INSERT INTO event_participant (event_id, user_id) SELECT event_id, user_id FROM promoted " +
+            "  ON CONFLICT DO NOTHING RETURNING user_id) " +
+            "SELECT p.user_id, i.user_id IS NOT NULL AS inserted FROM promoted p LEFT JOIN inserted i ON i.user_id = p.user_id";
+
+    /**
+     * Usuwa z listy oczekujących użytkowników, którzy są już uczestnikami wydarzenia.
+     */
+    private static final String DROP_ENROLLED_WAITLIST =
+            "DELETE FROM event_waitlist w USING event_participant p " +
+                    "WHERE w.event_id = ? AND p.event_id = w.event_id AND p.user_id = w.user_id";
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final EventViewService eventViewService;
+    private final AuditService auditService;
+    private final IcsService icsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final RecommendationService recommendationService;
+    private final TagStatsService tagStatsService;
+
+    /**
+     * Wynik zapisu partii użytkowników.
+     *
+     * @param results  Wyniki zapisu (ID użytkownika - wynik), w kolejności zgłoszeń.
+     * @param rejected Zgłoszenia odrzucone (ID użytkownika - powód).
+     */
+    public record BatchResult(Map<Integer, EnrollmentDTO> results, Map<Integer, String> rejected) {
+    }
+
+    /**
+     * Zapisuje użytkownika na wydarzenie lub, jeśli brak miejsc, dopisuje go do listy oczekujących.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return Obiekt {@link EnrollmentDTO} z wynikiem zapisu.
+     * @throws IllegalArgumentException jeśli wydarzenie lub użytkownik nie istnieje
+     *                                  albo użytkownik nie spełnia wymagania wieku.
+     */
+    @Transactional
+    public EnrollmentDTO join(Integer eventId, Integer userId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (user.getAge() == null || user.getAge() < event.getMinAge()) {
+            throw new IllegalArgumentException("User does not meet the minimum age");
+        }
+
+        if (eventRepository.isParticipant(eventId, userId)) {
+            return result(eventId, userId, EnrollmentDTO.Status.ALREADY_ENROLLED);
+        }
+        Optional<WaitlistEntry> waiting = waitlistRepository.findByEventIdAndUserId(eventId, userId);
+        if (waiting.isPresent()) {
+            return waitlisted(waiting.get(), EnrollmentDTO.Status.ALREADY_WAITLISTED);
+        }
+
+        if (eventRepository.tryReserveSeat(eventId) == 1) {
+            // Równoległy zapis tego samego użytkownika mógł dodać wiersz po sprawdzeniu powyżej
+            if (eventRepository.addParticipant(eventId, userId) == 0) {
+                eventRepository.releaseSeat(eventId);
+                return result(eventId, userId, EnrollmentDTO.Status.ALREADY_ENROLLED);
+            }
+            // ... albo wpis na liście oczekujących - uczestnik nie może jednocześnie oczekiwać
+            waitlistRepository.deleteByEventIdAndUserId(eventId, userId);
+            participantsChanged(eventId, Set.of(userId));
+            auditService.record(AuditService.CREATE, "EventParticipant", eventId, "user " + userId);
+            return result(eventId, userId, EnrollmentDTO.Status.ENROLLED);
+        }
+
+        // Przydział pozycji blokuje wiersz wydarzenia, więc zapisy równoległe, które zajęły miejsce,
+        // są już zatwierdzone - warunek NOT EXISTS widzi ich uczestników
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .eventId(eventId)
+                .position(reserveWaitlistPositions(eventId, 1))
+                .userId(userId)
+                .createdAt(Instant.now())
+                .build();
+        int inserted = jdbcTemplate.update("INSERT INTO event_waitlist (event_id, position, user_id, created_at) " +
+                        "SELECT ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM event_participant " +
+                        "WHERE event_id = ? AND user_id = ?) ON CONFLICT (event_id, user_id) DO NOTHING",
+                entry.getEventId(), entry.getPosition(), entry.getUserId(), Timestamp.from(entry.getCreatedAt()),
+                entry.getEventId(), entry.getUserId());
+        if (inserted == 0) {
+            // Pominięta pozycja nie zmienia kolejności FIFO
+            return waitlistRepository.findByEventIdAndUserId(eventId, userId)
+                    .map(existing -> waitlisted(existing, EnrollmentDTO.Status.ALREADY_WAITLISTED))
+                    .orElseGet(() -> result(eventId, userId, EnrollmentDTO.Status.ALREADY_ENROLLED));
+        }
+        auditService.record(AuditService.CREATE, "WaitlistEntry", eventId, "user " + userId);
+        return waitlisted(entry, EnrollmentDTO.Status.WAITLISTED);
+    }
+
+    /**
+     * Zapisuje partię użytkowników na wydarzenie w jednej transakcji. Miejsca przydzielane są
+     * w kolejności zgłoszeń: pierwsi użytkownicy zostają uczestnikami, pozostali trafiają
+     * na koniec listy oczekujących.
+     *
+     * <p>Niezależnie od rozmiaru partii wykonywanych jest kilka zapytań: odczyt wieku (blokujący
+     * wiersz wydarzenia) i stanu zapisów, jedno {@code UPDATE} licznika miejsc, jeden wielowierszowy
+     * {@code INSERT} do {@code event_participant} i - jeśli trzeba - jedno przydzielenie pozycji
+     * oraz jeden {@code INSERT} do listy oczekujących. Oba {@code INSERT} pomijają konflikty,
+     * a wyniki i zajęte miejsca liczone są z wierszy faktycznie dodanych.</p>
+     *
+     * @param eventId ID wydarzenia.
+     * @param userIds ID użytkowników w kolejności zgłoszeń (bez powtórzeń).
+     * @return Obiekt {@link BatchResult} z wynikami i zgłoszeniami odrzuconymi.
+     * @throws IllegalArgumentException jeśli wydarzenie nie istnieje.
+     */
+    @Transactional
+    public BatchResult joinBatch(Integer eventId, List<Integer> userIds) {
+        // Blokada wiersza wydarzenia przed odczytem stanu zapisów: pojedyncze zapisy, awanse
+        // i przydział pozycji też go blokują, więc stan poniżej nie zmieni się do końca transakcji
+        List<Integer> minAges = jdbcTemplate.queryForList(
+                "SELECT min_age FROM events WHERE id = ? AND deleted_at IS NULL FOR UPDATE", Integer.class, eventId);
+        if (minAges.isEmpty()) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        int minAge = minAges.get(0);
+
+        Map<Integer, Integer> ages = new HashMap<>();
+        jdbcTemplate.query("SELECT id, age FROM users WHERE id = ANY(?) AND deleted_at IS NULL", withIds(1, userIds),
+                rs -> { ages.put(rs.getInt(1), (Integer) rs.getObject(2)); });
+        Set<Integer> enrolled = new HashSet<>(jdbcTemplate.query(
+                "SELECT user_id FROM event_participant WHERE event_id = ? AND user_id = ANY(?)",
+                withEvent(eventId, userIds), (rs, row) -> rs.getInt(1)));
+        Map<Integer, Long> waiting = new HashMap<>();
+        jdbcTemplate.query("SELECT w.user_id, (SELECT count(*) FROM event_waitlist o " +
+                        "WHERE o.event_id = w.event_id AND o.position <= w.position) " +
+                        "FROM event_waitlist w WHERE w.event_id = ? AND w.user_id = ANY(?)",
+                withEvent(eventId, userIds), rs -> { waiting.put(rs.getInt(1), rs.getLong(2)); });
+
+        Map<Integer, EnrollmentDTO> results = new LinkedHashMap<>();
+        Map<Integer, String> rejected = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (Integer userId : userIds) {
+            Integer age = ages.get(userId);
+            if (!ages.containsKey(userId)) {
+                rejected.put(userId, "User not found");
+            } else if (age == null || age < minAge) {
+                rejected.put(userId, "User does not meet the minimum age");
+            } else if (enrolled.contains(userId)) {
+                results.put(userId, result(eventId, userId, EnrollmentDTO.Status.ALREADY_ENROLLED));
+            } else if (waiting.containsKey(userId)) {
+                EnrollmentDTO dto = result(eventId, userId, EnrollmentDTO.Status.ALREADY_WAITLISTED);
+                dto.setWaitlistPosition(waiting.get(userId));
+                results.put(userId, dto);
+            } else {
+                candidates.add(userId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new BatchResult(results, rejected);
+        }
+
+        // Jedno zapytanie zajmuje tyle miejsc, ile jest wolnych (nie więcej niż rozmiar partii)
+        Integer granted = jdbcTemplate.queryForObject(
+                "WITH current AS (SELECT id, seats_taken FROM events WHERE id = ? FOR UPDATE) " +
+                        "UPDATE events e SET seats_taken = GREATEST(c.seats_taken, " +
+                        "LEAST(e.max_participants, c.seats_taken + ?)) " +
+                        "FROM current c WHERE e.id = c.id RETURNING e.seats_taken - c.seats_taken",
+                Integer.class, eventId, candidates.size());
+        List<Integer> admitted = candidates.subList(0, granted);
+        List<Integer> overflow = candidates.subList(granted, candidates.size());
+
+        if (!admitted.isEmpty()) {
+            Set<Integer> added = new HashSet<>(jdbcTemplate.query(
+                    "INSERT INTO event_participant (event_id, user_id) SELECT ?, unnest(?) " +
+                            "ON CONFLICT DO NOTHING RETURNING user_id",
+                    withEvent(eventId, admitted), (rs, row) -> rs.getInt(1)));
+            if (added.size() < admitted.size()) {
+                // Pominięci byli już uczestnikami - ich miejsca wracają do puli
+                jdbcTemplate.update("UPDATE events SET seats_taken = seats_taken - ? WHERE id = ?",
+                        admitted.size() - added.size(), eventId);
+            }
+            admitted.forEach(userId -> results.put(userId, result(eventId, userId, added.contains(userId)
+                    ? EnrollmentDTO.Status.ENROLLED : EnrollmentDTO.Status.ALREADY_ENROLLED)));
+            if (!added.isEmpty()) {
+                participantsChanged(eventId, added);
+                auditService.record(AuditService.CREATE, "EventParticipant", eventId,
+                        "batch of " + added.size() + " users");
+            }
+        }
+        if (!overflow.isEmpty()) {
+            int first = reserveWaitlistPositions(eventId, overflow.size());
+            Set<Integer> added = new HashSet<>(jdbcTemplate.query(
+                    "INSERT INTO event_waitlist (event_id, position, user_id, created_at) " +
+                            "SELECT ?, ? + t.ord - 1, t.user_id, now() FROM unnest(?) WITH ORDINALITY AS t(user_id, ord) " +
+                            "WHERE NOT EXISTS (SELECT 1 FROM event_participant p " +
+                            "WHERE p.event_id = ? AND p.user_id = t.user_id) " +
+                            "ON CONFLICT (event_id, user_id) DO NOTHING RETURNING user_id",
+                    ps -> {
+                        ps.setInt(1, eventId);
+                        ps.setInt(2, first);
+                        ps.setArray(3, intArray(ps.getConnection(), overflow));
+                        ps.setInt(4, eventId);
+                    }, (rs, row) -> rs.getInt(1)));
+            Long ahead = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM event_waitlist WHERE event_id = ? AND position < ?",
+                    Long.class, eventId, first);
+            // Pominięte pozycje nie zmieniają kolejności FIFO, więc dodani zajmują kolejne miejsca
+            long position = ahead;
+            for (Integer userId : overflow) {
+                if (added.contains(userId)) {
+                    EnrollmentDTO dto = result(eventId, userId, EnrollmentDTO.Status.WAITLISTED);
+                    dto.setWaitlistPosition(++position);
+                    results.put(userId, dto);
+                } else {
+                    results.put(userId, waitlistRepository.findByEventIdAndUserId(eventId, userId)
+                            .map(existing -> waitlisted(existing, EnrollmentDTO.Status.ALREADY_WAITLISTED))
+                            .orElseGet(() -> result(eventId, userId, EnrollmentDTO.Status.ALREADY_ENROLLED)));
+                }
+            }
+            if (!added.isEmpty()) {
+                auditService.record(AuditService.CREATE, "WaitlistEntry", eventId,
+                        "batch of " + added.size() + " users");
+            }
+        }
+        return new BatchResult(results, rejected);
+    }
+
+    /**
+     * Wypisuje użytkownika z wydarzenia (lub z listy oczekujących). Zwolnione miejsce
+     * zajmuje pierwszy oczekujący.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return Obiekt {@link EnrollmentDTO} z wynikiem i ID awansowanego użytkownika.
+     * @throws IllegalArgumentException jeśli użytkownik nie jest zapisany ani nie oczekuje.
+     */
+    @Transactional
+    public EnrollmentDTO leave(Integer eventId, Integer userId) {
+        if (eventRepository.removeParticipant(eventId, userId) == 0) {
+            if (waitlistRepository.deleteByEventIdAndUserId(eventId, userId) == 0) {
+                throw new IllegalArgumentException("User is not enrolled in this event");
+            }
+            auditService.record(AuditService.DELETE, "WaitlistEntry", eventId, "user " + userId);
+            return result(eventId, userId, EnrollmentDTO.Status.LEFT_WAITLIST);
+        }
+        eventRepository.releaseSeat(eventId);
+        auditService.record(AuditService.DELETE, "EventParticipant", eventId, "user " + userId);
+
+        Set<Integer> changed = new HashSet<>(Set.of(userId));
+        List<Integer> promotedUsers = promote(eventId, 1);
+        Integer promoted = promotedUsers.isEmpty() ? null : promotedUsers.get(0);
+        changed.addAll(promotedUsers);
+        participantsChanged(eventId, changed);
+
+        EnrollmentDTO result = result(eventId, userId, EnrollmentDTO.Status.LEFT);
+        result.setPromotedUserId(promoted);
+        return result;
+    }
+
+    /**
+     * Przenosi do uczestników co najwyżej {@code limit} pierwszych oczekujących, dopóki są wolne
+     * miejsca (np. po zwiększeniu limitu uczestników).
+     *
+     * @param eventId ID wydarzenia.
+     * @param limit   Maksymalna liczba awansów.
+     * @return ID awansowanych użytkowników w kolejności listy.
+     */
+    @Transactional
+    public List<Integer> promoteWaitlisted(Integer eventId, int limit) {
+        List<Integer> promoted = promote(eventId, limit);
+        if (!promoted.isEmpty()) {
+            participantsChanged(eventId, new HashSet<>(promoted));
+        }
+        return promoted;
+    }
+
+    /**
+     * Zwraca listę oczekujących wydarzenia w kolejności FIFO.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Lista obiektów {@link WaitlistEntry}.
+     */
+    public List<WaitlistEntry> getWaitlist(Integer eventId) {
+        return waitlistRepository.findByEventIdOrderByPositionAsc(eventId);
+    }
+
+    /**
+     * Przelicza liczniki zajętych miejsc na podstawie tabeli {@code event_participant}.
+     */
+    @Transactional
+    public void recountSeats() {
+        eventRepository.recountSeats();
+    }
+
+    private List<Integer> promote(Integer eventId, int limit) {
+        jdbcTemplate.update(DROP_ENROLLED_WAITLIST, eventId);
+        List<Integer> promoted = new ArrayList<>();
+        while (promoted.size() < limit) {
+            List<Head> head = jdbcTemplate.query(PROMOTE_HEAD,
+                    (rs, row) -> new Head(rs.getInt(1), rs.getBoolean(2)), eventId);
+            if (head.isEmpty()) {
+                break;
+            }
+            if (!head.get(0).inserted()) {
+                // Oczekujący został w międzyczasie uczestnikiem - wpis usunięty, miejsce wraca
+                eventRepository.releaseSeat(eventId);
+                continue;
+            }
+            promoted.add(head.get(0).userId());
+            auditService.record(AuditService.CREATE, "EventParticipant", eventId, "user " + head.get(0).userId() + " (waitlist)");
+        }
+        return promoted;
+    }
+
+    private record Head(int userId, boolean inserted) {
+    }
+
+    /**
+     * Przydziela {@code count} kolejnych pozycji na liście oczekujących wydarzenia.
+     *
+     * @return Pierwsza przydzielona pozycja.
+     */
+    private int reserveWaitlistPositions(Integer eventId, int count) {
+        Integer tail = jdbcTemplate.queryForObject(
+                "UPDATE events SET waitlist_tail = waitlist_tail + ? WHERE id = ? RETURNING waitlist_tail",
+                Integer.class, count, eventId);
+        return tail - count + 1;
+    }
+
+    private void participantsChanged(Integer eventId, Set<Integer> userIds) {
+        int seatsTaken = eventRepository.findSeatsTaken(eventId);
+        eventViewService.updateParticipantCount(eventId, seatsTaken);
+        tagStatsService.participantCountChanged(eventId, seatsTaken);
+        icsService.invalidateAfterCommit(userIds.stream().map(IcsService::userKey).toList());
+        recommendationService.eventsChanged(List.of(eventId));
+        recommendationService.usersChanged(userIds);
+    }
+
+    private static PreparedStatementSetter withIds(int index, List<Integer> userIds) {
+        return ps -> ps.setArray(index, intArray(ps.getConnection(), userIds));
+    }
+
+    private static PreparedStatementSetter withEvent(Integer eventId, List<Integer> userIds) {
+        return ps -> {
+            ps.setInt(1, eventId);
+            ps.setArray(2, intArray(ps.getConnection(), userIds));
+        };
+    }
+
+    private static Array intArray(Connection connection, List<Integer> values) throws SQLException {
+        return connection.createArrayOf("integer", values.toArray());
+    }
+
+    private EnrollmentDTO waitlisted(WaitlistEntry entry, EnrollmentDTO.Status status) {
+        EnrollmentDTO result = result(entry.getEventId(), entry.getUserId(), status);
+        result.setWaitlistPosition(waitlistRepository.countByEventIdAndPositionLessThanEqual(
+                entry.getEventId(), entry.getPosition()));
+        return result;
+    }
+
+    private static EnrollmentDTO result(Integer eventId, Integer userId, EnrollmentDTO.Status status) {
+        return EnrollmentDTO.builder()
+                .eventId(eventId)
+                .userId(userId)
+                .status(status)
+                .build();
+    }
+}
@@ -7,25 +7,71 @@ import CourseManagerProject.CourseManager.model.Event;
 import CourseManagerProject.CourseManager.model.Tag;
 import CourseManagerProject.CourseManager.model.User;
 import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.repository.WaitlistRepository;
+import CourseManagerProject.CourseManager.util.MergePatch;
+import CourseManagerProject.CourseManager.util.NearCache;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Serwis odpowiedzialny za logikę biznesową związaną z wydarzeniami (encja {@link Event}).
  * <p>Oferuje operacje tworzenia, aktualizacji, usuwania oraz wyszukiwania wydarzeń
  * na podstawie różnych filtrów (organizer, sala, tagi, itp.).</p>
+ * <p>Wyniki wyszukiwania ({@link #searchEvents}) trzymane są w lokalnej pamięci podręcznej,
+ * czyszczonej po każdej zmianie modelu odczytu na dowolnym węźle ({@link CacheInvalidationBus});
+ * krótki czas życia wpisu ogranicza przesunięcie granicy "od teraz".</p>
  */
 @Service
 public class EventService {
 
+    /**
+     * Przestrzeń nazw wyników wyszukiwania w {@link CacheInvalidationBus}.
+     */
+    public static final String SEARCH_CACHE = "event-search";
+
+    /**
+     * Pola wydarzenia, które można zmieniać ({@link #patchEvent}); {@code version} to wersja odczytana przez klienta.
+     */
+    public static final Set<String> PATCH_FIELDS = Set.of("name", "startDatetime", "endDatetime", "maxParticipants",
+            "minAge", "info", "organizerId", "classroomId", "tagIds", "version");
+
+    /**
+     * Ograniczenie bazy wykluczające nakładające się wydarzenia w jednej sali (migracja V7).
+     */
+    static final String CLASSROOM_OVERLAP_CONSTRAINT = "events_classroom_no_overlap";
+
+    private record SearchKey(Integer organizerId, Integer classroomId, Integer tagId, boolean excludeFull) {
+    }
+
     private final EventRepository eventRepository;
     private final ClassroomService classroomService;
     private final UserService userService;
     private final TagService tagService;
+    private final EventViewService eventViewService;
+    private final AuditService auditService;
+    private final OutboxService outboxService;
+    private final IcsService icsService;
+    private final WaitlistRepository waitlistRepository;
+    private final EnrollmentService enrollmentService;
+    private final RecommendationService recommendationService;
+    private final TagStatsService tagStatsService;
+    private final ClassroomOccupancyService classroomOccupancyService;
+    private final OptimisticLocking optimisticLocking;
+    private final NearCache<SearchKey, List<EventDTO>> searchResults;
 
     /**
      * Konstruktor wstrzykujący zależności niezbędne do obsługi logiki kursów.
@@ -34,16 +80,65 @@ public class EventService {
      * @param classroomService Serwis odpowiadający za zarządzanie salami.
      * @param userService      Serwis do obsługi użytkowników, w tym organizatorów.
      * @param tagService       Serwis do obsługi tagów.
+     * @param eventViewService Serwis utrzymujący model odczytu wydarzeń.
+     * @param auditService     Serwis dziennika audytu.
+     * @param outboxService    Serwis skrzynki nadawczej powiadomień o zmianach.
+     * @param icsService       Serwis kanałów iCalendar (unieważnianie po zmianie wydarzenia).
+     * @param waitlistRepository Repozytorium list oczekujących (usuwanych razem z wydarzeniem).
+     * @param enrollmentService Serwis zapisów (awans oczekujących po zwiększeniu limitu miejsc).
+     * @param recommendationService Serwis rekomendacji (przeliczenie po zmianie wydarzenia).
+     * @param tagStatsService  Serwis statystyk tagów (liczniki użycia tagów).
+     * @param classroomOccupancyService Serwis agregatu zajętości sal.
+     * @param optimisticLocking Powtarzanie usunięcia po konflikcie wersji.
+     * @param cacheInvalidationBus Unieważnianie wyników wyszukiwania na wszystkich węzłach.
+     * @param searchCacheMaxSize Maksymalna liczba zapamiętanych wyników wyszukiwania.
+     * @param searchCacheTtl   Czas życia zapamiętanego wyniku wyszukiwania.
      */
     @Autowired
     public EventService(EventRepository eventRepository,
                         ClassroomService classroomService,
                         UserService userService,
-                        TagService tagService) {
+                        TagService tagService,
+                        EventViewService eventViewService,
+                        AuditService auditService,
+                        OutboxService outboxService,
+                        IcsService icsService,
+                        WaitlistRepository waitlistRepository,
+                        EnrollmentService enrollmentService,
+                        RecommendationService recommendationService,
+                        TagStatsService tagStatsService,
+                        ClassroomOccupancyService classroomOccupancyService,
+                        OptimisticLocking optimisticLocking,
+                        CacheInvalidationBus cacheInvalidationBus,
+                        @Value("${cache.event-search.max-size:1000}") int searchCacheMaxSize,
+                        @Value("${cache.event-search.ttl:PT10S}") Duration searchCacheTtl) {
         this.eventRepository = eventRepository;
         this.classroomService = classroomService;
         this.userService = userService;
         this.tagService = tagService;
+        this.eventViewService = eventViewService;
+        this.auditService = auditService;
+        this.outboxService = outboxService;
+        this.icsService = icsService;
+        this.waitlistRepository = waitlistRepository;
+        this.enrollmentService = enrollmentService;
+        this.recommendationService = recommendationService;
+        this.tagStatsService = tagStatsService;
+        this.classroomOccupancyService = classroomOccupancyService;
+        this.optimisticLocking = optimisticLocking;
+        this.searchResults = new NearCache<>(searchCacheMaxSize, searchCacheTtl);
+        // Każda zmiana modelu odczytu może zmienić dowolny wynik - unieważniane są wszystkie
+        cacheInvalidationBus.register(SEARCH_CACHE, new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(Collection<String> keys) {
+                searchResults.invalidateAll();
+            }
+
+            @Override
+            public void invalidateAll() {
+                searchResults.invalidateAll();
+            }
+        });
     }
 
     /**
@@ -52,13 +147,18 @@ public class EventService {
      *
      * @param eventRequest DTO z danymi wydarzenia.
      * @return Zapisany w bazie obiekt {@link Event}.
-     * @throws IllegalArgumentException jeśli sala jest zajęta lub organizator nie ma uprawnień.
+     * @throws IllegalArgumentException jeśli sala jest zajęta, wydarzenie nie kończy się po rozpoczęciu
+     *                                  lub organizator nie ma uprawnień.
      */
+    @Transactional
     public Event createEvent(EventDTO eventRequest) {
         User organizer = userService.getOrganizer(eventRequest.getOrganizerId());
         Classroom classroom = classroomService.getClassroomById(eventRequest.getClassroomId());
         Set<Tag> tags = tagService.getTagsByIds(eventRequest.getTagIds());
 
+        if (!eventRequest.getEndDatetime().isAfter(eventRequest.getStartDatetime())) {
+            throw new IllegalArgumentException("Event must end after it starts");
+        }
         // Sprawdzenie dostępności sali
         // null bo ID tego eventu jeszcze nie istnieje
         if (!isClassroomAvailable(classroom.getId(), eventRequest.getStartDatetime(), eventRequest.getEndDatetime(), null)) {
@@ -76,63 +176,223 @@ public class EventService {
         event.setClassroom(classroom);
         event.setTags(tags);
 
-        return eventRepository.save(event);
+        Event saved = saveBooking(event);
+        eventViewService.refresh(saved);
+        classroomOccupancyService.apply(null, ClassroomOccupancyService.Booking.of(saved));
+        auditService.record(AuditService.CREATE, "Event", saved.getId(), saved.getName());
+        outboxService.enqueue(OutboxService.EVENT_CREATED, "Event", saved.getId(), mapToDTO(saved));
+        icsService.invalidateAfterCommit(icsService.affectedFeeds(saved));
+        recommendationService.eventsChanged(List.of(saved.getId()));
+        tagStatsService.eventSaved(saved.getId(), tagIds(saved.getTags()));
+        return saved;
     }
 
     /**
-     * Aktualizuje istniejące wydarzenie na podstawie danych {@link EventRequest}.
+     * Aktualizuje istniejące wydarzenie na podstawie danych {@link EventRequest} (wszystkie pola).
+     * <p>Zmieniane są tylko pola o innej wartości niż obecna - zob. {@link #patchEvent}.</p>
      *
      * @param eventId      ID wydarzenia do aktualizacji.
      * @param eventRequest DTO z nowymi danymi wydarzenia.
      * @throws IllegalArgumentException jeśli wydarzenie nie istnieje, sala jest zajęta lub organizator nie ma uprawnień.
+     * @throws org.springframework.dao.OptimisticLockingFailureException jeśli wydarzenie zmieniło się od odczytu
+     *                                  (wersja w DTO) lub równolegle z tą edycją.
      */
+    @Transactional
     public void updateEvent(Integer eventId, EventDTO eventRequest) {
+        patchEvent(eventId, MergePatch.of(eventRequest, PATCH_FIELDS));
+    }
+
+    /**
+     * Zmienia wybrane pola wydarzenia (JSON Merge Patch).
+     * <p>Organizator, sala i tagi wczytywane są tylko wtedy, gdy zmienia się ich ID, a dostępność
+     * sali sprawdzana jest tylko po zmianie czasu lub sali. {@code UPDATE} obejmuje wyłącznie
+     * zmienione kolumny ({@code @DynamicUpdate}); zmiana bez nowych wartości niczego nie zapisuje.
+     * Limit uczestników nie może być niższy niż liczba zapisanych, a po jego zwiększeniu wolne
+     * miejsca zajmują kolejni oczekujący.</p>
+     *
+     * @param eventId ID wydarzenia do zmiany.
+     * @param patch   Zmienione pola ({@link #PATCH_FIELDS}); {@code tagIds: null} usuwa wszystkie tagi.
+     * @throws IllegalArgumentException jeśli wydarzenie nie istnieje, pole jest nieznane lub ma niepoprawną wartość
+     *                                  (także limit uczestników niższy niż liczba zapisanych),
+     *                                  sala jest zajęta lub organizator nie ma uprawnień.
+     * @throws org.springframework.dao.OptimisticLockingFailureException jeśli wydarzenie zmieniło się od odczytu
+     *                                  (pole {@code version}) lub równolegle z tą edycją.
+     */
+    @Transactional
+    public void patchEvent(Integer eventId, MergePatch<EventDTO> patch) {
+        patch.checkFields(PATCH_FIELDS);
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        OptimisticLocking.checkVersion(Event.class, eventId, event.getVersion(), patch.values().getVersion());
 
-        User organizer = userService.getOrganizer(eventRequest.getOrganizerId());
-        Classroom classroom = classroomService.getClassroomById(eventRequest.getClassroomId());
-        Set<Tag> tags = tagService.getTagsByIds(eventRequest.getTagIds());
+        // Kanały ICS i rezerwacja sali przed zmianą (np. poprzedniej sali)
+        Set<String> affectedFeeds = new HashSet<>(icsService.affectedFeeds(event));
+        ClassroomOccupancyService.Booking previousBooking = ClassroomOccupancyService.Booking.of(event);
 
-        // Sprawdzanie dostępności sali z uwzględnieniem aktualnie edytowanego eventu
-        if (!isClassroomAvailable(classroom.getId(), eventRequest.getStartDatetime(), eventRequest.getEndDatetime(), eventId)) {
-            throw new IllegalArgumentException("Classroom not available at the given time");
+        boolean changed = false;
+        int freeSeats = 0;
+        if (patch.has("name")) {
+            String name = patch.required("name", EventDTO::getName);
+            if (name.isBlank() || name.length() > 100) {
+                throw new IllegalArgumentException("Event name must be 1-100 characters");
+            }
+            changed |= set(event.getName(), name, event::setName);
+        }
+        if (patch.has("maxParticipants")) {
+            Integer maxParticipants = patch.required("maxParticipants", EventDTO::getMaxParticipants);
+            if (maxParticipants < 1) {
+                throw new IllegalArgumentException("Max participants must be at least 1");
+            }
+            if (!maxParticipants.equals(event.getMaxParticipants())) {
+                // Blokada wiersza wstrzymuje równoległe zapisy do końca transakcji - po niej zapisy
+                // sprawdzają już nowy limit, więc liczba uczestników nie przekroczy limitu
+                int seatsTaken = eventRepository.lockSeatsTaken(eventId);
+                if (maxParticipants < seatsTaken) {
+                    throw new IllegalArgumentException("Max participants must not be lower than the number of enrolled participants ("
+                            + seatsTaken + ")");
+                }
+                freeSeats = maxParticipants - seatsTaken;
+                event.setMaxParticipants(maxParticipants);
+                changed = true;
+            }
+        }
+        if (patch.has("minAge")) {
+            Integer minAge = patch.required("minAge", EventDTO::getMinAge);
+            if (minAge < 0) {
+                throw new IllegalArgumentException("Min age must not be negative");
+            }
+            changed |= set(event.getMinAge(), minAge, event::setMinAge);
+        }
+        if (patch.has("info")) {
+            changed |= set(event.getInfo(), patch.values().getInfo(), event::setInfo);
+        }
+        if (patch.has("organizerId")) {
+            Integer organizerId = patch.required("organizerId", EventDTO::getOrganizerId);
+            if (!organizerId.equals(event.getOrganizer().getId())) {
+                event.setOrganizer(userService.getOrganizer(organizerId));
+                changed = true;
+            }
         }
 
-        event.setName(eventRequest.getName());
-        event.setStartDatetime(eventRequest.getStartDatetime());
-        event.setEndDatetime(eventRequest.getEndDatetime());
-        event.setMaxParticipants(eventRequest.getMaxParticipants());
-        event.setMinAge(eventRequest.getMinAge());
-        event.setInfo(eventRequest.getInfo());
-        event.setOrganizer(organizer);
-        event.setClassroom(classroom);
-        event.setTags(tags);
+        boolean timeChanged = false;
+        if (patch.has("startDatetime")) {
+            timeChanged |= set(event.getStartDatetime(), patch.required("startDatetime", EventDTO::getStartDatetime),
+                    event::setStartDatetime);
+        }
+        if (patch.has("endDatetime")) {
+            timeChanged |= set(event.getEndDatetime(), patch.required("endDatetime", EventDTO::getEndDatetime),
+                    event::setEndDatetime);
+        }
+        boolean classroomChanged = false;
+        if (patch.has("classroomId")) {
+            Integer classroomId = patch.required("classroomId", EventDTO::getClassroomId);
+            if (!classroomId.equals(event.getClassroom().getId())) {
+                event.setClassroom(classroomService.getClassroomById(classroomId));
+                classroomChanged = true;
+            }
+        }
+        if (timeChanged || classroomChanged) {
+            if (!event.getEndDatetime().isAfter(event.getStartDatetime())) {
+                throw new IllegalArgumentException("Event must end after it starts");
+            }
+            // Sprawdzanie dostępności sali z uwzględnieniem aktualnie edytowanego eventu
+            if (!isClassroomAvailable(event.getClassroom().getId(), event.getStartDatetime(), event.getEndDatetime(), eventId)) {
+                throw new IllegalArgumentException("Classroom not available at the given time");
+            }
+        }
+
+        boolean tagsChanged = false;
+        if (patch.has("tagIds")) {
+            List<Integer> requested = patch.values().getTagIds() == null ? List.of() : patch.values().getTagIds();
+            Set<Integer> requestedIds = new HashSet<>(requested);
+            if (!requestedIds.equals(tagIds(event.getTags()))) {
+                event.setTags(tagService.getTagsByIds(List.copyOf(requestedIds)));
+                tagsChanged = true;
+            }
+        }
 
-        eventRepository.save(event);
+        if (!changed && !timeChanged && !classroomChanged && !tagsChanged) {
+            return;
+        }
+
+        // Flush od razu: konflikt wersji przed aktualizacją modelu odczytu, który dostaje nową wersję
+        Event saved = saveBooking(event);
+        affectedFeeds.addAll(icsService.affectedFeeds(saved));
+        eventViewService.refresh(saved);
+        if (timeChanged || classroomChanged) {
+            classroomOccupancyService.apply(previousBooking, ClassroomOccupancyService.Booking.of(saved));
+        }
+        auditService.record(AuditService.UPDATE, "Event", eventId, saved.getName());
+        outboxService.enqueue(OutboxService.EVENT_UPDATED, "Event", eventId, mapToDTO(saved));
+        icsService.invalidateAfterCommit(affectedFeeds);
+        recommendationService.eventsChanged(List.of(eventId));
+        if (freeSeats > 0) {
+            // Nowe miejsca zajmują kolejni oczekujący
+            enrollmentService.promoteWaitlisted(eventId, freeSeats);
+        }
+        if (tagsChanged) {
+            tagStatsService.eventSaved(eventId, tagIds(saved.getTags()));
+            // Tagi wydarzenia tworzą profil zainteresowań jego uczestników
+            recommendationService.usersChanged(saved.getParticipants().stream().map(User::getId).toList());
+        }
+    }
+
+    /**
+     * Ustawia nową wartość pola, jeśli różni się od obecnej.
+     *
+     * @return {@code true}, jeśli wartość się zmieniła.
+     */
+    private static <V> boolean set(V current, V value, Consumer<V> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
     }
 
 
     /**
-     * Usuwa wydarzenie o podanym ID z bazy danych.
+     * Usuwa wydarzenie o podanym ID (miękkie usunięcie).
+     * <p>Wydarzenie znika z zapytań i modelu odczytu od razu, a wiersz wraz z uczestnikami i tagami
+     * usuwa z bazy {@link SoftDeleteCompactor}. Wiersz oznaczany jest tylko w wersji, z której odczytano
+     * dane do powiadomień i audytu; po konflikcie wersji usunięcie jest powtarzane na świeżym odczycie.</p>
      *
      * @param eventId ID wydarzenia do usunięcia.
      * @throws IllegalArgumentException jeśli wydarzenie o podanym ID nie istnieje.
      */
     public void deleteEvent(Integer eventId) {
+        optimisticLocking.retry(() -> removeEvent(eventId));
+    }
+
+    private void removeEvent(Integer eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
-        eventRepository.delete(event);
+        EventDTO deleted = mapToDTO(event);
+        Set<String> affectedFeeds = icsService.affectedFeeds(event);
+        List<Integer> participantIds = event.getParticipants().stream().map(User::getId).toList();
+        if (eventRepository.softDelete(eventId, event.getVersion()) == 0) {
+            // Wydarzenie zmieniono lub usunięto po odczycie - kolejna próba wczyta je ponownie
+            throw new ObjectOptimisticLockingFailureException(Event.class, eventId);
+        }
+        waitlistRepository.deleteByEventId(eventId);
+        eventViewService.remove(eventId);
+        classroomOccupancyService.apply(ClassroomOccupancyService.Booking.of(event), null);
+        auditService.record(AuditService.DELETE, "Event", eventId, event.getName());
+        outboxService.enqueue(OutboxService.EVENT_DELETED, "Event", eventId, deleted);
+        icsService.invalidateAfterCommit(affectedFeeds);
+        recommendationService.eventsChanged(List.of(eventId));
+        recommendationService.usersChanged(participantIds);
+        tagStatsService.eventRemoved(eventId);
     }
 
     /**
      * Zwraca listę wydarzeń organizowanych przez określonego użytkownika (organizatora).
      *
      * @param organizerId ID organizatora.
-     * @return Lista encji {@link Event} organizowanych przez danego użytkownika.
+     * @return Lista obiektów {@link EventDTO} organizowanych przez danego użytkownika.
      */
-    public List<Event> getOrganizedEvents(Integer organizerId) {
-        return eventRepository.findByOrganizerId(organizerId);
+    public List<EventDTO> getOrganizedEvents(Integer organizerId) {
+        return eventViewService.findOrganized(organizerId);
     }
 
     /**
@@ -140,10 +400,10 @@ public class EventService {
      * w których uczestniczy wskazany użytkownik.
      *
      * @param participantId ID uczestnika.
-     * @return Lista encji {@link Event} z przeszłości.
+     * @return Lista obiektów {@link EventDTO} z przeszłości.
      */
-    public List<Event> getPastParticipatingEvents(Integer participantId) {
-        return eventRepository.findPastEventsByParticipantId(participantId, LocalDateTime.now());
+    public List<EventDTO> getPastParticipatingEvents(Integer participantId) {
+        return eventViewService.findPastParticipating(participantId);
     }
 
     /**
@@ -151,10 +411,10 @@ public class EventService {
      * w których uczestniczy wskazany użytkownik.
      *
      * @param participantId ID uczestnika.
-     * @return Lista encji {@link Event} z przyszłości.
+     * @return Lista obiektów {@link EventDTO} z przyszłości.
      */
-    public List<Event> getFutureParticipatingEvents(Integer participantId) {
-        return eventRepository.findFutureEventsByParticipantId(participantId, LocalDateTime.now());
+    public List<EventDTO> getFutureParticipatingEvents(Integer participantId) {
+        return eventViewService.findFutureParticipating(participantId);
     }
 
     /**
@@ -164,10 +424,11 @@ public class EventService {
      * @param classroomId  (opcjonalne) ID sali.
      * @param tagId        (opcjonalne) ID tagu.
      * @param excludeFull  (opcjonalne) Czy wykluczać pełne wydarzenia.
-     * @return Lista encji {@link Event} spełniających podane kryteria.
+     * @return Lista obiektów {@link EventDTO} spełniających podane kryteria.
      */
-    public List<Event> searchEvents(Integer organizerId, Integer classroomId, Integer tagId, boolean excludeFull) {
-        return eventRepository.findAvailableEvents(LocalDateTime.now(), organizerId, classroomId, tagId, excludeFull);
+    public List<EventDTO> searchEvents(Integer organizerId, Integer classroomId, Integer tagId, boolean excludeFull) {
+        return searchResults.get(new SearchKey(organizerId, classroomId, tagId, excludeFull), key ->
+                List.copyOf(eventViewService.findAvailable(organizerId, classroomId, tagId, excludeFull)));
     }
 
     /**
@@ -186,11 +447,32 @@ public class EventService {
 
     // drobna modyfikacja, przyjmuuje event_id, aby nie dawało erroru o overlapie sal podczas edycji eventu
     private boolean isClassroomAvailable(Integer classroomId, LocalDateTime start, LocalDateTime end, Integer eventId) {
-        List<Event> overlapping = eventRepository.findByClassroomIdAndStartDatetimeBeforeAndEndDatetimeAfter(
-                classroomId, end, start);
+        List<Event> overlapping = eventRepository.findOverlapping(classroomId, start, end);
 
         // Ignorujemy konflikt z aktualnie edytowanym eventem, jeśli eventId nie jest null
-        return overlapping.stream().noneMatch(event -> eventId != null && !event.getId().equals(eventId));
+        return overlapping.stream().noneMatch(event -> eventId == null || !event.getId().equals(eventId));
+    }
+
+    /**
+     * Zapisuje wydarzenie od razu (flush). Sprawdzenie {@link #isClassroomAvailable} nie chroni
+     * przed równoległym zapisem innego wydarzenia w tej samej sali - taki wyścig kończy się
+     * naruszeniem ograniczenia {@value #CLASSROOM_OVERLAP_CONSTRAINT}, zamienianym
+     * na {@link IllegalArgumentException}.
+     */
+    private Event saveBooking(Event event) {
+        try {
+            return eventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(CLASSROOM_OVERLAP_CONSTRAINT)) {
+                throw new IllegalArgumentException("Classroom not available at the given time", e);
+            }
+            throw e;
+        }
+    }
+
+    private static Set<Integer> tagIds(Set<Tag> tags) {
+        return tags.stream().map(Tag::getId).collect(Collectors.toSet());
     }
 
 
@@ -216,12 +498,18 @@ public class EventService {
                 .classroomId(event.getClassroom().getId())
                 .classroomName(event.getClassroom().getClassroomName())
                 .tagIds(event.getTags().stream().map(tag -> tag.getId()).toList())
+                .version(event.getVersion())
                 .build();
     }
 
 
-    public List<Event> findAllEvents() {
-        return eventRepository.findAll();
+    /**
+     * Pobiera listę wszystkich wydarzeń z modelu odczytu.
+     *
+     * @return Lista obiektów {@link EventDTO}.
+     */
+    public List<EventDTO> findAllEvents() {
+        return eventViewService.findAll();
     }
 
 }
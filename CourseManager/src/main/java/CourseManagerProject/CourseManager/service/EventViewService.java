@@ -0,0 +1,241 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.EventDTO;
+import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.model.Event;
+import CourseManagerProject.CourseManager.model.EventView;
+import CourseManagerProject.CourseManager.model.Tag;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.repository.EventViewRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serwis utrzymujący zdenormalizowany model odczytu wydarzeń ({@link EventView}).
+ * <p>Pozostałe serwisy wywołują metody tego serwisu po każdej zmianie encji
+ * {@link Event}, {@link User}, {@link Classroom} lub {@link Tag}, dzięki czemu tabela
+ * {@code event_view} jest aktualizowana przyrostowo - tylko w wierszach, których zmiana dotyczy.
+ * Wszystkie listy wydarzeń czytane są wyłącznie z tej tabeli.</p>
+ * <p>Każda zmiana unieważnia zapamiętane wyniki wyszukiwania {@link EventService} na wszystkich węzłach.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class EventViewService {
+
+    private final EventViewRepository eventViewRepository;
+    private final EventRepository eventRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * Zapisuje (lub nadpisuje) wiersz modelu odczytu dla podanego wydarzenia.
+     *
+     * @param event Zapisana encja {@link Event}.
+     */
+    @Transactional
+    public void refresh(Event event) {
+        eventViewRepository.save(toView(event));
+        searchResultsChanged();
+    }
+
+    /**
+     * Usuwa wiersz modelu odczytu dla wydarzenia o podanym ID.
+     *
+     * @param eventId ID usuniętego wydarzenia.
+     */
+    @Transactional
+    public void remove(Integer eventId) {
+        eventViewRepository.deleteById(eventId);
+        searchResultsChanged();
+    }
+
+    /**
+     * Aktualizuje liczbę uczestników wydarzenia (np. po zapisie lub wypisaniu uczestnika).
+     *
+     * @param eventId          ID wydarzenia.
+     * @param participantCount Aktualna liczba uczestników.
+     */
+    @Transactional
+    public void updateParticipantCount(Integer eventId, int participantCount) {
+        eventViewRepository.updateParticipantCount(eventId, participantCount);
+        searchResultsChanged();
+    }
+
+    /**
+     * Propaguje zmianę imienia lub nazwiska organizatora do jego wydarzeń.
+     *
+     * @param organizer Zaktualizowana encja {@link User}.
+     */
+    @Transactional
+    public void organizerChanged(User organizer) {
+        eventViewRepository.updateOrganizerName(organizer.getId(), fullName(organizer));
+        searchResultsChanged();
+    }
+
+    /**
+     * Usuwa wiersze wydarzeń organizatora, które zostały usunięte kaskadowo razem z nim.
+     *
+     * @param organizerId ID usuniętego użytkownika.
+     */
+    @Transactional
+    public void organizerRemoved(Integer organizerId) {
+        eventViewRepository.deleteByOrganizerId(organizerId);
+        searchResultsChanged();
+    }
+
+    /**
+     * Propaguje zmianę nazwy sali do wydarzeń, które się w niej odbywają.
+     *
+     * @param classroom Zaktualizowana encja {@link Classroom}.
+     */
+    @Transactional
+    public void classroomChanged(Classroom classroom) {
+        eventViewRepository.updateClassroomName(classroom.getId(), classroom.getClassroomName());
+        searchResultsChanged();
+    }
+
+    /**
+     * Usuwa wiersze wydarzeń sali, które zostały usunięte kaskadowo razem z nią.
+     *
+     * @param classroomId ID usuniętej sali.
+     */
+    @Transactional
+    public void classroomRemoved(Integer classroomId) {
+        eventViewRepository.deleteByClassroomId(classroomId);
+        searchResultsChanged();
+    }
+
+    /**
+     * Usuwa ID tagu z wydarzeń, do których był przypisany.
+     *
+     * @param tagId ID usuniętego tagu.
+     */
+    @Transactional
+    public void tagRemoved(Integer tagId) {
+        eventViewRepository.removeTag(tagId);
+        searchResultsChanged();
+    }
+
+    /**
+     * Odbudowuje cały model odczytu na podstawie tabeli {@code events}
+     * (np. po załadowaniu danych z pominięciem serwisów).
+     */
+    @Transactional
+    public void rebuild() {
+        eventViewRepository.deleteAllInBatch();
+        eventViewRepository.saveAll(eventRepository.findAll().stream().map(this::toView).toList());
+        searchResultsChanged();
+    }
+
+    private void searchResultsChanged() {
+        cacheInvalidationBus.invalidateAllAfterCommit(EventService.SEARCH_CACHE);
+    }
+
+    /**
+     * Zwraca wszystkie wydarzenia.
+     *
+     * @return Lista obiektów {@link EventDTO}.
+     */
+    public List<EventDTO> findAll() {
+        return mapAll(eventViewRepository.findAllByOrderByStartDatetimeAsc());
+    }
+
+    /**
+     * Zwraca wydarzenia organizowane przez użytkownika o podanym ID.
+     *
+     * @param organizerId ID organizatora.
+     * @return Lista obiektów {@link EventDTO}.
+     */
+    public List<EventDTO> findOrganized(Integer organizerId) {
+        return mapAll(eventViewRepository.findByOrganizerIdOrderByStartDatetimeAsc(organizerId));
+    }
+
+    /**
+     * Zwraca przeszłe wydarzenia, w których uczestniczy użytkownik.
+     *
+     * @param participantId ID uczestnika.
+     * @return Lista obiektów {@link EventDTO} z przeszłości.
+     */
+    public List<EventDTO> findPastParticipating(Integer participantId) {
+        return mapAll(eventViewRepository.findPastByParticipantId(participantId, LocalDateTime.now()));
+    }
+
+    /**
+     * Zwraca przyszłe wydarzenia, w których uczestniczy użytkownik.
+     *
+     * @param participantId ID uczestnika.
+     * @return Lista obiektów {@link EventDTO} z przyszłości.
+     */
+    public List<EventDTO> findFutureParticipating(Integer participantId) {
+        return mapAll(eventViewRepository.findFutureByParticipantId(participantId, LocalDateTime.now()));
+    }
+
+    /**
+     * Przeszukuje dostępne wydarzenia na podstawie filtrów.
+     *
+     * @param organizerId (opcjonalne) ID organizatora.
+     * @param classroomId (opcjonalne) ID sali.
+     * @param tagId       (opcjonalne) ID tagu.
+     * @param excludeFull Czy wykluczać pełne wydarzenia.
+     * @return Lista obiektów {@link EventDTO} spełniających kryteria.
+     */
+    public List<EventDTO> findAvailable(Integer organizerId, Integer classroomId, Integer tagId, boolean excludeFull) {
+        return mapAll(eventViewRepository.findAvailable(LocalDateTime.now(), organizerId, classroomId, tagId, excludeFull));
+    }
+
+    /**
+     * Mapuje wiersz modelu odczytu na DTO - bez odwołań do innych encji.
+     *
+     * @param view Obiekt {@link EventView}.
+     * @return Obiekt {@link EventDTO}.
+     */
+    public EventDTO mapToDTO(EventView view) {
+        return EventDTO.builder()
+                .id(view.getEventId())
+                .name(view.getName())
+                .startDatetime(view.getStartDatetime())
+                .endDatetime(view.getEndDatetime())
+                .maxParticipants(view.getMaxParticipants())
+                .minAge(view.getMinAge())
+                .info(view.getInfo())
+                .organizerId(view.getOrganizerId())
+                .organizerName(view.getOrganizerName())
+                .classroomId(view.getClassroomId())
+                .classroomName(view.getClassroomName())
+                .tagIds(view.getTagIds() == null ? List.of() : Arrays.asList(view.getTagIds()))
+                .version(view.getEventVersion())
+                .build();
+    }
+
+    private List<EventDTO> mapAll(List<EventView> views) {
+        return views.stream().map(this::mapToDTO).toList();
+    }
+
+    private EventView toView(Event event) {
+        return EventView.builder()
+                .eventId(event.getId())
+                .name(event.getName())
+                .startDatetime(event.getStartDatetime())
+                .endDatetime(event.getEndDatetime())
+                .maxParticipants(event.getMaxParticipants())
+                .minAge(event.getMinAge())
+                .info(event.getInfo())
+                .organizerId(event.getOrganizer().getId())
+                .organizerName(fullName(event.getOrganizer()))
+                .classroomId(event.getClassroom().getId())
+                .classroomName(event.getClassroom().getClassroomName())
+                .tagIds(event.getTags().stream().map(Tag::getId).sorted().toArray(Integer[]::new))
+                .participantCount(event.getParticipants().size())
+                .eventVersion(event.getVersion())
+                .build();
+    }
+
+    private static String fullName(User user) {
+        return user.getFirstname() + " " + user.getSurname();
+    }
+}
@@ -0,0 +1,47 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Odbiorca skrzynki nadawczej dopisujący wiadomości do lokalnego pliku (jedna wiadomość JSON na linię).
+ * <p>Aktywny przy {@code outbox.publisher=file}. Paczka serializowana jest w pamięci i dopisywana
+ * do pliku jednym zapisem - plik otwierany jest raz na paczkę.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "file")
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Konstruktor przyjmujący ścieżkę pliku docelowego.
+     *
+     * @param file         Plik, do którego dopisywane są wiadomości.
+     * @param objectMapper Serializator JSON.
+     */
+    public FileOutboxPublisher(@Value("${outbox.file-path:outbox.jsonl}") Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : batch) {
+            lines.append(objectMapper.writeValueAsString(message)).append(System.lineSeparator());
+        }
+        Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
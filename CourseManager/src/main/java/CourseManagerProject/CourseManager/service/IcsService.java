@@ -0,0 +1,307 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.model.Event;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.ClassroomRepository;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.repository.UserRepository;
+import CourseManagerProject.CourseManager.util.IcsWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Serwis generujący kanały iCalendar (ICS) z harmonogramem użytkownika lub sali.
+ *
+ * <p>Kanał generowany jest strumieniowo: wydarzenia czytane są kursorem z {@link EventRepository}
+ * i od razu zapisywane do odpowiedzi, bez budowania list pośrednich. Równocześnie wygenerowana
+ * treść trafia do pamięci podręcznej razem z ETagiem, więc kolejne odpytania klientów kalendarza
+ * obsługiwane są bez dostępu do bazy (lub odpowiedzią 304).
+ *
+ * <p>Wpis w pamięci podręcznej usuwany jest tylko wtedy, gdy zmienia się wydarzenie, które go
+ * dotyczy (organizator, uczestnicy, sala) - po zatwierdzeniu transakcji tej zmiany, na wszystkich
+ * węzłach aplikacji ({@link CacheInvalidationBus}).
+ */
+@Service
+public class IcsService {
+
+    /**
+     * Kanał gotowy do wysłania: ETag znany przed wygenerowaniem treści oraz sama treść.
+     *
+     * @param etag Wartość nagłówka ETag.
+     * @param body Treść kanału zapisywana do odpowiedzi.
+     */
+    public record Feed(String etag, StreamingResponseBody body) {
+    }
+
+    private record CachedFeed(String etag, byte[] content) {
+    }
+
+    /**
+     * Przestrzeń nazw kanałów w {@link CacheInvalidationBus}.
+     */
+    public static final String CACHE = "ics";
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ClassroomRepository classroomRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+    private final ZoneId zone;
+    private final int maxCachedFeeds;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<String, CachedFeed> cache = new ConcurrentHashMap<>();
+    private final Map<String, Long> invalidations = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong fullInvalidations = new AtomicLong();
+
+    /**
+     * Konstruktor wstrzykujący repozytoria i parametry kanałów.
+     *
+     * @param eventRepository     Repozytorium wydarzeń.
+     * @param userRepository      Repozytorium użytkowników.
+     * @param classroomRepository Repozytorium sal.
+     * @param transactionTemplate Szablon transakcji, w której czytany jest kursor wydarzeń.
+     * @param entityManager       Menedżer encji (odłączanie encji po zapisaniu do kanału).
+     * @param zone                Strefa czasowa dat wydarzeń.
+     * @param maxCachedFeeds      Maksymalna liczba kanałów w pamięci podręcznej.
+     * @param cacheInvalidationBus Unieważnianie kanałów na wszystkich węzłach.
+     */
+    public IcsService(EventRepository eventRepository,
+                      UserRepository userRepository,
+                      ClassroomRepository classroomRepository,
+                      TransactionTemplate transactionTemplate,
+                      EntityManager entityManager,
+                      @Value("${ics.time-zone:Europe/Warsaw}") ZoneId zone,
+                      @Value("${ics.max-cached-feeds:10000}") int maxCachedFeeds,
+                      CacheInvalidationBus cacheInvalidationBus) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.classroomRepository = classroomRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.zone = zone;
+        this.maxCachedFeeds = maxCachedFeeds;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.register(CACHE, new CacheInvalidationBus.Listener() {
+            @Override
+            public void invalidate(Collection<String> keys) {
+                IcsService.this.invalidate(keys);
+            }
+
+            @Override
+            public void invalidateAll() {
+                IcsService.this.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Zwraca kanał wydarzeń, które użytkownik organizuje lub w których uczestniczy.
+     *
+     * @param userId ID użytkownika.
+     * @return Kanał ICS lub {@link Optional#empty()}, jeśli użytkownik nie istnieje.
+     */
+    public Optional<Feed> userFeed(Integer userId) {
+        String key = userKey(userId);
+        CachedFeed cached = cache.get(key);
+        if (cached != null) {
+            return Optional.of(fromCache(cached));
+        }
+        return userRepository.findById(userId).map(user -> render(key,
+                "CourseManager - " + user.getFirstname() + " " + user.getSurname(),
+                () -> eventRepository.streamByUserId(userId)));
+    }
+
+    /**
+     * Zwraca kanał wydarzeń odbywających się w sali.
+     *
+     * @param classroomId ID sali.
+     * @return Kanał ICS lub {@link Optional#empty()}, jeśli sala nie istnieje.
+     */
+    public Optional<Feed> classroomFeed(Integer classroomId) {
+        String key = classroomKey(classroomId);
+        CachedFeed cached = cache.get(key);
+        if (cached != null) {
+            return Optional.of(fromCache(cached));
+        }
+        return classroomRepository.findById(classroomId).map(classroom -> render(key,
+                "CourseManager - sala " + classroom.getClassroomName(),
+                () -> eventRepository.streamByClassroomId(classroomId)));
+    }
+
+    /**
+     * Zwraca klucze kanałów, których dotyczy wydarzenie w jego bieżącym stanie:
+     * kanał organizatora, uczestników oraz sali.
+     * <p>Przy edycji należy zebrać klucze przed i po zmianie.</p>
+     *
+     * @param event Encja {@link Event}.
+     * @return Zbiór kluczy kanałów.
+     */
+    public Set<String> affectedFeeds(Event event) {
+        Set<String> keys = new HashSet<>();
+        keys.add(userKey(event.getOrganizer().getId()));
+        keys.add(classroomKey(event.getClassroom().getId()));
+        for (User participant : event.getParticipants()) {
+            keys.add(userKey(participant.getId()));
+        }
+        return keys;
+    }
+
+    /**
+     * Unieważnia kanały po zatwierdzeniu bieżącej transakcji (lub natychmiast, jeśli jej nie ma).
+     *
+     * @param keys Klucze kanałów do unieważnienia.
+     */
+    public void invalidateAfterCommit(Collection<String> keys) {
+        cacheInvalidationBus.invalidateAfterCommit(CACHE, keys);
+    }
+
+    /**
+     * Unieważnia wszystkie kanały (np. po zmianie nazwy sali lub danych organizatora).
+     */
+    public void invalidateAllAfterCommit() {
+        cacheInvalidationBus.invalidateAllAfterCommit(CACHE);
+    }
+
+    private void invalidateAll() {
+        fullInvalidations.incrementAndGet();
+        cache.clear();
+    }
+
+    private void invalidate(Collection<String> keys) {
+        for (String key : keys) {
+            invalidations.merge(key, 1L, Long::sum);
+            cache.remove(key);
+        }
+    }
+
+    private Feed fromCache(CachedFeed cached) {
+        return new Feed(cached.etag(), out -> out.write(cached.content()));
+    }
+
+    /**
+     * Przygotowuje kanał generowany przy wysyłce odpowiedzi. Treść zapisywana jest jednocześnie
+     * do odpowiedzi i do bufora, który trafia do pamięci podręcznej, jeśli kanał nie został
+     * w międzyczasie unieważniony.
+     */
+    private Feed render(String key, String calendarName, Supplier<Stream<Event>> events) {
+        long startEpoch = epoch(key);
+        String etag = "\"" + key + "-" + generation.incrementAndGet() + "\"";
+        return new Feed(etag, out -> {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            Writer writer = new OutputStreamWriter(new TeeOutputStream(out, copy), StandardCharsets.UTF_8);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Event> stream = events.get()) {
+                    IcsWriter ics = new IcsWriter(writer, zone);
+                    ics.beginCalendar(calendarName);
+                    Iterator<Event> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        writeEvent(ics, iterator.next());
+                    }
+                    ics.endCalendar();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            cacheIfCurrent(key, startEpoch, new CachedFeed(etag, copy.toByteArray()));
+        });
+    }
+
+    private void writeEvent(IcsWriter ics, Event event) throws IOException {
+        Classroom classroom = event.getClassroom();
+        User organizer = event.getOrganizer();
+        ics.event("event-" + event.getId() + "@coursemanager",
+                event.getName(),
+                event.getInfo(),
+                classroom.getClassroomName() + ", " + classroom.getLocation(),
+                organizer.getFirstname() + " " + organizer.getSurname(),
+                organizer.getEmail(),
+                event.getStartDatetime(),
+                event.getEndDatetime());
+        // Zapisane wydarzenie nie jest już potrzebne - kontekst utrwalania nie rośnie z długością kanału
+        entityManager.detach(event);
+    }
+
+    /**
+     * Zapisuje kanał w pamięci podręcznej tylko wtedy, gdy od rozpoczęcia generowania
+     * nie został unieważniony (inaczej mógłby zawierać nieaktualne dane).
+     */
+    private void cacheIfCurrent(String key, long startEpoch, CachedFeed feed) {
+        if (cache.size() >= maxCachedFeeds || epoch(key) != startEpoch) {
+            return;
+        }
+        cache.put(key, feed);
+        // Unieważnienie mogło nastąpić między sprawdzeniem a zapisem
+        if (epoch(key) != startEpoch) {
+            cache.remove(key, feed);
+        }
+    }
+
+    private long epoch(String key) {
+        return invalidations.getOrDefault(key, 0L) + fullInvalidations.get();
+    }
+
+    public static String userKey(Integer userId) {
+        return "user-" + userId;
+    }
+
+    public static String classroomKey(Integer classroomId) {
+        return "classroom-" + classroomId;
+    }
+
+    /**
+     * Strumień zapisujący dane jednocześnie do dwóch strumieni docelowych.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        private TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Odbiorca skrzynki nadawczej przekazujący wiadomości do subskrybentów w tym samym procesie.
+ * <p>Aktywny domyślnie ({@code outbox.publisher=memory}). Przydatny w testach oraz dla
+ * komponentów aplikacji, które chcą reagować na zmiany wydarzeń.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Rejestruje subskrybenta wiadomości.
+     *
+     * @param subscriber Odbiorca wywoływany dla każdej wiadomości.
+     */
+    public void subscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            for (Consumer<OutboxMessage> subscriber : subscribers) {
+                subscriber.accept(message);
+            }
+        }
+    }
+}
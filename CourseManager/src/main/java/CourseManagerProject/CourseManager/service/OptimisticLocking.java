@@ -0,0 +1,116 @@
+package CourseManagerProject.CourseManager.service;
+
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Obsługa konfliktów blokowania optymistycznego ({@code @Version} wydarzeń, sal i tagów).
+ *
+ * <p>Edycje (zmiana danych wydarzenia, sali lub tagu) nie są powtarzane - konflikt trafia do klienta
+ * jako 409 ({@code ConflictExceptionHandler}), a klient może przysłać wersję, którą odczytał
+ * ({@link #checkVersion}). {@link #retry} służy wyłącznie usunięciom wydarzenia, sali lub tagu:
+ * każda próba wczytuje encję od nowa i usuwa ją tylko w odczytanej wersji, więc ponowienie działa
+ * na aktualnych danych i daje ten sam wynik co udana pierwsza próba. Liczniki miejsc nigdy nie
+ * przechodzą przez {@link #retry} - zmieniane są warunkowymi zapytaniami {@code UPDATE} bez zmiany
+ * wersji, a operacje, które je zmieniają (np. usunięcie użytkownika zwalniające jego miejsca),
+ * wykonywane są raz.</p>
+ */
+@Slf4j
+@Component
+public class OptimisticLocking {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    /**
+     * Konstruktor wstrzykujący szablon transakcji i parametry powtórzeń.
+     *
+     * @param transactionTemplate Szablon transakcji każdej próby.
+     * @param maxAttempts         Maksymalna liczba prób operacji idempotentnej.
+     * @param backoffMs           Bazowy odstęp między próbami (ms), rosnący z numerem próby, z losowym rozrzutem.
+     */
+    public OptimisticLocking(TransactionTemplate transactionTemplate,
+                             @Value("${concurrency.retry.max-attempts:3}") int maxAttempts,
+                             @Value("${concurrency.retry.backoff-ms:10}") long backoffMs) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(0, backoffMs);
+    }
+
+    /**
+     * Sprawdza wersję encji odczytaną wcześniej przez klienta.
+     *
+     * @param type     Typ encji.
+     * @param id       ID encji.
+     * @param current  Bieżąca wersja encji.
+     * @param expected Wersja przysłana przez klienta ({@code null} - bez sprawdzania).
+     * @throws ObjectOptimisticLockingFailureException jeśli encja zmieniła się od odczytu przez klienta.
+     */
+    public static void checkVersion(Class<?> type, Object id, Long current, Long expected) {
+        if (expected != null && !expected.equals(current)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+    }
+
+    /**
+     * Wykonuje operację idempotentną w transakcji, powtarzając ją po konflikcie wersji.
+     * <p>Wywołana w trwającej transakcji wykonuje operację raz - po konflikcie cała
+     * zewnętrzna transakcja i tak musi zostać wycofana.</p>
+     *
+     * @param operation Operacja idempotentna (bez efektów ubocznych poza transakcją i bez zmian liczników miejsc).
+     * @param <T>       Typ wyniku.
+     * @return Wynik operacji.
+     * @throws OptimisticLockingFailureException jeśli konflikt powtórzył się we wszystkich próbach.
+     */
+    public <T> T retry(Supplier<T> operation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operation.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> operation.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Konflikt wersji (próba {}/{}), ponawianie: {}", attempt, maxAttempts, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Wykonuje operację idempotentną bez wyniku, powtarzając ją po konflikcie wersji.
+     *
+     * @param operation Operacja idempotentna (bez efektów ubocznych poza transakcją i bez zmian liczników miejsc).
+     * @see #retry(Supplier)
+     */
+    public void retry(Runnable operation) {
+        retry(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private void pause(int attempt) {
+        if (backoffMs == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
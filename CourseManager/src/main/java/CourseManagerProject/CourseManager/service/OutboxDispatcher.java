@@ -0,0 +1,116 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+import CourseManagerProject.CourseManager.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cykliczny odbiorca skrzynki nadawczej.
+ * <p>Co {@code outbox.poll-interval-ms} pobiera paczki po {@code outbox.batch-size} wiadomości
+ * zapytaniem {@code FOR UPDATE SKIP LOCKED}, przekazuje całą paczkę jednym wywołaniem
+ * {@link OutboxPublisher} i usuwa wysłane jednym zapytaniem w tej samej transakcji. Blokady wierszy
+ * sprawiają, że kilka instancji aplikacji dzieli pracę bez duplikatów. Jeśli wysyłka paczki się nie
+ * powiedzie, wiadomości wysyłane są pojedynczo (te sprzed błędu mogą dotrzeć drugi raz - wysyłka jest
+ * "co najmniej raz"). Wiadomość, której wysyłka się nie powiodła, zostaje w tabeli z powiększonym
+ * licznikiem prób i nie wstrzymuje kolejnych; po {@code outbox.max-attempts} próbach przechodzi
+ * do stanu "martwych" ({@code dead_at}) i nie jest już pobierana.</p>
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    /**
+     * Konstruktor wstrzykujący repozytorium, odbiorcę, rozmiar paczki i limit prób.
+     *
+     * @param outboxMessageRepository Repozytorium skrzynki nadawczej.
+     * @param outboxPublisher         Odbiorca wiadomości.
+     * @param transactionTemplate     Szablon transakcji obejmującej pobranie, wysyłkę i usunięcie paczki.
+     * @param batchSize               Maksymalna liczba wiadomości w paczce.
+     * @param maxAttempts             Liczba prób wysyłki, po której wiadomość staje się "martwa".
+     */
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            OutboxPublisher outboxPublisher,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${outbox.batch-size:100}") int batchSize,
+                            @Value("${outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Opróżnia skrzynkę nadawczą paczkami, dopóki są w niej wiadomości do wysłania.
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        int sent;
+        do {
+            sent = dispatchBatch();
+        } while (sent == batchSize);
+    }
+
+    /**
+     * Wysyła jedną paczkę wiadomości naraz; po błędzie - każdą osobno, więc błąd jednej wiadomości
+     * nie wstrzymuje pozostałych.
+     *
+     * @return Liczba wysłanych wiadomości (0, jeśli skrzynka jest pusta).
+     */
+    public int dispatchBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxMessageRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<OutboxMessage> published = publish(batch);
+            if (!published.isEmpty()) {
+                outboxMessageRepository.deleteAllInBatch(published);
+            }
+            return published.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    private List<OutboxMessage> publish(List<OutboxMessage> batch) {
+        try {
+            outboxPublisher.publish(batch);
+            return batch;
+        } catch (Exception batchError) {
+            log.debug("Wysyłka paczki {} wiadomości nie powiodła się - wysyłka pojedynczo", batch.size(), batchError);
+        }
+        List<OutboxMessage> published = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            try {
+                outboxPublisher.publish(List.of(message));
+                published.add(message);
+            } catch (Exception e) {
+                recordFailure(message, e);
+            }
+        }
+        return published;
+    }
+
+    private void recordFailure(OutboxMessage message, Exception e) {
+        outboxMessageRepository.recordFailure(message.getId(), String.valueOf(e), maxAttempts);
+        if (message.getAttempts() + 1 >= maxAttempts) {
+            log.error("Wiadomość {} ({}) przeniesiona do martwych po {} próbach wysyłki",
+                    message.getId(), message.getType(), maxAttempts, e);
+        } else {
+            log.warn("Nie udało się wysłać wiadomości {} ({}) ze skrzynki nadawczej", message.getId(), message.getType(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Odbiorca wiadomości ze skrzynki nadawczej (np. eksport kalendarza, wysyłka powiadomień).
+ * <p>Implementacja wybierana jest właściwością {@code outbox.publisher}.
+ * Wysyłka jest "co najmniej raz" - odbiorca musi tolerować powtórzenia.</p>
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Przekazuje paczkę wiadomości do odbiorcy.
+     *
+     * @param batch Wiadomości w kolejności zapisu.
+     * @throws Exception jeśli wysyłka się nie powiodła - wiadomości zostaną wysłane ponownie.
+     */
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,57 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+import CourseManagerProject.CourseManager.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Serwis zapisujący wiadomości do transakcyjnej skrzynki nadawczej.
+ * <p>{@link #enqueue} wymaga trwającej transakcji, dzięki czemu wiadomość zostaje zatwierdzona
+ * lub wycofana razem ze zmianą, której dotyczy. Zapis to pojedynczy {@code INSERT} - wysyłka
+ * odbywa się później, w {@link OutboxDispatcher}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String EVENT_CREATED = "EVENT_CREATED";
+    public static final String EVENT_UPDATED = "EVENT_UPDATED";
+    public static final String EVENT_DELETED = "EVENT_DELETED";
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Zapisuje wiadomość w skrzynce nadawczej w ramach bieżącej transakcji.
+     *
+     * @param type          Rodzaj zmiany (np. {@link #EVENT_CREATED}).
+     * @param aggregateType Typ obiektu (np. "Event").
+     * @param aggregateId   ID obiektu.
+     * @param payload       Treść wiadomości serializowana do JSON.
+     * @throws IllegalStateException jeśli treści nie da się zserializować.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueue(String type, String aggregateType, Integer aggregateId, Object payload) {
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .createdAt(Instant.now())
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .type(type)
+                .payload(toJson(payload))
+                .build());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+    }
+}
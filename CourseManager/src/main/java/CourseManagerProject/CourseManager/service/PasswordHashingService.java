@@ -0,0 +1,97 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.HashingStatsDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serwis haszujący i weryfikujący hasła w dedykowanej puli wątków ({@code passwordHashExecutor}).
+ * <p>Metody zwracają {@link CompletableFuture}, więc wątek żądania HTTP nie czeka na bcrypt.
+ * Gdy kolejka puli jest pełna, zwrócony future kończy się wyjątkiem
+ * {@link RejectedExecutionException} - kontroler odpowiada wtedy 503 z nagłówkiem {@code Retry-After}.</p>
+ */
+@Service
+public class PasswordHashingService {
+
+    /**
+     * Hash porównywany przy logowaniu na nieistniejące konto, aby czas odpowiedzi
+     * nie zdradzał, czy adres email jest zarejestrowany.
+     */
+    private final String dummyHash;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Konstruktor wstrzykujący koder haseł i pulę wątków.
+     *
+     * @param passwordEncoder Koder haseł.
+     * @param executor        Pula wątków haszujących.
+     */
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashExecutor") ThreadPoolExecutor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.dummyHash = passwordEncoder.encode("dummy-password-for-timing");
+    }
+
+    /**
+     * Haszuje hasło.
+     *
+     * @param rawPassword Hasło w postaci jawnej.
+     * @return Future z hashem hasła.
+     */
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Sprawdza, czy hasło pasuje do zapisanego hasha.
+     *
+     * @param rawPassword     Hasło w postaci jawnej.
+     * @param encodedPassword Zapisany hash lub {@code null}, jeśli konto nie istnieje.
+     * @return Future z wynikiem porównania.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                passwordEncoder.matches(rawPassword, dummyHash);
+                return false;
+            });
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Zwraca metryki puli haszującej.
+     *
+     * @return Obiekt {@link HashingStatsDTO}.
+     */
+    public HashingStatsDTO getStats() {
+        return HashingStatsDTO.builder()
+                .threads(executor.getMaximumPoolSize())
+                .active(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .queueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity())
+                .completed(executor.getCompletedTaskCount())
+                .rejected(rejected.get())
+                .build();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.config.RateLimitProperties;
+import CourseManagerProject.CourseManager.dto.RateLimitStatsDTO;
+import CourseManagerProject.CourseManager.util.TokenBucket;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serwis limitów żądań oparty na kubełkach tokenów ({@link TokenBucket}).
+ * <p>Dla każdej reguły z {@link RateLimitProperties} utrzymuje osobne kubełki dla każdego
+ * klucza klienta (użytkownik lub adres IP). Pobranie tokenu nie używa blokad; pełne kubełki
+ * są okresowo usuwane, więc pamięć zależy od liczby aktywnych klientów, a nie wszystkich,
+ * którzy kiedykolwiek wysłali żądanie.</p>
+ */
+@Service
+public class RateLimiterService {
+
+    private static final class CompiledRule {
+        private final RateLimitProperties.Rule rule;
+        private final PathPattern pattern;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        private CompiledRule(RateLimitProperties.Rule rule) {
+            this.rule = rule;
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPattern());
+        }
+
+        private boolean matches(PathContainer path, String method) {
+            return (rule.getMethod() == null || rule.getMethod().isBlank() || rule.getMethod().equalsIgnoreCase(method))
+                    && pattern.matches(path);
+        }
+    }
+
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
+
+    /**
+     * Konstruktor kompilujący wzorce reguł.
+     *
+     * @param properties Konfiguracja limitów.
+     */
+    public RateLimiterService(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.rules = properties.getRules().stream().map(CompiledRule::new).toList();
+    }
+
+    /**
+     * Próbuje pobrać token dla żądania.
+     *
+     * @param path      Ścieżka żądania (bez ścieżki kontekstu).
+     * @param method    Metoda HTTP.
+     * @param clientKey Klucz klienta (np. {@code user:12} lub {@code ip:10.0.0.1}).
+     * @return 0, jeśli żądanie może zostać obsłużone (lub nie podlega żadnej regule);
+     *         w przeciwnym razie czas (ns), po którym klient może ponowić żądanie.
+     */
+    public long tryAcquire(String path, String method, String clientKey) {
+        if (!enabled) {
+            return 0;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (CompiledRule rule : rules) {
+            if (rule.matches(container, method)) {
+                long now = System.nanoTime();
+                TokenBucket bucket = rule.buckets.computeIfAbsent(clientKey,
+                        key -> new TokenBucket(rule.rule.getCapacity(), rule.rule.getRefillPerSecond(), now));
+                long waitNanos = bucket.tryConsume(now);
+                (waitNanos == 0 ? rule.allowed : rule.throttled).increment();
+                return waitNanos;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Usuwa pełne kubełki - nowy kubełek dla tego samego klienta zachowa się identycznie.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval-ms:60000}")
+    public void removeIdleBuckets() {
+        long now = System.nanoTime();
+        for (CompiledRule rule : rules) {
+            rule.buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    /**
+     * Zwraca metryki wszystkich reguł.
+     *
+     * @return Lista obiektów {@link RateLimitStatsDTO} w kolejności reguł.
+     */
+    public List<RateLimitStatsDTO> getStats() {
+        return rules.stream().map(rule -> RateLimitStatsDTO.builder()
+                .pattern(rule.rule.getPattern())
+                .method(rule.rule.getMethod())
+                .capacity(rule.rule.getCapacity())
+                .refillPerSecond(rule.rule.getRefillPerSecond())
+                .allowed(rule.allowed.sum())
+                .throttled(rule.throttled.sum())
+                .activeBuckets(rule.buckets.size())
+                .build()).toList();
+    }
+}
@@ -0,0 +1,426 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.EventDTO;
+import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.model.EventView;
+import CourseManagerProject.CourseManager.repository.ClassroomRepository;
+import CourseManagerProject.CourseManager.repository.EventViewRepository;
+import CourseManagerProject.CourseManager.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serwis rekomendacji wydarzeń dla użytkowników.
+ * <p>Nadchodzące wydarzenia oceniane są według zgodności tagów z wydarzeniami, na które użytkownik
+ * się zapisał (waga tagu = liczba takich wydarzeń). Pomijane są wydarzenia, do których użytkownik
+ * nie spełnia wymagania wieku, wydarzenia pełne (limit uczestników lub pojemność sali) oraz te,
+ * na które użytkownik jest już zapisany. Braki do {@code recommendations.top-k} uzupełniane są
+ * najbliższymi dostępnymi wydarzeniami.</p>
+ * <p>Listy liczone są w tle ({@link #refresh()}) i przechowywane w pamięci, więc odczyt
+ * ({@link #getRecommendations(Integer)}) nie wykonuje zapytań. Po pełnym przeliczeniu zadanie
+ * działa przyrostowo: zmiany zgłaszane przez serwisy po zatwierdzeniu transakcji oznaczają
+ * wydarzenia i użytkowników do ponownego przeliczenia.</p>
+ */
+@Slf4j
+@Service
+public class RecommendationService {
+
+    private static final int QUERY_CHUNK = 1000;
+
+    private static final String PROFILE_SQL =
+            "SELECT ep.user_id, et.tag_id, count(*) FROM event_participant ep " +
+                    "JOIN event_tag et ON et.event_id = ep.event_id " +
+                    "JOIN events e ON e.id = ep.event_id AND e.deleted_at IS NULL ";
+    private static final String JOINED_SQL =
+            "SELECT ep.user_id, ep.event_id FROM event_participant ep " +
+                    "JOIN events e ON e.id = ep.event_id WHERE e.start_datetime > :now AND e.deleted_at IS NULL ";
+    private static final String AGE_SQL = "SELECT id, age FROM users WHERE deleted_at IS NULL ";
+
+    /**
+     * Nadchodzące wydarzenie - kandydat do rekomendacji.
+     */
+    private record Candidate(EventDTO event, int minAge, boolean full, int[] tagIds) {
+    }
+
+    /**
+     * Dane użytkownika potrzebne do oceny wydarzeń.
+     */
+    private static final class Profile {
+        private Integer age;
+        private final Map<Integer, Integer> tagWeights = new HashMap<>();
+        private final Set<Integer> joinedEvents = new HashSet<>();
+    }
+
+    /**
+     * Gotowa lista rekomendacji wraz z informacjami potrzebnymi przy przeliczaniu przyrostowym.
+     *
+     * @param fillHorizon Początek ostatniego wydarzenia dopisanego jako uzupełnienie listy (najbliższe
+     *                    wydarzenia); {@link LocalDateTime#MAX}, jeśli nawet uzupełniona lista jest krótsza
+     *                    niż K, a {@code null}, jeśli lista nie była uzupełniana.
+     */
+    private record TopK(List<EventDTO> events, Set<Integer> eventIds, LocalDateTime fillHorizon) {
+    }
+
+    private record Scored(Candidate candidate, int score) {
+    }
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt(Scored::score).reversed()
+            .thenComparing(scored -> scored.candidate().event().getStartDatetime());
+
+    private final EventViewRepository eventViewRepository;
+    private final ClassroomRepository classroomRepository;
+    private final EventViewService eventViewService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int topK;
+
+    private final Map<Integer, TopK> recommendations = new ConcurrentHashMap<>();
+    private final Set<Integer> dirtyEvents = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuildRequested = true;
+
+    // Stan zadania w tle - używany tylko przez wątek wykonujący refresh()
+    private final Map<Integer, Candidate> candidates = new HashMap<>();
+    private final Map<Integer, Set<Integer>> candidatesByTag = new HashMap<>();
+    private final Map<Integer, Profile> profiles = new HashMap<>();
+    private final Map<Integer, Set<Integer>> usersByTag = new HashMap<>();
+    private List<Candidate> byStart = List.of();
+
+    /**
+     * Konstruktor wstrzykujący repozytoria i rozmiar list rekomendacji.
+     *
+     * @param eventViewRepository Repozytorium modelu odczytu wydarzeń.
+     * @param classroomRepository Repozytorium sal (pojemność).
+     * @param eventViewService    Serwis mapujący model odczytu na DTO.
+     * @param jdbcTemplate        Szablon JDBC do zapytań zbiorczych.
+     * @param topK                Liczba rekomendacji na użytkownika.
+     */
+    public RecommendationService(EventViewRepository eventViewRepository,
+                                 ClassroomRepository classroomRepository,
+                                 EventViewService eventViewService,
+                                 NamedParameterJdbcTemplate jdbcTemplate,
+                                 @Value("${recommendations.top-k:10}") int topK) {
+        this.eventViewRepository = eventViewRepository;
+        this.classroomRepository = classroomRepository;
+        this.eventViewService = eventViewService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.topK = topK;
+    }
+
+    /**
+     * Zwraca rekomendowane wydarzenia użytkownika z pamięci podręcznej.
+     *
+     * @param userId ID użytkownika.
+     * @return Lista obiektów {@link EventDTO} (od najlepiej dopasowanego) lub {@link Optional#empty()},
+     *         jeśli lista dla użytkownika nie została jeszcze policzona.
+     */
+    public Optional<List<EventDTO>> getRecommendations(Integer userId) {
+        return Optional.ofNullable(recommendations.get(userId)).map(TopK::events);
+    }
+
+    /**
+     * Oznacza wydarzenia do ponownej oceny po zatwierdzeniu bieżącej transakcji.
+     *
+     * @param eventIds ID zmienionych, dodanych lub usuniętych wydarzeń.
+     */
+    public void eventsChanged(Collection<Integer> eventIds) {
+        Set<Integer> snapshot = Set.copyOf(eventIds);
+        AfterCommit.run(() -> dirtyEvents.addAll(snapshot));
+    }
+
+    /**
+     * Oznacza użytkowników do ponownego przeliczenia po zatwierdzeniu bieżącej transakcji
+     * (zmiana zapisów, wieku lub usunięcie użytkownika).
+     *
+     * @param userIds ID użytkowników.
+     */
+    public void usersChanged(Collection<Integer> userIds) {
+        Set<Integer> snapshot = Set.copyOf(userIds);
+        AfterCommit.run(() -> dirtyUsers.addAll(snapshot));
+    }
+
+    /**
+     * Zleca pełne przeliczenie przy najbliższym uruchomieniu zadania (np. po zmianie sali
+     * lub usunięciu tagu, które dotyczą wielu wydarzeń naraz).
+     */
+    public void rebuildAll() {
+        AfterCommit.run(() -> rebuildRequested = true);
+    }
+
+    /**
+     * Przelicza rekomendacje: w całości po {@link #rebuildAll()}, w przeciwnym razie tylko
+     * dla oznaczonych użytkowników i użytkowników, których listy mogą zależeć od zmienionych wydarzeń.
+     */
+    @Scheduled(fixedDelayString = "${recommendations.refresh-ms:30000}",
+            initialDelayString = "${recommendations.initial-delay-ms:5000}")
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            dirtyEvents.clear();
+            dirtyUsers.clear();
+            rebuild(now);
+            return;
+        }
+
+        Set<Integer> changedEvents = drain(dirtyEvents);
+        candidates.values().stream()
+                .filter(candidate -> !candidate.event().getStartDatetime().isAfter(now))
+                .forEach(candidate -> changedEvents.add(candidate.event().getId()));
+        Set<Integer> affectedUsers = drain(dirtyUsers);
+        if (changedEvents.isEmpty() && affectedUsers.isEmpty()) {
+            return;
+        }
+
+        if (!changedEvents.isEmpty()) {
+            affectedUsers.addAll(reloadCandidates(changedEvents, now));
+        }
+        reloadProfiles(affectedUsers, now);
+        affectedUsers.forEach(this::recompute);
+        log.debug("Przeliczono rekomendacje {} użytkowników ({} zmienionych wydarzeń)",
+                affectedUsers.size(), changedEvents.size());
+    }
+
+    private void rebuild(LocalDateTime now) {
+        Map<Integer, Integer> capacities = classroomCapacities();
+        candidates.clear();
+        candidatesByTag.clear();
+        eventViewRepository.findByStartDatetimeAfter(now)
+                .forEach(view -> addCandidate(toCandidate(view, capacities)));
+        sortByStart();
+
+        profiles.clear();
+        usersByTag.clear();
+        jdbcTemplate.query(AGE_SQL, rs -> {
+            profiles.computeIfAbsent(rs.getInt(1), id -> new Profile()).age = (Integer) rs.getObject(2);
+        });
+        jdbcTemplate.query(PROFILE_SQL + "GROUP BY ep.user_id, et.tag_id", rs -> {
+            addWeight(rs.getInt(1), rs.getInt(2), rs.getInt(3));
+        });
+        jdbcTemplate.query(JOINED_SQL, Map.of("now", now), rs -> {
+            Profile profile = profiles.get(rs.getInt(1));
+            if (profile != null) {
+                profile.joinedEvents.add(rs.getInt(2));
+            }
+        });
+
+        recommendations.keySet().retainAll(profiles.keySet());
+        profiles.keySet().forEach(this::recompute);
+        log.info("Przeliczono rekomendacje {} użytkowników dla {} nadchodzących wydarzeń",
+                profiles.size(), candidates.size());
+    }
+
+    /**
+     * Wczytuje ponownie zmienione wydarzenia i zwraca użytkowników, których listy mogą się zmienić:
+     * mających zmienione wydarzenie na liście, mających wspólny tag (przed lub po zmianie) oraz tych,
+     * których lista uzupełniana jest najbliższymi wydarzeniami, jeśli zmienione wydarzenie zaczyna się
+     * przed ostatnim uzupełnieniem (tylko wtedy może wejść na listę).
+     */
+    private Set<Integer> reloadCandidates(Set<Integer> eventIds, LocalDateTime now) {
+        Set<Integer> tags = new HashSet<>();
+        eventIds.stream().map(candidates::get).filter(candidate -> candidate != null)
+                .forEach(candidate -> removeCandidate(candidate, tags));
+
+        Map<Integer, Integer> capacities = classroomCapacities();
+        LocalDateTime earliestStart = null;
+        for (EventView view : eventViewRepository.findAllById(eventIds)) {
+            if (!view.getStartDatetime().isAfter(now)) {
+                continue;
+            }
+            Candidate candidate = toCandidate(view, capacities);
+            addCandidate(candidate);
+            for (int tagId : candidate.tagIds()) {
+                tags.add(tagId);
+            }
+            if (!candidate.full() && (earliestStart == null || view.getStartDatetime().isBefore(earliestStart))) {
+                earliestStart = view.getStartDatetime();
+            }
+        }
+        sortByStart();
+
+        Set<Integer> affected = new HashSet<>();
+        tags.forEach(tagId -> affected.addAll(usersByTag.getOrDefault(tagId, Set.of())));
+        LocalDateTime earliestAvailable = earliestStart;
+        recommendations.forEach((userId, top) -> {
+            boolean mayEnterFill = earliestAvailable != null && top.fillHorizon() != null
+                    && !earliestAvailable.isAfter(top.fillHorizon());
+            if (mayEnterFill || eventIds.stream().anyMatch(top.eventIds()::contains)) {
+                affected.add(userId);
+            }
+        });
+        return affected;
+    }
+
+    private void reloadProfiles(Set<Integer> userIds, LocalDateTime now) {
+        for (List<Integer> chunk : chunks(userIds)) {
+            chunk.forEach(this::removeProfile);
+            Map<String, Object> params = Map.of("ids", chunk, "now", now);
+            jdbcTemplate.query(AGE_SQL + "AND id IN (:ids)", params, rs -> {
+                profiles.computeIfAbsent(rs.getInt(1), id -> new Profile()).age = (Integer) rs.getObject(2);
+            });
+            jdbcTemplate.query(PROFILE_SQL + "WHERE ep.user_id IN (:ids) GROUP BY ep.user_id, et.tag_id", params, rs -> {
+                addWeight(rs.getInt(1), rs.getInt(2), rs.getInt(3));
+            });
+            jdbcTemplate.query(JOINED_SQL + "AND ep.user_id IN (:ids)", params, rs -> {
+                Profile profile = profiles.get(rs.getInt(1));
+                if (profile != null) {
+                    profile.joinedEvents.add(rs.getInt(2));
+                }
+            });
+        }
+    }
+
+    private void recompute(Integer userId) {
+        Profile profile = profiles.get(userId);
+        if (profile == null) {
+            recommendations.remove(userId);
+            return;
+        }
+
+        Map<Integer, Integer> scores = new HashMap<>();
+        profile.tagWeights.forEach((tagId, weight) -> candidatesByTag.getOrDefault(tagId, Set.of())
+                .forEach(eventId -> scores.merge(eventId, weight, Integer::sum)));
+
+        // Kopiec minimalny o rozmiarze K - najsłabszy z najlepszych na szczycie
+        PriorityQueue<Scored> best = new PriorityQueue<>(topK + 1, RANKING.reversed());
+        scores.forEach((eventId, score) -> {
+            Candidate candidate = candidates.get(eventId);
+            if (isEligible(candidate, profile)) {
+                best.add(new Scored(candidate, score));
+                if (best.size() > topK) {
+                    best.poll();
+                }
+            }
+        });
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+
+        LocalDateTime fillHorizon = null;
+        if (ranked.size() < topK) {
+            Set<Integer> chosen = ranked.stream().map(scored -> scored.candidate().event().getId())
+                    .collect(Collectors.toSet());
+            for (Candidate candidate : byStart) {
+                if (ranked.size() >= topK) {
+                    break;
+                }
+                if (!chosen.contains(candidate.event().getId()) && isEligible(candidate, profile)) {
+                    ranked.add(new Scored(candidate, 0));
+                    fillHorizon = candidate.event().getStartDatetime();
+                }
+            }
+            // Krótka lista przyjmie każde nowe wydarzenie, niezależnie od terminu
+            if (ranked.size() < topK) {
+                fillHorizon = LocalDateTime.MAX;
+            }
+        }
+
+        List<EventDTO> events = ranked.stream().map(scored -> scored.candidate().event()).toList();
+        recommendations.put(userId, new TopK(events,
+                events.stream().map(EventDTO::getId).collect(Collectors.toUnmodifiableSet()), fillHorizon));
+    }
+
+    private static boolean isEligible(Candidate candidate, Profile profile) {
+        return !candidate.full()
+                && (candidate.minAge() <= 0 || (profile.age != null && profile.age >= candidate.minAge()))
+                && !profile.joinedEvents.contains(candidate.event().getId());
+    }
+
+    private Candidate toCandidate(EventView view, Map<Integer, Integer> capacities) {
+        int limit = Math.min(view.getMaxParticipants(),
+                capacities.getOrDefault(view.getClassroomId(), Integer.MAX_VALUE));
+        int participants = view.getParticipantCount() == null ? 0 : view.getParticipantCount();
+        Integer[] tags = view.getTagIds() == null ? new Integer[0] : view.getTagIds();
+        int[] tagIds = new int[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            tagIds[i] = tags[i];
+        }
+        return new Candidate(eventViewService.mapToDTO(view), view.getMinAge(), participants >= limit, tagIds);
+    }
+
+    private void addCandidate(Candidate candidate) {
+        Integer eventId = candidate.event().getId();
+        candidates.put(eventId, candidate);
+        for (int tagId : candidate.tagIds()) {
+            candidatesByTag.computeIfAbsent(tagId, id -> new HashSet<>()).add(eventId);
+        }
+    }
+
+    private void removeCandidate(Candidate candidate, Set<Integer> tags) {
+        Integer eventId = candidate.event().getId();
+        candidates.remove(eventId);
+        for (int tagId : candidate.tagIds()) {
+            tags.add(tagId);
+            Set<Integer> events = candidatesByTag.get(tagId);
+            if (events != null && events.remove(eventId) && events.isEmpty()) {
+                candidatesByTag.remove(tagId);
+            }
+        }
+    }
+
+    private void sortByStart() {
+        byStart = candidates.values().stream()
+                .sorted(Comparator.comparing(candidate -> candidate.event().getStartDatetime()))
+                .toList();
+    }
+
+    private void addWeight(int userId, int tagId, int weight) {
+        Profile profile = profiles.get(userId);
+        if (profile != null) {
+            profile.tagWeights.put(tagId, weight);
+            usersByTag.computeIfAbsent(tagId, id -> new HashSet<>()).add(userId);
+        }
+    }
+
+    private void removeProfile(Integer userId) {
+        Profile profile = profiles.remove(userId);
+        if (profile != null) {
+            profile.tagWeights.keySet().forEach(tagId -> {
+                Set<Integer> users = usersByTag.get(tagId);
+                if (users != null && users.remove(userId) && users.isEmpty()) {
+                    usersByTag.remove(tagId);
+                }
+            });
+        }
+    }
+
+    private Map<Integer, Integer> classroomCapacities() {
+        return classroomRepository.findAll().stream()
+                .filter(classroom -> classroom.getCapacity() != null)
+                .collect(Collectors.toMap(Classroom::getId, Classroom::getCapacity));
+    }
+
+    private static Set<Integer> drain(Set<Integer> dirty) {
+        Set<Integer> drained = new HashSet<>();
+        for (Integer id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private static List<List<Integer>> chunks(Collection<Integer> ids) {
+        List<Integer> all = new ArrayList<>(ids);
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += QUERY_CHUNK) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + QUERY_CHUNK)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,257 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.EnrollmentDTO;
+import CourseManagerProject.CourseManager.dto.RegistrationWindowDTO;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.util.RingBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Okna rejestracji dla popularnych wydarzeń.
+ * <p>Gdy okno jest otwarte, zgłoszenia zapisu na wydarzenie nie rywalizują o wiersz
+ * {@code events}: trafiają do ograniczonej kolejki w pamięci, a jeden wątek (wirtualny)
+ * na wydarzenie zapisuje je partiami przez {@link EnrollmentService#joinBatch(Integer, List)}.
+ * Każdy klient otrzymuje {@link CompletableFuture} uzupełniany po zatwierdzeniu partii.
+ * Pełna kolejka odrzuca zgłoszenie ({@link RejectedExecutionException}, odpowiedź 503).</p>
+ * <p>Okno działa w obrębie jednej instancji aplikacji; limit miejsc pilnowany jest i tak
+ * przez warunkowe {@code UPDATE}, więc równoległe okna na kilku instancjach są bezpieczne.</p>
+ */
+@Slf4j
+@Service
+public class RegistrationWindowService {
+
+    private record PendingEnrollment(Integer userId, CompletableFuture<EnrollmentDTO> result) {
+    }
+
+    private final EventRepository eventRepository;
+    private final EnrollmentService enrollmentService;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long idleWaitNanos;
+
+    private final Map<Integer, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor wstrzykujący serwisy i parametry okien.
+     *
+     * @param eventRepository   Repozytorium wydarzeń.
+     * @param enrollmentService Serwis zapisów.
+     * @param queueCapacity     Pojemność kolejki zgłoszeń jednego wydarzenia.
+     * @param batchSize         Maksymalna liczba zgłoszeń w jednej partii.
+     * @param idleWaitMs        Czas oczekiwania wątku przy pustej kolejce (ms).
+     */
+    public RegistrationWindowService(EventRepository eventRepository,
+                                     EnrollmentService enrollmentService,
+                                     @Value("${registration-window.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${registration-window.batch-size:500}") int batchSize,
+                                     @Value("${registration-window.idle-wait-ms:5}") long idleWaitMs) {
+        this.eventRepository = eventRepository;
+        this.enrollmentService = enrollmentService;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+    }
+
+    /**
+     * Otwiera okno rejestracji wydarzenia (jeśli nie jest już otwarte).
+     *
+     * @param eventId ID wydarzenia.
+     * @return Obiekt {@link RegistrationWindowDTO} ze stanem okna.
+     * @throws IllegalArgumentException jeśli wydarzenie nie istnieje.
+     */
+    public RegistrationWindowDTO open(Integer eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        Window window = windows.compute(eventId, (id, current) -> current != null && current.open ? current : new Window(id));
+        window.start();
+        return window.toDTO();
+    }
+
+    /**
+     * Zamyka okno rejestracji. Zgłoszenia z kolejki są jeszcze zapisywane, nowe
+     * obsługiwane są już bezpośrednio przez {@link EnrollmentService#join(Integer, Integer)}.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Obiekt {@link RegistrationWindowDTO} ze stanem okna.
+     */
+    public RegistrationWindowDTO close(Integer eventId) {
+        Window window = windows.get(eventId);
+        if (window == null) {
+            return closedWindow(eventId);
+        }
+        window.open = false;
+        LockSupport.unpark(window.worker);
+        return window.toDTO();
+    }
+
+    /**
+     * Przekazuje zgłoszenie do kolejki okna rejestracji, jeśli okno jest otwarte.
+     *
+     * @param eventId ID wydarzenia.
+     * @param userId  ID użytkownika.
+     * @return Wynik zapisu uzupełniany asynchronicznie lub {@link Optional#empty()},
+     *         jeśli okno nie jest otwarte. Przy pełnej kolejce wynik kończy się
+     *         wyjątkiem {@link RejectedExecutionException}.
+     */
+    public Optional<CompletableFuture<EnrollmentDTO>> submit(Integer eventId, Integer userId) {
+        Window window = windows.get(eventId);
+        if (window == null) {
+            return Optional.empty();
+        }
+        // Licznik zgłoszeń w toku chroni przed zamknięciem wątku przed odczytem zgłoszenia
+        window.submitting.incrementAndGet();
+        try {
+            if (!window.open) {
+                return Optional.empty();
+            }
+            PendingEnrollment pending = new PendingEnrollment(userId, new CompletableFuture<>());
+            if (!window.queue.offer(pending)) {
+                window.rejected.incrementAndGet();
+                return Optional.of(CompletableFuture.failedFuture(
+                        new RejectedExecutionException("Registration queue for event " + eventId + " is full")));
+            }
+            LockSupport.unpark(window.worker);
+            return Optional.of(pending.result());
+        } finally {
+            window.submitting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Zwraca stan okna rejestracji wydarzenia.
+     *
+     * @param eventId ID wydarzenia.
+     * @return Obiekt {@link RegistrationWindowDTO}.
+     */
+    public RegistrationWindowDTO getStatus(Integer eventId) {
+        Window window = windows.get(eventId);
+        return window != null ? window.toDTO() : closedWindow(eventId);
+    }
+
+    /**
+     * Zamyka wszystkie okna przy zatrzymaniu aplikacji i czeka na zapis kolejek.
+     */
+    @PreDestroy
+    public void shutdown() {
+        windows.values().forEach(window -> {
+            window.open = false;
+            LockSupport.unpark(window.worker);
+        });
+        for (Window window : windows.values()) {
+            try {
+                window.worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private RegistrationWindowDTO closedWindow(Integer eventId) {
+        return RegistrationWindowDTO.builder()
+                .eventId(eventId)
+                .queueCapacity(queueCapacity)
+                .build();
+    }
+
+    /**
+     * Kolejka zgłoszeń jednego wydarzenia z wątkiem zapisującym (jedynym pisarzem).
+     */
+    private final class Window {
+
+        private final Integer eventId;
+        private final RingBuffer<PendingEnrollment> queue = new RingBuffer<>(queueCapacity);
+        private final AtomicInteger submitting = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final Thread worker;
+        private volatile boolean open = true;
+        private volatile int lastBatchSize;
+
+        private Window(Integer eventId) {
+            this.eventId = eventId;
+            this.worker = Thread.ofVirtual().name("registration-" + eventId).unstarted(this::run);
+        }
+
+        private void start() {
+            if (worker.getState() == Thread.State.NEW) {
+                synchronized (this) {
+                    if (worker.getState() == Thread.State.NEW) {
+                        worker.start();
+                    }
+                }
+            }
+        }
+
+        private void run() {
+            List<PendingEnrollment> batch = new ArrayList<>(batchSize);
+            while (open || submitting.get() > 0 || queue.size() > 0) {
+                batch.clear();
+                if (queue.drainTo(batch::add, batchSize) == 0) {
+                    LockSupport.parkNanos(idleWaitNanos);
+                } else {
+                    process(batch);
+                }
+            }
+            windows.remove(eventId, this);
+        }
+
+        private void process(List<PendingEnrollment> batch) {
+            // Powtórzone zgłoszenia tego samego użytkownika dostają ten sam wynik
+            Map<Integer, List<CompletableFuture<EnrollmentDTO>>> byUser = new LinkedHashMap<>();
+            batch.forEach(pending -> byUser.computeIfAbsent(pending.userId(), id -> new ArrayList<>(1))
+                    .add(pending.result()));
+            try {
+                EnrollmentService.BatchResult result =
+                        enrollmentService.joinBatch(eventId, new ArrayList<>(byUser.keySet()));
+                byUser.forEach((userId, futures) -> {
+                    EnrollmentDTO enrollment = result.results().get(userId);
+                    if (enrollment != null) {
+                        futures.forEach(future -> future.complete(enrollment));
+                    } else {
+                        IllegalArgumentException error = new IllegalArgumentException(
+                                result.rejected().getOrDefault(userId, "Enrollment rejected"));
+                        futures.forEach(future -> future.completeExceptionally(error));
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Nie udało się zapisać partii {} zgłoszeń na wydarzenie {}", batch.size(), eventId, e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+            processed.addAndGet(batch.size());
+            batches.incrementAndGet();
+            lastBatchSize = batch.size();
+        }
+
+        private RegistrationWindowDTO toDTO() {
+            return RegistrationWindowDTO.builder()
+                    .eventId(eventId)
+                    .open(open)
+                    .queued(queue.size())
+                    .queueCapacity(queue.capacity())
+                    .processed(processed.get())
+                    .rejected(rejected.get())
+                    .batches(batches.get())
+                    .lastBatchSize(lastBatchSize)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package CourseManagerProject.CourseManager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Kompaktowanie miękko usuniętych wydarzeń, użytkowników i sal.
+ *
+ * <p>Usunięcie w API tylko oznacza wiersze ({@code deleted_at}); zadanie uruchamiane poza godzinami
+ * szczytu ({@code compaction.cron}) usuwa z bazy wiersze oznaczone co najmniej {@code compaction.min-age}
+ * temu - w paczkach po {@code compaction.batch-size}, najwyżej {@code compaction.max-batches} paczek
+ * każdej tabeli na uruchomienie. Każda paczka to osobna, krótka transakcja, a wiersze pobierane są
+ * zapytaniem {@code FOR UPDATE SKIP LOCKED}, więc kilka instancji aplikacji dzieli pracę.</p>
+ *
+ * <p>Najpierw usuwane są wydarzenia (z uczestnikami, tagami i listą oczekujących), potem użytkownicy
+ * i sale, do których nie odwołuje się już żadne wydarzenie. Zapisy usuwanego użytkownika na
+ * pozostałe wydarzenia (zwykle przeszłe - nadchodzące zwalniane są przy usunięciu) zmniejszają
+ * liczniki miejsc tych wydarzeń.</p>
+ */
+@Slf4j
+@Component
+public class SoftDeleteCompactor {
+
+    private static final String LOCK_EVENTS =
+            "SELECT id FROM events WHERE deleted_at < now() - make_interval(secs => ?) " +
+                    "ORDER BY deleted_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String LOCK_USERS =
+            "SELECT u.id FROM users u WHERE u.deleted_at < now() - make_interval(secs => ?) " +
+                    "AND NOT EXISTS (SELECT 1 FROM events e WHERE e.organizer_id = u.id) " +
+                    "ORDER BY u.deleted_at LIMIT ? FOR UPDATE OF u SKIP LOCKED";
+    private static final String LOCK_CLASSROOMS =
+            "SELECT c.id FROM classrooms c WHERE c.deleted_at < now() - make_interval(secs => ?) " +
+                    "AND NOT EXISTS (SELECT 1 FROM events e WHERE e.classroom_id = c.id) " +
+                    "ORDER BY c.deleted_at LIMIT ? FOR UPDATE OF c SKIP LOCKED";
+    private static final String RELEASE_PARTICIPATIONS =
+            "WITH removed AS (DELETE FROM event_participant WHERE user_id = ANY(?) RETURNING event_id), " +
+                    "freed AS (SELECT event_id, count(*) AS seats FROM removed GROUP BY event_id), " +
+                    "seats AS (UPDATE events e SET seats_taken = GREATEST(e.seats_taken - f.seats, 0) " +
+                    "  FROM freed f WHERE e.id = f.event_id RETURNING e.id, e.seats_taken) " +
+                    "UPDATE event_view v SET participant_count = s.seats_taken FROM seats s WHERE v.event_id = s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TagStatsService tagStatsService;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatches;
+
+    /**
+     * Konstruktor wstrzykujący zależności i parametry kompaktowania.
+     *
+     * @param jdbcTemplate        Szablon JDBC.
+     * @param transactionTemplate Szablon transakcji każdej paczki.
+     * @param tagStatsService     Statystyki tagów (odtwarzane po zmianie liczników miejsc).
+     * @param minAge              Minimalny czas od miękkiego usunięcia do usunięcia wiersza z bazy.
+     * @param batchSize           Maksymalna liczba wierszy w paczce.
+     * @param maxBatches          Maksymalna liczba paczek każdej tabeli na jedno uruchomienie.
+     */
+    public SoftDeleteCompactor(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               TagStatsService tagStatsService,
+                               @Value("${compaction.min-age:PT1H}") Duration minAge,
+                               @Value("${compaction.batch-size:500}") int batchSize,
+                               @Value("${compaction.max-batches:20}") int maxBatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tagStatsService = tagStatsService;
+        this.minAge = minAge;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+    }
+
+    /**
+     * Usuwa z bazy miękko usunięte wiersze (paczkami, z limitem paczek na uruchomienie).
+     */
+    @Scheduled(cron = "${compaction.cron:0 */10 1-5 * * *}")
+    public void compact() {
+        int events = drain(this::compactEventBatch);
+        int users = drain(this::compactUserBatch);
+        int classrooms = drain(this::compactClassroomBatch);
+        if (events + users + classrooms > 0) {
+            log.info("Kompaktowanie: usunięto {} wydarzeń, {} użytkowników, {} sal", events, users, classrooms);
+        }
+    }
+
+    /**
+     * Usuwa jedną paczkę miękko usuniętych wydarzeń razem z wierszami złączeń.
+     *
+     * @return Liczba usuniętych wydarzeń.
+     */
+    public int compactEventBatch() {
+        return inTransaction(() -> {
+            List<Integer> ids = lock(LOCK_EVENTS);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            PreparedStatementSetter byIds = withIds(ids);
+            jdbcTemplate.update("DELETE FROM event_waitlist WHERE event_id = ANY(?)", byIds);
+            jdbcTemplate.update("DELETE FROM event_participant WHERE event_id = ANY(?)", byIds);
+            jdbcTemplate.update("DELETE FROM event_tag WHERE event_id = ANY(?)", byIds);
+            jdbcTemplate.update("DELETE FROM event_view WHERE event_id = ANY(?)", byIds);
+            return jdbcTemplate.update("DELETE FROM events WHERE id = ANY(?)", byIds);
+        });
+    }
+
+    /**
+     * Usuwa jedną paczkę miękko usuniętych użytkowników, którzy nie organizują już żadnego wydarzenia.
+     *
+     * @return Liczba usuniętych użytkowników.
+     */
+    public int compactUserBatch() {
+        return inTransaction(() -> {
+            List<Integer> ids = lock(LOCK_USERS);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            PreparedStatementSetter byIds = withIds(ids);
+            jdbcTemplate.update("DELETE FROM event_waitlist WHERE user_id = ANY(?)", byIds);
+            if (jdbcTemplate.update(RELEASE_PARTICIPATIONS, byIds) > 0) {
+                tagStatsService.requestRebuild();
+            }
+            return jdbcTemplate.update("DELETE FROM users WHERE id = ANY(?)", byIds);
+        });
+    }
+
+    /**
+     * Usuwa jedną paczkę miękko usuniętych sal, w których nie ma już żadnego wydarzenia.
+     *
+     * @return Liczba usuniętych sal.
+     */
+    public int compactClassroomBatch() {
+        return inTransaction(() -> {
+            List<Integer> ids = lock(LOCK_CLASSROOMS);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return jdbcTemplate.update("DELETE FROM classrooms WHERE id = ANY(?)", withIds(ids));
+        });
+    }
+
+    private int drain(BatchStep step) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int removed = step.run();
+            total += removed;
+            if (removed < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int inTransaction(BatchStep step) {
+        Integer removed = transactionTemplate.execute(status -> step.run());
+        return removed == null ? 0 : removed;
+    }
+
+    private List<Integer> lock(String sql) {
+        return jdbcTemplate.queryForList(sql, Integer.class, minAge.toMillis() / 1000.0, batchSize);
+    }
+
+    private static PreparedStatementSetter withIds(List<Integer> ids) {
+        return ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", ids.toArray()));
+    }
+
+    @FunctionalInterface
+    private interface BatchStep {
+        int run();
+    }
+}
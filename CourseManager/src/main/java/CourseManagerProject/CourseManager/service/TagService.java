@@ -3,6 +3,7 @@ package CourseManagerProject.CourseManager.service;
 import CourseManagerProject.CourseManager.dto.TagDTO;
 import CourseManagerProject.CourseManager.model.Tag;
 import CourseManagerProject.CourseManager.repository.TagRepository;
+import CourseManagerProject.CourseManager.util.MergePatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,17 +19,39 @@ import java.util.HashSet;
 @Service
 public class TagService {
 
+    /**
+     * Pola tagu, które można zmieniać ({@link #patchTag}); {@code version} to wersja odczytana przez klienta.
+     */
+    public static final Set<String> PATCH_FIELDS = Set.of("name", "version");
+
     private final TagRepository tagRepository;
+    private final EventViewService eventViewService;
+    private final AuditService auditService;
+    private final RecommendationService recommendationService;
+    private final TagStatsService tagStatsService;
+    private final OptimisticLocking optimisticLocking;
 
     /**
      * Konstruktor wstrzykujący repozytorium tagów, umożliwiające
      * wykonywanie standardowych operacji CRUD.
      *
-     * @param tagRepository Repozytorium encji {@link Tag}.
+     * @param tagRepository    Repozytorium encji {@link Tag}.
+     * @param eventViewService Serwis utrzymujący model odczytu wydarzeń.
+     * @param auditService     Serwis dziennika audytu.
+     * @param recommendationService Serwis rekomendacji (przeliczenie po usunięciu tagu).
+     * @param tagStatsService  Serwis statystyk tagów.
+     * @param optimisticLocking Powtarzanie usunięcia po konflikcie wersji.
      */
     @Autowired
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, EventViewService eventViewService, AuditService auditService,
+                      RecommendationService recommendationService, TagStatsService tagStatsService,
+                      OptimisticLocking optimisticLocking) {
         this.tagRepository = tagRepository;
+        this.eventViewService = eventViewService;
+        this.auditService = auditService;
+        this.recommendationService = recommendationService;
+        this.tagStatsService = tagStatsService;
+        this.optimisticLocking = optimisticLocking;
     }
 
     /**
@@ -67,7 +90,9 @@ public class TagService {
      */
     public Tag addTag(TagDTO dto) {
         Tag tag = Tag.builder().name(dto.getName()).build();
-        return tagRepository.save(tag);
+        Tag saved = tagRepository.save(tag);
+        auditService.record(AuditService.CREATE, "Tag", saved.getId(), saved.getName());
+        return saved;
     }
 
     /**
@@ -77,22 +102,62 @@ public class TagService {
      * @param dto DTO z nowymi danymi (np. nowa nazwa).
      * @return Zaktualizowany obiekt {@link Tag}.
      * @throws IllegalArgumentException jeśli tag o podanym ID nie istnieje.
+     * @throws org.springframework.dao.OptimisticLockingFailureException jeśli tag zmienił się od odczytu
+     *                                  (wersja w DTO) lub równolegle z tą edycją.
      */
     public Tag updateTag(Integer id, TagDTO dto) {
+        return patchTag(id, MergePatch.of(dto, PATCH_FIELDS));
+    }
+
+    /**
+     * Zmienia wybrane pola tagu (JSON Merge Patch); tag bez zmian nie jest zapisywany.
+     *
+     * @param id    ID istniejącego tagu.
+     * @param patch Zmienione pola ({@link #PATCH_FIELDS}).
+     * @return Zaktualizowany obiekt {@link Tag}.
+     * @throws IllegalArgumentException jeśli tag nie istnieje, pole jest nieznane lub ma niepoprawną wartość.
+     * @throws org.springframework.dao.OptimisticLockingFailureException jeśli tag zmienił się od odczytu
+     *                                  (pole {@code version}) lub równolegle z tą edycją.
+     */
+    public Tag patchTag(Integer id, MergePatch<TagDTO> patch) {
+        patch.checkFields(PATCH_FIELDS);
         Tag existing = getTagById(id);
-        existing.setName(dto.getName());
-        return tagRepository.save(existing);
+        OptimisticLocking.checkVersion(Tag.class, id, existing.getVersion(), patch.values().getVersion());
+        if (!patch.has("name")) {
+            return existing;
+        }
+        String name = patch.required("name", TagDTO::getName);
+        if (name.isBlank() || name.length() > 50) {
+            throw new IllegalArgumentException("Tag name must be 1-50 characters");
+        }
+        if (name.equals(existing.getName())) {
+            return existing;
+        }
+        existing.setName(name);
+        Tag saved = tagRepository.save(existing);
+        auditService.record(AuditService.UPDATE, "Tag", id, saved.getName());
+        return saved;
     }
 
     /**
      * Usuwa tag o podanym ID z bazy danych.
+     * <p>Usunięcie jest idempotentne (ponowna próba wczytuje tag i usuwa go tak samo), więc po konflikcie
+     * wersji jest powtarzane.</p>
      *
      * @param id ID tagu do usunięcia.
      * @throws IllegalArgumentException jeśli tag o podanym ID nie istnieje.
      */
     public void deleteTag(Integer id) {
+        optimisticLocking.retry(() -> removeTag(id));
+    }
+
+    private void removeTag(Integer id) {
         Tag existing = getTagById(id);
         tagRepository.delete(existing);
+        eventViewService.tagRemoved(id);
+        recommendationService.rebuildAll();
+        tagStatsService.tagRemoved(id);
+        auditService.record(AuditService.DELETE, "Tag", id, existing.getName());
     }
 
     /**
@@ -0,0 +1,463 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.RelatedTagDTO;
+import CourseManagerProject.CourseManager.dto.TagStatsDTO;
+import CourseManagerProject.CourseManager.model.Tag;
+import CourseManagerProject.CourseManager.repository.TagRepository;
+import CourseManagerProject.CourseManager.util.AfterCommit;
+import CourseManagerProject.CourseManager.util.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serwis statystyk tagów: liczba wydarzeń i uczestników na tag oraz współwystępowanie par tagów.
+ * <p>Liczniki utrzymywane są w pamięci, w mapach o kluczach prymitywnych ({@link LongIntHashMap}),
+ * i aktualizowane po zatwierdzeniu zmian wydarzeń i zapisów - odczyt statystyk nie wykonuje
+ * zapytań {@code COUNT} po {@code event_tag}. Zgłoszenia zmian niosą pełny stan wydarzenia
+ * (jego tagi, liczbę uczestników), a serwis sam wylicza różnicę, więc ich powtórzenie nic nie psuje.</p>
+ * <p>Tabele {@code tag_stats} i {@code tag_pair_stats} zapisywane są okresowo
+ * ({@code tag-stats.checkpoint-ms}): wiersze tagów i par zmienionych od poprzedniego zapisu
+ * przeliczane są w SQL z {@code event_tag} i {@code events}. Zapis ustawia wartości zgodne z bazą,
+ * a nie dodaje różnic, więc zmiany innych instancji (także jeszcze przez nie niezapisane) nie są
+ * liczone podwójnie. Co {@code tag-stats.reconcile-ms} liczniki w pamięci odtwarzane są z bazy.
+ * Po starcie i po operacjach usuwających wiele wydarzeń naraz (bez zgłoszeń zmian) tabele
+ * przeliczane są w całości. Zapisy instancji wykonywane są kolejno (blokada doradcza PostgreSQL),
+ * więc późniejszy zapis widzi stan bazy nie starszy niż wcześniejszy.</p>
+ */
+@Slf4j
+@Service
+public class TagStatsService {
+
+    private static final int[] NO_TAGS = new int[0];
+
+    // Klucz blokady doradczej zapisu tabel ("tagstats")
+    private static final long WRITE_LOCK_KEY = 0x7461677374617473L;
+
+    // Liczniki tagów i par liczone z tabel źródłowych (tylko wydarzenia, które nie zostały usunięte)
+    private static final String TAG_COUNTS = "SELECT et.tag_id, count(*) AS event_count, " +
+            "sum(e.seats_taken) AS participant_count FROM event_tag et " +
+            "JOIN events e ON e.id = et.event_id AND e.deleted_at IS NULL ";
+    private static final String PAIR_COUNTS = "SELECT a.tag_id AS tag_a, b.tag_id AS tag_b, count(*) AS event_count " +
+            "FROM event_tag a JOIN event_tag b ON b.event_id = a.event_id AND b.tag_id > a.tag_id " +
+            "JOIN events e ON e.id = a.event_id AND e.deleted_at IS NULL ";
+
+    private static final String INSERT_TAGS_SQL =
+            "INSERT INTO tag_stats (tag_id, event_count, participant_count, updated_at) " +
+                    "SELECT c.tag_id, c.event_count, c.participant_count, now() FROM (" + TAG_COUNTS +
+                    "GROUP BY et.tag_id) c";
+    private static final String INSERT_PAIRS_SQL =
+            "INSERT INTO tag_pair_stats (tag_a, tag_b, event_count, updated_at) " +
+                    "SELECT c.tag_a, c.tag_b, c.event_count, now() FROM (" + PAIR_COUNTS + "GROUP BY a.tag_id, b.tag_id) c";
+    private static final String UPSERT_TAGS_SQL =
+            "INSERT INTO tag_stats (tag_id, event_count, participant_count, updated_at) " +
+                    "SELECT c.tag_id, c.event_count, c.participant_count, now() FROM (" + TAG_COUNTS +
+                    "WHERE et.tag_id = ANY(?) GROUP BY et.tag_id) c " +
+                    "ON CONFLICT (tag_id) DO UPDATE SET event_count = EXCLUDED.event_count, " +
+                    "participant_count = EXCLUDED.participant_count, updated_at = EXCLUDED.updated_at";
+    private static final String DELETE_UNUSED_TAGS_SQL =
+            "DELETE FROM tag_stats t WHERE t.tag_id = ANY(?) AND NOT EXISTS (SELECT 1 FROM event_tag et " +
+                    "JOIN events e ON e.id = et.event_id AND e.deleted_at IS NULL WHERE et.tag_id = t.tag_id)";
+    private static final String UPSERT_PAIRS_SQL =
+            "INSERT INTO tag_pair_stats (tag_a, tag_b, event_count, updated_at) " +
+                    "SELECT c.tag_a, c.tag_b, c.event_count, now() FROM (" + PAIR_COUNTS +
+                    "JOIN unnest(?, ?) AS k(tag_a, tag_b) ON k.tag_a = a.tag_id AND k.tag_b = b.tag_id " +
+                    "GROUP BY a.tag_id, b.tag_id) c " +
+                    "ON CONFLICT (tag_a, tag_b) DO UPDATE SET event_count = EXCLUDED.event_count, " +
+                    "updated_at = EXCLUDED.updated_at";
+    private static final String DELETE_UNUSED_PAIRS_SQL =
+            "DELETE FROM tag_pair_stats p USING unnest(?, ?) AS k(tag_a, tag_b) " +
+                    "WHERE p.tag_a = k.tag_a AND p.tag_b = k.tag_b AND NOT EXISTS (SELECT 1 FROM event_tag a " +
+                    "JOIN event_tag b ON b.event_id = a.event_id JOIN events e ON e.id = a.event_id " +
+                    "AND e.deleted_at IS NULL WHERE a.tag_id = p.tag_a AND b.tag_id = p.tag_b)";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reconcileInterval;
+
+    // Stan chroniony monitorem obiektu
+    private final Map<Integer, int[]> eventTags = new HashMap<>();
+    private final LongIntHashMap eventParticipants = new LongIntHashMap();
+    private final LongIntHashMap eventsPerTag = new LongIntHashMap();
+    private final LongIntHashMap participantsPerTag = new LongIntHashMap();
+    private final LongIntHashMap pairs = new LongIntHashMap();
+    // Zmiany od ostatniego zapisu do bazy - wskazują wiersze tabel do przeliczenia
+    private final LongIntHashMap tagEventDeltas = new LongIntHashMap();
+    private final LongIntHashMap tagParticipantDeltas = new LongIntHashMap();
+    private final LongIntHashMap pairDeltas = new LongIntHashMap();
+    private boolean fullCheckpoint;
+    private Instant lastRebuild;
+
+    private volatile boolean rebuildRequested = true;
+
+    /**
+     * Konstruktor wstrzykujący repozytorium tagów i parametry zapisu.
+     *
+     * @param tagRepository       Repozytorium tagów (nazwy w odpowiedziach).
+     * @param jdbcTemplate        Szablon JDBC do odczytu stanu i zapisu liczników.
+     * @param transactionTemplate Szablon transakcji zapisu liczników.
+     * @param reconcileInterval   Co ile liczniki są odtwarzane z bazy.
+     */
+    public TagStatsService(TagRepository tagRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${tag-stats.reconcile-ms:3600000}") long reconcileInterval) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.reconcileInterval = Duration.ofMillis(reconcileInterval);
+    }
+
+    /**
+     * Zgłasza zapis wydarzenia (utworzenie lub zmianę tagów) po zatwierdzeniu transakcji.
+     *
+     * @param eventId ID wydarzenia.
+     * @param tagIds  Aktualne ID tagów wydarzenia.
+     */
+    public void eventSaved(Integer eventId, Collection<Integer> tagIds) {
+        int[] tags = tagIds.stream().filter(Objects::nonNull).mapToInt(Integer::intValue).distinct().sorted().toArray();
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                applyEventTags(eventId, tags);
+            }
+        });
+    }
+
+    /**
+     * Zgłasza usunięcie wydarzenia po zatwierdzeniu transakcji.
+     *
+     * @param eventId ID wydarzenia.
+     */
+    public void eventRemoved(Integer eventId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                applyParticipants(eventId, 0);
+                applyEventTags(eventId, NO_TAGS);
+            }
+        });
+    }
+
+    /**
+     * Zgłasza zmianę liczby uczestników wydarzenia po zatwierdzeniu transakcji.
+     *
+     * @param eventId          ID wydarzenia.
+     * @param participantCount Aktualna liczba uczestników.
+     */
+    public void participantCountChanged(Integer eventId, int participantCount) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                applyParticipants(eventId, participantCount);
+            }
+        });
+    }
+
+    /**
+     * Zgłasza usunięcie tagu (znika ze wszystkich wydarzeń) po zatwierdzeniu transakcji.
+     *
+     * @param tagId ID usuniętego tagu.
+     */
+    public void tagRemoved(Integer tagId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                List<Integer> affected = eventTags.entrySet().stream()
+                        .filter(entry -> Arrays.binarySearch(entry.getValue(), tagId) >= 0)
+                        .map(Map.Entry::getKey)
+                        .toList();
+                affected.forEach(eventId -> applyEventTags(eventId, Arrays.stream(eventTags.get(eventId))
+                        .filter(id -> id != tagId).toArray()));
+            }
+        });
+    }
+
+    /**
+     * Zleca odtworzenie liczników z bazy przy najbliższym zapisie (np. po usunięciu sali
+     * razem z jej wydarzeniami lub po zwolnieniu udziałów usuniętych użytkowników).
+     */
+    public void requestRebuild() {
+        AfterCommit.run(() -> rebuildRequested = true);
+    }
+
+    /**
+     * Odtwarza liczniki z tabel {@code event_tag} i {@code events} i zleca przeliczenie całych
+     * tabel statystyk przy najbliższym zapisie.
+     */
+    public synchronized void rebuild() {
+        rebuildRequested = false;
+        reload();
+        fullCheckpoint = true;
+    }
+
+    /**
+     * Odtwarza liczniki w pamięci z tabel {@code event_tag} i {@code events}.
+     * <p>Zgłoszenia zmian czekają na zakończenie odczytu; te, których transakcje zatwierdzono
+     * przed odczytem, nie zmieniają już stanu (różnica względem odczytanych danych jest zerowa).
+     * Niezapisane różnice zostają - wskazane przez nie wiersze tabel nie zostały jeszcze przeliczone.</p>
+     */
+    private void reload() {
+        Map<Integer, List<Integer>> tagsByEvent = new HashMap<>();
+        jdbcTemplate.query("SELECT et.event_id, et.tag_id FROM event_tag et " +
+                "JOIN events e ON e.id = et.event_id WHERE e.deleted_at IS NULL", rs -> {
+            tagsByEvent.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>()).add(rs.getInt(2));
+        });
+        LongIntHashMap participants = new LongIntHashMap();
+        jdbcTemplate.query("SELECT id, seats_taken FROM events WHERE seats_taken > 0 AND deleted_at IS NULL", rs -> {
+            participants.put(rs.getInt(1), rs.getInt(2));
+        });
+
+        eventTags.clear();
+        eventParticipants.clear();
+        eventsPerTag.clear();
+        participantsPerTag.clear();
+        pairs.clear();
+        participants.forEach((eventId, count) -> eventParticipants.put(eventId, count));
+        tagsByEvent.forEach((eventId, tags) -> {
+            int[] sorted = tags.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+            eventTags.put(eventId, sorted);
+            count(sorted, 1, eventParticipants.get(eventId), false);
+        });
+        lastRebuild = Instant.now();
+        log.info("Odtworzono statystyki tagów: {} tagów, {} par", eventsPerTag.size(), pairs.size());
+    }
+
+    /**
+     * Przelicza w bazie wiersze tagów i par zmienionych od poprzedniego zapisu (lub, po odtworzeniu
+     * liczników na żądanie, całe tabele); w razie potrzeby najpierw odtwarza liczniki z bazy.
+     */
+    @Scheduled(fixedDelayString = "${tag-stats.checkpoint-ms:60000}")
+    public void checkpoint() {
+        List<int[]> tagRows = new ArrayList<>();
+        List<int[]> pairRows = new ArrayList<>();
+        boolean full;
+        synchronized (this) {
+            if (rebuildRequested || lastRebuild == null) {
+                rebuild();
+            } else if (lastRebuild.plus(reconcileInterval).isBefore(Instant.now())) {
+                reload();
+            }
+
+            full = fullCheckpoint;
+            fullCheckpoint = false;
+            // Przeliczenie całych tabel obejmuje też wiersze wskazane przez niezapisane różnice
+            if (!full) {
+                tagEventDeltas.forEach((tagId, delta) ->
+                        tagRows.add(new int[]{(int) tagId, delta, tagParticipantDeltas.get(tagId)}));
+                tagParticipantDeltas.forEach((tagId, delta) -> {
+                    if (!tagEventDeltas.containsKey(tagId)) {
+                        tagRows.add(new int[]{(int) tagId, 0, delta});
+                    }
+                });
+                pairDeltas.forEach((pair, delta) ->
+                        pairRows.add(new int[]{LongIntHashMap.high(pair), LongIntHashMap.low(pair), delta}));
+            }
+            tagEventDeltas.clear();
+            tagParticipantDeltas.clear();
+            pairDeltas.clear();
+        }
+        tagRows.removeIf(row -> row[1] == 0 && row[2] == 0);
+        pairRows.removeIf(row -> row[2] == 0);
+        if (!full && tagRows.isEmpty() && pairRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (full) {
+                rewrite();
+            } else {
+                recompute(tagRows, pairRows);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                if (full) {
+                    fullCheckpoint = true;
+                } else {
+                    // Różnice zgłoszone w międzyczasie zostają - dodajemy do nich nieprzeliczone
+                    tagRows.forEach(row -> {
+                        tagEventDeltas.addTo(row[0], row[1]);
+                        tagParticipantDeltas.addTo(row[0], row[2]);
+                    });
+                    pairRows.forEach(row -> pairDeltas.addTo(LongIntHashMap.pack(row[0], row[1]), row[2]));
+                }
+            }
+            log.error("Nie udało się zapisać statystyk tagów", e);
+        }
+    }
+
+    /**
+     * Zwraca statystyki wszystkich tagów, od najczęściej używanych.
+     *
+     * @return Lista obiektów {@link TagStatsDTO}.
+     */
+    public List<TagStatsDTO> getStats() {
+        List<Tag> tags = tagRepository.findAll();
+        List<TagStatsDTO> stats = new ArrayList<>(tags.size());
+        synchronized (this) {
+            for (Tag tag : tags) {
+                stats.add(TagStatsDTO.builder()
+                        .id(tag.getId())
+                        .name(tag.getName())
+                        .eventCount(eventsPerTag.get(tag.getId()))
+                        .participantCount(participantsPerTag.get(tag.getId()))
+                        .build());
+            }
+        }
+        stats.sort(Comparator.comparingInt(TagStatsDTO::getEventCount).reversed()
+                .thenComparing(Comparator.comparingInt(TagStatsDTO::getParticipantCount).reversed())
+                .thenComparing(TagStatsDTO::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return stats;
+    }
+
+    /**
+     * Zwraca tagi najczęściej występujące w tych samych wydarzeniach co podany tag.
+     *
+     * @param tagId ID tagu.
+     * @param limit Maksymalna liczba wyników.
+     * @return Lista obiektów {@link RelatedTagDTO}, od najczęstszego współwystępowania.
+     */
+    public List<RelatedTagDTO> getRelated(Integer tagId, int limit) {
+        LongIntHashMap related = new LongIntHashMap();
+        synchronized (this) {
+            pairs.forEach((pair, count) -> {
+                if (LongIntHashMap.high(pair) == tagId) {
+                    related.put(LongIntHashMap.low(pair), count);
+                } else if (LongIntHashMap.low(pair) == tagId) {
+                    related.put(LongIntHashMap.high(pair), count);
+                }
+            });
+        }
+        List<long[]> ranked = new ArrayList<>(related.size());
+        related.forEach((id, count) -> ranked.add(new long[]{id, count}));
+        ranked.sort(Comparator.<long[]>comparingLong(row -> row[1]).reversed().thenComparingLong(row -> row[0]));
+        List<long[]> top = ranked.subList(0, Math.min(limit, ranked.size()));
+
+        Map<Integer, Tag> names = tagRepository.findAllById(top.stream().map(row -> (int) row[0]).toList()).stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        return top.stream()
+                .filter(row -> names.containsKey((int) row[0]))
+                .map(row -> RelatedTagDTO.builder()
+                        .id((int) row[0])
+                        .name(names.get((int) row[0]).getName())
+                        .coOccurrences((int) row[1])
+                        .build())
+                .toList();
+    }
+
+    private void applyEventTags(Integer eventId, int[] tags) {
+        int[] previous = eventTags.getOrDefault(eventId, NO_TAGS);
+        if (Arrays.equals(previous, tags)) {
+            return;
+        }
+        int participants = eventParticipants.get(eventId);
+        count(previous, -1, participants, true);
+        count(tags, 1, participants, true);
+        if (tags.length == 0) {
+            eventTags.remove(eventId);
+        } else {
+            eventTags.put(eventId, tags);
+        }
+    }
+
+    private void applyParticipants(Integer eventId, int participantCount) {
+        int delta = participantCount - eventParticipants.get(eventId);
+        if (delta == 0) {
+            return;
+        }
+        for (int tagId : eventTags.getOrDefault(eventId, NO_TAGS)) {
+            participantsPerTag.addTo(tagId, delta);
+            tagParticipantDeltas.addTo(tagId, delta);
+        }
+        if (participantCount == 0) {
+            eventParticipants.remove(eventId);
+        } else {
+            eventParticipants.put(eventId, participantCount);
+        }
+    }
+
+    private void count(int[] tags, int sign, int participants, boolean pending) {
+        for (int i = 0; i < tags.length; i++) {
+            eventsPerTag.addTo(tags[i], sign);
+            participantsPerTag.addTo(tags[i], sign * participants);
+            if (pending) {
+                tagEventDeltas.addTo(tags[i], sign);
+                tagParticipantDeltas.addTo(tags[i], sign * participants);
+            }
+            // Tagi są posortowane, więc para zawsze ma postać (mniejszy, większy)
+            for (int j = i + 1; j < tags.length; j++) {
+                long pair = LongIntHashMap.pack(tags[i], tags[j]);
+                pairs.addTo(pair, sign);
+                if (pending) {
+                    pairDeltas.addTo(pair, sign);
+                }
+            }
+        }
+    }
+
+    /**
+     * Przelicza w bazie wiersze podanych tagów i par; wiersze tagów i par, które nie występują
+     * już w żadnym wydarzeniu, są usuwane.
+     */
+    private void recompute(List<int[]> tagRows, List<int[]> pairRows) {
+        Object[] tagIds = tagRows.stream().map(row -> row[0]).toArray();
+        Object[] tagsA = pairRows.stream().map(row -> row[0]).toArray();
+        Object[] tagsB = pairRows.stream().map(row -> row[1]).toArray();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            lockWrites();
+            if (tagIds.length > 0) {
+                PreparedStatementSetter byTags = ps -> ps.setArray(1, intArray(ps.getConnection(), tagIds));
+                jdbcTemplate.update(UPSERT_TAGS_SQL, byTags);
+                jdbcTemplate.update(DELETE_UNUSED_TAGS_SQL, byTags);
+            }
+            if (tagsA.length > 0) {
+                PreparedStatementSetter byPairs = ps -> {
+                    ps.setArray(1, intArray(ps.getConnection(), tagsA));
+                    ps.setArray(2, intArray(ps.getConnection(), tagsB));
+                };
+                jdbcTemplate.update(UPSERT_PAIRS_SQL, byPairs);
+                jdbcTemplate.update(DELETE_UNUSED_PAIRS_SQL, byPairs);
+            }
+        });
+    }
+
+    /**
+     * Przelicza całe tabele z {@code event_tag} i {@code events}.
+     */
+    private void rewrite() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockWrites();
+            jdbcTemplate.update("DELETE FROM tag_stats");
+            jdbcTemplate.update("DELETE FROM tag_pair_stats");
+            jdbcTemplate.update(INSERT_TAGS_SQL);
+            jdbcTemplate.update(INSERT_PAIRS_SQL);
+        });
+    }
+
+    // Zapisy instancji wykonywane są kolejno; zapytania po blokadzie widzą zmiany zatwierdzone przed nią
+    private void lockWrites() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", WRITE_LOCK_KEY);
+    }
+
+    private static Array intArray(Connection connection, Object[] values) throws SQLException {
+        return connection.createArrayOf("integer", values);
+    }
+}
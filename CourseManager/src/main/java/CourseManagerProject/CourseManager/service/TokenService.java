@@ -0,0 +1,171 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.RevokedToken;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.RevokedTokenRepository;
+import CourseManagerProject.CourseManager.util.RevocationList;
+import CourseManagerProject.CourseManager.util.TokenCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Serwis wystawiający i weryfikujący bezstanowe tokeny sesji (JWT HS256).
+ * <p>Weryfikacja tokenu nie odwołuje się do bazy: sprawdzany jest podpis, czas wygaśnięcia
+ * oraz lista unieważnionych tokenów w pamięci ({@link RevocationList}). Lista jest okresowo
+ * odświeżana z tabeli {@code revoked_token}, dzięki czemu wylogowanie na jednej instancji
+ * aplikacji dociera do pozostałych najpóźniej po {@code auth.token.revocation-refresh-ms}.</p>
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final TokenCodec tokenCodec;
+    private final RevocationList revocationList;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    /**
+     * Konstruktor wstrzykujący repozytorium i parametry tokenów.
+     *
+     * @param revokedTokenRepository Repozytorium unieważnionych tokenów.
+     * @param transactionTemplate    Szablon transakcji odświeżania listy unieważnionych tokenów.
+     * @param secret                 Klucz HMAC (co najmniej 32 bajty); pusty - losowy klucz na czas działania.
+     * @param ttl                    Czas ważności tokenu.
+     * @param expectedRevocations    Oczekiwana liczba jednocześnie unieważnionych tokenów.
+     * @param falsePositiveRate      Prawdopodobieństwo fałszywego trafienia filtra Blooma.
+     */
+    public TokenService(RevokedTokenRepository revokedTokenRepository,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.ttl:PT8H}") Duration ttl,
+                        @Value("${auth.token.revocation-expected:10000}") int expectedRevocations,
+                        @Value("${auth.token.revocation-false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.tokenCodec = new TokenCodec(secretBytes(secret));
+        this.revocationList = new RevocationList(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Wystawia token dla użytkownika.
+     *
+     * @param user Zalogowany użytkownik.
+     * @return Dane wystawionego tokenu, w tym sam token.
+     */
+    public TokenCodec.Claims issue(User user) {
+        long now = Instant.now().getEpochSecond();
+        byte[] jti = new byte[16];
+        RANDOM.nextBytes(jti);
+        return new TokenCodec.Claims(user.getId(), Boolean.TRUE.equals(user.getIsOrganizer()),
+                now, now + ttl.toSeconds(), Base64.getUrlEncoder().withoutPadding().encodeToString(jti));
+    }
+
+    /**
+     * Koduje i podpisuje dane tokenu.
+     *
+     * @param claims Dane tokenu (z {@link #issue(User)}).
+     * @return Token w postaci kompaktowej.
+     */
+    public String encode(TokenCodec.Claims claims) {
+        return tokenCodec.encode(claims);
+    }
+
+    /**
+     * Weryfikuje token: podpis, czas wygaśnięcia i unieważnienie.
+     *
+     * @param token Token z nagłówka {@code Authorization}.
+     * @return Dane tokenu lub {@link Optional#empty()}, jeśli token jest niepoprawny,
+     *         wygasł lub został unieważniony.
+     */
+    public Optional<TokenCodec.Claims> authenticate(String token) {
+        long now = System.currentTimeMillis() / 1000;
+        return tokenCodec.decode(token)
+                .filter(claims -> claims.exp() > now)
+                .filter(claims -> !revocationList.isRevoked(claims.jti()));
+    }
+
+    /**
+     * Wystawia token kanału ICS użytkownika (dołączany do adresu subskrypcji jako {@code ?token=}).
+     * <p>Aplikacje kalendarza nie wysyłają nagłówka {@code Authorization}, dlatego kanał chroniony
+     * jest podpisem identyfikatora użytkownika. Token nie wygasa; zmiana {@code auth.token.secret}
+     * unieważnia wszystkie adresy.</p>
+     *
+     * @param userId ID użytkownika.
+     * @return Token kanału.
+     */
+    public String feedToken(Integer userId) {
+        return tokenCodec.signature(feedValue(userId));
+    }
+
+    /**
+     * Sprawdza token kanału ICS użytkownika.
+     *
+     * @param userId ID użytkownika.
+     * @param token  Token z adresu kanału ({@code null} - brak tokenu).
+     * @return {@code true}, jeśli token wystawiono dla tego użytkownika.
+     */
+    public boolean isValidFeedToken(Integer userId, String token) {
+        return token != null && tokenCodec.verifySignature(feedValue(userId), token);
+    }
+
+    private static String feedValue(Integer userId) {
+        return "ics:users:" + userId;
+    }
+
+    /**
+     * Unieważnia token (wylogowanie). Token zostaje odrzucony od razu na tej instancji,
+     * a na pozostałych po najbliższym odświeżeniu listy.
+     *
+     * @param claims Dane unieważnianego tokenu.
+     */
+    public void revoke(TokenCodec.Claims claims) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(claims.jti())
+                .expiresAt(Instant.ofEpochSecond(claims.exp()))
+                .revokedAt(Instant.now())
+                .build());
+        revocationList.revoke(claims.jti(), claims.exp() * 1000);
+    }
+
+    /**
+     * Usuwa wygasłe wiersze i wczytuje do pamięci aktualną listę unieważnionych tokenów.
+     */
+    @Scheduled(fixedDelayString = "${auth.token.revocation-refresh-ms:30000}")
+    public void refreshRevocations() {
+        Instant now = Instant.now();
+        List<RevokedToken> revoked = transactionTemplate.execute(status -> {
+            revokedTokenRepository.deleteExpired(now);
+            return revokedTokenRepository.findByExpiresAtAfter(now);
+        });
+        Map<String, Long> expiries = revoked.stream()
+                .collect(Collectors.toMap(RevokedToken::getJti, token -> token.getExpiresAt().toEpochMilli()));
+        revocationList.replaceAll(expiries, now.toEpochMilli());
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret.isBlank()) {
+            log.warn("auth.token.secret nie jest ustawiony - użyto losowego klucza, tokeny stracą ważność po restarcie");
+            byte[] random = new byte[32];
+            RANDOM.nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
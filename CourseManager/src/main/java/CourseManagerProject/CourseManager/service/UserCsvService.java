@@ -0,0 +1,343 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.UserImportErrorDTO;
+import CourseManagerProject.CourseManager.dto.UserImportResultDTO;
+import CourseManagerProject.CourseManager.util.CsvReader;
+import CourseManagerProject.CourseManager.util.CsvWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * Serwis importu i eksportu użytkowników w formacie CSV.
+ * <p>Import czyta plik strumieniowo i zapisuje go partiami: dla każdej partii jedno zapytanie
+ * sprawdza zajęte adresy email, hasła haszowane są w puli {@link PasswordHashingService},
+ * a użytkownicy wstawiani jednym {@code INSERT ... ON CONFLICT DO NOTHING}. Błędy
+ * zgłaszane są dla pojedynczych wierszy i nie przerywają importu. Eksport zapisuje wiersze
+ * wprost z kursora JDBC, bez ładowania encji do pamięci.</p>
+ */
+@Service
+public class UserCsvService {
+
+    /**
+     * Kolumny wymagane w nagłówku pliku importu (w dowolnej kolejności).
+     */
+    public static final List<String> IMPORT_COLUMNS =
+            List.of("firstname", "surname", "age", "email", "password", "isOrganizer");
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final long HASH_RETRY_MS = 50;
+
+    private record Row(long line, String firstname, String surname, int age, String email,
+                       String password, boolean isOrganizer) {
+    }
+
+    private final class Progress {
+        private int imported;
+        private int failed;
+        private final List<UserImportErrorDTO> errors = new ArrayList<>();
+
+        private void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportErrorDTO(line, email, message));
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PasswordHashingService passwordHashingService;
+    private final AuditService auditService;
+    private final RecommendationService recommendationService;
+    private final UserEmailCache userEmailCache;
+    private final int batchSize;
+    private final int hashParallelism;
+    private final int maxReportedErrors;
+
+    /**
+     * Konstruktor wstrzykujący zależności i parametry importu.
+     *
+     * @param jdbcTemplate           Szablon JDBC.
+     * @param transactionManager     Menedżer transakcji (eksport czyta kursorem w transakcji).
+     * @param passwordHashingService Serwis haszujący hasła.
+     * @param auditService           Serwis dziennika audytu.
+     * @param recommendationService  Serwis rekomendacji (listy dla nowych użytkowników).
+     * @param userEmailCache         Pamięć podręczna adresów email.
+     * @param batchSize              Liczba wierszy zapisywanych jednym zapytaniem.
+     * @param hashParallelism        Maksymalna liczba haseł haszowanych jednocześnie (0 - liczba procesorów).
+     * @param maxReportedErrors      Maksymalna liczba błędów zwracanych w wyniku.
+     * @param fetchSize              Liczba wierszy pobieranych z kursora naraz przy eksporcie.
+     */
+    public UserCsvService(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          PasswordHashingService passwordHashingService,
+                          AuditService auditService,
+                          RecommendationService recommendationService,
+                          UserEmailCache userEmailCache,
+                          @Value("${users.import.batch-size:500}") int batchSize,
+                          @Value("${users.import.hash-parallelism:0}") int hashParallelism,
+                          @Value("${users.import.max-reported-errors:1000}") int maxReportedErrors,
+                          @Value("${users.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.passwordHashingService = passwordHashingService;
+        this.auditService = auditService;
+        this.recommendationService = recommendationService;
+        this.userEmailCache = userEmailCache;
+        this.batchSize = batchSize;
+        this.hashParallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importuje użytkowników z pliku CSV (UTF-8) z nagłówkiem zawierającym kolumny
+     * {@link #IMPORT_COLUMNS}.
+     *
+     * @param input Strumień z zawartością pliku.
+     * @return Obiekt {@link UserImportResultDTO} z liczbą zaimportowanych wierszy i błędami.
+     * @throws IOException              w przypadku błędu odczytu.
+     * @throws IllegalArgumentException jeśli plik jest pusty lub w nagłówku brakuje kolumny.
+     */
+    public UserImportResultDTO importUsers(InputStream input) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("Empty file");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Pomijamy ewentualny znacznik BOM na początku pliku
+            positions.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] columns = new int[IMPORT_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            Integer position = positions.get(IMPORT_COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new IllegalArgumentException("Missing column: " + IMPORT_COLUMNS.get(i));
+            }
+            columns[i] = position;
+        }
+
+        Progress progress = new Progress();
+        List<Row> batch = new ArrayList<>(batchSize);
+        Set<String> batchEmails = new HashSet<>();
+        List<String> fields;
+        while ((fields = readRow(reader, progress)) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            Row row = parse(reader.getRowLine(), fields, columns, progress);
+            if (row == null) {
+                continue;
+            }
+            if (!batchEmails.add(UserEmailCache.normalize(row.email()))) {
+                progress.fail(row.line(), row.email(), "Duplicate email in file");
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush(batch, progress);
+                batch.clear();
+                batchEmails.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, progress);
+        }
+        return new UserImportResultDTO(progress.imported, progress.failed, progress.errors);
+    }
+
+    /**
+     * Zapisuje wszystkich użytkowników (bez haseł) jako CSV: {@code id,firstname,surname,age,email,isOrganizer}.
+     *
+     * @param output Strumień docelowy.
+     * @throws IOException w przypadku błędu zapisu.
+     */
+    public void exportUsers(OutputStream output) throws IOException {
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow("id", "firstname", "surname", "age", "email", "isOrganizer");
+        try {
+            // Kursor PostgreSQL (fetchSize) działa tylko poza trybem autocommit
+            readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(
+                    "SELECT id, firstname, surname, age, email, is_organizer FROM users WHERE deleted_at IS NULL ORDER BY id",
+                    rs -> {
+                        try {
+                            writer.writeRow(rs.getInt(1), rs.getString(2), rs.getString(3),
+                                    rs.getObject(4), rs.getString(5), rs.getObject(6));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private List<String> readRow(CsvReader reader, Progress progress) throws IOException {
+        try {
+            return reader.next();
+        } catch (IllegalArgumentException e) {
+            // Niezamknięty cudzysłów pochłania resztę pliku - kończymy import na tym wierszu
+            progress.fail(reader.getRowLine(), null, e.getMessage());
+            return null;
+        }
+    }
+
+    private Row parse(long line, List<String> fields, int[] columns, Progress progress) {
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i] < fields.size() ? fields.get(columns[i]).trim() : "";
+        }
+        String firstname = values[0];
+        String surname = values[1];
+        String email = values[3];
+        String password = fields.size() > columns[4] ? fields.get(columns[4]) : "";
+        String error = null;
+        int age = 0;
+        if (firstname.isEmpty() || firstname.length() > 50) {
+            error = "First name must be 1-50 characters";
+        } else if (surname.isEmpty() || surname.length() > 50) {
+            error = "Surname must be 1-50 characters";
+        } else if (email.length() > 100 || !EMAIL.matcher(email).matches()) {
+            error = "Invalid email";
+        } else if (password.length() < 8 || password.length() > 255) {
+            error = "Password must be 8-255 characters";
+        } else if (!values[5].equalsIgnoreCase("true") && !values[5].equalsIgnoreCase("false")) {
+            error = "isOrganizer must be true or false";
+        } else {
+            try {
+                age = Integer.parseInt(values[2]);
+                if (age < 0) {
+                    error = "Age cannot be negative";
+                }
+            } catch (NumberFormatException e) {
+                error = "Invalid age";
+            }
+        }
+        if (error != null) {
+            progress.fail(line, email, error);
+            return null;
+        }
+        return new Row(line, firstname, surname, age, email, password, Boolean.parseBoolean(values[5]));
+    }
+
+    private void flush(List<Row> batch, Progress progress) {
+        List<String> emails = batch.stream().map(row -> UserEmailCache.normalize(row.email())).toList();
+        Set<String> taken = new HashSet<>(jdbcTemplate.query(
+                "SELECT lower(email) FROM users WHERE lower(email) = ANY(?) AND deleted_at IS NULL",
+                ps -> ps.setArray(1, textArray(ps.getConnection(), emails)), (rs, rowNum) -> rs.getString(1)));
+        List<Row> accepted = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (taken.contains(UserEmailCache.normalize(row.email()))) {
+                progress.fail(row.line(), row.email(), "Email already in use");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashAll(accepted.stream().map(Row::password).toList());
+        Map<String, Integer> inserted = new HashMap<>();
+        jdbcTemplate.query("INSERT INTO users (firstname, surname, age, email, password, is_organizer) " +
+                        "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::integer[], ?::varchar[], ?::varchar[], ?::boolean[]) " +
+                        "ON CONFLICT DO NOTHING RETURNING id, email",
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setArray(1, textArray(connection, accepted.stream().map(Row::firstname).toList()));
+                    ps.setArray(2, textArray(connection, accepted.stream().map(Row::surname).toList()));
+                    ps.setArray(3, connection.createArrayOf("integer", accepted.stream().map(Row::age).toArray()));
+                    ps.setArray(4, textArray(connection, accepted.stream().map(Row::email).toList()));
+                    ps.setArray(5, textArray(connection, hashes));
+                    ps.setArray(6, connection.createArrayOf("boolean", accepted.stream().map(Row::isOrganizer).toArray()));
+                },
+                rs -> {
+                    inserted.put(rs.getString(2), rs.getInt(1));
+                    userEmailCache.put(rs.getString(2), rs.getInt(1));
+                });
+        for (Row row : accepted) {
+            if (!inserted.containsKey(row.email())) {
+                // Adres zajęty przez rejestrację równoległą do importu
+                progress.fail(row.line(), row.email(), "Email already in use");
+            }
+        }
+        if (!inserted.isEmpty()) {
+            progress.imported += inserted.size();
+            auditService.record(AuditService.CREATE, "User", null, "import of " + inserted.size() + " users");
+            recommendationService.usersChanged(List.copyOf(inserted.values()));
+        }
+    }
+
+    /**
+     * Haszuje hasła falami po {@code hashParallelism}, aby import nie zajął całej kolejki puli
+     * potrzebnej logowaniom; zadanie odrzucone przez pełną pulę jest ponawiane.
+     */
+    private List<String> hashAll(List<String> passwords) {
+        List<String> hashes = new ArrayList<>(passwords.size());
+        for (int start = 0; start < passwords.size(); start += hashParallelism) {
+            List<String> wave = passwords.subList(start, Math.min(start + hashParallelism, passwords.size()));
+            List<CompletableFuture<String>> futures = wave.stream().map(passwordHashingService::hash).toList();
+            for (int i = 0; i < wave.size(); i++) {
+                hashes.add(await(futures.get(i), wave.get(i)));
+            }
+        }
+        return hashes;
+    }
+
+    private String await(CompletableFuture<String> future, String password) {
+        while (true) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof RejectedExecutionException)) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(HASH_RETRY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                future = passwordHashingService.hash(password);
+            }
+        }
+    }
+
+    private static Array textArray(Connection connection, List<String> values) throws SQLException {
+        return connection.createArrayOf("varchar", values.toArray());
+    }
+}
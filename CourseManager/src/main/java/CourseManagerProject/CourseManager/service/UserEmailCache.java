@@ -0,0 +1,90 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pamięć podręczna odwzorowania adres email (małymi literami) → ID użytkownika.
+ * <p>Pozwala sprawdzić zajętość adresu przy rejestracji bez zapytania do bazy. Pamięć może być
+ * nieaktualna (np. przy kilku instancjach aplikacji), dlatego służy tylko jako filtr: brak wpisu
+ * oznacza "prawdopodobnie wolny" - unikalność i tak wymusza indeks {@code users_email_lower_key};
+ * trafienie potwierdzane jest zapytaniem do bazy. Zmiany nanoszone są po zatwierdzeniu transakcji.</p>
+ */
+@Slf4j
+@Service
+public class UserEmailCache {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor wstrzykujący szablon JDBC.
+     *
+     * @param jdbcTemplate Szablon JDBC do wczytania adresów.
+     */
+    public UserEmailCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Zwraca adres email w postaci używanej do porównań (bez spacji na końcach, małymi literami).
+     *
+     * @param email Adres email.
+     * @return Znormalizowany adres.
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Wczytuje wszystkie adresy z bazy (po starcie aplikacji i po masowym zapisie z pominięciem serwisów).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<String, Integer> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT lower(email), id FROM users WHERE deleted_at IS NULL", rs -> {
+            loaded.put(rs.getString(1), rs.getInt(2));
+        });
+        ids = loaded;
+        log.info("Wczytano {} adresów email użytkowników", loaded.size());
+    }
+
+    /**
+     * Zwraca ID użytkownika o podanym adresie według pamięci podręcznej.
+     *
+     * @param email Adres email (wielkość liter bez znaczenia).
+     * @return ID użytkownika lub {@link Optional#empty()}, jeśli adresu nie ma w pamięci.
+     */
+    public Optional<Integer> find(String email) {
+        return Optional.ofNullable(ids.get(normalize(email)));
+    }
+
+    /**
+     * Zapisuje adres użytkownika po zatwierdzeniu bieżącej transakcji.
+     *
+     * @param email Adres email.
+     * @param id    ID użytkownika.
+     */
+    public void put(String email, Integer id) {
+        AfterCommit.run(() -> ids.put(normalize(email), id));
+    }
+
+    /**
+     * Usuwa adres po zatwierdzeniu bieżącej transakcji.
+     *
+     * @param email Adres email.
+     * @param id    ID użytkownika, do którego adres należał.
+     */
+    public void remove(String email, Integer id) {
+        AfterCommit.run(() -> ids.remove(normalize(email), id));
+    }
+}
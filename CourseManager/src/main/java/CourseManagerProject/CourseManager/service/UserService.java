@@ -2,14 +2,27 @@ package CourseManagerProject.CourseManager.service;
 
 import CourseManagerProject.CourseManager.dto.UserRegistrationDTO;
 import CourseManagerProject.CourseManager.dto.UserUpdateDTO;
+import CourseManagerProject.CourseManager.model.Event;
 import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.EventRepository;
 import CourseManagerProject.CourseManager.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import CourseManagerProject.CourseManager.repository.WaitlistRepository;
+import CourseManagerProject.CourseManager.util.MergePatch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 /**
  * Serwis odpowiedzialny za logikę biznesową związaną z użytkownikami (encja {@link User}).
@@ -20,33 +33,53 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserService {
 
+    /**
+     * Pola użytkownika, które można zmieniać ({@link #patchUser}).
+     */
+    public static final Set<String> PATCH_FIELDS = Set.of("firstname", "surname", "age", "email", "password");
+
     private final UserRepository userRepository;
-    // TODO dodać passwordEncoder
+    private final EventRepository eventRepository;
+    private final EnrollmentService enrollmentService;
+    private final EventViewService eventViewService;
+    private final AuditService auditService;
+    private final IcsService icsService;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final WaitlistRepository waitlistRepository;
+    private final RecommendationService recommendationService;
+    private final TagStatsService tagStatsService;
+    private final ClassroomOccupancyService classroomOccupancyService;
+    private final UserEmailCache userEmailCache;
+    private final ExecutorService databaseExecutor;
 
     /**
      * Rejestruje nowego użytkownika na podstawie danych z {@link UserRegistrationDTO}.
+     * <p>Hasło haszowane jest w puli {@link PasswordHashingService}; użytkownik zapisywany
+     * jest po zakończeniu haszowania, w transakcji wykonywanej w {@code databaseExecutor}.</p>
      *
      * @param dto Obiekt zawierający dane użytkownika, takie jak imię,
-     *            nazwisko, email, hasło i rola organizatora.
-     * @return Zapisana w bazie encja {@link User}.
-     * @throws IllegalArgumentException jeśli email jest już zajęty.
+     *            nazwisko, email i hasło (nowy użytkownik nie jest organizatorem).
+     * @return Future z zapisaną w bazie encją {@link User}.
+     * @throws IllegalArgumentException jeśli email jest już zajęty (także jako wyjątek future,
+     *         gdy ten sam adres zarejestrowano równolegle).
      */
-    public User registerUser(UserRegistrationDTO dto) {
-        Optional<User> existingUser = userRepository.findByEmail(dto.getEmail());
-        if (existingUser.isPresent()) {
+    public CompletableFuture<User> registerUser(UserRegistrationDTO dto) {
+        if (isEmailTaken(dto.getEmail(), null)) {
             throw new IllegalArgumentException("Email already in use");
         }
 
-        User user = User.builder()
-                .firstname(dto.getFirstname())
-                .surname(dto.getSurname())
-                .age(dto.getAge())
-                .email(dto.getEmail())
-                .password(dto.getPassword()) // TODO dodać np. passwordEncoder.encode(dto.getPassword())
-                .isOrganizer(dto.getIsOrganizer())
-                .build();
-
-        return userRepository.save(user);
+        return passwordHashingService.hash(dto.getPassword()).thenApplyAsync(encodedPassword -> {
+            User user = User.builder()
+                    .firstname(dto.getFirstname())
+                    .surname(dto.getSurname())
+                    .age(dto.getAge())
+                    .email(dto.getEmail())
+                    .password(encodedPassword)
+                    .isOrganizer(false)
+                    .build();
+            return transactionTemplate.execute(status -> insertUser(user, "Email already in use"));
+        }, databaseExecutor);
     }
 
     /**
@@ -85,41 +118,98 @@ public class UserService {
     }
 
     /**
-     * Pobiera użytkownika na podstawie adresu email.
+     * Pobiera użytkownika na podstawie adresu email (bez rozróżniania wielkości liter).
+     * <p>ID znalezione w {@link UserEmailCache} pozwala odczytać użytkownika po kluczu głównym;
+     * przy braku wpisu lub nieaktualnym wpisie używany jest indeks {@code lower(email)}.</p>
      *
      * @param email Adres email użytkownika.
      * @return {@link Optional} z obiektem {@link User}, jeśli istnieje.
      */
     public Optional<User> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userEmailCache.find(email)
+                .flatMap(userRepository::findById)
+                .filter(user -> user.getEmail().equalsIgnoreCase(email.trim()))
+                .or(() -> userRepository.findByEmail(email.trim()));
     }
 
     /**
      * Tworzy nowego użytkownika (bez rejestracji, np. do celów administracyjnych).
+     * <p>Ścieżka synchroniczna: czeka na hash hasła przed otwarciem transakcji, więc nie trzyma
+     * połączenia z bazą podczas haszowania.</p>
      *
      * @param user Encja {@link User} z danymi użytkownika.
      * @return Zapisany w bazie obiekt {@link User}.
-     * @throws IllegalArgumentException jeśli email jest już w użyciu.
+     * @throws IllegalArgumentException   jeśli email jest już w użyciu.
+     * @throws RejectedExecutionException jeśli kolejka puli haszującej jest pełna.
      */
-    @Transactional
     public User createUser(User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        if (isEmailTaken(user.getEmail(), null)) {
             throw new IllegalArgumentException("Użytkownik z podanym adresem email już istnieje.");
         }
-        return userRepository.save(user);
+        try {
+            user.setPassword(passwordHashingService.hash(user.getPassword()).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return transactionTemplate.execute(status -> insertUser(user, "Użytkownik z podanym adresem email już istnieje."));
     }
 
     /**
      * Aktualizuje dane użytkownika na podstawie przesłanego DTO.
+     * <p>Nowe hasło haszowane jest w puli {@link PasswordHashingService} przed otwarciem transakcji,
+     * która wykonywana jest w {@code databaseExecutor}.</p>
      *
      * @param id            ID istniejącego użytkownika.
      * @param userUpdateDTO Obiekt {@link UserUpdateDTO} z nowymi danymi.
-     * @return Zaktualizowana encja {@link User}.
-     * @throws IllegalArgumentException jeśli użytkownik nie istnieje.
+     * @return Future z zaktualizowaną encją {@link User}; kończy się wyjątkiem
+     *         {@link IllegalArgumentException}, jeśli użytkownik nie istnieje lub nowy email jest zajęty.
      */
-    @Transactional
-    public User updateUser(Integer id, UserUpdateDTO userUpdateDTO) {
+    public CompletableFuture<User> updateUser(Integer id, UserUpdateDTO userUpdateDTO) {
+        // Puste hasło (np. z formularza edycji) oznacza brak zmiany
+        CompletableFuture<String> encodedPassword = userUpdateDTO.getPassword() == null || userUpdateDTO.getPassword().isBlank()
+                ? CompletableFuture.completedFuture(null)
+                : passwordHashingService.hash(userUpdateDTO.getPassword());
+        return encodedPassword.thenApplyAsync(password -> transactionTemplate.execute(status ->
+                applyUpdate(id, userUpdateDTO, password)), databaseExecutor);
+    }
+
+    /**
+     * Zmienia wybrane pola użytkownika (JSON Merge Patch). Pola użytkownika nie mogą zostać usunięte,
+     * więc wartość {@code null} jest błędem; pola nieobecne pozostają bez zmian.
+     *
+     * @param id    ID istniejącego użytkownika.
+     * @param patch Zmienione pola ({@link #PATCH_FIELDS}).
+     * @return Future z zaktualizowaną encją {@link User} (jak {@link #updateUser}).
+     * @throws IllegalArgumentException jeśli pole jest nieznane lub ma wartość {@code null}.
+     */
+    public CompletableFuture<User> patchUser(Integer id, MergePatch<UserUpdateDTO> patch) {
+        patch.checkFields(PATCH_FIELDS);
+        Map<String, Function<UserUpdateDTO, ?>> getters = Map.of(
+                "firstname", UserUpdateDTO::getFirstname,
+                "surname", UserUpdateDTO::getSurname,
+                "age", UserUpdateDTO::getAge,
+                "email", UserUpdateDTO::getEmail,
+                "password", UserUpdateDTO::getPassword);
+        getters.forEach((field, getter) -> {
+            if (patch.has(field)) {
+                patch.required(field, getter);
+            }
+        });
+        // Pola nieobecne mają w DTO wartość null, którą aktualizacja pomija
+        return updateUser(id, patch.values());
+    }
+
+    private User applyUpdate(Integer id, UserUpdateDTO userUpdateDTO, String encodedPassword) {
         return userRepository.findById(id).map(existingUser -> {
+            // Model odczytu i kanały ICS zawierają imię i nazwisko organizatora - tylko faktyczna zmiana je przelicza
+            boolean nameChanged = userUpdateDTO.getFirstname() != null && !userUpdateDTO.getFirstname().equals(existingUser.getFirstname())
+                    || userUpdateDTO.getSurname() != null && !userUpdateDTO.getSurname().equals(existingUser.getSurname());
+            boolean ageChanged = userUpdateDTO.getAge() != null && !userUpdateDTO.getAge().equals(existingUser.getAge());
+            String previousEmail = existingUser.getEmail();
+
             // Aktualizujemy tylko pola, które zostały przesłane w DTO
             if (userUpdateDTO.getFirstname() != null) {
                 existingUser.setFirstname(userUpdateDTO.getFirstname());
@@ -130,33 +220,111 @@ public class UserService {
             if (userUpdateDTO.getAge() != null) {
                 existingUser.setAge(userUpdateDTO.getAge());
             }
-            if (userUpdateDTO.getEmail() != null) {
+            if (userUpdateDTO.getEmail() != null && !userUpdateDTO.getEmail().equals(previousEmail)) {
+                if (isEmailTaken(userUpdateDTO.getEmail(), id)) {
+                    throw new IllegalArgumentException("Email already in use");
+                }
                 existingUser.setEmail(userUpdateDTO.getEmail());
             }
-            if (userUpdateDTO.getPassword() != null) {
-                existingUser.setPassword(userUpdateDTO.getPassword());
+            if (encodedPassword != null) {
+                existingUser.setPassword(encodedPassword);
             }
             if (userUpdateDTO.getIsOrganizer() != null) {
                 existingUser.setIsOrganizer(userUpdateDTO.getIsOrganizer());
             }
 
             // Zapisujemy zmiany w bazie
-            return userRepository.save(existingUser);
+            User saved = saveUnique(existingUser, "Email already in use");
+            if (!saved.getEmail().equals(previousEmail)) {
+                userEmailCache.remove(previousEmail, id);
+                userEmailCache.put(saved.getEmail(), id);
+            }
+            if (nameChanged) {
+                eventViewService.organizerChanged(saved);
+                icsService.invalidateAllAfterCommit();
+            }
+            if (ageChanged) {
+                recommendationService.usersChanged(List.of(id));
+            }
+            auditService.record(AuditService.UPDATE, "User", id, saved.getEmail());
+            return saved;
         }).orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
 
     /**
-     * Usuwa użytkownika o podanym ID.
+     * Usuwa użytkownika o podanym ID razem z organizowanymi wydarzeniami (miękkie usunięcie).
+     * <p>Użytkownik i jego wydarzenia oznaczane są jako usunięte dwoma zapytaniami niezależnie
+     * od liczby wydarzeń, a miejsca w nadchodzących wydarzeniach innych organizatorów zwalniane
+     * są od razu (z awansem z listy oczekujących). Wiersze usuwa z bazy {@link SoftDeleteCompactor}.
+     * Zwolnienie miejsc zmienia liczniki, więc usunięcie nie jest powtarzane po konflikcie
+     * ({@link OptimisticLocking#retry}) - wykonywane jest raz, w jednej transakcji.</p>
      *
      * @param id ID użytkownika do usunięcia.
      * @throws IllegalArgumentException jeśli użytkownik o podanym ID nie istnieje.
      */
-    @Transactional
     public void deleteUser(Integer id) {
-        if (!userRepository.existsById(id)) {
+        transactionTemplate.executeWithoutResult(status -> removeUser(id));
+    }
+
+    private void removeUser(Integer id) {
+        User existing = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Użytkownik o podanym ID nie istnieje."));
+        waitlistRepository.deleteByUserId(id);
+        for (Event event : eventRepository.findFutureEventsByParticipantId(id, LocalDateTime.now())) {
+            if (!event.getOrganizer().getId().equals(id)) {
+                enrollmentService.leave(event.getId(), id);
+            }
+        }
+        classroomOccupancyService.organizerRemoving(id);
+        List<Integer> removedEventIds = eventRepository.findActiveIdsByOrganizerId(id);
+        List<Integer> affectedUserIds = eventRepository.findParticipantIdsByOrganizerId(id);
+        eventRepository.softDeleteByOrganizerId(id);
+        if (userRepository.softDelete(id) == 0) {
             throw new IllegalArgumentException("Użytkownik o podanym ID nie istnieje.");
         }
-        userRepository.deleteById(id);
+        userEmailCache.remove(existing.getEmail(), id);
+        eventViewService.organizerRemoved(id);
+        icsService.invalidateAllAfterCommit();
+        // Razem z użytkownikiem znikają jego wydarzenia - przeliczane są tylko one i ich uczestnicy
+        // (udziały usuniętego w cudzych, minionych wydarzeniach zwalnia SoftDeleteCompactor)
+        recommendationService.eventsChanged(removedEventIds);
+        recommendationService.usersChanged(affectedUserIds);
+        recommendationService.usersChanged(List.of(id));
+        removedEventIds.forEach(tagStatsService::eventRemoved);
+        auditService.record(AuditService.DELETE, "User", id, null);
+    }
+
+    /**
+     * Sprawdza, czy adres email należy do innego użytkownika.
+     * <p>Adres nieobecny w {@link UserEmailCache} uznawany jest za wolny bez zapytania do bazy -
+     * ewentualny wyścig rozstrzyga indeks unikalny przy zapisie; trafienie potwierdza zapytanie
+     * korzystające z indeksu {@code lower(email)}.</p>
+     */
+    private boolean isEmailTaken(String email, Integer ownerId) {
+        if (email == null || userEmailCache.find(email).filter(id -> !id.equals(ownerId)).isEmpty()) {
+            return false;
+        }
+        return userRepository.findIdByEmail(email.trim()).filter(id -> !id.equals(ownerId)).isPresent();
+    }
+
+    /**
+     * Zapisuje użytkownika od razu (flush), zamieniając naruszenie unikalności adresu email
+     * na {@link IllegalArgumentException}.
+     */
+    private User insertUser(User user, String duplicateMessage) {
+        User saved = saveUnique(user, duplicateMessage);
+        userEmailCache.put(saved.getEmail(), saved.getId());
+        auditService.record(AuditService.CREATE, "User", saved.getId(), saved.getEmail());
+        recommendationService.usersChanged(List.of(saved.getId()));
+        return saved;
+    }
+
+    private User saveUnique(User user, String duplicateMessage) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException(duplicateMessage, e);
+        }
     }
 }
@@ -0,0 +1,34 @@
+package CourseManagerProject.CourseManager.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Odkładanie akcji do zatwierdzenia bieżącej transakcji.
+ *
+ * <p>Używane przez pamięci podręczne i liczniki w pamięci, które nie mogą widzieć zmian
+ * wycofanej transakcji ani odczytać z bazy stanu sprzed jej zatwierdzenia.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Wykonuje akcję po zatwierdzeniu bieżącej transakcji lub od razu, jeśli transakcji nie ma.
+     *
+     * @param action Akcja do wykonania.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
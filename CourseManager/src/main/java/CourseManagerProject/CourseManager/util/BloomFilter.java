@@ -0,0 +1,115 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtr Blooma dla łańcuchów znaków, bezpieczny dla wielu wątków.
+ *
+ * <p>{@link #mightContain(String)} zwraca {@code false} tylko dla elementów, które na pewno nie
+ * zostały dodane; {@code true} może być fałszywym trafieniem z prawdopodobieństwem zbliżonym
+ * do podanego przy tworzeniu filtra. Pozycje bitów wyznaczane są metodą podwójnego haszowania
+ * z jednego 64-bitowego skrótu FNV-1a, więc sprawdzenie nie alokuje pamięci.
+ *
+ * <p>Bity ustawiane są przez {@code compareAndSet}, dzięki czemu dodawanie nie wymaga blokad.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * Tworzy filtr dobrany do oczekiwanej liczby elementów i prawdopodobieństwa fałszywego trafienia.
+     *
+     * @param expectedInsertions  Oczekiwana liczba elementów (co najmniej 1).
+     * @param falsePositiveRate   Prawdopodobieństwo fałszywego trafienia (0 &lt; p &lt; 1).
+     * @throws IllegalArgumentException jeśli parametry są poza zakresem.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be at least 1");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Dodaje element do filtra.
+     *
+     * @param value Dodawany element.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + i * h2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Sprawdza, czy element mógł zostać dodany do filtra.
+     *
+     * @param value Sprawdzany element.
+     * @return {@code false}, jeśli element na pewno nie został dodany.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Zwraca liczbę bitów filtra.
+     *
+     * @return Rozmiar filtra w bitach.
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Zwraca liczbę funkcji haszujących.
+     *
+     * @return Liczba bitów ustawianych dla jednego elementu.
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private long index(int combinedHash) {
+        // Ujemny skrót zamieniany jest na nieujemny przez odwrócenie bitów
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,109 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strumieniowy czytnik CSV (RFC 4180): separator {@code ,}, pola w cudzysłowach mogą zawierać
+ * przecinki, znaki nowej linii i podwojone cudzysłowy.
+ *
+ * <p>Wiersze czytane są pojedynczo, więc pamięć nie zależy od rozmiaru pliku. Klasa nie jest
+ * bezpieczna dla wątków.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long rowLine;
+    private int pending = -2;
+
+    /**
+     * Tworzy czytnik. Przekazany {@link Reader} powinien być buforowany.
+     *
+     * @param reader Źródło danych.
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Czyta kolejny wiersz.
+     *
+     * @return Pola wiersza lub {@code null} na końcu danych.
+     * @throws IOException              w przypadku błędu odczytu.
+     * @throws IllegalArgumentException jeśli cudzysłów nie został zamknięty przed końcem danych.
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        rowLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting at line " + rowLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Zwraca numer linii (od 1), w której zaczyna się ostatnio przeczytany wiersz.
+     *
+     * @return Numer linii.
+     */
+    public long getRowLine() {
+        return rowLine;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
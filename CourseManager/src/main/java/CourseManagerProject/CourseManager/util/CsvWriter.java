@@ -0,0 +1,57 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Zapis wierszy CSV (RFC 4180) bezpośrednio do strumienia.
+ *
+ * <p>Pola zawierające przecinek, cudzysłów lub znak nowej linii są ujmowane w cudzysłowy;
+ * {@code null} zapisywany jest jako puste pole. Wiersze kończone są {@code \r\n}.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    /**
+     * Tworzy zapis do podanego strumienia. Przekazany {@link Writer} powinien być buforowany.
+     *
+     * @param writer Strumień docelowy.
+     */
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Zapisuje jeden wiersz.
+     *
+     * @param values Wartości pól (zapisywane przez {@link String#valueOf(Object)}).
+     * @throws IOException w przypadku błędu zapisu.
+     */
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(String.valueOf(values[i]));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,139 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Strumieniowy generator kalendarza w formacie iCalendar (RFC 5545).
+ *
+ * <p>Zapisuje kolejne elementy bezpośrednio do {@link Writer}, bez budowania dokumentu w pamięci.
+ * Dba o zakończenia linii CRLF, zawijanie linii dłuższych niż 75 oktetów
+ * oraz escapowanie znaków specjalnych w wartościach tekstowych.
+ */
+public class IcsWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer writer;
+    private final ZoneId zone;
+    private final String stamp;
+
+    /**
+     * Tworzy generator zapisujący do podanego {@link Writer}.
+     *
+     * @param writer Docelowy strumień znaków.
+     * @param zone   Strefa czasowa, w której zapisane są daty wydarzeń.
+     */
+    public IcsWriter(Writer writer, ZoneId zone) {
+        this.writer = writer;
+        this.zone = zone;
+        this.stamp = UTC_FORMAT.format(Instant.now());
+    }
+
+    /**
+     * Zapisuje nagłówek kalendarza.
+     *
+     * @param name Nazwa kalendarza wyświetlana przez klienta.
+     * @throws IOException jeśli zapis się nie powiódł.
+     */
+    public void beginCalendar(String name) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//CourseManager//Schedule//PL");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(name));
+    }
+
+    /**
+     * Zapisuje pojedyncze wydarzenie ({@code VEVENT}).
+     *
+     * @param uid            Unikalny identyfikator wydarzenia.
+     * @param summary        Tytuł.
+     * @param description    Opis (może być {@code null}).
+     * @param location       Miejsce (może być {@code null}).
+     * @param organizerName  Imię i nazwisko organizatora.
+     * @param organizerEmail Adres email organizatora.
+     * @param start          Początek wydarzenia.
+     * @param end            Koniec wydarzenia.
+     * @throws IOException jeśli zapis się nie powiódł.
+     */
+    public void event(String uid, String summary, String description, String location,
+                      String organizerName, String organizerEmail,
+                      LocalDateTime start, LocalDateTime end) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + utc(start));
+        line("DTEND:" + utc(end));
+        line("SUMMARY:" + escape(summary));
+        if (description != null && !description.isBlank()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        if (location != null && !location.isBlank()) {
+            line("LOCATION:" + escape(location));
+        }
+        line("ORGANIZER;CN=\"" + organizerName.replace("\"", "'") + "\":mailto:" + organizerEmail);
+        line("END:VEVENT");
+    }
+
+    /**
+     * Zamyka kalendarz i opróżnia bufor strumienia.
+     *
+     * @throws IOException jeśli zapis się nie powiódł.
+     */
+    public void endCalendar() throws IOException {
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    private String utc(LocalDateTime dateTime) {
+        return UTC_FORMAT.format(dateTime.atZone(zone));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Zapisuje linię zakończoną CRLF, zawijając ją co 75 oktetów UTF-8
+     * (kontynuacja zaczyna się od spacji).
+     */
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int length = utf8Length(codePoint);
+            if (octets + length > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                octets = 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+}
@@ -0,0 +1,85 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Format treści powiadomienia o unieważnieniu pamięci podręcznych przesyłanego przez
+ * PostgreSQL {@code NOTIFY}.
+ *
+ * <p>Treść to ID węzła nadawcy i klucze w kolejnych wierszach. Klucze dzielone są na kilka
+ * powiadomień, tak aby żadne nie przekroczyło zadanego rozmiaru w bajtach (PostgreSQL
+ * przyjmuje treść krótszą niż 8000 bajtów).
+ */
+public final class InvalidationPayload {
+
+    /**
+     * Odczytane powiadomienie.
+     *
+     * @param nodeId ID węzła nadawcy.
+     * @param keys   Unieważnione klucze.
+     */
+    public record Message(String nodeId, List<String> keys) {
+    }
+
+    private InvalidationPayload() {
+    }
+
+    /**
+     * Dzieli klucze na treści powiadomień nieprzekraczające {@code maxBytes} bajtów.
+     *
+     * @param nodeId   ID węzła nadawcy.
+     * @param keys     Klucze (bez znaków nowego wiersza).
+     * @param maxBytes Maksymalny rozmiar treści w bajtach UTF-8.
+     * @return Treści kolejnych powiadomień (pusta lista, jeśli nie ma kluczy).
+     * @throws IllegalArgumentException jeśli klucz zawiera znak nowego wiersza lub sam nie mieści się w limicie.
+     */
+    public static List<String> encode(String nodeId, Collection<String> keys, int maxBytes) {
+        List<String> payloads = new ArrayList<>();
+        int headerBytes = utf8Length(nodeId);
+        StringBuilder current = new StringBuilder(nodeId);
+        int currentBytes = headerBytes;
+        for (String key : keys) {
+            if (key.indexOf('\n') >= 0) {
+                throw new IllegalArgumentException("Invalidation key must not contain a newline");
+            }
+            int keyBytes = 1 + utf8Length(key);
+            if (headerBytes + keyBytes > maxBytes) {
+                throw new IllegalArgumentException("Invalidation key too long: " + key);
+            }
+            if (currentBytes + keyBytes > maxBytes) {
+                payloads.add(current.toString());
+                current = new StringBuilder(nodeId);
+                currentBytes = headerBytes;
+            }
+            current.append('\n').append(key);
+            currentBytes += keyBytes;
+        }
+        if (currentBytes > headerBytes) {
+            payloads.add(current.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Odczytuje treść powiadomienia.
+     *
+     * @param payload Treść powiadomienia.
+     * @return Odczytane powiadomienie lub {@link Optional#empty()}, jeśli treść jest pusta.
+     */
+    public static Optional<Message> decode(String payload) {
+        if (payload == null || payload.isEmpty()) {
+            return Optional.empty();
+        }
+        String[] lines = payload.split("\n");
+        return Optional.of(new Message(lines[0], List.of(Arrays.copyOfRange(lines, 1, lines.length))));
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,281 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa {@code long -> int} bez opakowywania kluczy i wartości w obiekty.
+ *
+ * <p>Adresowanie otwarte z próbkowaniem liniowym w dwóch tablicach prymitywów. Klucz {@code 0}
+ * oznacza wolny slot, więc wartość dla klucza {@code 0} przechowywana jest osobno. Usuwanie
+ * przesuwa kolejne wpisy łańcucha wstecz zamiast zostawiać znaczniki, dzięki czemu liczniki,
+ * które często spadają do zera, nie degradują wyszukiwania.
+ *
+ * <p>Klasa nie jest bezpieczna dla wątków.
+ */
+public class LongIntHashMap {
+
+    /**
+     * Odbiorca wpisów mapy.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Tworzy mapę o pojemności początkowej dla co najmniej {@code expectedSize} wpisów.
+     *
+     * @param expectedSize Oczekiwana liczba wpisów.
+     */
+    public LongIntHashMap(int expectedSize) {
+        allocate(Math.max(4, Integer.highestOneBit((int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR) - 1) << 1));
+    }
+
+    /**
+     * Tworzy pustą mapę o domyślnej pojemności.
+     */
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Zwraca wartość dla klucza.
+     *
+     * @param key Klucz.
+     * @return Wartość lub 0, jeśli klucza nie ma w mapie.
+     */
+    public int get(long key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : 0;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Sprawdza, czy mapa zawiera klucz.
+     *
+     * @param key Klucz.
+     * @return {@code true}, jeśli klucz jest w mapie.
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Ustawia wartość dla klucza.
+     *
+     * @param key   Klucz.
+     * @param value Wartość.
+     */
+    public void put(long key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Dodaje {@code delta} do licznika; licznik, który spadnie do zera, jest usuwany.
+     *
+     * @param key   Klucz.
+     * @param delta Zmiana wartości.
+     * @return Nowa wartość licznika.
+     */
+    public int addTo(long key, int delta) {
+        int value = get(key) + delta;
+        if (value == 0) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Usuwa klucz z mapy.
+     *
+     * @param key Klucz.
+     * @return Usunięta wartość lub 0, jeśli klucza nie było w mapie.
+     */
+    public int remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return 0;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                int removed = values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Przekazuje wszystkie wpisy do odbiorcy (w nieokreślonej kolejności).
+     *
+     * @param consumer Odbiorca wpisów.
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Zwraca liczbę wpisów.
+     *
+     * @return Liczba wpisów.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Usuwa wszystkie wpisy, zachowując pojemność.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Łączy dwa identyfikatory typu {@code int} w klucz mapy (np. parę tagów).
+     *
+     * @param high Starsze 32 bity klucza.
+     * @param low  Młodsze 32 bity klucza.
+     * @return Klucz.
+     */
+    public static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Odczytuje starsze 32 bity klucza z {@link #pack(int, int)}.
+     *
+     * @param key Klucz.
+     * @return Pierwszy identyfikator.
+     */
+    public static int high(long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Odczytuje młodsze 32 bity klucza z {@link #pack(int, int)}.
+     *
+     * @param key Klucz.
+     * @return Drugi identyfikator.
+     */
+    public static int low(long key) {
+        return (int) key;
+    }
+
+    private int slot(long key) {
+        // Mieszanie (finalizator MurmurHash3) - kolejne ID nie trafiają do sąsiednich slotów
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            // Wpis można przesunąć do luki, jeśli jego slot docelowy nie leży między luką a nim
+            int home = slot(key);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
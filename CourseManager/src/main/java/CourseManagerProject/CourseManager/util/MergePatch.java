@@ -0,0 +1,115 @@
+package CourseManagerProject.CourseManager.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Częściowa zmiana zasobu w formacie JSON Merge Patch (RFC 7396).
+ *
+ * <p>Przechowuje wartości przysłanych pól w obiekcie DTO oraz zbiór nazw pól obecnych w treści -
+ * pole nieobecne pozostaje bez zmian, a pole z wartością {@code null} oznacza jego usunięcie
+ * (dla pól obowiązkowych: błąd, {@link #required}). Tablice zastępowane są w całości.
+ *
+ * @param <T> Typ DTO z wartościami pól.
+ */
+public final class MergePatch<T> {
+
+    private final T values;
+    private final Set<String> fields;
+
+    private MergePatch(T values, Set<String> fields) {
+        this.values = values;
+        this.fields = fields;
+    }
+
+    /**
+     * Odczytuje treść żądania {@code PATCH}.
+     *
+     * @param body         Treść żądania.
+     * @param type         Typ DTO z wartościami pól.
+     * @param objectMapper Mapper JSON aplikacji (formaty dat itp.).
+     * @param <T>          Typ DTO.
+     * @return Zmiana zasobu.
+     * @throws IllegalArgumentException jeśli treść nie jest obiektem JSON lub wartość pola ma zły typ.
+     */
+    public static <T> MergePatch<T> parse(JsonNode body, Class<T> type, ObjectMapper objectMapper) {
+        if (body == null || !body.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        body.fieldNames().forEachRemaining(fields::add);
+        try {
+            return new MergePatch<>(objectMapper.treeToValue(body, type), Set.copyOf(fields));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Zmiana wszystkich podanych pól (np. pełna aktualizacja {@code PUT}).
+     *
+     * @param values Wartości pól.
+     * @param fields Nazwy pól.
+     * @param <T>    Typ DTO.
+     * @return Zmiana zasobu.
+     */
+    public static <T> MergePatch<T> of(T values, Collection<String> fields) {
+        return new MergePatch<>(values, Set.copyOf(fields));
+    }
+
+    /**
+     * Sprawdza, czy zmiana dotyczy wyłącznie dozwolonych pól.
+     *
+     * @param allowed Nazwy pól, które można zmieniać.
+     * @throws IllegalArgumentException jeśli treść zawiera inne pole.
+     */
+    public void checkFields(Set<String> allowed) {
+        for (String field : fields) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Unknown or read-only field: " + field);
+            }
+        }
+    }
+
+    /**
+     * Sprawdza, czy pole jest obecne w zmianie.
+     *
+     * @param field Nazwa pola.
+     * @return {@code true}, jeśli pole należy zmienić.
+     */
+    public boolean has(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Zwraca wartość pola obowiązkowego.
+     *
+     * @param field  Nazwa pola (do komunikatu błędu).
+     * @param getter Odczyt wartości z DTO.
+     * @param <V>    Typ wartości.
+     * @return Wartość pola.
+     * @throws IllegalArgumentException jeśli pole ma wartość {@code null}.
+     */
+    public <V> V required(String field, Function<T, V> getter) {
+        V value = getter.apply(values);
+        if (value == null) {
+            throw new IllegalArgumentException("Field " + field + " must not be null");
+        }
+        return value;
+    }
+
+    /**
+     * Zwraca DTO z wartościami pól (pola nieobecne w zmianie mają wartość {@code null}).
+     *
+     * @return Wartości pól.
+     */
+    public T values() {
+        return values;
+    }
+}
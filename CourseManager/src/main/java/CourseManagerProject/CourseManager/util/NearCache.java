@@ -0,0 +1,112 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Lokalna pamięć podręczna węzła ("near cache") przed bazą danych.
+ *
+ * <p>Wpisy usuwane są jawnie ({@link #invalidate}, {@link #invalidateAll}) po zmianie danych
+ * na tym lub innym węźle, a czas życia wpisu ogranicza nieaktualność, gdyby powiadomienie
+ * z innego węzła nie dotarło. Wartość wczytana równolegle z unieważnieniem jej klucza nie
+ * trafia do pamięci (może pochodzić sprzed zmiany) - unieważnienia liczone są w stałej
+ * liczbie liczników wybieranych skrótem klucza, więc pamięć nie rośnie z liczbą kluczy.
+ *
+ * @param <K> Typ klucza.
+ * @param <V> Typ wartości.
+ */
+public class NearCache<K, V> {
+
+    private static final int STRIPES = 64;
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final AtomicLong fullInvalidations = new AtomicLong();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    /**
+     * @param maxSize Maksymalna liczba wpisów; po jej osiągnięciu nowe wartości nie są zapamiętywane.
+     * @param ttl     Czas życia wpisu.
+     */
+    public NearCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Zwraca wartość z pamięci lub wczytuje ją i zapamiętuje.
+     *
+     * @param key    Klucz.
+     * @param loader Funkcja wczytująca wartość (wynik {@code null} nie jest zapamiętywany).
+     * @return Wartość dla klucza.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos() - now > 0) {
+            return entry.value();
+        }
+
+        long startEpoch = epoch(key);
+        V value = loader.apply(key);
+        if (value == null || epoch(key) != startEpoch) {
+            return value;
+        }
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(existing -> existing.expiresAtNanos() - now <= 0);
+            if (entries.size() >= maxSize) {
+                return value;
+            }
+        }
+        Entry<V> loaded = new Entry<>(value, now + ttlNanos);
+        entries.put(key, loaded);
+        // Unieważnienie mogło nastąpić między sprawdzeniem a zapisem
+        if (epoch(key) != startEpoch) {
+            entries.remove(key, loaded);
+        }
+        return value;
+    }
+
+    /**
+     * Usuwa wpis klucza.
+     *
+     * @param key Klucz.
+     */
+    public void invalidate(K key) {
+        invalidations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    /**
+     * Usuwa wszystkie wpisy.
+     */
+    public void invalidateAll() {
+        fullInvalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Zwraca liczbę wpisów (także tych, których czas życia minął).
+     *
+     * @return Liczba wpisów.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private long epoch(K key) {
+        return invalidations.get(stripe(key)) + fullInvalidations.get();
+    }
+
+    private static int stripe(Object key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+}
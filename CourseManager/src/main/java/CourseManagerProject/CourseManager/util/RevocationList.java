@@ -0,0 +1,88 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista unieważnionych tokenów w pamięci: filtr Blooma przed dokładnym zbiorem identyfikatorów.
+ *
+ * <p>Dla zdecydowanej większości żądań (token nieunieważniony) sprawdzenie kończy się na filtrze
+ * Blooma; tylko przy trafieniu w filtr sprawdzany jest dokładny zbiór, co eliminuje fałszywe
+ * trafienia. Odczyt nie używa blokad - stan podmieniany jest atomowo przez
+ * {@link #replaceAll(Map, long)}.
+ *
+ * <p>Każdy wpis pamięta moment wygaśnięcia tokenu; wygasłe tokeny są odrzucane i tak,
+ * więc przy podmianie stanu są pomijane.
+ */
+public class RevocationList {
+
+    private record State(BloomFilter filter, Map<String, Long> expiries) {
+    }
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile State state;
+
+    /**
+     * Tworzy pustą listę.
+     *
+     * @param expectedInsertions Oczekiwana liczba jednocześnie unieważnionych tokenów.
+     * @param falsePositiveRate  Prawdopodobieństwo fałszywego trafienia filtra Blooma.
+     */
+    public RevocationList(int expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.state = new State(new BloomFilter(expectedInsertions, falsePositiveRate), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Sprawdza, czy token o podanym identyfikatorze został unieważniony.
+     *
+     * @param jti Identyfikator tokenu.
+     * @return {@code true}, jeśli token jest unieważniony.
+     */
+    public boolean isRevoked(String jti) {
+        State current = state;
+        return current.filter().mightContain(jti) && current.expiries().containsKey(jti);
+    }
+
+    /**
+     * Dodaje unieważniony token.
+     *
+     * @param jti             Identyfikator tokenu.
+     * @param expiresAtMillis Moment wygaśnięcia tokenu (ms od epoki).
+     */
+    public synchronized void revoke(String jti, long expiresAtMillis) {
+        State current = state;
+        // Najpierw dokładny zbiór, potem filtr - trafienie w filtr zawsze ma wpis w zbiorze
+        current.expiries().put(jti, expiresAtMillis);
+        current.filter().put(jti);
+    }
+
+    /**
+     * Zastępuje stan listą wczytaną z trwałego magazynu, łącząc ją z wpisami dodanymi lokalnie.
+     * Wygasłe wpisy są pomijane, a filtr Blooma budowany od nowa.
+     *
+     * @param revoked   Unieważnione tokeny (identyfikator - moment wygaśnięcia w ms).
+     * @param nowMillis Bieżący czas (ms od epoki).
+     */
+    public synchronized void replaceAll(Map<String, Long> revoked, long nowMillis) {
+        Map<String, Long> merged = new HashMap<>(revoked);
+        state.expiries().forEach(merged::putIfAbsent);
+        merged.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+
+        BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, merged.size()), falsePositiveRate);
+        merged.keySet().forEach(filter::put);
+        state = new State(filter, new ConcurrentHashMap<>(merged));
+    }
+
+    /**
+     * Zwraca liczbę unieważnionych (niewygasłych w chwili ostatniej podmiany) tokenów.
+     *
+     * @return Rozmiar dokładnego zbioru.
+     */
+    public int size() {
+        return state.expiries().size();
+    }
+}
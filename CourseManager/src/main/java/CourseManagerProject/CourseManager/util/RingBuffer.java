@@ -0,0 +1,133 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Ograniczony bufor cykliczny bez blokad (wielu producentów, wielu konsumentów).
+ *
+ * <p>Każdy slot posiada własny numer sekwencji, który mówi, czy slot jest wolny dla producenta
+ * o danej pozycji, czy gotowy do odczytu przez konsumenta. Producenci i konsumenci rezerwują
+ * pozycje przez {@code compareAndSet} na liczniku, więc żadna operacja nie czeka na blokadę,
+ * a zapis do pełnego bufora od razu zwraca {@code false}.
+ *
+ * <p>Pojemność jest zaokrąglana w górę do potęgi dwójki.
+ *
+ * @param <T> Typ przechowywanych elementów.
+ */
+public class RingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Tworzy bufor o pojemności co najmniej {@code capacity} elementów.
+     *
+     * @param capacity Minimalna pojemność bufora (co najmniej 2).
+     * @throws IllegalArgumentException jeśli pojemność jest mniejsza niż 2.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Dodaje element na koniec bufora bez blokowania.
+     *
+     * @param item Element do dodania.
+     * @return true, jeśli element został dodany; false, jeśli bufor jest pełny.
+     */
+    public boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.set(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Pobiera i usuwa najstarszy element bufora bez blokowania.
+     *
+     * @return Najstarszy element lub {@code null}, jeśli bufor jest pusty.
+     */
+    public T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = items.get(index);
+                    items.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Przekazuje do {@code sink} co najwyżej {@code maxItems} najstarszych elementów.
+     *
+     * @param sink     Odbiorca elementów.
+     * @param maxItems Maksymalna liczba pobranych elementów.
+     * @return Liczba przekazanych elementów.
+     */
+    public int drainTo(Consumer<? super T> sink, int maxItems) {
+        int drained = 0;
+        T item;
+        while (drained < maxItems && (item = poll()) != null) {
+            sink.accept(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Zwraca przybliżoną liczbę elementów oczekujących w buforze.
+     *
+     * @return Liczba elementów w buforze.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), capacity()));
+    }
+
+    /**
+     * Zwraca pojemność bufora.
+     *
+     * @return Pojemność (potęga dwójki).
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,68 @@
+package CourseManagerProject.CourseManager.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kubełek tokenów bez blokad, zrealizowany jako GCRA (generic cell rate algorithm).
+ *
+ * <p>Zamiast liczby tokenów i czasu ostatniego uzupełnienia kubełek przechowuje jedną wartość:
+ * teoretyczny czas przybycia (TAT) następnego żądania. Każde przyjęte żądanie przesuwa TAT
+ * o odstęp {@code 1 / refillPerSecond}; żądanie jest odrzucane, gdy TAT wyprzedza bieżący czas
+ * o więcej niż {@code capacity} odstępów. Aktualizacja to jedno {@code compareAndSet},
+ * więc wątki nie czekają na siebie nawzajem. Zachowanie jest równoważne klasycznemu kubełkowi
+ * o pojemności {@code capacity} uzupełnianemu {@code refillPerSecond} tokenami na sekundę.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Tworzy pełny kubełek.
+     *
+     * @param capacity        Pojemność kubełka (maksymalna seria żądań, co najmniej 1).
+     * @param refillPerSecond Liczba tokenów uzupełnianych na sekundę (większa od 0).
+     * @param nowNanos        Bieżący czas ({@link System#nanoTime()}).
+     * @throws IllegalArgumentException jeśli parametry są poza zakresem.
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity must be at least 1 and refill rate positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Próbuje pobrać jeden token.
+     *
+     * @param nowNanos Bieżący czas ({@link System#nanoTime()}).
+     * @return 0, jeśli token został pobrany; w przeciwnym razie czas (ns) do udostępnienia tokenu.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat - nowNanos > 0 ? tat : nowNanos;
+            long next = base + intervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Sprawdza, czy kubełek jest pełny - taki kubełek można usunąć i odtworzyć bez zmiany zachowania.
+     *
+     * @param nowNanos Bieżący czas ({@link System#nanoTime()}).
+     * @return {@code true}, jeśli kubełek jest w pełni uzupełniony.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
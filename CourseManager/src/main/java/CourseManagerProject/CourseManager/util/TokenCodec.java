@@ -0,0 +1,136 @@
+package CourseManagerProject.CourseManager.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Kodowanie i weryfikacja tokenów JWT podpisanych algorytmem HS256 (HMAC-SHA256).
+ *
+ * <p>Token ma postać {@code nagłówek.treść.podpis} (Base64URL bez dopełnienia). Nagłówek jest
+ * stały, więc weryfikacja porównuje go z oczekiwanym łańcuchem - tokeny z innym algorytmem
+ * (np. {@code none}) są odrzucane bez dekodowania. Podpis porównywany jest w czasie stałym.
+ *
+ * <p>Instancje {@link Mac} nie są bezpieczne dla wątków, dlatego każdy wątek używa własnej kopii.
+ */
+public class TokenCodec {
+
+    /**
+     * Dane zapisane w tokenie.
+     *
+     * @param sub Identyfikator użytkownika.
+     * @param org Czy użytkownik jest organizatorem.
+     * @param iat Moment wystawienia (sekundy od epoki).
+     * @param exp Moment wygaśnięcia (sekundy od epoki).
+     * @param jti Losowy identyfikator tokenu (używany przy unieważnianiu).
+     */
+    public record Claims(Integer sub, boolean org, long iat, long exp, String jti) {
+    }
+
+    private static final String HEADER = base64("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Tworzy koder dla podanego klucza.
+     *
+     * @param secret Klucz HMAC (co najmniej 32 bajty).
+     * @throws IllegalArgumentException jeśli klucz jest krótszy niż 32 bajty.
+     */
+    public TokenCodec(byte[] secret) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Token secret must be at least 32 bytes");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+
+    /**
+     * Koduje i podpisuje token.
+     *
+     * @param claims Dane tokenu.
+     * @return Token w postaci kompaktowej.
+     */
+    public String encode(Claims claims) {
+        try {
+            String signingInput = HEADER + "." + base64(objectMapper.writeValueAsBytes(claims));
+            return signingInput + "." + base64(sign(signingInput));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize token claims", e);
+        }
+    }
+
+    /**
+     * Weryfikuje podpis tokenu i odczytuje jego dane. Nie sprawdza wygaśnięcia ani unieważnienia.
+     *
+     * @param token Token w postaci kompaktowej.
+     * @return Dane tokenu lub {@link Optional#empty()}, jeśli token jest niepoprawny.
+     */
+    public Optional<Claims> decode(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot != HEADER.length() || lastDot == firstDot || !token.startsWith(HEADER)) {
+            return Optional.empty();
+        }
+        try {
+            byte[] expected = sign(token.substring(0, lastDot));
+            byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)), Claims.class));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Podpisuje dowolną wartość tym samym kluczem (np. adres kanału ICS).
+     *
+     * @param value Podpisywana wartość (ASCII).
+     * @return Podpis HMAC-SHA256 w Base64URL bez dopełnienia.
+     */
+    public String signature(String value) {
+        return base64(sign(value));
+    }
+
+    /**
+     * Sprawdza w czasie stałym podpis wartości wystawiony przez {@link #signature(String)}.
+     *
+     * @param value     Podpisana wartość.
+     * @param signature Podpis do sprawdzenia.
+     * @return {@code true}, jeśli podpis jest poprawny.
+     */
+    public boolean verifySignature(String value, String signature) {
+        try {
+            return MessageDigest.isEqual(sign(value), DECODER.decode(signature));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        return mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
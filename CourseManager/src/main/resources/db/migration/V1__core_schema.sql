@@ -0,0 +1,51 @@
+-- Schemat podstawowy: użytkownicy, sale, tagi, wydarzenia i tabele złączeń.
+-- IF NOT EXISTS pozwala przyjąć bazę utworzoną wcześniej przez Hibernate (ddl-auto=update).
+
+CREATE TABLE IF NOT EXISTS users (
+    id           integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    firstname    varchar(255),
+    surname      varchar(255),
+    age          integer,
+    email        varchar(255) CONSTRAINT users_email_key UNIQUE,
+    password     varchar(255),
+    is_organizer boolean
+);
+
+CREATE TABLE IF NOT EXISTS classrooms (
+    id             integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    capacity       integer,
+    location       varchar(255),
+    info           varchar(255),
+    classroom_name varchar(255) CONSTRAINT classrooms_classroom_name_key UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS tags (
+    id   integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255) CONSTRAINT tags_name_key UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS events (
+    id               integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             varchar(255),
+    start_datetime   timestamp(6),
+    end_datetime     timestamp(6),
+    max_participants integer,
+    min_age          integer,
+    info             varchar(255),
+    seats_taken      integer DEFAULT 0 NOT NULL,
+    waitlist_tail    integer DEFAULT 0 NOT NULL,
+    organizer_id     integer NOT NULL CONSTRAINT fk_events_organizer REFERENCES users (id),
+    classroom_id     integer NOT NULL CONSTRAINT fk_events_classroom REFERENCES classrooms (id)
+);
+
+CREATE TABLE IF NOT EXISTS event_participant (
+    event_id integer NOT NULL CONSTRAINT fk_event_participant_event REFERENCES events (id),
+    user_id  integer NOT NULL CONSTRAINT fk_event_participant_user REFERENCES users (id),
+    PRIMARY KEY (event_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS event_tag (
+    event_id integer NOT NULL CONSTRAINT fk_event_tag_event REFERENCES events (id),
+    tag_id   integer NOT NULL CONSTRAINT fk_event_tag_tag REFERENCES tags (id),
+    PRIMARY KEY (event_id, tag_id)
+);
@@ -0,0 +1,81 @@
+-- Tabele pomocnicze: lista oczekujących, widok list wydarzeń, statystyki, zajętość sal,
+-- dziennik audytu, skrzynka nadawcza i unieważnione tokeny.
+
+CREATE TABLE IF NOT EXISTS event_waitlist (
+    event_id   integer NOT NULL,
+    position   integer NOT NULL,
+    user_id    integer NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (event_id, position),
+    CONSTRAINT uk_event_waitlist_user UNIQUE (event_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS event_view (
+    event_id          integer PRIMARY KEY,
+    name              varchar(255),
+    start_datetime    timestamp(6),
+    end_datetime      timestamp(6),
+    max_participants  integer,
+    min_age           integer,
+    info              varchar(255),
+    organizer_id      integer,
+    organizer_name    varchar(255),
+    classroom_id      integer,
+    classroom_name    varchar(255),
+    tag_ids           integer[],
+    participant_count integer
+);
+CREATE INDEX IF NOT EXISTS idx_event_view_start ON event_view (start_datetime);
+CREATE INDEX IF NOT EXISTS idx_event_view_organizer ON event_view (organizer_id, start_datetime);
+CREATE INDEX IF NOT EXISTS idx_event_view_classroom ON event_view (classroom_id, start_datetime);
+
+CREATE TABLE IF NOT EXISTS tag_stats (
+    tag_id            integer PRIMARY KEY,
+    event_count       integer NOT NULL,
+    participant_count integer NOT NULL,
+    updated_at        timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tag_pair_stats (
+    tag_a       integer NOT NULL,
+    tag_b       integer NOT NULL,
+    event_count integer NOT NULL,
+    updated_at  timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (tag_a, tag_b)
+);
+
+CREATE TABLE IF NOT EXISTS classroom_occupancy (
+    classroom_id integer NOT NULL,
+    day          date NOT NULL,
+    hour_of_day  integer NOT NULL,
+    minutes      integer NOT NULL,
+    PRIMARY KEY (classroom_id, day, hour_of_day)
+);
+
+CREATE TABLE IF NOT EXISTS audit_log (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  timestamp(6) with time zone NOT NULL,
+    actor       varchar(100),
+    action      varchar(20) NOT NULL,
+    entity_type varchar(50) NOT NULL,
+    entity_id   integer,
+    details     varchar(500)
+);
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity ON audit_log (entity_type, entity_id);
+
+CREATE TABLE IF NOT EXISTS outbox (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at     timestamp(6) with time zone NOT NULL,
+    aggregate_type varchar(50) NOT NULL,
+    aggregate_id   integer NOT NULL,
+    type           varchar(50) NOT NULL,
+    payload        text,
+    attempts       integer NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS revoked_token (
+    jti        varchar(64) PRIMARY KEY,
+    expires_at timestamp(6) with time zone NOT NULL,
+    revoked_at timestamp(6) with time zone NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires ON revoked_token (expires_at);
@@ -0,0 +1,28 @@
+-- Indeksy wydajnościowe, których Hibernate nie tworzy z adnotacji encji.
+
+-- Wyszukiwanie użytkownika po adresie email bez rozróżniania wielkości liter i jego unikalność.
+-- Migracja nie powiedzie się, jeśli w bazie są adresy różniące się tylko wielkością liter.
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_lower_key ON users (lower(email));
+
+-- Wydarzenia uczestnika (przeszłe/przyszłe) i wydarzenia z tagiem - klucze główne złączeń
+-- zaczynają się od event_id, więc wyszukiwanie po drugiej kolumnie potrzebuje osobnego indeksu.
+CREATE INDEX IF NOT EXISTS idx_event_participant_user ON event_participant (user_id);
+CREATE INDEX IF NOT EXISTS idx_event_tag_tag ON event_tag (tag_id);
+
+-- Wydarzenia organizatora w kolejności startu.
+CREATE INDEX IF NOT EXISTS idx_events_organizer_start ON events (organizer_id, start_datetime);
+
+-- Kolizje sal: przecięcie przedziałów czasu w ramach sali (GiST, btree_gist dla kolumny integer).
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+CREATE INDEX IF NOT EXISTS idx_events_classroom_period
+    ON events USING gist (classroom_id, tsrange(start_datetime, end_datetime));
+
+-- Filtr po tagu w liście wydarzeń (tag_ids @> ARRAY[?]).
+CREATE INDEX IF NOT EXISTS idx_event_view_tags ON event_view USING gin (tag_ids);
+
+-- Lista wydarzeń z wolnymi miejscami (excludeFull=true) - tylko niepełne wiersze.
+CREATE INDEX IF NOT EXISTS idx_event_view_open ON event_view (start_datetime)
+    WHERE participant_count < max_participants;
+
+-- Licznik zajętych miejsc nie może spaść poniżej zera (NOT VALID - bez sprawdzania istniejących wierszy).
+ALTER TABLE events ADD CONSTRAINT chk_events_seats_taken CHECK (seats_taken >= 0) NOT VALID;
@@ -0,0 +1,8 @@
+-- Blokowanie optymistyczne: wersje wydarzeń, sal i tagów (@Version).
+-- Istniejące wiersze dostają wersję 0; liczniki miejsc zmieniane są zapytaniami bez zmiany wersji.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE classrooms ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tags ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Wersja wydarzenia w modelu odczytu - klient odsyła ją przy edycji.
+ALTER TABLE event_view ADD COLUMN IF NOT EXISTS event_version bigint NOT NULL DEFAULT 0;
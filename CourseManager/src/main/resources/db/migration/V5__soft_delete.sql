@@ -0,0 +1,27 @@
+-- Miękkie usuwanie wydarzeń, użytkowników i sal: usunięcie ustawia deleted_at, a wiersze
+-- (z wierszami złączeń) usuwa później w paczkach SoftDeleteCompactor.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+ALTER TABLE classrooms ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+
+-- Kolizje sal sprawdzane są tylko wśród wydarzeń, które nie zostały usunięte.
+DROP INDEX IF EXISTS idx_events_classroom_period;
+CREATE INDEX IF NOT EXISTS idx_events_classroom_period
+    ON events USING gist (classroom_id, tsrange(start_datetime, end_datetime))
+    WHERE deleted_at IS NULL;
+
+-- Adres email i nazwa sali usuniętego wiersza są od razu wolne (unikalność tylko wśród aktywnych wierszy).
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+DROP INDEX IF EXISTS users_email_lower_key;
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_lower_key ON users (lower(email)) WHERE deleted_at IS NULL;
+ALTER TABLE classrooms DROP CONSTRAINT IF EXISTS classrooms_classroom_name_key;
+CREATE UNIQUE INDEX IF NOT EXISTS classrooms_classroom_name_key ON classrooms (classroom_name)
+    WHERE deleted_at IS NULL;
+
+-- Wydarzenia sali: miękkie usunięcie sali i sprawdzenie klucza obcego przy usuwaniu sali z bazy.
+CREATE INDEX IF NOT EXISTS idx_events_classroom ON events (classroom_id);
+
+-- Kolejka kompaktowania - tylko usunięte wiersze.
+CREATE INDEX IF NOT EXISTS idx_events_deleted ON events (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_classrooms_deleted ON classrooms (deleted_at) WHERE deleted_at IS NOT NULL;
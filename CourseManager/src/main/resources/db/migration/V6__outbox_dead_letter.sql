@@ -0,0 +1,7 @@
+-- Wiadomości skrzynki nadawczej, których odbiorca nie przyjął po outbox.max-attempts próbach,
+-- trafiają do stanu "martwych" (dead_at) z ostatnim błędem i nie blokują kolejnych wysyłek.
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS dead_at timestamp(6) with time zone;
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS last_error varchar(500);
+
+-- Dispatcher pobiera tylko wiadomości oczekujące na wysyłkę.
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON outbox (id) WHERE dead_at IS NULL;
@@ -0,0 +1,8 @@
+-- Kolizje sal wykluczane przez bazę: sprawdzenie w EventService nie chroni przed dwoma
+-- równoległymi zapisami w tej samej sali. Ograniczenie obejmuje tylko wydarzenia, które nie
+-- zostały usunięte, i zastępuje indeks idx_events_classroom_period (ten sam klucz GiST).
+-- Przedziały są domknięte lewostronnie - wydarzenie może zacząć się o godzinie końca poprzedniego.
+DROP INDEX IF EXISTS idx_events_classroom_period;
+ALTER TABLE events ADD CONSTRAINT events_classroom_no_overlap
+    EXCLUDE USING gist (classroom_id WITH =, tsrange(start_datetime, end_datetime) WITH &&)
+    WHERE (deleted_at IS NULL);
@@ -0,0 +1,81 @@
+package CourseManagerProject.CourseManager;
+
+import CourseManagerProject.CourseManager.dto.ClassroomDTO;
+import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.service.ClassroomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Dwa konteksty aplikacji (dwa "węzły") na jednej bazie: zmiana sali na jednym węźle
+ * unieważnia pamięć podręczną drugiego przez {@code LISTEN/NOTIFY}. Test jest pomijany,
+ * gdy baza z {@code application.properties} jest niedostępna.
+ */
+public class CacheInvalidationIntegrationTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    @Test
+    void updateOnOneNodeInvalidatesOtherNode() throws Exception {
+        assumeTrue(databaseAvailable(), "PostgreSQL niedostępny");
+
+        try (ConfigurableApplicationContext nodeA = start(); ConfigurableApplicationContext nodeB = start()) {
+            ClassroomService serviceA = nodeA.getBean(ClassroomService.class);
+            ClassroomService serviceB = nodeB.getBean(ClassroomService.class);
+
+            Classroom created = serviceA.addClassroom(classroom("Sala testowa"));
+            try {
+                assertEquals("Sala testowa", serviceB.findClassroom(created.getId()).getClassroomName());
+
+                serviceA.updateClassroom(created.getId(), classroom("Sala po zmianie"));
+
+                long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+                while (!"Sala po zmianie".equals(serviceB.findClassroom(created.getId()).getClassroomName())) {
+                    assertTrue(System.currentTimeMillis() < deadline, "Węzeł B nie otrzymał unieważnienia");
+                    Thread.sleep(20);
+                }
+            } finally {
+                serviceA.deleteClassroom(created.getId());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CourseManagerApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    private static ClassroomDTO classroom(String name) {
+        return ClassroomDTO.builder()
+                .classroomName(name)
+                .capacity(10)
+                .location("Budynek testowy")
+                .info("Test unieważniania pamięci podręcznej")
+                .build();
+    }
+
+    private static boolean databaseAvailable() throws Exception {
+        Properties properties = new Properties();
+        try (var in = CacheInvalidationIntegrationTest.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(properties.getProperty("spring.datasource.url"),
+                properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"))) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
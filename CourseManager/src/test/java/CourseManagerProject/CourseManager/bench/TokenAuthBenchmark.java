@@ -0,0 +1,61 @@
+package CourseManagerProject.CourseManager.bench;
+
+import CourseManagerProject.CourseManager.util.RevocationList;
+import CourseManagerProject.CourseManager.util.TokenCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mikrobenchmark kosztu uwierzytelnienia jednego żądania: weryfikacja podpisu HS256,
+ * dekodowanie treści tokenu, sprawdzenie wygaśnięcia i listy unieważnionych tokenów.
+ *
+ * <p>Uruchomienie: {@code gradle tokenBenchmark}. Argumenty (opcjonalne):
+ * liczba iteracji pomiaru i liczba unieważnionych tokenów na liście.
+ */
+public class TokenAuthBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int revokedCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        TokenCodec codec = new TokenCodec("benchmark-secret-benchmark-secret".getBytes(StandardCharsets.UTF_8));
+        RevocationList revocations = new RevocationList(revokedCount, 0.01);
+        Map<String, Long> revoked = new HashMap<>();
+        for (int i = 0; i < revokedCount; i++) {
+            revoked.put("revoked-" + i, Long.MAX_VALUE);
+        }
+        revocations.replaceAll(revoked, 0);
+
+        long now = System.currentTimeMillis() / 1000;
+        String token = codec.encode(new TokenCodec.Claims(42, true, now, now + 3600, "k2v1QkTQ7cE0m6Yz3cJ0Aw"));
+
+        // Rozgrzewka JIT
+        run(codec, revocations, token, iterations / 4);
+
+        long start = System.nanoTime();
+        int accepted = run(codec, revocations, token, iterations);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf(Locale.ROOT, "iterations=%d revoked=%d accepted=%d%n", iterations, revokedCount, accepted);
+        System.out.printf(Locale.ROOT, "avg=%.3f us/request throughput=%.0f requests/s/thread%n",
+                elapsed / 1000.0 / iterations, iterations / (elapsed / 1e9));
+    }
+
+    private static int run(TokenCodec codec, RevocationList revocations, String token, int iterations) {
+        int accepted = 0;
+        for (int i = 0; i < iterations; i++) {
+            long now = System.currentTimeMillis() / 1000;
+            boolean valid = codec.decode(token)
+                    .filter(claims -> claims.exp() > now)
+                    .filter(claims -> !revocations.isRevoked(claims.jti()))
+                    .isPresent();
+            if (valid) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,103 @@
+package CourseManagerProject.CourseManager.config;
+
+import CourseManagerProject.CourseManager.controller.RateLimitController;
+import CourseManagerProject.CourseManager.service.RateLimiterService;
+import CourseManagerProject.CourseManager.util.TokenCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class RateLimitFilterTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Reguły z application.properties - te same, z którymi startuje aplikacja
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        RateLimitProperties rateLimitProperties = new Binder(new MapConfigurationPropertySource(properties))
+                .bind("rate-limit", RateLimitProperties.class)
+                .get();
+        RateLimiterService rateLimiterService = new RateLimiterService(rateLimitProperties);
+        mockMvc = MockMvcBuilders.standaloneSetup(new RateLimitController(rateLimiterService))
+                .addFilters(new RateLimitFilter(rateLimiterService))
+                .build();
+    }
+
+    @Test
+    void defaultRulesAreConfigured() throws Exception {
+        mockMvc.perform(get("/api/rate-limit/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].pattern").value("/api/events/filtered"))
+                .andExpect(jsonPath("$[1].pattern").value("/api/events/{eventId}/participants/**"))
+                .andExpect(jsonPath("$[1].method").value("POST"))
+                .andExpect(jsonPath("$[2].pattern").value("/api/**"));
+    }
+
+    @Test
+    void enrollmentBurstGets429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertNotThrottled(post("/api/events/7/participants/" + i));
+        }
+
+        MvcResult throttled = mockMvc.perform(post("/api/events/7/participants/5"))
+                .andExpect(status().isTooManyRequests())
+                .andReturn();
+        assertEquals("1", throttled.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+
+        // Inny klient ma własny kubełek, a GET tej ścieżki nie podlega regule zapisów
+        assertNotThrottled(post("/api/events/7/participants/5").with(request -> {
+            request.setRemoteAddr("10.0.0.2");
+            return request;
+        }));
+        assertNotThrottled(get("/api/events/7/participants/5"));
+
+        mockMvc.perform(get("/api/rate-limit/stats"))
+                .andExpect(jsonPath("$[1].allowed").value(6))
+                .andExpect(jsonPath("$[1].throttled").value(1))
+                .andExpect(jsonPath("$[1].activeBuckets").value(2));
+    }
+
+    @Test
+    void filteredSearchIsLimitedPerTokenUser() throws Exception {
+        TokenCodec.Claims user = new TokenCodec.Claims(42, false, 0, Long.MAX_VALUE, "jti-42");
+        for (int i = 0; i < 20; i++) {
+            assertNotThrottled(get("/api/events/filtered").requestAttr(TokenAuthenticationFilter.CLAIMS_ATTRIBUTE, user));
+        }
+
+        MvcResult throttled = mockMvc.perform(get("/api/events/filtered")
+                        .requestAttr(TokenAuthenticationFilter.CLAIMS_ATTRIBUTE, user))
+                .andExpect(status().isTooManyRequests())
+                .andReturn();
+        assertNotNull(throttled.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+
+        // Ten sam adres IP bez tokenu to inny klient
+        assertNotThrottled(get("/api/events/filtered"));
+
+        mockMvc.perform(get("/api/rate-limit/stats"))
+                .andExpect(jsonPath("$[0].allowed").value(21))
+                .andExpect(jsonPath("$[0].throttled").value(1));
+    }
+
+    private void assertNotThrottled(MockHttpServletRequestBuilder request) throws Exception {
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        assertNotEquals(429, status);
+    }
+}
@@ -0,0 +1,58 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.EventFillDTO;
+import CourseManagerProject.CourseManager.dto.OrganizerAnalyticsDTO;
+import CourseManagerProject.CourseManager.repository.ClassroomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AnalyticsServiceTest {
+
+    @Test
+    void eventNamesStayAlignedWhenOneIsMissing() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        LocalDateTime start = LocalDateTime.of(2030, 3, 4, 10, 0);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1, start, null));
+            handler.processRow(row(2, start.plusDays(1), "Warsztaty"));
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM event_view"), any(RowCallbackHandler.class), any(Object[].class));
+        AnalyticsService analyticsService = new AnalyticsService(jdbcTemplate, mock(ClassroomRepository.class),
+                Duration.ZERO, 10, 12);
+
+        OrganizerAnalyticsDTO report = analyticsService.getOrganizerReport(5,
+                LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 31));
+
+        assertEquals(2, report.getEvents().size());
+        EventFillDTO first = report.getEvents().get(0);
+        EventFillDTO second = report.getEvents().get(1);
+        assertEquals(1, first.getEventId());
+        assertEquals("", first.getName());
+        assertEquals(2, second.getEventId());
+        assertEquals("Warsztaty", second.getName());
+    }
+
+    private static ResultSet row(int eventId, LocalDateTime start, String name) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(eventId);
+        when(rs.getInt(2)).thenReturn(3);
+        when(rs.getInt(3)).thenReturn(10);
+        when(rs.getInt(4)).thenReturn(20);
+        when(rs.getTimestamp(5)).thenReturn(Timestamp.valueOf(start));
+        when(rs.getTimestamp(6)).thenReturn(Timestamp.valueOf(start.plusHours(2)));
+        when(rs.getString(7)).thenReturn(name);
+        return rs;
+    }
+}
@@ -0,0 +1,152 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.EnrollmentDTO;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.repository.UserRepository;
+import CourseManagerProject.CourseManager.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EnrollmentServiceTest {
+
+    private static final int EVENT_ID = 7;
+
+    private EventRepository eventRepository;
+    private WaitlistRepository waitlistRepository;
+    private JdbcTemplate jdbcTemplate;
+    private EnrollmentService enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        waitlistRepository = mock(WaitlistRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        enrollmentService = new EnrollmentService(eventRepository, mock(UserRepository.class), waitlistRepository,
+                mock(EventViewService.class), mock(AuditService.class), mock(IcsService.class), jdbcTemplate,
+                mock(RecommendationService.class), mock(TagStatsService.class));
+    }
+
+    @Test
+    void leavePromotesWaitlistHead() {
+        when(eventRepository.removeParticipant(EVENT_ID, 1)).thenReturn(1);
+        when(jdbcTemplate.query(contains("FROM promoted"), any(RowMapper.class), eq(EVENT_ID)))
+                .thenAnswer(heads(new int[]{9, 1}));
+
+        EnrollmentDTO result = enrollmentService.leave(EVENT_ID, 1);
+
+        assertEquals(EnrollmentDTO.Status.LEFT, result.getStatus());
+        assertEquals(9, result.getPromotedUserId());
+        verify(eventRepository, times(1)).releaseSeat(EVENT_ID);
+        // Oczekujący, którzy są już uczestnikami, usuwani są przed awansem
+        verify(jdbcTemplate).update(contains("DELETE FROM event_waitlist w USING event_participant"), eq(EVENT_ID));
+    }
+
+    @Test
+    void promotionSkipsHeadThatIsAlreadyEnrolled() {
+        when(eventRepository.removeParticipant(EVENT_ID, 1)).thenReturn(1);
+        when(jdbcTemplate.query(contains("FROM promoted"), any(RowMapper.class), eq(EVENT_ID)))
+                .thenAnswer(heads(new int[]{8, 0}))
+                .thenAnswer(heads(new int[]{9, 1}));
+
+        EnrollmentDTO result = enrollmentService.leave(EVENT_ID, 1);
+
+        assertEquals(9, result.getPromotedUserId());
+        // Miejsce zwolnione przez wypisanego i miejsce zajęte dla pominiętego oczekującego
+        verify(eventRepository, times(2)).releaseSeat(EVENT_ID);
+    }
+
+    @Test
+    void leaveWithEmptyWaitlistPromotesNobody() {
+        when(eventRepository.removeParticipant(EVENT_ID, 1)).thenReturn(1);
+        when(jdbcTemplate.query(contains("FROM promoted"), any(RowMapper.class), eq(EVENT_ID)))
+                .thenReturn(List.of());
+
+        EnrollmentDTO result = enrollmentService.leave(EVENT_ID, 1);
+
+        assertNull(result.getPromotedUserId());
+        verify(eventRepository, times(1)).releaseSeat(EVENT_ID);
+    }
+
+    @Test
+    void batchReportsAlreadyEnrolledUserAndTakesSeatsOnlyForOthers() {
+        stubBatchReads(List.of(2));
+        when(jdbcTemplate.queryForObject(contains("seats_taken + ?"), eq(Integer.class), eq(EVENT_ID), eq(1)))
+                .thenReturn(1);
+        when(jdbcTemplate.query(contains("INSERT INTO event_participant"), any(PreparedStatementSetter.class),
+                any(RowMapper.class))).thenReturn(List.of(3));
+
+        EnrollmentService.BatchResult result = enrollmentService.joinBatch(EVENT_ID, List.of(2, 3));
+
+        assertEquals(EnrollmentDTO.Status.ALREADY_ENROLLED, result.results().get(2).getStatus());
+        assertEquals(EnrollmentDTO.Status.ENROLLED, result.results().get(3).getStatus());
+        assertTrue(result.rejected().isEmpty());
+        verify(jdbcTemplate, never()).update(contains("seats_taken - ?"), anyInt(), anyInt());
+    }
+
+    @Test
+    void batchReleasesSeatsOfUsersThatWereNotInserted() {
+        stubBatchReads(List.of());
+        when(jdbcTemplate.queryForObject(contains("seats_taken + ?"), eq(Integer.class), eq(EVENT_ID), eq(2)))
+                .thenReturn(2);
+        when(jdbcTemplate.query(contains("INSERT INTO event_participant"), any(PreparedStatementSetter.class),
+                any(RowMapper.class))).thenReturn(List.of(3));
+
+        EnrollmentService.BatchResult result = enrollmentService.joinBatch(EVENT_ID, List.of(2, 3));
+
+        assertEquals(EnrollmentDTO.Status.ALREADY_ENROLLED, result.results().get(2).getStatus());
+        assertEquals(EnrollmentDTO.Status.ENROLLED, result.results().get(3).getStatus());
+        verify(jdbcTemplate).update(contains("seats_taken - ?"), eq(1), eq(EVENT_ID));
+    }
+
+    /**
+     * Odczyty partii: wydarzenie bez limitu wieku, użytkownicy 2 i 3 (wiek 30), podani uczestnicy,
+     * pusta lista oczekujących.
+     */
+    private void stubBatchReads(List<Integer> enrolled) {
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Integer.class), eq(EVENT_ID)))
+                .thenReturn(List.of(0));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (int userId : new int[]{2, 3}) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt(1)).thenReturn(userId);
+                when(rs.getObject(2)).thenReturn(30);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM users"), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+        when(jdbcTemplate.query(contains("SELECT user_id FROM event_participant"), any(PreparedStatementSetter.class),
+                any(RowMapper.class))).thenReturn(enrolled);
+    }
+
+    /**
+     * Odpowiedź zapytania awansu: wiersze (ID użytkownika, 1 - dodany / 0 - był już uczestnikiem).
+     */
+    private static Answer<List<Object>> heads(int[]... rows) {
+        return invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt(1)).thenReturn(rows[i][0]);
+                when(rs.getBoolean(2)).thenReturn(rows[i][1] == 1);
+                mapped.add(mapper.mapRow(rs, i));
+            }
+            return mapped;
+        };
+    }
+}
@@ -1,4 +1,147 @@
 package CourseManagerProject.CourseManager.service;
 
+import CourseManagerProject.CourseManager.dto.EventDTO;
+import CourseManagerProject.CourseManager.model.Classroom;
+import CourseManagerProject.CourseManager.model.Event;
+import CourseManagerProject.CourseManager.model.User;
+import CourseManagerProject.CourseManager.repository.EventRepository;
+import CourseManagerProject.CourseManager.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
 public class EventServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 1, 10, 0);
+    private static final LocalDateTime END = START.plusHours(2);
+
+    private EventRepository eventRepository;
+    private OptimisticLocking optimisticLocking;
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        UserService userService = mock(UserService.class);
+        ClassroomService classroomService = mock(ClassroomService.class);
+        TagService tagService = mock(TagService.class);
+        when(userService.getOrganizer(1)).thenReturn(User.builder().id(1).firstname("Jan").surname("Nowak").build());
+        when(classroomService.getClassroomById(5)).thenReturn(Classroom.builder().id(5).classroomName("2.41").build());
+        when(tagService.getTagsByIds(any())).thenReturn(Set.of());
+        optimisticLocking = mock(OptimisticLocking.class);
+        eventService = new EventService(eventRepository, classroomService, userService, tagService,
+                mock(EventViewService.class), mock(AuditService.class), mock(OutboxService.class),
+                mock(IcsService.class), mock(WaitlistRepository.class), mock(EnrollmentService.class),
+                mock(RecommendationService.class), mock(TagStatsService.class),
+                mock(ClassroomOccupancyService.class), optimisticLocking,
+                mock(CacheInvalidationBus.class), 10, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void createRejectsEventOverlappingAnotherInTheClassroom() {
+        Event existing = Event.builder().id(3).build();
+        when(eventRepository.findOverlapping(5, START, END)).thenReturn(List.of(existing));
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.createEvent(request()));
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createSavesEventInFreeClassroom() {
+        when(eventRepository.findOverlapping(5, START, END)).thenReturn(List.of());
+        when(eventRepository.saveAndFlush(any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            event.setId(10);
+            return event;
+        });
+
+        Event saved = eventService.createEvent(request());
+
+        assertEquals(10, saved.getId());
+        assertEquals(5, saved.getClassroom().getId());
+    }
+
+    @Test
+    void createMapsConcurrentOverlapToIllegalArgument() {
+        when(eventRepository.findOverlapping(5, START, END)).thenReturn(List.of());
+        when(eventRepository.saveAndFlush(any(Event.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new SQLException("conflicting key value violates exclusion constraint \""
+                        + EventService.CLASSROOM_OVERLAP_CONSTRAINT + "\"")));
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.createEvent(request()));
+    }
+
+    @Test
+    void createRejectsEventEndingBeforeItStarts() {
+        EventDTO request = request();
+        request.setEndDatetime(START.minusHours(1));
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.createEvent(request));
+        verify(eventRepository, never()).findOverlapping(anyInt(), any(), any());
+    }
+
+    @Test
+    void deleteMarksEventInTheVersionItWasReadIn() {
+        runRetriedOperationOnce();
+        when(eventRepository.findById(3)).thenReturn(Optional.of(existing(4L)));
+        when(eventRepository.softDelete(3, 4L)).thenReturn(1);
+
+        eventService.deleteEvent(3);
+
+        verify(eventRepository).softDelete(3, 4L);
+    }
+
+    @Test
+    void deleteOfEventChangedSinceReadIsAVersionConflict() {
+        runRetriedOperationOnce();
+        when(eventRepository.findById(3)).thenReturn(Optional.of(existing(4L)));
+        when(eventRepository.softDelete(3, 4L)).thenReturn(0);
+
+        // Konflikt trafia do OptimisticLocking.retry, które powtarza usunięcie na świeżym odczycie
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> eventService.deleteEvent(3));
+    }
+
+    private void runRetriedOperationOnce() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(optimisticLocking).retry(any(Runnable.class));
+    }
+
+    private static Event existing(Long version) {
+        return Event.builder()
+                .id(3)
+                .name("Kurs")
+                .startDatetime(START)
+                .endDatetime(END)
+                .organizer(User.builder().id(1).firstname("Jan").surname("Nowak").build())
+                .classroom(Classroom.builder().id(5).classroomName("2.41").build())
+                .version(version)
+                .build();
+    }
+
+    private static EventDTO request() {
+        return EventDTO.builder()
+                .name("Kurs")
+                .startDatetime(START)
+                .endDatetime(END)
+                .maxParticipants(20)
+                .minAge(18)
+                .organizerId(1)
+                .classroomId(5)
+                .tagIds(List.of())
+                .build();
+    }
 }
@@ -0,0 +1,102 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.model.OutboxMessage;
+import CourseManagerProject.CourseManager.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxDispatcherTest {
+
+    private OutboxMessageRepository repository;
+    private InMemoryOutboxPublisher publisher;
+    private OutboxDispatcher dispatcher;
+    private final List<Long> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxMessageRepository.class);
+        publisher = new InMemoryOutboxPublisher();
+        publisher.subscribe(message -> {
+            if ("POISON".equals(message.getType())) {
+                throw new IllegalStateException("odrzucona");
+            }
+        });
+        publisher.subscribe(message -> delivered.add(message.getId()));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        dispatcher = new OutboxDispatcher(repository, publisher, transactionTemplate, 10, 3);
+    }
+
+    @Test
+    void failingMessageDoesNotBlockHealthyOnes() {
+        OutboxMessage first = message(1L, "EVENT_CREATED", 0);
+        OutboxMessage poison = message(2L, "POISON", 0);
+        OutboxMessage third = message(3L, "EVENT_UPDATED", 0);
+        when(repository.lockNextBatch(10)).thenReturn(List.of(first, poison, third));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        // Paczka zatrzymała się na błędzie, po czym wiadomości wysłano pojedynczo ("co najmniej raz")
+        assertEquals(List.of(1L, 1L, 3L), delivered);
+        verify(repository).deleteAllInBatch(List.of(first, third));
+        verify(repository).recordFailure(eq(2L), contains("odrzucona"), eq(3));
+        verify(repository, never()).recordFailure(eq(1L), anyString(), anyInt());
+        verify(repository, never()).recordFailure(eq(3L), anyString(), anyInt());
+    }
+
+    @Test
+    void healthyBatchIsPublishedAndDeletedAtOnce() throws Exception {
+        OutboxPublisher batchPublisher = mock(OutboxPublisher.class);
+        dispatcher = new OutboxDispatcher(repository, batchPublisher, new TransactionTemplate(
+                mock(PlatformTransactionManager.class)), 10, 3);
+        List<OutboxMessage> batch = List.of(message(1L, "EVENT_CREATED", 0), message(2L, "EVENT_UPDATED", 0));
+        when(repository.lockNextBatch(10)).thenReturn(batch);
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        verify(batchPublisher, times(1)).publish(anyList());
+        verify(batchPublisher).publish(batch);
+        verify(repository, times(1)).deleteAllInBatch(batch);
+    }
+
+    @Test
+    void batchOfOnlyFailingMessagesDeletesNothing() {
+        OutboxMessage poison = message(7L, "POISON", 2);
+        when(repository.lockNextBatch(10)).thenReturn(List.of(poison));
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verify(repository).recordFailure(eq(7L), anyString(), eq(3));
+        verify(repository, never()).deleteAllInBatch(anyIterable());
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void emptyOutboxSendsNothing() {
+        when(repository.lockNextBatch(10)).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verify(repository, never()).deleteAllInBatch(anyIterable());
+    }
+
+    private static OutboxMessage message(Long id, String type, int attempts) {
+        return OutboxMessage.builder()
+                .id(id)
+                .createdAt(Instant.now())
+                .aggregateType("Event")
+                .aggregateId(id.intValue())
+                .type(type)
+                .attempts(attempts)
+                .build();
+    }
+}
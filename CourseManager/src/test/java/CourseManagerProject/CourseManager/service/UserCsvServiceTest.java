@@ -0,0 +1,117 @@
+package CourseManagerProject.CourseManager.service;
+
+import CourseManagerProject.CourseManager.dto.UserImportErrorDTO;
+import CourseManagerProject.CourseManager.dto.UserImportResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class UserCsvServiceTest {
+
+    private static final String HEADER = "firstname,surname,age,email,password,isOrganizer\n";
+
+    private JdbcTemplate jdbcTemplate;
+    private UserEmailCache userEmailCache;
+    private RecommendationService recommendationService;
+    private UserCsvService userCsvService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(mock(DataSource.class));
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.hash(anyString())).thenReturn(CompletableFuture.completedFuture("hash"));
+        userEmailCache = mock(UserEmailCache.class);
+        recommendationService = mock(RecommendationService.class);
+        userCsvService = new UserCsvService(jdbcTemplate, mock(PlatformTransactionManager.class),
+                passwordHashingService, mock(AuditService.class), recommendationService, userEmailCache,
+                500, 2, 100, 100);
+    }
+
+    @Test
+    void importSkipsExistingEmailAndInsertsTheRest() throws Exception {
+        when(jdbcTemplate.query(contains("SELECT lower(email) FROM users"), any(PreparedStatementSetter.class),
+                any(RowMapper.class))).thenReturn(List.of("anna@example.com"));
+        stubInserted(11, "jan@example.com");
+
+        UserImportResultDTO result = userCsvService.importUsers(csv(
+                "Anna,Kowalska,30,Anna@Example.com,haslo1234,false\n" +
+                "Jan,Nowak,25,jan@example.com,haslo1234,false\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        UserImportErrorDTO error = result.getErrors().get(0);
+        assertEquals(2, error.getLine());
+        assertEquals("Anna@Example.com", error.getEmail());
+        assertEquals("Email already in use", error.getMessage());
+        verify(userEmailCache).put("jan@example.com", 11);
+        verify(recommendationService).usersChanged(List.of(11));
+    }
+
+    @Test
+    void importReportsEmailTakenConcurrentlyAsConflict() throws Exception {
+        when(jdbcTemplate.query(contains("SELECT lower(email) FROM users"), any(PreparedStatementSetter.class),
+                any(RowMapper.class))).thenReturn(List.of());
+        // ON CONFLICT DO NOTHING nie zwraca wiersza dla adresu zajętego po sprawdzeniu partii
+        stubInserted(11, "jan@example.com");
+
+        UserImportResultDTO result = userCsvService.importUsers(csv(
+                "Anna,Kowalska,30,anna@example.com,haslo1234,false\n" +
+                "Jan,Nowak,25,jan@example.com,haslo1234,false\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals("anna@example.com", result.getErrors().get(0).getEmail());
+        assertEquals("Email already in use", result.getErrors().get(0).getMessage());
+        verify(userEmailCache, never()).put(eq("anna@example.com"), any());
+    }
+
+    @Test
+    void importWithOnlyExistingEmailsInsertsNothing() throws Exception {
+        when(jdbcTemplate.query(contains("SELECT lower(email) FROM users"), any(PreparedStatementSetter.class),
+                any(RowMapper.class))).thenReturn(List.of("anna@example.com"));
+
+        UserImportResultDTO result = userCsvService.importUsers(csv(
+                "Anna,Kowalska,30,anna@example.com,haslo1234,false\n"));
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getFailed());
+        verify(jdbcTemplate, never()).query(contains("INSERT INTO users"), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+        verify(recommendationService, never()).usersChanged(any());
+    }
+
+    /**
+     * Odpowiedź zapytania {@code INSERT ... RETURNING id, email}: tylko podany wiersz został dodany.
+     */
+    private void stubInserted(int id, String email) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt(1)).thenReturn(id);
+            when(rs.getString(2)).thenReturn(email);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("INSERT INTO users"), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+    }
+
+    private static ByteArrayInputStream csv(String rows) {
+        return new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
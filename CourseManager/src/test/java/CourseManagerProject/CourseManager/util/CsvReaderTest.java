@@ -0,0 +1,47 @@
+package CourseManagerProject.CourseManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    @Test
+    void readsPlainAndQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\n\"multi\nline\",2,3"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(1, reader.getRowLine());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.next());
+        assertEquals(2, reader.getRowLine());
+        assertEquals(List.of("multi\nline", "2", "3"), reader.next());
+        assertEquals(3, reader.getRowLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"broken,1"));
+        assertEquals(List.of("ok"), reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void writerOutputReadsBack() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow(1, "Kowalski, Jan", null, "a\"b");
+        writer.writeRow("line\nbreak", true);
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+        assertEquals(List.of("1", "Kowalski, Jan", "", "a\"b"), reader.next());
+        assertEquals(List.of("line\nbreak", "true"), reader.next());
+        assertNull(reader.next());
+    }
+}
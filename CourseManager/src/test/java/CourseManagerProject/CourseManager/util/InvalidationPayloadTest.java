@@ -0,0 +1,48 @@
+package CourseManagerProject.CourseManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvalidationPayloadTest {
+
+    @Test
+    void roundTripsKeys() {
+        List<String> payloads = InvalidationPayload.encode("node", List.of("ics:u:1", "classroom:7"), 100);
+
+        assertEquals(List.of("node\nics:u:1\nclassroom:7"), payloads);
+        InvalidationPayload.Message message = InvalidationPayload.decode(payloads.get(0)).orElseThrow();
+        assertEquals("node", message.nodeId());
+        assertEquals(List.of("ics:u:1", "classroom:7"), message.keys());
+    }
+
+    @Test
+    void splitsPayloadsWithinByteLimit() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            keys.add("sala:ż" + i);
+        }
+
+        List<String> payloads = InvalidationPayload.encode("node", keys, 40);
+
+        assertTrue(payloads.size() > 1);
+        List<String> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= 40);
+            decoded.addAll(InvalidationPayload.decode(payload).orElseThrow().keys());
+        }
+        assertEquals(keys, decoded);
+    }
+
+    @Test
+    void rejectsInvalidKeysAndEmptyPayloads() {
+        assertTrue(InvalidationPayload.encode("node", List.of(), 100).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> InvalidationPayload.encode("node", List.of("a\nb"), 100));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationPayload.encode("node", List.of("x".repeat(100)), 100));
+        assertTrue(InvalidationPayload.decode("").isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package CourseManagerProject.CourseManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongIntHashMapTest {
+
+    @Test
+    void countersAreRemovedWhenTheyReachZero() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(2, map.addTo(7, 2));
+        assertEquals(1, map.addTo(7, -1));
+        assertEquals(0, map.addTo(7, -1));
+
+        assertFalse(map.containsKey(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void packsPairsOfIds() {
+        long key = LongIntHashMap.pack(3, -5);
+        assertEquals(3, LongIntHashMap.high(key));
+        assertEquals(-5, LongIntHashMap.low(key));
+    }
+
+    @Test
+    void behavesLikeHashMapUnderRandomUpdates() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(500);
+            int delta = random.nextInt(5) - 2;
+            map.addTo(key, delta);
+            expected.merge(key, delta, Integer::sum);
+            expected.remove(key, 0);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        map.forEach((key, value) -> assertEquals(expected.get(key), value));
+    }
+}
@@ -0,0 +1,46 @@
+package CourseManagerProject.CourseManager.util;
+
+import CourseManagerProject.CourseManager.dto.TagDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MergePatchTest {
+
+    // Jak mapper Springa: nieznane pola nie przerywają odczytu, odrzuca je checkFields
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    void readsOnlyPresentFields() throws Exception {
+        MergePatch<TagDTO> patch = MergePatch.parse(objectMapper.readTree("{\"name\": \"Java\"}"), TagDTO.class, objectMapper);
+
+        assertTrue(patch.has("name"));
+        assertFalse(patch.has("version"));
+        assertEquals("Java", patch.required("name", TagDTO::getName));
+        assertNull(patch.values().getVersion());
+    }
+
+    @Test
+    void rejectsNullInRequiredField() throws Exception {
+        MergePatch<TagDTO> patch = MergePatch.parse(objectMapper.readTree("{\"name\": null}"), TagDTO.class, objectMapper);
+
+        assertTrue(patch.has("name"));
+        assertThrows(IllegalArgumentException.class, () -> patch.required("name", TagDTO::getName));
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndNonObjects() throws Exception {
+        MergePatch<TagDTO> patch = MergePatch.parse(objectMapper.readTree("{\"id\": 5}"), TagDTO.class, objectMapper);
+
+        assertThrows(IllegalArgumentException.class, () -> patch.checkFields(Set.of("name", "version")));
+        assertThrows(IllegalArgumentException.class,
+                () -> MergePatch.parse(objectMapper.readTree("[1, 2]"), TagDTO.class, objectMapper));
+        assertThrows(IllegalArgumentException.class,
+                () -> MergePatch.parse(objectMapper.readTree("{\"version\": \"abc\"}"), TagDTO.class, objectMapper));
+    }
+}
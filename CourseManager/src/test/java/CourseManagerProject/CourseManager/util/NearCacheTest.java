@@ -0,0 +1,59 @@
+package CourseManagerProject.CourseManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NearCacheTest {
+
+    @Test
+    void loadsOnceUntilInvalidated() {
+        NearCache<Integer, String> cache = new NearCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1, key -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1, key -> "v" + loads.incrementAndGet()));
+
+        cache.invalidate(1);
+        assertEquals("v2", cache.get(1, key -> "v" + loads.incrementAndGet()));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals("v3", cache.get(1, key -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void doesNotCacheValueLoadedDuringInvalidation() {
+        NearCache<Integer, String> cache = new NearCache<>(10, Duration.ofMinutes(1));
+
+        assertEquals("stale", cache.get(1, key -> {
+            cache.invalidate(key);
+            return "stale";
+        }));
+        assertEquals("fresh", cache.get(1, key -> "fresh"));
+
+        assertEquals("stale", cache.get(2, key -> {
+            cache.invalidateAll();
+            return "stale";
+        }));
+        assertEquals("fresh", cache.get(2, key -> "fresh"));
+    }
+
+    @Test
+    void skipsNullsExpiredEntriesAndOverflow() {
+        NearCache<Integer, String> expiring = new NearCache<>(10, Duration.ZERO);
+        expiring.get(1, key -> "old");
+        assertEquals("new", expiring.get(1, key -> "new"));
+
+        NearCache<Integer, String> cache = new NearCache<>(1, Duration.ofMinutes(1));
+        assertNull(cache.get(1, key -> null));
+        assertEquals(0, cache.size());
+        cache.get(2, key -> "a");
+        cache.get(3, key -> "b");
+        assertEquals(1, cache.size());
+        assertEquals("c", cache.get(3, key -> "c"));
+    }
+}
@@ -0,0 +1,64 @@
+package CourseManagerProject.CourseManager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenCodecTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void decodesTokenItEncoded() {
+        TokenCodec codec = new TokenCodec(SECRET);
+        TokenCodec.Claims claims = new TokenCodec.Claims(42, true, 1000, 2000, "abc");
+
+        assertEquals(Optional.of(claims), codec.decode(codec.encode(claims)));
+    }
+
+    @Test
+    void rejectsTamperedOrForeignTokens() {
+        TokenCodec codec = new TokenCodec(SECRET);
+        String token = codec.encode(new TokenCodec.Claims(42, false, 1000, 2000, "abc"));
+        String[] parts = token.split("\\.");
+
+        String forged = new TokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8))
+                .encode(new TokenCodec.Claims(1, true, 1000, 2000, "abc"));
+        String swappedPayload = parts[0] + "." + forged.split("\\.")[1] + "." + parts[2];
+        String unsigned = "eyJhbGciOiJub25lIn0." + parts[1] + ".";
+
+        assertTrue(codec.decode(forged).isEmpty());
+        assertTrue(codec.decode(swappedPayload).isEmpty());
+        assertTrue(codec.decode(unsigned).isEmpty());
+        assertTrue(codec.decode("not-a-token").isEmpty());
+    }
+
+    @Test
+    void signatureIsBoundToValueAndKey() {
+        TokenCodec codec = new TokenCodec(SECRET);
+        String signature = codec.signature("ics:users:42");
+
+        assertTrue(codec.verifySignature("ics:users:42", signature));
+        assertFalse(codec.verifySignature("ics:users:43", signature));
+        assertFalse(new TokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8))
+                .verifySignature("ics:users:42", signature));
+        assertFalse(codec.verifySignature("ics:users:42", "not base64!"));
+    }
+
+    @Test
+    void revocationListDropsExpiredEntriesOnReplace() {
+        RevocationList list = new RevocationList(100, 0.01);
+        list.revoke("local", 5_000);
+
+        list.replaceAll(Map.of("stored", 5_000L, "expired", 500L), 1_000);
+
+        assertTrue(list.isRevoked("local"));
+        assertTrue(list.isRevoked("stored"));
+        assertFalse(list.isRevoked("expired"));
+        assertFalse(list.isRevoked("other"));
+    }
+}